@@ -21,8 +21,15 @@ INSERT INTO hazard (category, description, location, user_id, created_at, update
 */
 
 -- 공간 인덱스 생성 (성능 향상을 위해)
-CREATE INDEX IF NOT EXISTS idx_hazard_location ON hazard USING GIST (location);
+CREATE INDEX IF NOT EXISTS ix_hazard_location_active ON hazard USING GIST (location) WHERE deleted_at IS NULL;
+CREATE INDEX IF NOT EXISTS ix_hazard_expires ON hazard (expires_at) WHERE deleted_at IS NULL AND expires_at IS NOT NULL;
 CREATE INDEX IF NOT EXISTS idx_walk_route_route_data ON walk_route USING GIST (route_data);
+CREATE INDEX IF NOT EXISTS ix_walk_session_user_start_id ON walk_session (user_id, start_time DESC, id DESC);
+CREATE INDEX IF NOT EXISTS ix_walk_session_open ON walk_session (start_time) WHERE is_completed = false AND deleted_at IS NULL;
+CREATE INDEX IF NOT EXISTS ix_walk_session_deleted ON walk_session (deleted_at) WHERE deleted_at IS NOT NULL;
+CREATE INDEX IF NOT EXISTS ix_walk_session_actual_path ON walk_session USING GIST (actual_path) WHERE is_completed = true AND deleted_at IS NULL;
+CREATE UNIQUE INDEX IF NOT EXISTS ux_walk_session_client ON walk_session (user_id, client_id, start_time) WHERE client_id IS NOT NULL;
+-- 월별 파티셔닝과 보관 테이블은 walk-session-partitioning.sql 참고
 
 -- 데이터베이스 설정 확인
 SELECT version();
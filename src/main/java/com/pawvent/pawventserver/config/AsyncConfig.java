@@ -0,0 +1,45 @@
+package com.pawvent.pawventserver.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 비동기 작업 실행기 설정 - 요청 스레드를 오래 잡고 있으면 안 되는 백그라운드 작업용
+ */
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * 산책 기록 가져오기(GPX/GeoJSON) 작업 실행기
+     * 대용량 파일 파싱과 DB 일괄 저장이 동시에 너무 많이 돌지 않도록 스레드 수와 대기열을 제한합니다.
+     */
+    @Bean(name = "walkImportExecutor")
+    public ThreadPoolTaskExecutor walkImportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(20);
+        executor.setThreadNamePrefix("walk-import-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 산책 실시간 공유(SSE) 전송 실행기
+     * 좌표 수신 스레드가 느린 시청자 연결에 막히지 않도록 전송을 별도 스레드에서 처리합니다.
+     * 채널당 대기 작업은 하나로 합쳐지므로 대기열은 동시에 공유 중인 산책 수만큼이면 충분합니다.
+     */
+    @Bean(name = "liveShareExecutor")
+    public ThreadPoolTaskExecutor liveShareExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("live-share-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
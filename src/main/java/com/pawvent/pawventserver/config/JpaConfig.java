@@ -1,6 +1,11 @@
 package com.pawvent.pawventserver.config;
 
 import com.pawvent.pawventserver.repository.UserRepository;
+import com.pawvent.pawventserver.service.HazardService;
+import com.pawvent.pawventserver.service.PetService;
+import com.pawvent.pawventserver.service.WalkRollupService;
+import com.pawvent.pawventserver.service.WalkSessionArchiveService;
+import com.pawvent.pawventserver.service.WalkStreakService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.ApplicationRunner;
@@ -15,6 +20,11 @@ public class JpaConfig {
 
     private final UserRepository userRepository;
     private final JdbcTemplate jdbcTemplate;
+    private final WalkRollupService walkRollupService;
+    private final WalkSessionArchiveService walkSessionArchiveService;
+    private final PetService petService;
+    private final WalkStreakService walkStreakService;
+    private final HazardService hazardService;
 
     @Bean
     public ApplicationRunner schemaInitializer() {
@@ -37,6 +47,84 @@ public class JpaConfig {
                     log.warn("category CHECK 제약조건 수정 중 오류 발생 (무시 가능): {}", e.getMessage());
                 }
                 
+                // 진행 중 세션 전용 부분 인덱스 (방치 세션 정리/진행 중 조회용)
+                try {
+                    jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS ix_walk_session_open ON walk_session (start_time) " +
+                            "WHERE is_completed = false AND deleted_at IS NULL");
+                } catch (Exception e) {
+                    log.warn("진행 중 세션 인덱스 생성 중 오류 발생 (무시 가능): {}", e.getMessage());
+                }
+                
+                // 지역 산책 조회용 경로 공간 인덱스 (완료/미삭제 세션만)
+                try {
+                    jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS ix_walk_session_actual_path ON walk_session " +
+                            "USING GIST (actual_path) WHERE is_completed = true AND deleted_at IS NULL");
+                } catch (Exception e) {
+                    log.warn("산책 경로 공간 인덱스 생성 중 오류 발생 (무시 가능): {}", e.getMessage());
+                }
+                
+                // 위험 스팟 공간 인덱스 (영역 조회 및 <-> 최근접 정렬용, 삭제되지 않은 행만)
+                try {
+                    jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS ix_hazard_location_active ON hazard " +
+                            "USING GIST (location) WHERE deleted_at IS NULL");
+                    jdbcTemplate.execute("DROP INDEX IF EXISTS idx_hazard_location");
+                    jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS ix_hazard_expires ON hazard (expires_at) " +
+                            "WHERE deleted_at IS NULL AND expires_at IS NOT NULL");
+                } catch (Exception e) {
+                    log.warn("위험 스팟 공간 인덱스 생성 중 오류 발생 (무시 가능): {}", e.getMessage());
+                }
+                
+                // 위험 스팟 만료 시간 채우기 (유지 시간 도입 이전 데이터, 이미 채워진 행은 건너뜀)
+                try {
+                    hazardService.fillMissingExpiry();
+                } catch (Exception e) {
+                    log.warn("위험 스팟 만료 시간 채우기 중 오류 발생: {}", e.getMessage());
+                }
+                
+                // 오프라인 동기화 중복 방지 (파티션 테이블의 유니크 인덱스는 파티션 키를 포함해야 하므로 start_time 포함)
+                try {
+                    jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS ux_walk_session_client ON walk_session " +
+                            "(user_id, client_id, start_time) WHERE client_id IS NOT NULL");
+                } catch (Exception e) {
+                    log.warn("오프라인 동기화 인덱스 생성 중 오류 발생 (무시 가능): {}", e.getMessage());
+                }
+                
+                // 오래된/삭제된 산책 기록 보관 테이블
+                try {
+                    walkSessionArchiveService.ensureArchiveTable();
+                } catch (Exception e) {
+                    log.warn("산책 기록 보관 테이블 생성 중 오류 발생 (무시 가능): {}", e.getMessage());
+                }
+                
+                // 하루 산책 목표가 없는 기존 반려동물에 체중 기준 목표 채우기 (집계 백필보다 먼저)
+                try {
+                    petService.fillMissingDailyGoals();
+                } catch (Exception e) {
+                    log.warn("반려동물 하루 산책 목표 채우기 중 오류 발생: {}", e.getMessage());
+                }
+                
+                // 일별 산책 집계 테이블 백필 (최초 1회)
+                try {
+                    walkRollupService.backfillIfEmpty();
+                } catch (Exception e) {
+                    log.warn("일별 산책 집계 백필 중 오류 발생: {}", e.getMessage());
+                }
+                
+                // 사용자 전체 연속 산책 행은 pet_id가 NULL이라 유니크 제약으로 막히지 않으므로 부분 유니크 인덱스 추가
+                try {
+                    jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS ux_walk_streak_user ON walk_streak (user_id) " +
+                            "WHERE pet_id IS NULL");
+                } catch (Exception e) {
+                    log.warn("연속 산책 인덱스 생성 중 오류 발생 (무시 가능): {}", e.getMessage());
+                }
+                
+                // 산책한 날/연속 산책 백필 (최초 1회, 보관 테이블 생성 이후)
+                try {
+                    walkStreakService.backfillIfEmpty();
+                } catch (Exception e) {
+                    log.warn("연속 산책 백필 중 오류 발생: {}", e.getMessage());
+                }
+                
                 log.info("=== 초기화 완료 - 테이블이 생성되었습니다 ===");
             } catch (Exception e) {
                 log.error("초기화 중 오류 발생", e);
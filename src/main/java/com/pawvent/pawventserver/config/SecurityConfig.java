@@ -32,7 +32,12 @@ public class SecurityConfig {
                         // 인증 없이 접근 가능한 경로
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/routes/shared").permitAll()
+                        .requestMatchers("/api/routes/popular").permitAll()
                         .requestMatchers("/api/hazards/nearby").permitAll()
+                        .requestMatchers("/api/hazards/clusters").permitAll()
+                        .requestMatchers("/api/hazards/bounds").permitAll()
+                        .requestMatchers("/api/hazards/nearest").permitAll()
+                        .requestMatchers("/api/walk-sessions/live/*/stream").permitAll() // 산책 실시간 공유 (토큰으로 접근)
                         .requestMatchers("/uploads/**").permitAll() // 업로드된 파일 접근 허용
                         // 나머지 API는 인증 필요
                         .requestMatchers("/api/**").authenticated()
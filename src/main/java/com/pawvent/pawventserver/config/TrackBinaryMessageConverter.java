@@ -0,0 +1,55 @@
+package com.pawvent.pawventserver.config;
+
+import com.pawvent.pawventserver.util.TrackBinaryCodec;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * 좌표 바이너리(application/vnd.pawvent.track) ↔ CoordinateSequence 변환기
+ *
+ * 컨트롤러가 @RequestBody CoordinateSequence를 받거나 ResponseEntity&lt;CoordinateSequence&gt;를 반환하고
+ * consumes/produces에 이 미디어 타입을 지정하면, JSON 엔드포인트와 같은 경로에서 Content-Type/Accept로 선택됩니다.
+ */
+public class TrackBinaryMessageConverter extends AbstractHttpMessageConverter<CoordinateSequence> {
+
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(TrackBinaryCodec.MEDIA_TYPE);
+
+    /** 요청 본문 최대 크기 (좌표 수십만 개 분량) */
+    private static final int MAX_PAYLOAD_BYTES = 8 * 1024 * 1024;
+
+    public TrackBinaryMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return CoordinateSequence.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected CoordinateSequence readInternal(Class<? extends CoordinateSequence> clazz, HttpInputMessage inputMessage)
+            throws IOException {
+        byte[] data = inputMessage.getBody().readNBytes(MAX_PAYLOAD_BYTES + 1);
+        if (data.length > MAX_PAYLOAD_BYTES) {
+            throw new HttpMessageNotReadableException("좌표 바이너리가 너무 큽니다.", inputMessage);
+        }
+        try {
+            return TrackBinaryCodec.decode(data);
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException(e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(CoordinateSequence sequence, HttpOutputMessage outputMessage) throws IOException {
+        byte[] data = TrackBinaryCodec.encode(sequence);
+        outputMessage.getHeaders().setContentLength(data.length);
+        outputMessage.getBody().write(data);
+    }
+}
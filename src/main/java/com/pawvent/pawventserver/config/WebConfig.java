@@ -1,13 +1,15 @@
 package com.pawvent.pawventserver.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.nio.file.Paths;
+import java.util.List;
 
 /**
- * 웹 설정 - 정적 파일 서빙
+ * 웹 설정 - 정적 파일 서빙, 좌표 바이너리 변환기 등록
  */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
@@ -19,6 +21,12 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addResourceHandler("/uploads/**")
                 .addResourceLocations("file:" + uploadPath + "/");
     }
+    
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // 자체 미디어 타입만 처리하므로 맨 앞에 두어도 JSON 변환에는 영향 없음
+        converters.add(0, new TrackBinaryMessageConverter());
+    }
 }
 
 
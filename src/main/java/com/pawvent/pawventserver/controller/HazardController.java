@@ -4,8 +4,11 @@ import com.pawvent.pawventserver.domain.Hazard;
 import com.pawvent.pawventserver.domain.User;
 import com.pawvent.pawventserver.domain.enums.HazardCategory;
 import com.pawvent.pawventserver.dto.ApiResponse;
+import com.pawvent.pawventserver.dto.HazardClusterResponse;
+import com.pawvent.pawventserver.dto.HazardMarkerResponse;
 import com.pawvent.pawventserver.dto.HazardReportRequest;
 import com.pawvent.pawventserver.dto.HazardResponse;
+import com.pawvent.pawventserver.dto.RouteHazardResponse;
 import com.pawvent.pawventserver.service.HazardService;
 import com.pawvent.pawventserver.service.UserService;
 import lombok.RequiredArgsConstructor;
@@ -19,7 +22,6 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @RestController
@@ -65,10 +67,7 @@ public class HazardController {
             @RequestParam(value = "radius", defaultValue = "1000") double radius) {
         
         try {
-            List<Hazard> hazards = hazardService.getHazardsNearLocation(latitude, longitude, radius);
-            List<HazardResponse> hazardResponses = hazards.stream()
-                    .map(this::mapToHazardResponse)
-                    .collect(Collectors.toList());
+            List<HazardResponse> hazardResponses = hazardService.getHazardsNearLocation(latitude, longitude, radius);
             return ResponseEntity.ok(ApiResponse.success("주변 위험 스팟을 조회했습니다.", hazardResponses));
             
         } catch (Exception e) {
@@ -77,6 +76,108 @@ public class HazardController {
         }
     }
 
+    /**
+     * 지도 영역 안의 위험 스팟을 최신 신고 순으로 최대 limit개 조회합니다.
+     * categories는 쉼표로 구분한 카테고리 목록이며, 생략하면 전체 카테고리를 조회합니다.
+     */
+    @GetMapping("/bounds")
+    public ResponseEntity<ApiResponse<List<HazardMarkerResponse>>> getHazardsInBounds(
+            @RequestParam("minLat") double minLat,
+            @RequestParam("minLng") double minLng,
+            @RequestParam("maxLat") double maxLat,
+            @RequestParam("maxLng") double maxLng,
+            @RequestParam(value = "categories", required = false) List<HazardCategory> categories,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        
+        try {
+            List<HazardMarkerResponse> hazards = hazardService.getHazardsInBounds(minLat, minLng, maxLat, maxLng, categories, limit);
+            return ResponseEntity.ok(ApiResponse.success("영역 내 위험 스팟을 조회했습니다.", hazards));
+            
+        } catch (Exception e) {
+            log.error("영역 내 위험 스팟 조회 중 오류 발생", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error("영역 내 위험 스팟 조회에 실패했습니다: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 좌표에서 가장 가까운 위험 스팟을 거리순으로 최대 limit개 조회합니다.
+     * categories는 쉼표로 구분한 카테고리 목록이며, 생략하면 전체 카테고리를 조회합니다.
+     */
+    @GetMapping("/nearest")
+    public ResponseEntity<ApiResponse<List<HazardMarkerResponse>>> getNearestHazards(
+            @RequestParam("latitude") double latitude,
+            @RequestParam("longitude") double longitude,
+            @RequestParam(value = "categories", required = false) List<HazardCategory> categories,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "maxDistance", required = false) Double maxDistance) {
+        
+        try {
+            List<HazardMarkerResponse> hazards = hazardService.getNearestHazards(latitude, longitude, categories, limit, maxDistance);
+            return ResponseEntity.ok(ApiResponse.success("가까운 위험 스팟을 조회했습니다.", hazards));
+            
+        } catch (Exception e) {
+            log.error("가까운 위험 스팟 조회 중 오류 발생", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error("가까운 위험 스팟 조회에 실패했습니다: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 지도 영역의 위험 스팟을 줌 레벨에 맞는 격자 클러스터로 조회합니다.
+     */
+    @GetMapping("/clusters")
+    public ResponseEntity<ApiResponse<HazardClusterResponse>> getHazardClusters(
+            @RequestParam("minLat") double minLat,
+            @RequestParam("minLng") double minLng,
+            @RequestParam("maxLat") double maxLat,
+            @RequestParam("maxLng") double maxLng,
+            @RequestParam("zoom") int zoom) {
+        
+        try {
+            HazardClusterResponse response = hazardService.getHazardClusters(minLat, minLng, maxLat, maxLng, zoom);
+            return ResponseEntity.ok(ApiResponse.success("위험 스팟 클러스터를 조회했습니다.", response));
+            
+        } catch (Exception e) {
+            log.error("위험 스팟 클러스터 조회 중 오류 발생", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error("위험 스팟 클러스터 조회에 실패했습니다: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 저장된 산책 루트 경로를 따라 buffer(미터) 이내에 있는 위험 스팟을 선분별로 조회합니다.
+     */
+    @GetMapping("/route/{routeId}")
+    public ResponseEntity<ApiResponse<RouteHazardResponse>> getHazardsAlongRoute(
+            @PathVariable Long routeId,
+            @RequestParam(value = "buffer", required = false) Double buffer) {
+        
+        try {
+            RouteHazardResponse response = hazardService.getHazardsAlongRoute(routeId, buffer);
+            return ResponseEntity.ok(ApiResponse.success("루트 주변 위험 스팟을 조회했습니다.", response));
+        
+        } catch (Exception e) {
+            log.error("루트 주변 위험 스팟 조회 중 오류 발생", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error("루트 주변 위험 스팟 조회에 실패했습니다: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Encoded Polyline 경로를 따라 buffer(미터) 이내에 있는 위험 스팟을 선분별로 조회합니다.
+     */
+    @GetMapping("/along")
+    public ResponseEntity<ApiResponse<RouteHazardResponse>> getHazardsAlongPolyline(
+            @RequestParam("polyline") String polyline,
+            @RequestParam(value = "buffer", required = false) Double buffer) {
+        
+        try {
+            RouteHazardResponse response = hazardService.getHazardsAlongPolyline(polyline, buffer);
+            return ResponseEntity.ok(ApiResponse.success("경로 주변 위험 스팟을 조회했습니다.", response));
+        
+        } catch (Exception e) {
+            log.error("경로 주변 위험 스팟 조회 중 오류 발생", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error("경로 주변 위험 스팟 조회에 실패했습니다: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/category/{category}")
     public ResponseEntity<ApiResponse<List<Hazard>>> getHazardsByCategory(
             @PathVariable HazardCategory category) {
@@ -107,31 +208,4 @@ public class HazardController {
             return ResponseEntity.badRequest().body(ApiResponse.error("위험 스팟 삭제에 실패했습니다."));
         }
     }
-    
-    /**
-     * Hazard 엔티티를 HazardResponse DTO로 변환
-     * Point를 위도/경도로 변환하여 JSON 직렬화 문제 해결
-     */
-    private HazardResponse mapToHazardResponse(Hazard hazard) {
-        Double latitude = null;
-        Double longitude = null;
-        if (hazard.getLocation() != null) {
-            Coordinate coord = hazard.getLocation().getCoordinate();
-            latitude = coord.y; // y = latitude
-            longitude = coord.x; // x = longitude
-        }
-        
-        return HazardResponse.builder()
-                .id(hazard.getId())
-                .category(hazard.getCategory())
-                .description(hazard.getDescription())
-                .latitude(latitude)
-                .longitude(longitude)
-                .imageUrl(hazard.getImageUrl())
-                .reporterId(hazard.getUser() != null ? hazard.getUser().getId() : null)
-                .reporterNickname(hazard.getUser() != null ? hazard.getUser().getNickname() : null)
-                .createdAt(hazard.getCreatedAt())
-                .build();
-    }
 }
-
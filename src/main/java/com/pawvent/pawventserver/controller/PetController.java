@@ -1,6 +1,7 @@
 package com.pawvent.pawventserver.controller;
 
 import com.pawvent.pawventserver.dto.ApiResponse;
+import com.pawvent.pawventserver.dto.PetActivityResponse;
 import com.pawvent.pawventserver.dto.PetCreateRequest;
 import com.pawvent.pawventserver.dto.PetResponse;
 import com.pawvent.pawventserver.dto.PetUpdateRequest;
@@ -8,6 +9,7 @@ import com.pawvent.pawventserver.domain.Pet;
 import com.pawvent.pawventserver.domain.User;
 import com.pawvent.pawventserver.service.PetService;
 import com.pawvent.pawventserver.service.UserService;
+import com.pawvent.pawventserver.service.WalkRollupService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -33,6 +35,7 @@ public class PetController {
     
     private final PetService petService;
     private final UserService userService;
+    private final WalkRollupService walkRollupService;
     
     /**
      * 새로운 반려동물을 등록합니다.
@@ -229,6 +232,58 @@ public class PetController {
         );
     }
     
+    /**
+     * 반려동물 하루 산책 목표 변경
+     * minutes를 생략하면 체중 기준 자동 목표로 되돌립니다.
+     */
+    @PatchMapping("/{petId}/goal")
+    @Transactional
+    public ResponseEntity<ApiResponse<PetResponse>> updatePetDailyGoal(
+            @PathVariable("petId") Long petId,
+            @RequestParam(required = false) Integer minutes,
+            Authentication authentication) {
+        
+        User currentUser = userService.getCurrentUser(authentication);
+        Long userId = currentUser.getId();
+        User managedUser = userService.getUserById(userId);
+        String userNickname = managedUser.getNickname();
+        
+        Pet updatedPet = petService.updateDailyGoal(petId, minutes, managedUser);
+        PetResponse petResponse = mapToPetResponse(updatedPet, managedUser, userNickname);
+        
+        return ResponseEntity.ok(
+            ApiResponse.success("반려동물 하루 산책 목표가 변경되었습니다.", petResponse)
+        );
+    }
+    
+    /**
+     * 반려동물 활동 대시보드 조회
+     * 전체 산책 합계와 최근 기간의 날짜별 기록, 하루 목표 달성 현황을 일별 집계에서 한 번에 읽습니다.
+     * 
+     * @param petId 반려동물 ID
+     * @param days 오늘을 포함한 조회 기간 (일, 기본 7일)
+     * @param authentication 현재 인증된 사용자 (소유자만 조회 가능)
+     * @return 반려동물 활동 현황
+     */
+    @GetMapping("/{petId}/activity")
+    public ResponseEntity<ApiResponse<PetActivityResponse>> getPetActivity(
+            @PathVariable("petId") Long petId,
+            @RequestParam(defaultValue = "7") int days,
+            Authentication authentication) {
+        
+        User currentUser = userService.getCurrentUser(authentication);
+        Pet pet = petService.getPetById(petId);
+        if (!pet.getUser().getId().equals(currentUser.getId())) {
+            throw new IllegalArgumentException("반려동물 활동을 조회할 권한이 없습니다.");
+        }
+        
+        PetActivityResponse activity = walkRollupService.getPetActivity(pet, currentUser, days);
+        
+        return ResponseEntity.ok(
+            ApiResponse.success("반려동물 활동을 조회했습니다.", activity)
+        );
+    }
+    
     /**
      * 반려동물 프로필 이미지 업데이트
      */
@@ -353,6 +408,7 @@ public class PetController {
                 .birthDate(pet.getBirthDate())
                 .gender(pet.getGender())
                 .weight(pet.getWeight())
+                .dailyGoalMinutes(pet.getDailyGoalMinutes())
                 .imageUrl(pet.getImageUrl())
                 .description(pet.getDescription())
                 .ownerId(user.getId())
@@ -22,6 +22,7 @@ import com.pawvent.pawventserver.dto.ApiResponse;
 import com.pawvent.pawventserver.dto.UserResponse;
 import com.pawvent.pawventserver.dto.UserUpdateRequest;
 import com.pawvent.pawventserver.service.UserService;
+import com.pawvent.pawventserver.service.WalkStreakService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -42,6 +43,7 @@ import lombok.extern.slf4j.Slf4j;
 public class UserController {
     
     private final UserService userService;
+    private final WalkStreakService walkStreakService;
     
     /**
      * 현재 로그인한 사용자의 상세 정보를 조회합니다.
@@ -122,6 +124,28 @@ public class UserController {
         );
     }
     
+    /**
+     * 현재 로그인한 사용자의 시간대를 변경합니다.
+     * 날짜별 산책 조회와 연속 산책의 하루 기준이 바뀌며, 연속 산책 기록은 새 기준으로 다시 계산됩니다.
+     * 
+     * @param timeZone IANA 시간대 ID (예: Asia/Seoul), 생략하면 서버 기본 시간대
+     * @param authentication 현재 인증된 사용자 정보
+     * @return 수정된 사용자 프로필 정보
+     * @throws IllegalArgumentException 지원하지 않는 시간대인 경우
+     */
+    @PutMapping("/me/time-zone")
+    public ResponseEntity<ApiResponse<UserResponse>> updateTimeZone(
+            @RequestParam(required = false) String timeZone,
+            Authentication authentication) {
+        
+        User currentUser = userService.getCurrentUser(authentication);
+        User updatedUser = walkStreakService.changeTimeZone(currentUser, timeZone);
+        
+        return ResponseEntity.ok(
+            ApiResponse.success("시간대가 변경되었습니다.", mapToUserResponse(updatedUser))
+        );
+    }
+    
     /**
      * 닉네임 중복 여부를 확인합니다.
      * 회원가입이나 프로필 수정 시 닉네임이 사용 가능한지 실시간으로 검증할 때 사용됩니다.
@@ -211,6 +235,7 @@ public class UserController {
                 .nickname(user.getNickname())
                 .email(user.getEmail())
                 .profileImageUrl(profileImageUrl)
+                .timeZone(user.getTimeZone())
                 .role(user.getRole())
                 .createdAt(user.getCreatedAt())
                 .build();
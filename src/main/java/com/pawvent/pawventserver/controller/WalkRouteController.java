@@ -7,16 +7,22 @@ import com.pawvent.pawventserver.dto.RouteCreateRequest;
 import com.pawvent.pawventserver.dto.RouteResponse;
 import com.pawvent.pawventserver.service.UserService;
 import com.pawvent.pawventserver.service.WalkRouteService;
+import com.pawvent.pawventserver.service.WalkSessionService;
+import com.pawvent.pawventserver.util.PolylineCodec;
+import com.pawvent.pawventserver.util.TrackBinaryCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -28,7 +34,13 @@ public class WalkRouteController {
 
     private final WalkRouteService walkRouteService;
     private final UserService userService;
+    private final WalkSessionService walkSessionService;
     private final GeometryFactory geometryFactory = new GeometryFactory();
+    
+    /** 좌표 배열 응답 (기본값) */
+    private static final String GEOMETRY_COORDINATES = "coordinates";
+    /** Encoded Polyline 문자열 응답 */
+    private static final String GEOMETRY_POLYLINE = "polyline";
 
     @PostMapping
     public ResponseEntity<ApiResponse<RouteResponse>> createRoute(
@@ -52,10 +64,45 @@ public class WalkRouteController {
                 lineString,
                 request.getDistance(),
                 request.getDuration(),
-                request.isShared()
+                request.isShared(),
+                request.isSimplify()
             );
             
-            RouteResponse routeResponse = mapToRouteResponse(route);
+            RouteResponse routeResponse = mapToRouteResponse(route, false);
+            return ResponseEntity.ok(ApiResponse.success("산책 루트가 저장되었습니다.", routeResponse));
+            
+        } catch (Exception e) {
+            log.error("산책 루트 저장 중 오류 발생", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error("산책 루트 저장에 실패했습니다: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * 좌표를 바이너리 본문(Content-Type: application/vnd.pawvent.track)으로 받아 산책 루트를 저장합니다.
+     * 이름 등 나머지 값은 쿼리 파라미터로 받으며, 기록 시각이 포함되어 있어도 경로에는 위치만 저장합니다.
+     */
+    @PostMapping(consumes = TrackBinaryCodec.MEDIA_TYPE)
+    public ResponseEntity<ApiResponse<RouteResponse>> createRouteBinary(
+            @RequestParam String name,
+            @RequestParam(required = false) Double distance,
+            @RequestParam(required = false) Integer duration,
+            @RequestParam(defaultValue = "false") boolean isShared,
+            @RequestParam(defaultValue = "true") boolean simplify,
+            @RequestBody CoordinateSequence coordinates,
+            Authentication authentication) {
+        
+        try {
+            if (name.isBlank() || name.length() > 80) {
+                throw new IllegalArgumentException("루트 이름은 1~80자여야 합니다.");
+            }
+            User user = userService.getCurrentUser(authentication);
+            
+            LineString lineString = geometryFactory.createLineString(toXy(coordinates));
+            lineString.setSRID(4326);
+            
+            WalkRoute route = walkRouteService.saveWalkRoute(user, name, lineString, distance, duration, isShared, simplify);
+            
+            RouteResponse routeResponse = mapToRouteResponse(route, false);
             return ResponseEntity.ok(ApiResponse.success("산책 루트가 저장되었습니다.", routeResponse));
             
         } catch (Exception e) {
@@ -65,12 +112,15 @@ public class WalkRouteController {
     }
 
     @GetMapping("/my")
-    public ResponseEntity<ApiResponse<List<RouteResponse>>> getMyRoutes(Authentication authentication) {
+    public ResponseEntity<ApiResponse<List<RouteResponse>>> getMyRoutes(
+            @RequestParam(value = "geometry", defaultValue = GEOMETRY_COORDINATES) String geometry,
+            Authentication authentication) {
         try {
             User user = userService.getCurrentUser(authentication);
             List<WalkRoute> routes = walkRouteService.getUserRoutes(user);
+            boolean polyline = isPolyline(geometry);
             List<RouteResponse> routeResponses = routes.stream()
-                    .map(this::mapToRouteResponse)
+                    .map(route -> mapToRouteResponse(route, polyline))
                     .collect(Collectors.toList());
             
             return ResponseEntity.ok(ApiResponse.success("내 산책 경로를 조회했습니다.", routeResponses));
@@ -82,11 +132,13 @@ public class WalkRouteController {
     }
 
     @GetMapping("/shared")
-    public ResponseEntity<ApiResponse<List<RouteResponse>>> getSharedRoutes() {
+    public ResponseEntity<ApiResponse<List<RouteResponse>>> getSharedRoutes(
+            @RequestParam(value = "geometry", defaultValue = GEOMETRY_COORDINATES) String geometry) {
         try {
             List<WalkRoute> routes = walkRouteService.getSharedRoutes();
+            boolean polyline = isPolyline(geometry);
             List<RouteResponse> routeResponses = routes.stream()
-                    .map(this::mapToRouteResponse)
+                    .map(route -> mapToRouteResponse(route, polyline))
                     .collect(Collectors.toList());
             return ResponseEntity.ok(ApiResponse.success("공유 산책 경로를 조회했습니다.", routeResponses));
             
@@ -96,11 +148,34 @@ public class WalkRouteController {
         }
     }
 
+    /**
+     * 인기 산책 루트 조회 (최근 산책에서 많이 사용된 순)
+     */
+    @GetMapping("/popular")
+    public ResponseEntity<ApiResponse<List<RouteResponse>>> getPopularRoutes(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(value = "geometry", defaultValue = GEOMETRY_COORDINATES) String geometry) {
+        try {
+            List<WalkRoute> routes = walkSessionService.getPopularWalkRoutes(limit);
+            boolean polyline = isPolyline(geometry);
+            List<RouteResponse> routeResponses = routes.stream()
+                    .map(route -> mapToRouteResponse(route, polyline))
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(ApiResponse.success("인기 산책 경로를 조회했습니다.", routeResponses));
+            
+        } catch (Exception e) {
+            log.error("인기 산책 루트 조회 중 오류 발생", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error("인기 루트 조회에 실패했습니다: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/{routeId}")
-    public ResponseEntity<ApiResponse<RouteResponse>> getRoute(@PathVariable Long routeId) {
+    public ResponseEntity<ApiResponse<RouteResponse>> getRoute(
+            @PathVariable Long routeId,
+            @RequestParam(value = "geometry", defaultValue = GEOMETRY_COORDINATES) String geometry) {
         try {
             WalkRoute route = walkRouteService.getRouteById(routeId);
-            RouteResponse routeResponse = mapToRouteResponse(route);
+            RouteResponse routeResponse = mapToRouteResponse(route, isPolyline(geometry));
             return ResponseEntity.ok(ApiResponse.success("산책 경로를 조회했습니다.", routeResponse));
             
         } catch (Exception e) {
@@ -119,7 +194,7 @@ public class WalkRouteController {
         try {
             User user = userService.getCurrentUser(authentication);
             WalkRoute route = walkRouteService.updateRoute(routeId, name, isShared);
-            RouteResponse routeResponse = mapToRouteResponse(route);
+            RouteResponse routeResponse = mapToRouteResponse(route, false);
             
             return ResponseEntity.ok(ApiResponse.success("산책 루트가 수정되었습니다.", routeResponse));
             
@@ -146,24 +221,61 @@ public class WalkRouteController {
         }
     }
     
+    /**
+     * 산책 루트 경로를 바이너리로 조회합니다 (Accept: application/vnd.pawvent.track).
+     */
+    @GetMapping(value = "/{routeId}", produces = TrackBinaryCodec.MEDIA_TYPE)
+    public ResponseEntity<CoordinateSequence> getRouteGeometry(@PathVariable Long routeId) {
+        WalkRoute route = walkRouteService.getRouteById(routeId);
+        CoordinateSequence sequence = route.getRouteData() != null
+                ? route.getRouteData().getCoordinateSequence()
+                : new PackedCoordinateSequence.Double(new double[0], 2, 0);
+        return ResponseEntity.ok(sequence);
+    }
+    
+    /** 기록 시각(M)이 있는 시퀀스에서 위치(x, y)만 남깁니다. */
+    private CoordinateSequence toXy(CoordinateSequence sequence) {
+        if (!sequence.hasM() && !sequence.hasZ()) {
+            return sequence;
+        }
+        double[] xy = new double[sequence.size() * 2];
+        for (int i = 0; i < sequence.size(); i++) {
+            xy[i * 2] = sequence.getX(i);
+            xy[i * 2 + 1] = sequence.getY(i);
+        }
+        return new PackedCoordinateSequence.Double(xy, 2, 0);
+    }
+    
+    private boolean isPolyline(String geometry) {
+        return GEOMETRY_POLYLINE.equalsIgnoreCase(geometry);
+    }
+    
     /**
      * WalkRoute 엔티티를 RouteResponse DTO로 변환
      * LineString을 좌표 배열로 변환하여 JSON 직렬화 문제 해결
+     * polyline이 true이면 좌표 배열 대신 Encoded Polyline 문자열만 담아 응답 크기를 줄입니다.
      */
-    private RouteResponse mapToRouteResponse(WalkRoute walkRoute) {
-        // LineString을 좌표 배열로 변환
+    private RouteResponse mapToRouteResponse(WalkRoute walkRoute, boolean polyline) {
         List<RouteResponse.CoordinateDto> coordinates = null;
+        String encodedPolyline = null;
         if (walkRoute.getRouteData() != null) {
-            Coordinate[] coords = walkRoute.getRouteData().getCoordinates();
-            coordinates = java.util.Arrays.stream(coords)
-                    .map(coord -> new RouteResponse.CoordinateDto(coord.y, coord.x)) // y=latitude, x=longitude
-                    .collect(java.util.stream.Collectors.toList());
+            // Coordinate[] 복사본을 만들지 않도록 시퀀스에서 직접 읽음
+            CoordinateSequence sequence = walkRoute.getRouteData().getCoordinateSequence();
+            if (polyline) {
+                encodedPolyline = PolylineCodec.encode(sequence);
+            } else {
+                coordinates = new ArrayList<>(sequence.size());
+                for (int i = 0; i < sequence.size(); i++) {
+                    coordinates.add(new RouteResponse.CoordinateDto(sequence.getY(i), sequence.getX(i))); // y=latitude, x=longitude
+                }
+            }
         }
         
         return RouteResponse.builder()
                 .id(walkRoute.getId())
                 .name(walkRoute.getName())
                 .coordinates(coordinates)
+                .encodedPolyline(encodedPolyline)
                 .distance(walkRoute.getDistance())
                 .duration(walkRoute.getDuration())
                 .isShared(walkRoute.isShared())
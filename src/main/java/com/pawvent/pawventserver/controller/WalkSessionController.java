@@ -1,27 +1,59 @@
 package com.pawvent.pawventserver.controller;
 
 import com.pawvent.pawventserver.dto.ApiResponse;
+import com.pawvent.pawventserver.dto.CursorPageResponse;
+import com.pawvent.pawventserver.dto.LiveShareResponse;
+import com.pawvent.pawventserver.dto.LiveWalkResponse;
+import com.pawvent.pawventserver.dto.PathResponse;
+import com.pawvent.pawventserver.dto.RouteResponse;
+import com.pawvent.pawventserver.dto.TrackIngestResponse;
+import com.pawvent.pawventserver.dto.TrackPointsRequest;
+import com.pawvent.pawventserver.dto.WalkAreaStatsResponse;
+import com.pawvent.pawventserver.dto.WalkCalendarResponse;
+import com.pawvent.pawventserver.dto.WalkStreakResponse;
+import com.pawvent.pawventserver.dto.WalkImportResponse;
 import com.pawvent.pawventserver.dto.WalkSessionCreateRequest;
 import com.pawvent.pawventserver.dto.WalkSessionResponse;
+import com.pawvent.pawventserver.dto.WalkSyncResponse;
 import com.pawvent.pawventserver.domain.Pet;
 import com.pawvent.pawventserver.domain.User;
 import com.pawvent.pawventserver.domain.WalkRoute;
 import com.pawvent.pawventserver.domain.WalkSession;
+import com.pawvent.pawventserver.service.LiveWalkShareService;
 import com.pawvent.pawventserver.service.PetService;
 import com.pawvent.pawventserver.service.UserService;
+import com.pawvent.pawventserver.service.WalkAreaService;
+import com.pawvent.pawventserver.service.WalkExportService;
+import com.pawvent.pawventserver.service.WalkImportService;
 import com.pawvent.pawventserver.service.WalkRouteService;
+import com.pawvent.pawventserver.service.WalkSessionArchiveService;
+import com.pawvent.pawventserver.service.WalkSessionReaper;
 import com.pawvent.pawventserver.service.WalkSessionService;
+import com.pawvent.pawventserver.service.WalkSyncService;
+import com.pawvent.pawventserver.service.WalkTrackService;
+import com.pawvent.pawventserver.util.PolylineCodec;
+import com.pawvent.pawventserver.util.TrackBinaryCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -39,10 +71,21 @@ import java.util.List;
 @RequiredArgsConstructor
 public class WalkSessionController {
     
+    /** 좌표 전송 요청 하나의 최대 좌표 수 (TrackPointsRequest와 동일) */
+    private static final int MAX_TRACK_POINTS = 1000;
+    
     private final WalkSessionService walkSessionService;
     private final UserService userService;
     private final PetService petService;
     private final WalkRouteService walkRouteService;
+    private final WalkTrackService walkTrackService;
+    private final WalkSessionReaper walkSessionReaper;
+    private final WalkImportService walkImportService;
+    private final WalkExportService walkExportService;
+    private final WalkSessionArchiveService walkSessionArchiveService;
+    private final LiveWalkShareService liveWalkShareService;
+    private final WalkSyncService walkSyncService;
+    private final WalkAreaService walkAreaService;
     
     /**
      * 새로운 산책 세션을 시작합니다.
@@ -131,13 +174,13 @@ public class WalkSessionController {
     
     /**
      * 진행 중인 산책 세션을 완료하고 결과 데이터를 저장합니다.
-     * 실제 산책한 거리, 시간, 칼로리를 기록하고 사진과 메모를 추가할 수 있습니다.
+     * 거리와 시간은 서버가 수신한 GPS 경로와 시작/완료 시각으로 직접 계산합니다.
      * 세션 주인만 완료할 수 있으며, 완료 후에도 정보 수정이 가능합니다.
      * 
      * @param sessionId 완료할 산책 세션의 ID
-     * @param distance 실제 산책한 거리 (미터)
-     * @param duration 산책에 소요된 시간 (초)
-     * @param calories 번 칼로리
+     * @param distance 클라이언트가 측정한 거리 (미터, GPS 경로가 없을 때만 사용)
+     * @param duration 클라이언트가 측정한 시간 (초, 하위 호환용 - 사용하지 않음)
+     * @param calories 번 칼로리 (하위 호환용 - 사용하지 않음)
      * @param imageUrls 산책 중 촬영한 사진 URL 목록 (선택사항)
      * @param memo 산책 후기 또는 메모 (선택사항)
      * @param authentication 현재 인증된 사용자
@@ -146,9 +189,9 @@ public class WalkSessionController {
     @PostMapping("/{sessionId}/complete")
     public ResponseEntity<ApiResponse<WalkSessionResponse>> completeWalkSession(
             @PathVariable Long sessionId,
-            @RequestParam Double distance,
-            @RequestParam Integer duration,
-            @RequestParam Integer calories,
+            @RequestParam(required = false) Double distance,
+            @RequestParam(required = false) Integer duration,
+            @RequestParam(required = false) Integer calories,
             @RequestParam(required = false) List<String> imageUrls,
             @RequestParam(required = false) String memo,
             Authentication authentication) {
@@ -156,7 +199,7 @@ public class WalkSessionController {
         User currentUser = userService.getCurrentUser(authentication);
         
         WalkSession completedSession = walkSessionService.completeWalkSession(
-            sessionId, currentUser, distance, duration
+            sessionId, currentUser, distance
         );
         
         WalkSessionResponse sessionResponse = mapToWalkSessionResponse(completedSession);
@@ -166,6 +209,137 @@ public class WalkSessionController {
         );
     }
     
+    /**
+     * 진행 중인 산책의 GPS 좌표를 일괄 전송합니다.
+     * 좌표는 서버 버퍼에 모였다가 일정 개수마다 한 번에 실제 이동 경로에 반영됩니다.
+     * 세션 주인만 좌표를 전송할 수 있습니다.
+     * 
+     * @param sessionId 좌표를 기록할 산책 세션 ID
+     * @param request 좌표 목록 (위도, 경도, 기록 시각)
+     * @param authentication 현재 인증된 사용자
+     * @return 수신 결과 (버퍼/반영 좌표 수)
+     */
+    @PostMapping("/{sessionId}/track")
+    public ResponseEntity<ApiResponse<TrackIngestResponse>> appendTrackPoints(
+            @PathVariable Long sessionId,
+            @Valid @RequestBody TrackPointsRequest request,
+            Authentication authentication) {
+        
+        User currentUser = userService.getCurrentUser(authentication);
+        TrackIngestResponse ingestResponse = walkTrackService.appendPoints(
+            sessionId, currentUser, toTrackSequence(request.getPoints())
+        );
+        
+        return ResponseEntity.ok(
+            ApiResponse.success("산책 경로 좌표를 수신했습니다.", ingestResponse)
+        );
+    }
+    
+    /**
+     * 진행 중인 산책의 GPS 좌표를 바이너리로 일괄 전송합니다 (Content-Type: application/vnd.pawvent.track).
+     * JSON 좌표 배열보다 본문이 몇 배 작고, 좌표 객체 없이 바로 좌표 시퀀스로 읽힙니다.
+     * 기록 시각이 없는 본문이면 서버 수신 시각을 사용합니다.
+     * 
+     * @param sessionId 좌표를 기록할 산책 세션 ID
+     * @param points 좌표 시퀀스 (TrackBinaryCodec 형식)
+     * @param authentication 현재 인증된 사용자
+     * @return 수신 결과 (버퍼/반영 좌표 수)
+     */
+    @PostMapping(value = "/{sessionId}/track", consumes = TrackBinaryCodec.MEDIA_TYPE)
+    public ResponseEntity<ApiResponse<TrackIngestResponse>> appendTrackPointsBinary(
+            @PathVariable Long sessionId,
+            @RequestBody CoordinateSequence points,
+            Authentication authentication) {
+        
+        validateTrackPoints(points);
+        User currentUser = userService.getCurrentUser(authentication);
+        TrackIngestResponse ingestResponse = walkTrackService.appendPoints(sessionId, currentUser, points);
+        
+        return ResponseEntity.ok(
+            ApiResponse.success("산책 경로 좌표를 수신했습니다.", ingestResponse)
+        );
+    }
+    
+    /**
+     * 진행 중인 산책의 실시간 상태를 조회합니다.
+     * 경과 시간, 누적 거리, 마지막 위치 등을 서버 메모리에서 바로 반환합니다.
+     * 
+     * @param sessionId 조회할 산책 세션 ID
+     * @param authentication 현재 인증된 사용자
+     * @return 실시간 산책 상태
+     */
+    @GetMapping("/{sessionId}/live")
+    public ResponseEntity<ApiResponse<LiveWalkResponse>> getLiveWalkStatus(
+            @PathVariable Long sessionId,
+            Authentication authentication) {
+        
+        User currentUser = userService.getCurrentUser(authentication);
+        LiveWalkResponse liveResponse = walkTrackService.getLiveStatus(sessionId, currentUser);
+        
+        return ResponseEntity.ok(
+            ApiResponse.success("진행 중인 산책 상태를 조회했습니다.", liveResponse)
+        );
+    }
+    
+    /**
+     * 진행 중인 산책의 실시간 공유 링크를 만듭니다.
+     * 링크를 받은 가족 등은 로그인 없이 streamPath를 EventSource로 열어 위치를 실시간으로 볼 수 있습니다.
+     * 세션 주인만 공유할 수 있으며, 산책이 끝나면 공유도 자동으로 종료됩니다.
+     * 
+     * @param sessionId 공유할 산책 세션 ID
+     * @param authentication 현재 인증된 사용자
+     * @return 공유 토큰과 구독 경로
+     */
+    @PostMapping("/{sessionId}/share")
+    public ResponseEntity<ApiResponse<LiveShareResponse>> shareLiveWalk(
+            @PathVariable Long sessionId,
+            Authentication authentication) {
+        
+        User currentUser = userService.getCurrentUser(authentication);
+        LiveShareResponse shareResponse = liveWalkShareService.createShare(sessionId, currentUser);
+        
+        return ResponseEntity.ok(
+            ApiResponse.success("산책 실시간 공유 링크를 만들었습니다.", shareResponse)
+        );
+    }
+    
+    /**
+     * 산책 실시간 공유를 중지합니다. 연결된 시청자는 end 이벤트를 받고 연결이 종료됩니다.
+     * 
+     * @param sessionId 공유를 중지할 산책 세션 ID
+     * @param authentication 현재 인증된 사용자
+     * @return 중지 결과 메시지
+     */
+    @DeleteMapping("/{sessionId}/share")
+    public ResponseEntity<ApiResponse<Void>> stopSharingLiveWalk(
+            @PathVariable Long sessionId,
+            Authentication authentication) {
+        
+        User currentUser = userService.getCurrentUser(authentication);
+        liveWalkShareService.revokeShare(sessionId, currentUser);
+        
+        return ResponseEntity.ok(
+            ApiResponse.success("산책 실시간 공유를 중지했습니다.", null)
+        );
+    }
+    
+    /**
+     * 공유 링크로 진행 중인 산책 위치를 실시간 구독합니다 (Server-Sent Events, 인증 불필요).
+     * start(산책 정보) → positions(좌표 묶음, 이벤트 ID = 마지막 좌표 번호) → end 순서로 이벤트를 보내며,
+     * 루트 이탈/복귀는 route 이벤트로 알립니다. 재연결 시 Last-Event-ID 이후 좌표부터 이어서 받습니다.
+     * 
+     * @param token 공유 토큰
+     * @param lastEventId 마지막으로 받은 이벤트 ID (EventSource가 자동으로 보냄)
+     * @return SSE 스트림
+     */
+    @GetMapping("/live/{token}/stream")
+    public SseEmitter streamLiveWalk(
+            @PathVariable String token,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        
+        return liveWalkShareService.subscribe(token, lastEventId);
+    }
+    
     /**
      * 산책 세션을 취소합니다 (소프트 삭제).
      * 실수로 생성한 세션이나 더 이상 필요하지 않은 세션을 취소할 때 사용합니다.
@@ -189,19 +363,19 @@ public class WalkSessionController {
     }
     
     /**
-     * 현재 인증된 사용자의 모든 산책 세션 목록을 조회합니다.
-     * 삭제되지 않은 세션만 최신순으로 반환합니다.
+     * 현재 인증된 사용자의 산책 세션 목록을 조회합니다.
+     * 삭제되지 않은 세션을 최신순으로 최대 limit개 반환하며, 이후 기록은 /my/cursor로 이어서 조회합니다.
      * 
+     * @param limit 최대 조회 개수 (기본 100, 최대 500)
      * @param authentication 현재 인증된 사용자
      * @return 사용자의 산책 세션 목록
      */
     @GetMapping("/my")
-    public ResponseEntity<ApiResponse<List<WalkSessionResponse>>> getMyWalkSessions(Authentication authentication) {
+    public ResponseEntity<ApiResponse<List<WalkSessionResponse>>> getMyWalkSessions(
+            @RequestParam(defaultValue = "100") int limit,
+            Authentication authentication) {
         User currentUser = userService.getCurrentUser(authentication);
-        List<WalkSession> walkSessions = walkSessionService.getWalkSessionsByUser(currentUser);
-        List<WalkSessionResponse> sessionResponses = walkSessions.stream()
-                .map(this::mapToWalkSessionResponse)
-                .toList();
+        List<WalkSessionResponse> sessionResponses = walkSessionService.getWalkSessionsByUser(currentUser, limit);
         
         return ResponseEntity.ok(
             ApiResponse.success("내 산책 세션 목록을 조회했습니다.", sessionResponses)
@@ -211,6 +385,8 @@ public class WalkSessionController {
     /**
      * 현재 인증된 사용자의 산책 세션 목록을 페이지 단위로 조회합니다.
      * 대량의 데이터를 효율적으로 처리하기 위해 페이지다이션을 사용합니다.
+     * offset 방식이라 페이지가 깊어질수록 느려지고 매번 count 쿼리가 실행되므로,
+     * 무한 스크롤 등에서는 /my/cursor 사용을 권장합니다.
      * 
      * @param pageable 페이지 정보 (페이지 번호, 사이즈, 정렬)
      * @param authentication 현재 인증된 사용자
@@ -222,28 +398,140 @@ public class WalkSessionController {
             Authentication authentication) {
         
         User currentUser = userService.getCurrentUser(authentication);
-        Page<WalkSession> walkSessions = walkSessionService.getWalkSessionsByUser(currentUser, pageable);
-        Page<WalkSessionResponse> sessionResponses = walkSessions.map(this::mapToWalkSessionResponse);
+        Page<WalkSessionResponse> sessionResponses = walkSessionService.getWalkSessionsByUser(currentUser, pageable);
         
         return ResponseEntity.ok(
             ApiResponse.success("내 산책 세션 목록을 조회했습니다.", sessionResponses)
         );
     }
     
+    /**
+     * 현재 인증된 사용자의 산책 세션 목록을 커서(keyset) 방식으로 조회합니다.
+     * 응답의 nextCursor를 다음 요청의 cursor로 전달하면 이어지는 세션을 받을 수 있으며,
+     * 페이지 깊이와 관계없이 인덱스 범위 조회 한 번으로 처리됩니다.
+     * 
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 생략)
+     * @param size 페이지 크기 (기본 20, 최대 500)
+     * @param status 완료 상태 필터 (ALL, COMPLETED, ACTIVE)
+     * @param authentication 현재 인증된 사용자
+     * @return 커서 페이지
+     */
+    @GetMapping("/my/cursor")
+    public ResponseEntity<ApiResponse<CursorPageResponse<WalkSessionResponse>>> getMyWalkSessionsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "ALL") WalkSessionService.StatusFilter status,
+            Authentication authentication) {
+        
+        User currentUser = userService.getCurrentUser(authentication);
+        CursorPageResponse<WalkSessionResponse> page = walkSessionService
+                .getWalkSessionsByCursor(currentUser, status, cursor, size);
+        
+        return ResponseEntity.ok(
+            ApiResponse.success("내 산책 세션 목록을 조회했습니다.", page)
+        );
+    }
+    
+    /**
+     * 보관된 산책 기록 조회 (키셋 커서 기반)
+     * 오래되어 보관 테이블로 옮겨진 기록을 최신순으로 조회합니다.
+     * 
+     * @param cursor 이전 페이지 응답의 nextCursor (첫 페이지는 생략)
+     * @param size 페이지 크기
+     * @param authentication 현재 인증된 사용자
+     * @return 보관된 산책 세션 페이지
+     */
+    @GetMapping("/my/archive")
+    public ResponseEntity<ApiResponse<CursorPageResponse<WalkSessionResponse>>> getArchivedWalkSessions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        
+        User currentUser = userService.getCurrentUser(authentication);
+        CursorPageResponse<WalkSessionResponse> page =
+                walkSessionArchiveService.getArchivedSessions(currentUser.getId(), cursor, size);
+        
+        return ResponseEntity.ok(
+            ApiResponse.success("보관된 산책 기록을 조회했습니다.", page)
+        );
+    }
+    
+    /**
+     * 지역 산책 통계 조회
+     * 영역을 지나간 모든 사용자의 완료 산책을 집계합니다 (산책 수, 사용자/반려동물 수, 시간대별 산책 수).
+     * 영역은 사각형(minLat, minLng, maxLat, maxLng) 또는 Encoded Polyline 다각형(polygon)으로 지정합니다.
+     * 
+     * @param startDate 조회 시작 날짜 (생략 시 종료 날짜 기준 최근 30일)
+     * @param endDate 조회 종료 날짜 (생략 시 오늘)
+     * @param authentication 현재 인증된 사용자
+     * @return 영역 산책 통계
+     */
+    @GetMapping("/area/stats")
+    public ResponseEntity<ApiResponse<WalkAreaStatsResponse>> getAreaWalkStats(
+            @RequestParam(required = false) Double minLat,
+            @RequestParam(required = false) Double minLng,
+            @RequestParam(required = false) Double maxLat,
+            @RequestParam(required = false) Double maxLng,
+            @RequestParam(required = false) String polygon,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            Authentication authentication) {
+        
+        User currentUser = userService.getCurrentUser(authentication);
+        WalkAreaStatsResponse stats = walkAreaService.getAreaStats(currentUser,
+                new WalkAreaService.AreaQuery(minLat, minLng, maxLat, maxLng, polygon, startDate, endDate));
+        
+        return ResponseEntity.ok(
+            ApiResponse.success("지역 산책 통계를 조회했습니다.", stats)
+        );
+    }
+    
+    /**
+     * 영역을 지나간 내 산책 조회 (키셋 커서 기반)
+     * 영역 지정 방식과 기간은 /area/stats와 같습니다.
+     * 
+     * @param cursor 이전 페이지 응답의 nextCursor (첫 페이지는 생략)
+     * @param size 페이지 크기
+     * @param authentication 현재 인증된 사용자
+     * @return 영역을 지나간 산책 세션 페이지
+     */
+    @GetMapping("/my/area")
+    public ResponseEntity<ApiResponse<CursorPageResponse<WalkSessionResponse>>> getMyAreaWalkSessions(
+            @RequestParam(required = false) Double minLat,
+            @RequestParam(required = false) Double minLng,
+            @RequestParam(required = false) Double maxLat,
+            @RequestParam(required = false) Double maxLng,
+            @RequestParam(required = false) String polygon,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        
+        User currentUser = userService.getCurrentUser(authentication);
+        CursorPageResponse<WalkSessionResponse> page = walkAreaService.getMyAreaSessions(currentUser,
+                new WalkAreaService.AreaQuery(minLat, minLng, maxLat, maxLng, polygon, startDate, endDate),
+                cursor, size);
+        
+        return ResponseEntity.ok(
+            ApiResponse.success("영역을 지나간 산책 기록을 조회했습니다.", page)
+        );
+    }
+    
     /**
      * 현재 인증된 사용자의 완료된 산책 세션만 조회합니다.
      * 산책 기록이나 통계를 확인할 때 사용합니다.
      * 
+     * @param limit 최대 조회 개수 (기본 100, 최대 500)
      * @param authentication 현재 인증된 사용자
      * @return 완료된 산책 세션 목록
      */
     @GetMapping("/my/completed")
-    public ResponseEntity<ApiResponse<List<WalkSessionResponse>>> getMyCompletedSessions(Authentication authentication) {
+    public ResponseEntity<ApiResponse<List<WalkSessionResponse>>> getMyCompletedSessions(
+            @RequestParam(defaultValue = "100") int limit,
+            Authentication authentication) {
         User currentUser = userService.getCurrentUser(authentication);
-        List<WalkSession> walkSessions = walkSessionService.getCompletedWalkSessions(currentUser);
-        List<WalkSessionResponse> sessionResponses = walkSessions.stream()
-                .map(this::mapToWalkSessionResponse)
-                .toList();
+        List<WalkSessionResponse> sessionResponses = walkSessionService.getCompletedWalkSessions(currentUser, limit);
         
         return ResponseEntity.ok(
             ApiResponse.success("완료된 산책 세션을 조회했습니다.", sessionResponses)
@@ -254,16 +542,16 @@ public class WalkSessionController {
      * 현재 인증된 사용자의 진행 중인 산책 세션만 조회합니다.
      * 아직 완료되지 않은 산책 세션을 조회하여 재개하거나 완료할 수 있습니다.
      * 
+     * @param limit 최대 조회 개수 (기본 100, 최대 500)
      * @param authentication 현재 인증된 사용자
      * @return 진행 중인 산책 세션 목록
      */
     @GetMapping("/my/active")
-    public ResponseEntity<ApiResponse<List<WalkSessionResponse>>> getMyActiveSessions(Authentication authentication) {
+    public ResponseEntity<ApiResponse<List<WalkSessionResponse>>> getMyActiveSessions(
+            @RequestParam(defaultValue = "100") int limit,
+            Authentication authentication) {
         User currentUser = userService.getCurrentUser(authentication);
-        List<WalkSession> walkSessions = walkSessionService.getActiveWalkSessions(currentUser);
-        List<WalkSessionResponse> sessionResponses = walkSessions.stream()
-                .map(this::mapToWalkSessionResponse)
-                .toList();
+        List<WalkSessionResponse> sessionResponses = walkSessionService.getActiveWalkSessions(currentUser, limit);
         
         return ResponseEntity.ok(
             ApiResponse.success("진행 중인 산책 세션을 조회했습니다.", sessionResponses)
@@ -284,10 +572,7 @@ public class WalkSessionController {
             Authentication authentication) {
         
         User currentUser = userService.getCurrentUser(authentication);
-        List<WalkSession> walkSessions = walkSessionService.getWalkSessionsByDate(currentUser, date);
-        List<WalkSessionResponse> sessionResponses = walkSessions.stream()
-                .map(this::mapToWalkSessionResponse)
-                .toList();
+        List<WalkSessionResponse> sessionResponses = walkSessionService.getWalkSessionsByDate(currentUser, date);
         
         return ResponseEntity.ok(
             ApiResponse.success(date + "의 산책 세션을 조회했습니다.", sessionResponses)
@@ -295,19 +580,56 @@ public class WalkSessionController {
     }
     
     /**
-     * 특정 기간의 산책 세션 조회
+     * 연간 산책 달력 조회
+     * 1년치 날짜별 산책 횟수/거리/시간을 한 번에 반환합니다.
+     * 달력 화면에서 날짜마다 /my/date/{date}를 호출하는 대신 사용합니다.
+     * 
+     * @param year 조회 연도
+     * @param authentication 현재 인증된 사용자
+     * @return 연간 산책 달력
+     */
+    @GetMapping("/my/calendar/{year}")
+    public ResponseEntity<ApiResponse<WalkCalendarResponse>> getYearCalendar(
+            @PathVariable int year,
+            Authentication authentication) {
+        
+        User currentUser = userService.getCurrentUser(authentication);
+        WalkCalendarResponse calendar = walkSessionService.getYearCalendar(currentUser, year);
+        
+        return ResponseEntity.ok(
+            ApiResponse.success(year + "년 산책 달력을 조회했습니다.", calendar)
+        );
+    }
+    
+    /**
+     * 연속 산책 기록 조회
+     * 사용자 전체와 반려동물별 현재/최장 연속 산책 일수를 사용자 시간대 기준으로 반환합니다.
+     * 
+     * @param authentication 현재 인증된 사용자
+     * @return 연속 산책 기록
+     */
+    @GetMapping("/my/streaks")
+    public ResponseEntity<ApiResponse<WalkStreakResponse>> getWalkStreaks(Authentication authentication) {
+        User currentUser = userService.getCurrentUser(authentication);
+        WalkStreakResponse streaks = walkSessionService.getWalkStreaks(currentUser);
+        
+        return ResponseEntity.ok(
+            ApiResponse.success("연속 산책 기록을 조회했습니다.", streaks)
+        );
+    }
+    
+    /**
+     * 특정 기간의 산책 세션 조회 (최신순 최대 limit개)
      */
     @GetMapping("/my/range")
     public ResponseEntity<ApiResponse<List<WalkSessionResponse>>> getWalkSessionsByDateRange(
             @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "100") int limit,
             Authentication authentication) {
         
         User currentUser = userService.getCurrentUser(authentication);
-        List<WalkSession> walkSessions = walkSessionService.getWalkSessionsByDateRange(currentUser, startDate, endDate);
-        List<WalkSessionResponse> sessionResponses = walkSessions.stream()
-                .map(this::mapToWalkSessionResponse)
-                .toList();
+        List<WalkSessionResponse> sessionResponses = walkSessionService.getWalkSessionsByDateRange(currentUser, startDate, endDate, limit);
         
         return ResponseEntity.ok(
             ApiResponse.success("기간별 산책 세션을 조회했습니다.", sessionResponses)
@@ -319,14 +641,69 @@ public class WalkSessionController {
      */
     @GetMapping("/{sessionId}")
     public ResponseEntity<ApiResponse<WalkSessionResponse>> getWalkSession(@PathVariable Long sessionId) {
-        WalkSession walkSession = walkSessionService.getWalkSessionById(sessionId);
-        WalkSessionResponse sessionResponse = mapToWalkSessionResponse(walkSession);
+        WalkSessionResponse sessionResponse = walkSessionService.getWalkSessionResponseById(sessionId);
         
         return ResponseEntity.ok(
             ApiResponse.success("산책 세션을 조회했습니다.", sessionResponse)
         );
     }
     
+    /**
+     * 산책 세션의 실제 이동 경로 조회
+     * geometry=polyline이면 좌표 배열 대신 Encoded Polyline 문자열로 응답합니다.
+     */
+    @GetMapping("/{sessionId}/path")
+    public ResponseEntity<ApiResponse<PathResponse>> getWalkSessionPath(
+            @PathVariable Long sessionId,
+            @RequestParam(value = "geometry", defaultValue = "coordinates") String geometry,
+            Authentication authentication) {
+        
+        User currentUser = userService.getCurrentUser(authentication);
+        WalkSession walkSession = walkSessionService.getWalkSessionById(sessionId);
+        if (!walkSession.getUser().getId().equals(currentUser.getId())) {
+            throw new IllegalArgumentException("산책 경로를 조회할 권한이 없습니다.");
+        }
+        PathResponse pathResponse = PathResponse.builder().sessionId(sessionId).build();
+        
+        if (walkSession.getActualPath() != null) {
+            CoordinateSequence sequence = walkSession.getActualPath().getCoordinateSequence();
+            pathResponse.setPointCount(sequence.size());
+            if ("polyline".equalsIgnoreCase(geometry)) {
+                pathResponse.setEncodedPolyline(PolylineCodec.encode(sequence));
+            } else {
+                List<RouteResponse.CoordinateDto> coordinates = new ArrayList<>(sequence.size());
+                for (int i = 0; i < sequence.size(); i++) {
+                    coordinates.add(new RouteResponse.CoordinateDto(sequence.getY(i), sequence.getX(i)));
+                }
+                pathResponse.setCoordinates(coordinates);
+            }
+        }
+        
+        return ResponseEntity.ok(
+            ApiResponse.success("산책 경로를 조회했습니다.", pathResponse)
+        );
+    }
+    
+    /**
+     * 산책 세션의 실제 이동 경로를 바이너리로 조회합니다 (Accept: application/vnd.pawvent.track).
+     * 경로가 없으면 좌표 0개인 본문을 반환합니다.
+     */
+    @GetMapping(value = "/{sessionId}/path", produces = TrackBinaryCodec.MEDIA_TYPE)
+    public ResponseEntity<CoordinateSequence> getWalkSessionPathBinary(
+            @PathVariable Long sessionId,
+            Authentication authentication) {
+        
+        User currentUser = userService.getCurrentUser(authentication);
+        WalkSession walkSession = walkSessionService.getWalkSessionById(sessionId);
+        if (!walkSession.getUser().getId().equals(currentUser.getId())) {
+            throw new IllegalArgumentException("산책 경로를 조회할 권한이 없습니다.");
+        }
+        CoordinateSequence sequence = walkSession.getActualPath() != null
+                ? walkSession.getActualPath().getCoordinateSequence()
+                : new PackedCoordinateSequence.Double(new double[0], 2, 0);
+        return ResponseEntity.ok(sequence);
+    }
+    
     /**
      * 최근 산책 세션 조회
      */
@@ -336,10 +713,7 @@ public class WalkSessionController {
             Authentication authentication) {
         
         User currentUser = userService.getCurrentUser(authentication);
-        List<WalkSession> walkSessions = walkSessionService.getRecentWalkSessions(currentUser, limit);
-        List<WalkSessionResponse> sessionResponses = walkSessions.stream()
-                .map(this::mapToWalkSessionResponse)
-                .toList();
+        List<WalkSessionResponse> sessionResponses = walkSessionService.getRecentWalkSessions(currentUser, limit);
         
         return ResponseEntity.ok(
             ApiResponse.success("최근 산책 세션을 조회했습니다.", sessionResponses)
@@ -363,6 +737,112 @@ public class WalkSessionController {
         );
     }
     
+    /**
+     * 방치된 진행 중 세션 정리 작업 통계 조회
+     * 마지막 실행에서 자동 완료/취소한 세션 수와 누적 처리 건수를 반환합니다 (관리자 전용).
+     */
+    @GetMapping("/reaper/stats")
+    public ResponseEntity<ApiResponse<WalkSessionReaper.ReaperStats>> getReaperStats(Authentication authentication) {
+        User currentUser = userService.getCurrentUser(authentication);
+        if (!userService.isAdmin(currentUser)) {
+            throw new IllegalArgumentException("관리자만 조회할 수 있습니다.");
+        }
+        
+        return ResponseEntity.ok(
+            ApiResponse.success("방치 세션 정리 통계를 조회했습니다.", walkSessionReaper.getStats())
+        );
+    }
+    
+    /**
+     * 전체 산책 기록 내보내기 (NDJSON/GeoJSON/GPX)
+     * 목록을 메모리에 모으지 않고 DB에서 읽는 대로 응답에 바로 씁니다.
+     * 
+     * @param format 내보내기 형식 (기본 NDJSON)
+     * @param authentication 현재 인증된 사용자
+     * @return 첨부 파일로 내려가는 스트리밍 응답
+     */
+    @GetMapping("/my/export")
+    public ResponseEntity<StreamingResponseBody> exportWalkSessions(
+            @RequestParam(defaultValue = "NDJSON") WalkExportService.ExportFormat format,
+            Authentication authentication) {
+        
+        User currentUser = userService.getCurrentUser(authentication);
+        StreamingResponseBody body = walkExportService.openExport(currentUser, format);
+        String fileName = "pawvent-walks-" + LocalDate.now() + "." + format.getExtension();
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+    
+    /**
+     * 과거 산책 기록 가져오기 (GPX/GeoJSON)
+     * 파일의 트랙마다 완료된 산책 세션을 만들며, 처리는 백그라운드에서 진행됩니다.
+     * 반환된 jobId로 /import/{jobId}를 조회해 진행 상황을 확인합니다.
+     * 
+     * @param file GPX 또는 GeoJSON 파일
+     * @param petId 가져온 산책에 연결할 반려동물 ID
+     * @param format 파일 형식 (생략 시 확장자로 판단)
+     * @param authentication 현재 인증된 사용자
+     * @return 가져오기 작업 상태
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ApiResponse<WalkImportResponse>> importWalkSessions(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam Long petId,
+            @RequestParam(required = false) WalkImportService.ImportFormat format,
+            Authentication authentication) {
+        
+        User currentUser = userService.getCurrentUser(authentication);
+        Pet pet = petService.getPetById(petId);
+        WalkImportResponse job = walkImportService.startImport(currentUser, pet, file, format);
+        
+        return ResponseEntity.accepted().body(
+            ApiResponse.success("산책 기록 가져오기를 시작했습니다.", job)
+        );
+    }
+    
+    /**
+     * 오프라인 산책 일괄 동기화
+     * 연결 없이 기록한 완료 산책 여러 개(좌표 포함)를 요청 하나로 저장합니다.
+     * 본문은 Content-Encoding: gzip으로 압축해 보낼 수 있으며, clientId가 같은 산책은 다시 저장하지 않습니다.
+     * 
+     * @param contentEncoding 본문 압축 방식 (gzip 또는 생략)
+     * @param body 요청 본문 (WalkSyncRequest JSON)
+     * @param authentication 현재 인증된 사용자
+     * @return 산책별 처리 결과
+     */
+    @PostMapping(value = "/sync", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<WalkSyncResponse>> syncOfflineWalks(
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body,
+            Authentication authentication) {
+        
+        User currentUser = userService.getCurrentUser(authentication);
+        WalkSyncResponse syncResponse = walkSyncService.sync(currentUser, body, contentEncoding);
+        
+        return ResponseEntity.ok(
+            ApiResponse.success("오프라인 산책 기록을 동기화했습니다.", syncResponse)
+        );
+    }
+    
+    /**
+     * 과거 산책 기록 가져오기 작업 상태 조회
+     */
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ApiResponse<WalkImportResponse>> getImportJob(
+            @PathVariable String jobId,
+            Authentication authentication) {
+        
+        User currentUser = userService.getCurrentUser(authentication);
+        
+        return ResponseEntity.ok(
+            ApiResponse.success("산책 기록 가져오기 상태를 조회했습니다.", walkImportService.getJob(jobId, currentUser))
+        );
+    }
+    
     /**
      * 월별 산책 통계 조회
      */
@@ -380,6 +860,36 @@ public class WalkSessionController {
         );
     }
     
+    /**
+     * 바이너리로 받은 좌표의 개수와 범위를 JSON 요청(TrackPointsRequest)과 같은 기준으로 검증합니다.
+     */
+    private void validateTrackPoints(CoordinateSequence points) {
+        if (points.size() == 0 || points.size() > MAX_TRACK_POINTS) {
+            throw new IllegalArgumentException("좌표는 1~" + MAX_TRACK_POINTS + "개까지 전송할 수 있습니다.");
+        }
+        for (int i = 0; i < points.size(); i++) {
+            if (Math.abs(points.getY(i)) > 90 || Math.abs(points.getX(i)) > 180) {
+                throw new IllegalArgumentException("좌표 값이 올바르지 않습니다.");
+            }
+        }
+    }
+    
+    /**
+     * 좌표 DTO 목록을 (경도, 위도, 기록 시각) 시퀀스로 변환
+     * 기록 시각이 없는 좌표는 서버 수신 시각을 사용합니다.
+     */
+    private CoordinateSequence toTrackSequence(List<TrackPointsRequest.PointDto> points) {
+        long receivedAt = System.currentTimeMillis();
+        double[] packed = new double[points.size() * 3];
+        for (int i = 0; i < points.size(); i++) {
+            TrackPointsRequest.PointDto point = points.get(i);
+            packed[i * 3] = point.getLongitude();
+            packed[i * 3 + 1] = point.getLatitude();
+            packed[i * 3 + 2] = point.getTimestamp() != null ? point.getTimestamp() : receivedAt;
+        }
+        return new PackedCoordinateSequence.Double(packed, 3, 1);
+    }
+    
     /**
      * WalkSession 엔티티를 WalkSessionResponse DTO로 변환
      */
@@ -401,6 +911,9 @@ public class WalkSessionController {
                 .endTime(walkSession.getEndTime())
                 .distance(walkSession.getActualDistance())
                 .duration(walkSession.getActualDuration())
+                .movingDuration(walkSession.getMovingDuration())
+                .pauseCount(walkSession.getPauseCount())
+                .routeAdherence(walkSession.getRouteAdherence())
                 .isCompleted(walkSession.getIsCompleted())
                 .createdAt(walkSession.getCreatedAt())
                 .build();
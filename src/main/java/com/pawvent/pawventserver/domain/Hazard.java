@@ -76,4 +76,8 @@ public class Hazard extends BaseTime {
     /** 위험 스팟 삭제 시간 (소프트 삭제를 위한 필드, null이면 활성 스팟) */
     @Column(name = "deleted_at")
     private OffsetDateTime deletedAt;
+
+    /** 위험 스팟 자동 만료 시간 (카테고리별 유지 시간 기준, null이면 만료 없음, 지나면 정리 작업이 소프트 삭제) */
+    @Column(name = "expires_at")
+    private OffsetDateTime expiresAt;
 }
@@ -67,6 +67,10 @@ public class Pet extends BaseTime {
     @Column
     private Double weight;
 
+    /** 하루 산책 목표 시간 (분, 등록/체중 변경 시 체중 기준으로 정해지며 사용자가 직접 바꿀 수 있음) */
+    @Column(name = "daily_goal_minutes")
+    private Integer dailyGoalMinutes;
+
     /** 반려동물 프로필 이미지 URL */
     @Column(name = "image_url")
     private String imageUrl;
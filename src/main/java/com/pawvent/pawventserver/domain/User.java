@@ -66,6 +66,10 @@ public class User extends BaseTime {
     @Column(nullable = false)
     private Role role;
 
+    /** 사용자 시간대 (IANA ID, 예: Asia/Seoul, null이면 서버 기본 시간대) - 날짜별 조회와 연속 산책의 하루 기준 */
+    @Column(name = "time_zone", length = 40)
+    private String timeZone;
+
     /** 계정 삭제 시간 (소프트 삭제를 위한 필드, null이면 활성 계정) */
     @Column(name = "deleted_at")
     private OffsetDateTime deletedAt;
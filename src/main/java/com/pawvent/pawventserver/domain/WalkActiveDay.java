@@ -0,0 +1,74 @@
+package com.pawvent.pawventserver.domain;
+
+import java.time.LocalDate;
+
+import com.pawvent.pawventserver.domain.common.BaseTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 산책한 날 엔티티 (연속 산책 계산용)
+ * 
+ * 사용자/반려동물별로 완료된 산책이 있는 날짜를 사용자 시간대 기준으로 기록합니다.
+ * 일별 집계(walk_daily_rollup)와 같은 날짜 기준이며, 연속 산책은 세션 합계가 필요 없는 이 테이블로 판정합니다.
+ * 사용자의 시간대가 바뀌면 산책 기록으로 다시 만듭니다.
+ * 
+ * @author Pawvent Team
+ * @version 1.0
+ * @since 2024
+ */
+@Getter 
+@Setter
+@NoArgsConstructor 
+@AllArgsConstructor 
+@Builder(toBuilder = true)
+@EqualsAndHashCode(of = "id")
+@Entity 
+@Table(name = "walk_active_day",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uq_walk_active_day_user_pet_date", columnNames = {"user_id", "pet_id", "walk_date"})
+    },
+    indexes = {
+        @Index(name = "ix_walk_active_day_user_date", columnList = "user_id, walk_date")
+    }
+)
+public class WalkActiveDay extends BaseTime {
+
+    /** 고유 식별자 (Primary Key) */
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** 산책한 날짜 (사용자 시간대 기준) */
+    @Column(name = "walk_date", nullable = false)
+    private LocalDate walkDate;
+
+    /** 그날 완료된 산책 횟수 (0이면 산책하지 않은 날) */
+    @Column(name = "session_count", nullable = false)
+    private int sessionCount;
+
+    /** 산책한 사용자 */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    /** 산책에 참여한 반려동물 */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "pet_id", nullable = false)
+    private Pet pet;
+}
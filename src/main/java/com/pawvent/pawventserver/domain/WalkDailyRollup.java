@@ -0,0 +1,92 @@
+package com.pawvent.pawventserver.domain;
+
+import java.time.LocalDate;
+
+import com.pawvent.pawventserver.domain.common.BaseTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 일별 산책 집계 엔티티
+ * 
+ * 사용자/반려동물/날짜 단위로 완료된 산책의 횟수, 거리, 시간을 누적합니다.
+ * 산책이 완료, 수정, 취소될 때마다 증분(delta)으로 갱신되며,
+ * 통계 조회는 세션 수가 아닌 날짜 수만큼의 행만 읽습니다.
+ * 누적할 때 반려동물의 하루 산책 목표도 함께 기록해, 목표 달성 여부를 세션을 다시 읽지 않고 판정합니다.
+ * 
+ * @author Pawvent Team
+ * @version 1.0
+ * @since 2024
+ */
+@Getter 
+@Setter
+@NoArgsConstructor 
+@AllArgsConstructor 
+@Builder(toBuilder = true)
+@EqualsAndHashCode(of = "id")
+@Entity 
+@Table(name = "walk_daily_rollup",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uq_walk_daily_rollup_user_pet_date", columnNames = {"user_id", "pet_id", "walk_date"})
+    },
+    indexes = {
+        @Index(name = "ix_walk_daily_rollup_user_date", columnList = "user_id, walk_date"),
+        @Index(name = "ix_walk_daily_rollup_pet_date", columnList = "pet_id, walk_date")
+    }
+)
+public class WalkDailyRollup extends BaseTime {
+
+    /** 집계 행 고유 식별자 (Primary Key) */
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** 집계 날짜 (산책 시작 시각 기준) */
+    @Column(name = "walk_date", nullable = false)
+    private LocalDate walkDate;
+
+    /** 완료된 산책 횟수 */
+    @Column(name = "session_count", nullable = false)
+    private int sessionCount;
+
+    /** 총 산책 거리 (미터 단위) */
+    @Column(name = "total_distance", nullable = false)
+    private double totalDistance;
+
+    /** 총 산책 시간 (초 단위) */
+    @Column(name = "total_duration", nullable = false)
+    private long totalDuration;
+
+    /** 하루 산책 목표 시간 (초 단위, 이 날짜에 마지막으로 누적할 때의 반려동물 목표) */
+    @Column(name = "goal_duration")
+    private Integer goalDuration;
+
+    /** 하루 산책 목표 달성 여부 (누적할 때마다 다시 판정) */
+    @Column(name = "goal_met")
+    private Boolean goalMet;
+
+    /** 산책한 사용자 */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    /** 산책에 참여한 반려동물 */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "pet_id", nullable = false)
+    private Pet pet;
+}
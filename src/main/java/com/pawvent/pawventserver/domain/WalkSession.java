@@ -46,7 +46,8 @@ import lombok.Setter;
     indexes = {
         @Index(name = "ix_walk_session_user", columnList = "user_id"),
         @Index(name = "ix_walk_session_pet", columnList = "pet_id"),
-        @Index(name = "ix_walk_session_start_time", columnList = "start_time")
+        @Index(name = "ix_walk_session_start_time", columnList = "start_time"),
+        @Index(name = "ix_walk_session_user_start_id", columnList = "user_id, start_time DESC, id DESC")
     }
 )
 public class WalkSession extends BaseTime {
@@ -75,6 +76,22 @@ public class WalkSession extends BaseTime {
     @Column(name = "actual_duration")
     private Integer actualDuration;
 
+    /** 실제로 이동한 시간 (초 단위, 정지 구간 제외 - GPS 경로가 있는 경우에만 계산) */
+    @Column(name = "moving_duration")
+    private Integer movingDuration;
+
+    /** 1분 이상 멈춰 있었던 횟수 (GPS 경로가 있는 경우에만 계산) */
+    @Column(name = "pause_count")
+    private Integer pauseCount;
+
+    /** 계획 루트 준수율 (0~100, 이동 거리 중 루트 근처를 걸은 비율 - 루트를 사용한 산책만 계산) */
+    @Column(name = "route_adherence")
+    private Double routeAdherence;
+
+    /** 오프라인 동기화 시 클라이언트가 만든 산책 ID (같은 산책의 중복 저장 방지, 서버에서 시작한 산책은 null) */
+    @Column(name = "client_id", length = 64)
+    private String clientId;
+
     /** 세션 완료 여부 (true: 완료, false: 진행 중 또는 중단) */
     @Column(name = "is_completed", nullable = false)
     private Boolean isCompleted = false;
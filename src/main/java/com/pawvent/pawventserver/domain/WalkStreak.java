@@ -0,0 +1,79 @@
+package com.pawvent.pawventserver.domain;
+
+import java.time.LocalDate;
+
+import com.pawvent.pawventserver.domain.common.BaseTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 연속 산책 기록 엔티티
+ * 
+ * 사용자 전체(반려동물 없음) 또는 반려동물별로 현재/최장 연속 산책 일수를 저장합니다.
+ * 산책이 완료되거나 취소될 때 증분으로 갱신되어, 프로필 화면은 산책 기록을 읽지 않고 이 행만 조회합니다.
+ * 현재 연속 일수는 마지막으로 산책한 날 기준이므로, 조회 시 어제 이전이면 끊긴 것으로 봅니다.
+ * 사용자 전체 행(pet_id IS NULL)의 유일성은 부분 유니크 인덱스(ux_walk_streak_user)로 보장합니다.
+ * 
+ * @author Pawvent Team
+ * @version 1.0
+ * @since 2024
+ */
+@Getter 
+@Setter
+@NoArgsConstructor 
+@AllArgsConstructor 
+@Builder(toBuilder = true)
+@EqualsAndHashCode(of = "id")
+@Entity 
+@Table(name = "walk_streak",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uq_walk_streak_user_pet", columnNames = {"user_id", "pet_id"})
+    }
+)
+public class WalkStreak extends BaseTime {
+
+    /** 고유 식별자 (Primary Key) */
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** 마지막 연속 구간의 일수 */
+    @Column(name = "current_length", nullable = false)
+    private int currentLength;
+
+    /** 마지막 연속 구간의 시작 날짜 */
+    @Column(name = "current_start")
+    private LocalDate currentStart;
+
+    /** 마지막으로 산책한 날짜 (사용자 시간대 기준) */
+    @Column(name = "last_walk_date")
+    private LocalDate lastWalkDate;
+
+    /** 최장 연속 일수 */
+    @Column(name = "longest_length", nullable = false)
+    private int longestLength;
+
+    /** 사용자 */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    /** 반려동물 (null이면 사용자 전체 기준) */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "pet_id")
+    private Pet pet;
+}
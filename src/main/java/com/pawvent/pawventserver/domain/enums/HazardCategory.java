@@ -1,13 +1,31 @@
 package com.pawvent.pawventserver.domain.enums;
 
+import java.time.Duration;
+
 //신고 카테고리
+//ttlHours: 신고 후 자동 만료까지의 기본 시간 (0이면 만료 없음, 일시적인 상황일수록 짧음)
 public enum HazardCategory {
-    LEASH,           // 목줄 미착용
-    MUZZLE,         // 입마개 미착용
-    AGGRESSIVE_DOG, // 공격적인 개
-    HAZARDOUS_MATERIAL, // 위험물질
-    WILDLIFE,       // 야생동물 출몰
-    LOW_LIGHT,      // 조명 부족
-    BIKE_CAR,       // 자전거·차량 위험
-    POOP_LEFT       // 배변 미수거
+    LEASH(6),               // 목줄 미착용
+    MUZZLE(6),              // 입마개 미착용
+    AGGRESSIVE_DOG(24),     // 공격적인 개
+    HAZARDOUS_MATERIAL(168), // 위험물질
+    WILDLIFE(48),           // 야생동물 출몰
+    LOW_LIGHT(0),           // 조명 부족
+    BIKE_CAR(0),            // 자전거·차량 위험
+    POOP_LEFT(72);          // 배변 미수거
+
+    private final int ttlHours;
+
+    HazardCategory(int ttlHours) {
+        this.ttlHours = ttlHours;
+    }
+
+    /**
+     * 신고 후 자동 만료까지의 기본 시간
+     *
+     * @return 만료 시간 (만료 없는 카테고리면 null)
+     */
+    public Duration getDefaultTtl() {
+        return ttlHours > 0 ? Duration.ofHours(ttlHours) : null;
+    }
 }
@@ -0,0 +1,30 @@
+package com.pawvent.pawventserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 커서(keyset) 기반 페이지 응답 DTO
+ * 
+ * 다음 페이지를 요청할 때 nextCursor를 그대로 cursor 파라미터로 전달합니다.
+ * offset 페이지와 달리 전체 개수(count) 조회가 없고, 깊은 페이지도 같은 비용으로 조회됩니다.
+ * 
+ * @param <T> 페이지 항목 타입
+ */
+@Data
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+    /** 페이지 항목 */
+    private List<T> content;
+    
+    /** 요청한 페이지 크기 */
+    private int size;
+    
+    /** 다음 페이지 존재 여부 */
+    private boolean hasNext;
+    
+    /** 다음 페이지 커서 (마지막 페이지이면 null) */
+    private String nextCursor;
+}
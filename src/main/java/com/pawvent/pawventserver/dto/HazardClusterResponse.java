@@ -0,0 +1,54 @@
+package com.pawvent.pawventserver.dto;
+
+import com.pawvent.pawventserver.domain.enums.HazardCategory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 지도 영역 위험 스팟 클러스터 응답 DTO
+ *
+ * 줌 레벨별로 미리 집계해둔 격자 칸마다 위험 스팟 수, 중심점, 카테고리별 수를 전달합니다.
+ * 개별 위험 스팟 목록 대신 칸 단위로 보내므로 넓은 영역에서도 응답 크기가 칸 수로 제한됩니다.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class HazardClusterResponse {
+    /** 요청한 줌 레벨 */
+    private int zoom;
+
+    /** 실제로 집계에 사용한 격자의 줌 레벨 (최대 격자 레벨보다 큰 줌은 최대 레벨로 집계) */
+    private int gridZoom;
+
+    /** 영역 안 클러스터의 위험 스팟 수 합계 */
+    private long totalCount;
+
+    /** 클러스터 목록 */
+    private List<Cluster> clusters;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Cluster {
+        /** 중심점 위도 (칸 안 위험 스팟들의 평균) */
+        private double latitude;
+
+        /** 중심점 경도 (칸 안 위험 스팟들의 평균) */
+        private double longitude;
+
+        /** 위험 스팟 수 */
+        private int count;
+
+        /** 카테고리별 위험 스팟 수 (0인 카테고리는 생략) */
+        private Map<HazardCategory, Integer> categoryCounts;
+
+        /** 위험 스팟이 하나뿐인 클러스터면 그 ID */
+        private Long hazardId;
+    }
+}
@@ -0,0 +1,42 @@
+package com.pawvent.pawventserver.dto;
+
+import com.pawvent.pawventserver.domain.enums.HazardCategory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 지도 표시용 위험 스팟 요약 응답 DTO
+ *
+ * 영역/최근접 조회처럼 많은 위험 스팟을 한 번에 내려줄 때 사용하며, 마커를 그리는 데 필요한 값만 담습니다.
+ * 설명, 이미지, 신고자 등 상세 정보는 담지 않습니다.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class HazardMarkerResponse {
+    /** 위험 스팟 고유 식별자 */
+    private Long id;
+
+    /** 위험 요소 카테고리 */
+    private HazardCategory category;
+
+    /** GPS 위도 좌표 */
+    private double latitude;
+
+    /** GPS 경도 좌표 */
+    private double longitude;
+
+    /** 신고일 */
+    private OffsetDateTime createdAt;
+
+    /** 조회 좌표로부터의 거리 (미터, 최근접 조회에서만, 영역 조회는 null) */
+    private Double distanceMeters;
+
+    /** 신고 후 지난 시간에 따른 관련도 점수 (0~1, 최근일수록 1에 가까움) */
+    private double relevance;
+}
@@ -47,4 +47,10 @@ public class HazardResponse {
     
     /** 신고일 */
     private OffsetDateTime createdAt;
+    
+    /** 자동 만료 시간 (null이면 만료 없음) */
+    private OffsetDateTime expiresAt;
+    
+    /** 신고 후 지난 시간에 따른 관련도 점수 (0~1, 최근일수록 1에 가까움) */
+    private double relevance;
 }
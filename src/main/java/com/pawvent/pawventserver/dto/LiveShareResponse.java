@@ -0,0 +1,34 @@
+package com.pawvent.pawventserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 진행 중인 산책 실시간 공유 링크 응답 DTO
+ *
+ * streamPath를 EventSource로 열면 로그인 없이 산책 위치를 실시간으로 받아볼 수 있습니다.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LiveShareResponse {
+    /** 산책 세션 ID */
+    private Long sessionId;
+
+    /** 공유 토큰 (링크를 아는 사람은 누구나 시청 가능) */
+    private String token;
+
+    /** SSE 구독 경로 */
+    private String streamPath;
+
+    /** 공유 만료 시각 */
+    private OffsetDateTime expiresAt;
+
+    /** 현재 시청자 수 */
+    private int viewerCount;
+}
@@ -0,0 +1,67 @@
+package com.pawvent.pawventserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 진행 중인 산책의 실시간 상태 응답 DTO
+ *
+ * DB를 조회하지 않고 서버 메모리의 진행 상태로 만들어집니다.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LiveWalkResponse {
+    /** 산책 세션 ID */
+    private Long sessionId;
+
+    /** 반려동물 ID */
+    private Long petId;
+
+    /** 참조 루트 ID (자유 산책이면 null) */
+    private Long routeId;
+
+    /** 산책 시작 시간 */
+    private OffsetDateTime startTime;
+
+    /** 시작 후 경과 시간 (초) */
+    private long elapsedSeconds;
+
+    /** 현재까지 이동 거리 (미터) */
+    private double distance;
+
+    /** 현재까지 실제로 이동한 시간 (초) */
+    private long movingDuration;
+
+    /** 현재까지 휴식 횟수 */
+    private int pauseCount;
+
+    /** 마지막 위치 위도 (좌표를 받은 적이 없으면 null) */
+    private Double lastLatitude;
+
+    /** 마지막 위치 경도 (좌표를 받은 적이 없으면 null) */
+    private Double lastLongitude;
+
+    /** 아직 DB에 반영되지 않고 버퍼에 남아있는 좌표 수 */
+    private int bufferedPoints;
+
+    /** 지금까지 경로(actual_path)에 반영된 좌표 수 */
+    private long persistedPoints;
+
+    /** 계획 루트 이탈 상태 (자유 산책이면 null) */
+    private Boolean offRoute;
+
+    /** 지금까지 루트를 이탈한 횟수 */
+    private int offRouteCount;
+
+    /** 마지막 좌표의 루트까지 거리 (미터, 이탈 판정 거리보다 멀거나 자유 산책이면 null) */
+    private Double routeDeviation;
+
+    /** 현재까지 이동 거리 기준 루트 준수율 (0~100, 자유 산책이면 null) */
+    private Double routeAdherence;
+}
@@ -0,0 +1,31 @@
+package com.pawvent.pawventserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 산책 세션의 실제 이동 경로 응답 DTO
+ * 
+ * geometry=polyline 요청 시 좌표 배열 대신 Encoded Polyline 문자열로 경로를 전달합니다.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PathResponse {
+    /** 산책 세션 ID */
+    private Long sessionId;
+    
+    /** 경로 정점 수 */
+    private int pointCount;
+    
+    /** 좌표 배열 (geometry=coordinates) */
+    private List<RouteResponse.CoordinateDto> coordinates;
+    
+    /** Encoded Polyline 문자열 (geometry=polyline) */
+    private String encodedPolyline;
+}
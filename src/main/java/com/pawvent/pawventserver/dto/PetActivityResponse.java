@@ -0,0 +1,83 @@
+package com.pawvent.pawventserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 반려동물 활동 대시보드 응답 DTO
+ *
+ * 반려동물의 전체 산책 합계, 최근 기간의 날짜별 기록, 하루 목표 달성 현황을 한 번에 전달합니다.
+ * 모든 값은 일별 집계(walk_daily_rollup)에서 읽으며, 날짜는 산책 시작 시각의 사용자 시간대 날짜 기준입니다.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PetActivityResponse {
+    /** 반려동물 ID */
+    private Long petId;
+
+    /** 반려동물 이름 */
+    private String petName;
+
+    /** 하루 산책 목표 (분) */
+    private int dailyGoalMinutes;
+
+    /** 체중 기준 자동 목표 여부 (false면 사용자가 직접 정한 목표) */
+    private boolean autoGoal;
+
+    /** 전체 산책 횟수 */
+    private long totalSessions;
+
+    /** 전체 산책 거리 (미터) */
+    private double totalDistance;
+
+    /** 전체 산책 시간 (초) */
+    private long totalDuration;
+
+    /** 조회 기간 시작 날짜 */
+    private LocalDate startDate;
+
+    /** 조회 기간 종료 날짜 (오늘) */
+    private LocalDate endDate;
+
+    /** 조회 기간 중 목표를 달성한 날 수 */
+    private int goalMetDays;
+
+    /** 오늘 산책 시간 (초) */
+    private long todayDuration;
+
+    /** 오늘 목표 달성률 (0~100) */
+    private double todayProgress;
+
+    /** 날짜별 활동 (산책한 날만, 날짜 오름차순) */
+    private List<ActivityDay> days;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ActivityDay {
+        /** 날짜 */
+        private LocalDate date;
+
+        /** 산책 횟수 */
+        private long sessionCount;
+
+        /** 산책 거리 (미터) */
+        private double distance;
+
+        /** 산책 시간 (초) */
+        private long duration;
+
+        /** 그날의 목표 시간 (초) */
+        private long goalDuration;
+
+        /** 목표 달성 여부 */
+        private boolean goalMet;
+    }
+}
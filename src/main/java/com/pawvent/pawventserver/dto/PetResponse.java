@@ -42,6 +42,9 @@ public class PetResponse {
     /** 반려동물 체중 (kg) */
     private Double weight;
     
+    /** 하루 산책 목표 (분) */
+    private Integer dailyGoalMinutes;
+    
     /** 반려동물 프로필 이미지 URL */
     private String imageUrl;
     
@@ -18,6 +18,7 @@ public class RouteCreateRequest {
     private Double distance;
     private Integer duration;
     private boolean isShared = false;
+    private boolean simplify = true; // false면 원본 해상도 그대로 저장
     
     @Data
     public static class CoordinateDto {
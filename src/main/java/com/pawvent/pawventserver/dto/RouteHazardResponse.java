@@ -0,0 +1,49 @@
+package com.pawvent.pawventserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 경로 통로(corridor) 위험 스팟 조회 응답 DTO
+ *
+ * 경로의 각 선분에서 bufferMeters 이내에 있는 위험 스팟과, 그 위험 스팟이 가장 가까운 선분 번호를 전달합니다.
+ * i번 선분은 경로의 i번째와 i+1번째 좌표를 잇는 선분입니다 (0부터 시작).
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RouteHazardResponse {
+    /** 저장된 루트를 조회한 경우 루트 ID (직접 보낸 경로면 null) */
+    private Long routeId;
+
+    /** 통로 반폭 (미터) */
+    private double bufferMeters;
+
+    /** 경로 선분 수 */
+    private int segmentCount;
+
+    /** 통로 안의 위험 스팟 수 */
+    private int hazardCount;
+
+    /** 통로 안의 위험 스팟 (선분 번호 오름차순, 같은 선분이면 가까운 순) */
+    private List<RouteHazard> hazards;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RouteHazard {
+        /** 가장 가까운 선분 번호 */
+        private int segmentIndex;
+
+        /** 선분까지의 거리 (미터) */
+        private double distanceMeters;
+
+        /** 위험 스팟 정보 */
+        private HazardResponse hazard;
+    }
+}
@@ -16,6 +16,7 @@ public class RouteResponse {
     private Long id;
     private String name;
     private List<CoordinateDto> coordinates;
+    private String encodedPolyline; // geometry=polyline 요청 시 coordinates 대신 제공
     private Double distance;
     private Integer duration;
     private boolean isShared;
@@ -0,0 +1,33 @@
+package com.pawvent.pawventserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * GPS 좌표 수신 결과 응답 DTO
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TrackIngestResponse {
+    /** 산책 세션 ID */
+    private Long sessionId;
+
+    /** 이번 요청에서 받은 좌표 수 */
+    private int acceptedPoints;
+
+    /** 아직 DB에 반영되지 않고 버퍼에 남아있는 좌표 수 */
+    private int bufferedPoints;
+
+    /** 지금까지 경로(actual_path)에 반영된 좌표 수 */
+    private long persistedPoints;
+
+    /** 계획 루트 이탈 상태 (자유 산책이면 null) */
+    private Boolean offRoute;
+
+    /** 마지막 좌표의 루트까지 거리 (미터, 이탈 판정 거리보다 멀거나 자유 산책이면 null) */
+    private Double routeDeviation;
+}
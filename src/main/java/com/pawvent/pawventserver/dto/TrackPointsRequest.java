@@ -0,0 +1,37 @@
+package com.pawvent.pawventserver.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 산책 중 GPS 좌표 일괄 전송 요청 DTO
+ *
+ * 클라이언트는 몇 초 간격으로 수집한 좌표를 모아서 한 번에 전송합니다.
+ */
+@Data
+public class TrackPointsRequest {
+    @NotEmpty
+    @Size(max = 1000)
+    @Valid
+    private List<PointDto> points;
+
+    @Data
+    public static class PointDto {
+        @NotNull
+        @DecimalMin("-90.0") @DecimalMax("90.0")
+        private Double latitude;
+
+        @NotNull
+        @DecimalMin("-180.0") @DecimalMax("180.0")
+        private Double longitude;
+
+        private Long timestamp; // epoch millis - 없으면 서버 수신 시각 사용
+    }
+}
@@ -33,6 +33,9 @@ public class UserResponse {
     /** 프로필 이미지 URL */
     private String profileImageUrl;
     
+    /** 시간대 (IANA ID, null이면 서버 기본 시간대) */
+    private String timeZone;
+    
     /** 사용자 권한 (USER/ADMIN) */
     private Role role;
     
@@ -0,0 +1,59 @@
+package com.pawvent.pawventserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 지역 산책 통계 응답 DTO
+ * 
+ * 지정한 영역(사각형 또는 다각형)을 지나간 완료 산책을 모든 사용자 기준으로 집계합니다.
+ * 개별 산책이나 경로는 포함하지 않으며, 공원 인기도/붐비는 시간대 화면에 사용합니다.
+ * 거리/시간은 영역 안 구간이 아닌 산책 전체 기준입니다.
+ * 산책한 사용자가 너무 적으면 withheld가 true이고 집계 값은 비어 있습니다.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class WalkAreaStatsResponse {
+    /** 조회 기간 시작 날짜 (포함) */
+    private LocalDate startDate;
+    
+    /** 조회 기간 종료 날짜 (포함) */
+    private LocalDate endDate;
+    
+    /** 날짜/시간대 기준 시간대 (IANA ID) */
+    private String timeZone;
+    
+    /** 산책한 사용자가 최소 인원(pawvent.walk.area.min-users) 미만이라 집계 값을 숨겼는지 여부 */
+    private boolean withheld;
+    
+    /** 영역을 지나간 산책 수 */
+    private long sessionCount;
+    
+    /** 산책한 사용자 수 */
+    private long userCount;
+    
+    /** 산책한 반려동물 수 */
+    private long petCount;
+    
+    /** 산책 거리 합계 (미터) */
+    private double totalDistance;
+    
+    /** 산책 시간 합계 (초) */
+    private long totalDuration;
+    
+    /** 기간 내 첫 산책 날짜 (시각은 개인 산책을 특정할 수 있어 날짜로만 제공) */
+    private LocalDate firstWalkDate;
+    
+    /** 기간 내 마지막 산책 날짜 */
+    private LocalDate lastWalkDate;
+    
+    /** 시작 시각(0~23시)별 산책 수 (숨긴 경우 null) */
+    private List<Long> hourlyCounts;
+}
@@ -0,0 +1,56 @@
+package com.pawvent.pawventserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 연간 산책 달력 응답 DTO
+ * 
+ * 1년치 날짜별 산책 횟수/거리/시간을 한 번에 전달합니다.
+ * 산책한 날만 days에 포함되며, 없는 날짜는 산책 기록이 없는 날입니다.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class WalkCalendarResponse {
+    /** 조회 연도 */
+    private int year;
+    
+    /** 산책한 날 수 */
+    private int activeDays;
+    
+    /** 연간 산책 횟수 */
+    private long totalSessions;
+    
+    /** 연간 산책 거리 (미터) */
+    private double totalDistance;
+    
+    /** 연간 산책 시간 (초) */
+    private long totalDuration;
+    
+    /** 날짜별 산책 기록 (날짜 오름차순) */
+    private List<CalendarDay> days;
+    
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class CalendarDay {
+        /** 날짜 */
+        private LocalDate date;
+        
+        /** 산책 횟수 */
+        private long sessionCount;
+        
+        /** 산책 거리 (미터) */
+        private double distance;
+        
+        /** 산책 시간 (초) */
+        private long duration;
+    }
+}
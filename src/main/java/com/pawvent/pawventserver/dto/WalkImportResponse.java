@@ -0,0 +1,52 @@
+package com.pawvent.pawventserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 산책 기록 가져오기 작업 상태 응답 DTO
+ * 
+ * 가져오기는 비동기로 진행되므로, 응답의 jobId로 진행 상황을 다시 조회합니다.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class WalkImportResponse {
+    /** 가져오기 작업 ID */
+    private String jobId;
+    
+    /** 작업 상태 (PENDING, RUNNING, COMPLETED, FAILED) */
+    private String status;
+    
+    /** 업로드한 파일 이름 */
+    private String fileName;
+    
+    /** 파일 형식 (GPX, GEOJSON) */
+    private String format;
+    
+    /** 파일에서 읽은 트랙 수 */
+    private int processedTracks;
+    
+    /** 새로 저장된 산책 세션 수 */
+    private int importedSessions;
+    
+    /** 같은 시작 시각의 기록이 이미 있어 건너뛴 트랙 수 */
+    private int duplicateTracks;
+    
+    /** 좌표/시각이 부족해 건너뛴 트랙 수 */
+    private int skippedTracks;
+    
+    /** 실패 사유 (FAILED인 경우) */
+    private String errorMessage;
+    
+    /** 작업 생성 시각 */
+    private OffsetDateTime createdAt;
+    
+    /** 작업 종료 시각 */
+    private OffsetDateTime finishedAt;
+}
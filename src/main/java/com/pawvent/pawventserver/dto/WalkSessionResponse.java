@@ -12,6 +12,8 @@ import java.time.OffsetDateTime;
  * 
  * 클라이언트에게 전달되는 산책 세션 정보를 담는 데이터 전송 객체입니다.
  * 산책 기록 조회, 통계 표시 등에서 활용됩니다.
+ * 목록 조회는 WalkSessionRepository.RESPONSE_PROJECTION 생성자 표현식(네이티브 SQL은 RESPONSE_ROW_MAPPER)으로 바로 만들어지므로,
+ * 필드를 추가하거나 순서를 바꾸면 프로젝션 인자와 행 매퍼도 함께 맞춰야 합니다.
  * 
  * @author Pawvent Team
  * @version 1.0
@@ -49,6 +51,15 @@ public class WalkSessionResponse {
     /** 실제 산책 시간 (초 단위) */
     private Integer duration;
     
+    /** 실제 이동 시간 (초 단위, 정지 구간 제외) */
+    private Integer movingDuration;
+    
+    /** 1분 이상 정지한 횟수 */
+    private Integer pauseCount;
+    
+    /** 계획 루트 준수율 (0~100, 이동 거리 기준 - 자유 산책이면 null) */
+    private Double routeAdherence;
+    
     /** 산책 시작 시간 */
     private OffsetDateTime startTime;
     
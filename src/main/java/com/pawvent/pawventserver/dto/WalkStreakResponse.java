@@ -0,0 +1,59 @@
+package com.pawvent.pawventserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 연속 산책 기록 응답 DTO
+ * 
+ * 사용자 전체와 반려동물별 현재/최장 연속 산책 일수를 전달합니다.
+ * 날짜는 사용자 시간대 기준이며, 어제까지 산책했다면 오늘 산책 전에도 현재 연속 일수가 유지됩니다.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class WalkStreakResponse {
+    /** 하루 기준 시간대 (IANA ID) */
+    private String timeZone;
+    
+    /** 사용자 시간대 기준 오늘 날짜 */
+    private LocalDate today;
+    
+    /** 사용자 전체 연속 산책 (반려동물 구분 없이 하루에 한 번이라도 산책한 날 기준) */
+    private Streak overall;
+    
+    /** 반려동물별 연속 산책 */
+    private List<Streak> pets;
+    
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Streak {
+        /** 반려동물 ID (사용자 전체 기록이면 null) */
+        private Long petId;
+        
+        /** 반려동물 이름 (사용자 전체 기록이면 null) */
+        private String petName;
+        
+        /** 현재 연속 일수 (어제 이전에 끊겼으면 0) */
+        private int currentLength;
+        
+        /** 최장 연속 일수 */
+        private int longestLength;
+        
+        /** 현재 연속 구간 시작 날짜 (끊겼으면 null) */
+        private LocalDate currentStart;
+        
+        /** 마지막으로 산책한 날짜 */
+        private LocalDate lastWalkDate;
+        
+        /** 오늘 산책 여부 */
+        private boolean walkedToday;
+    }
+}
@@ -0,0 +1,29 @@
+package com.pawvent.pawventserver.dto;
+
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * 오프라인 산책 일괄 동기화 요청 DTO
+ *
+ * 연결이 없는 동안 휴대폰에 쌓인 완료된 산책들을 한 번에 전송합니다.
+ * 본문은 Content-Encoding: gzip으로 압축해 보낼 수 있습니다.
+ * 각 산책은 클라이언트가 만든 clientId로 구분되어, 같은 요청을 다시 보내도 중복 저장되지 않습니다.
+ */
+@Data
+public class WalkSyncRequest {
+    private List<SyncedWalk> sessions;
+
+    @Data
+    public static class SyncedWalk {
+        private String clientId; // 클라이언트가 만든 고유 ID (UUID 권장, 최대 64자)
+        private Long petId;
+        private Long routeId; // 선택사항 - 기존 루트 사용한 경우
+        private OffsetDateTime startTime; // 없으면 첫 좌표 시각
+        private OffsetDateTime endTime; // 없으면 마지막 좌표 시각
+        private Double distance; // meters - 좌표가 없을 때만 사용
+        private List<TrackPointsRequest.PointDto> points; // timestamp 필수
+    }
+}
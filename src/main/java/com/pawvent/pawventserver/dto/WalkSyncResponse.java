@@ -0,0 +1,52 @@
+package com.pawvent.pawventserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 오프라인 산책 일괄 동기화 결과 응답 DTO
+ *
+ * 산책마다 처리 결과와 서버 세션 ID를 돌려주므로, 클라이언트는 CREATED/DUPLICATE인 산책을 로컬 대기열에서 지웁니다.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class WalkSyncResponse {
+    /** 요청에 담긴 산책 수 */
+    private int received;
+
+    /** 새로 저장된 산책 수 */
+    private int created;
+
+    /** 이미 동기화되어 건너뛴 산책 수 */
+    private int duplicates;
+
+    /** 잘못된 값으로 저장하지 않은 산책 수 */
+    private int rejected;
+
+    /** 산책별 처리 결과 (요청 순서) */
+    private List<Result> results;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Result {
+        /** 클라이언트 산책 ID */
+        private String clientId;
+
+        /** 처리 결과 (CREATED, DUPLICATE, REJECTED) */
+        private String status;
+
+        /** 서버 산책 세션 ID (REJECTED이면 null) */
+        private Long sessionId;
+
+        /** 거부 사유 (REJECTED인 경우) */
+        private String message;
+    }
+}
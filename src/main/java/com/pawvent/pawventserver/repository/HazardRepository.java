@@ -3,6 +3,7 @@ package com.pawvent.pawventserver.repository;
 import com.pawvent.pawventserver.domain.Hazard;
 import com.pawvent.pawventserver.domain.enums.HazardCategory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,14 +13,81 @@ import java.util.List;
 @Repository
 public interface HazardRepository extends JpaRepository<Hazard, Long> {
     
+    /** 활성 위험 스팟 조건 (삭제되지 않았고 만료 시간이 지나지 않음, 부분 공간 인덱스 ix_hazard_location_active 조건 포함) */
+    String ACTIVE = "h.deleted_at IS NULL AND (h.expires_at IS NULL OR h.expires_at > now()) ";
+    
     List<Hazard> findByCategory(HazardCategory category);
     
-    @Query(value = "SELECT * FROM hazard h WHERE h.deleted_at IS NULL " +
-            "AND ST_DWithin(h.location, ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326), :radiusInMeters)",
+    @Query(value = "SELECT * FROM hazard h WHERE " + ACTIVE +
+            "AND ST_DWithin(CAST(h.location AS geography), CAST(ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326) AS geography), :radiusInMeters)",
             nativeQuery = true)
     List<Hazard> findHazardsNearLocation(
             @Param("latitude") double latitude, 
             @Param("longitude") double longitude, 
             @Param("radiusInMeters") double radiusInMeters
     );
+    
+    /**
+     * 영역(사각형) 안의 활성 위험 스팟을 최신 신고 순으로 최대 limit개 조회합니다.
+     * 결과 열: id, category, latitude, longitude, created_at
+     */
+    @Query(value = "SELECT h.id, h.category, ST_Y(h.location) AS latitude, ST_X(h.location) AS longitude, h.created_at " +
+            "FROM hazard h WHERE " + ACTIVE +
+            "AND h.location && ST_MakeEnvelope(:minLng, :minLat, :maxLng, :maxLat, 4326) " +
+            "AND h.category IN (:categories) " +
+            "ORDER BY h.created_at DESC, h.id DESC LIMIT :limit",
+            nativeQuery = true)
+    List<Object[]> findHazardMarkersInBounds(
+            @Param("minLat") double minLat,
+            @Param("minLng") double minLng,
+            @Param("maxLat") double maxLat,
+            @Param("maxLng") double maxLng,
+            @Param("categories") List<String> categories,
+            @Param("limit") int limit
+    );
+    
+    /**
+     * 좌표에서 가까운 활성 위험 스팟을 거리순으로 최대 limit개 조회합니다.
+     * GIST 인덱스의 <-> 최근접 정렬로 candidateLimit개 후보를 먼저 뽑고(경위도 평면 거리 기준),
+     * 후보를 실제 거리(미터)로 다시 정렬해 maxDistance 이내의 limit개를 돌려줍니다.
+     * 결과 열: id, category, latitude, longitude, created_at, distance
+     */
+    @Query(value = "SELECT c.id, c.category, c.latitude, c.longitude, c.created_at, c.distance FROM (" +
+            "SELECT h.id, h.category, ST_Y(h.location) AS latitude, ST_X(h.location) AS longitude, h.created_at, " +
+            "ST_Distance(CAST(h.location AS geography), " +
+            "CAST(ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326) AS geography)) AS distance " +
+            "FROM hazard h WHERE " + ACTIVE + "AND h.category IN (:categories) " +
+            "ORDER BY h.location <-> ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326) LIMIT :candidateLimit" +
+            ") c WHERE c.distance <= :maxDistance ORDER BY c.distance, c.id LIMIT :limit",
+            nativeQuery = true)
+    List<Object[]> findNearestHazardMarkers(
+            @Param("latitude") double latitude,
+            @Param("longitude") double longitude,
+            @Param("categories") List<String> categories,
+            @Param("maxDistance") double maxDistance,
+            @Param("candidateLimit") int candidateLimit,
+            @Param("limit") int limit
+    );
+    
+    /**
+     * 경로(WKB LineString, SRID 4326)에서 radiusInMeters 이내에 있는 활성 위험 스팟을 조회합니다.
+     */
+    @Query(value = "SELECT * FROM hazard h WHERE " + ACTIVE +
+            "AND ST_DWithin(CAST(h.location AS geography), CAST(ST_GeomFromWKB(:path, 4326) AS geography), :radiusInMeters)",
+            nativeQuery = true)
+    List<Hazard> findHazardsNearPath(
+            @Param("path") byte[] path,
+            @Param("radiusInMeters") double radiusInMeters
+    );
+    
+    /**
+     * 만료 시간이 없는 카테고리의 활성 위험 스팟에 신고 시각 기준 만료 시간을 채웁니다 (유지 시간 도입 이전 데이터용).
+     *
+     * @return 갱신된 행 수
+     */
+    @Modifying
+    @Query(value = "UPDATE hazard SET expires_at = created_at + make_interval(hours => :ttlHours) " +
+            "WHERE category = :category AND expires_at IS NULL AND deleted_at IS NULL",
+            nativeQuery = true)
+    int fillMissingExpiry(@Param("category") String category, @Param("ttlHours") int ttlHours);
 }
@@ -119,4 +119,9 @@ public interface PetRepository extends JpaRepository<Pet, Long> {
      */
     @Query("SELECT COUNT(p) FROM Pet p WHERE p.user = :user AND p.birthDate <= :date AND p.deletedAt IS NULL")
     long countByUserAndBirthDateBefore(@Param("user") User user, @Param("date") java.time.LocalDate date);
+    
+    /**
+     * 하루 산책 목표가 정해지지 않은 펫 조회 (목표 도입 이전에 등록된 펫)
+     */
+    List<Pet> findByDailyGoalMinutesIsNull();
 }
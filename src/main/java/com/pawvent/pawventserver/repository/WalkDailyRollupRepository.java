@@ -0,0 +1,219 @@
+package com.pawvent.pawventserver.repository;
+
+import com.pawvent.pawventserver.domain.WalkDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 일별 산책 집계 관련 데이터베이스 접근을 담당하는 레포지토리
+ * 집계 행의 증분 갱신(upsert)과 기간 합계 조회 기능을 제공
+ * 집계 날짜는 산책 시작 시각을 사용자 시간대(users.time_zone, 없으면 서버 기본 시간대)로 바꾼 날짜입니다.
+ */
+@Repository
+public interface WalkDailyRollupRepository extends JpaRepository<WalkDailyRollup, Long> {
+    
+    /** 반려동물(p)의 하루 목표 시간 (초), 목표가 없으면 기본 30분 */
+    String GOAL_SECONDS = "COALESCE(p.daily_goal_minutes, 30) * 60";
+    
+    /** 누적 후 총 시간과 현재 목표로 목표 달성 여부를 다시 판정하는 ON CONFLICT 갱신 절 */
+    String GOAL_UPDATE = "goal_duration = EXCLUDED.goal_duration, " +
+           "goal_met = walk_daily_rollup.total_duration + EXCLUDED.total_duration >= EXCLUDED.goal_duration, ";
+    
+    /** 세션(w)과 사용자(u)로 구한 집계 날짜, 사용자 시간대가 없으면 :defaultTimeZone */
+    String USER_WALK_DATE = "CAST(w.start_time AT TIME ZONE COALESCE(u.time_zone, :defaultTimeZone) AS date)";
+    
+    /** 사용자의 완료 세션 (보관된 기록 포함) */
+    String USER_COMPLETED_SESSIONS = "SELECT user_id, pet_id, start_time, actual_distance, actual_duration " +
+           "FROM walk_session WHERE user_id = :userId AND is_completed = true AND deleted_at IS NULL " +
+           "UNION ALL SELECT user_id, pet_id, start_time, actual_distance, actual_duration " +
+           "FROM walk_session_archive WHERE user_id = :userId AND is_completed = true AND deleted_at IS NULL";
+    
+    /**
+     * 기간 합계 조회 결과
+     */
+    interface Totals {
+        Long getSessionCount();
+        Double getTotalDistance();
+        Long getTotalDuration();
+    }
+    
+    /**
+     * 날짜별 합계 조회 결과
+     */
+    interface DailyTotals {
+        LocalDate getWalkDate();
+        Long getSessionCount();
+        Double getTotalDistance();
+        Long getTotalDuration();
+    }
+    
+    /**
+     * 사용자/반려동물/날짜 집계 행에 증분을 더합니다. 행이 없으면 새로 만듭니다.
+     * 동시에 같은 날짜의 산책이 완료되어도 ON CONFLICT로 원자적으로 누적됩니다.
+     * 반려동물의 현재 하루 목표를 함께 기록하고, 누적 후 시간으로 목표 달성 여부를 다시 판정합니다.
+     * @param userId 사용자 ID
+     * @param petId 반려동물 ID
+     * @param walkDate 집계 날짜
+     * @param sessionDelta 산책 횟수 증분
+     * @param distanceDelta 거리 증분 (미터)
+     * @param durationDelta 시간 증분 (초)
+     * @return 갱신된 행 수
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO walk_daily_rollup " +
+           "(user_id, pet_id, walk_date, session_count, total_distance, total_duration, goal_duration, goal_met, created_at, updated_at) " +
+           "SELECT :userId, p.id, :walkDate, :sessionDelta, :distanceDelta, :durationDelta, " +
+           GOAL_SECONDS + ", :durationDelta >= " + GOAL_SECONDS + ", NOW(), NOW() " +
+           "FROM pet p WHERE p.id = :petId " +
+           "ON CONFLICT (user_id, pet_id, walk_date) DO UPDATE SET " +
+           "session_count = walk_daily_rollup.session_count + EXCLUDED.session_count, " +
+           "total_distance = walk_daily_rollup.total_distance + EXCLUDED.total_distance, " +
+           "total_duration = walk_daily_rollup.total_duration + EXCLUDED.total_duration, " +
+           GOAL_UPDATE +
+           "updated_at = NOW()",
+           nativeQuery = true)
+    int upsertDelta(@Param("userId") Long userId,
+                    @Param("petId") Long petId,
+                    @Param("walkDate") LocalDate walkDate,
+                    @Param("sessionDelta") int sessionDelta,
+                    @Param("distanceDelta") double distanceDelta,
+                    @Param("durationDelta") long durationDelta);
+    
+    /**
+     * 사용자의 기간별 산책 합계 조회
+     * @param userId 사용자 ID
+     * @param startDate 시작 날짜 (포함)
+     * @param endDate 종료 날짜 (포함)
+     * @return 기간 합계 (산책 횟수, 거리, 시간)
+     */
+    @Query("SELECT COALESCE(SUM(r.sessionCount), 0) AS sessionCount, " +
+           "COALESCE(SUM(r.totalDistance), 0) AS totalDistance, " +
+           "COALESCE(SUM(r.totalDuration), 0) AS totalDuration " +
+           "FROM WalkDailyRollup r WHERE r.user.id = :userId " +
+           "AND r.walkDate >= :startDate AND r.walkDate <= :endDate")
+    Totals sumByUserAndDateRange(@Param("userId") Long userId,
+                                 @Param("startDate") LocalDate startDate,
+                                 @Param("endDate") LocalDate endDate);
+    
+    /**
+     * 지정한 완료 세션들을 집계에 한 번에 더합니다 (방치 세션 일괄 완료 시 사용).
+     * @param sessionIds 집계에 더할 산책 세션 ID 목록 (완료/미삭제 세션만 반영)
+     * @param defaultTimeZone 시간대를 정하지 않은 사용자에게 쓸 서버 기본 시간대
+     * @return 갱신된 집계 행 수
+     */
+    @Modifying
+    @Query(value = "INSERT INTO walk_daily_rollup " +
+           "(user_id, pet_id, walk_date, session_count, total_distance, total_duration, goal_duration, goal_met, created_at, updated_at) " +
+           "SELECT w.user_id, w.pet_id, " + USER_WALK_DATE + ", COUNT(*), " +
+           "COALESCE(SUM(w.actual_distance), 0), COALESCE(SUM(w.actual_duration), 0), " +
+           "MAX(" + GOAL_SECONDS + "), COALESCE(SUM(w.actual_duration), 0) >= MAX(" + GOAL_SECONDS + "), NOW(), NOW() " +
+           "FROM walk_session w JOIN pet p ON p.id = w.pet_id JOIN users u ON u.id = w.user_id " +
+           "WHERE w.id IN (:sessionIds) AND w.is_completed = true AND w.deleted_at IS NULL " +
+           "GROUP BY 1, 2, 3 " +
+           "ON CONFLICT (user_id, pet_id, walk_date) DO UPDATE SET " +
+           "session_count = walk_daily_rollup.session_count + EXCLUDED.session_count, " +
+           "total_distance = walk_daily_rollup.total_distance + EXCLUDED.total_distance, " +
+           "total_duration = walk_daily_rollup.total_duration + EXCLUDED.total_duration, " +
+           GOAL_UPDATE +
+           "updated_at = NOW()",
+           nativeQuery = true)
+    int addCompletedSessions(@Param("sessionIds") Collection<Long> sessionIds,
+                             @Param("defaultTimeZone") String defaultTimeZone);
+    
+    /**
+     * 사용자의 날짜별 산책 합계 조회 (반려동물 합산, 산책이 있는 날만)
+     * @param userId 사용자 ID
+     * @param startDate 시작 날짜 (포함)
+     * @param endDate 종료 날짜 (포함)
+     * @return 날짜별 합계 (날짜 오름차순)
+     */
+    @Query("SELECT r.walkDate AS walkDate, SUM(r.sessionCount) AS sessionCount, " +
+           "SUM(r.totalDistance) AS totalDistance, SUM(r.totalDuration) AS totalDuration " +
+           "FROM WalkDailyRollup r WHERE r.user.id = :userId " +
+           "AND r.walkDate >= :startDate AND r.walkDate <= :endDate " +
+           "GROUP BY r.walkDate HAVING SUM(r.sessionCount) > 0 ORDER BY r.walkDate")
+    List<DailyTotals> sumDailyByUserAndDateRange(@Param("userId") Long userId,
+                                                 @Param("startDate") LocalDate startDate,
+                                                 @Param("endDate") LocalDate endDate);
+    
+    /**
+     * 기존 산책 기록으로 집계 테이블을 채웁니다 (최초 1회 백필용).
+     * 이미 존재하는 집계 행은 건드리지 않습니다.
+     * @param defaultTimeZone 시간대를 정하지 않은 사용자에게 쓸 서버 기본 시간대
+     * @return 생성된 집계 행 수
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO walk_daily_rollup " +
+           "(user_id, pet_id, walk_date, session_count, total_distance, total_duration, goal_duration, goal_met, created_at, updated_at) " +
+           "SELECT w.user_id, w.pet_id, " + USER_WALK_DATE + ", COUNT(*), " +
+           "COALESCE(SUM(w.actual_distance), 0), COALESCE(SUM(w.actual_duration), 0), " +
+           "MAX(" + GOAL_SECONDS + "), COALESCE(SUM(w.actual_duration), 0) >= MAX(" + GOAL_SECONDS + "), NOW(), NOW() " +
+           "FROM walk_session w JOIN pet p ON p.id = w.pet_id JOIN users u ON u.id = w.user_id " +
+           "WHERE w.is_completed = true AND w.deleted_at IS NULL " +
+           "GROUP BY 1, 2, 3 " +
+           "ON CONFLICT (user_id, pet_id, walk_date) DO NOTHING",
+           nativeQuery = true)
+    int backfillFromWalkSessions(@Param("defaultTimeZone") String defaultTimeZone);
+    
+    /**
+     * 사용자의 집계 행을 모두 삭제합니다 (시간대 변경으로 다시 만들 때 사용).
+     * @param userId 사용자 ID
+     * @return 삭제된 행 수
+     */
+    @Modifying
+    @Query(value = "DELETE FROM walk_daily_rollup WHERE user_id = :userId", nativeQuery = true)
+    int deleteByUserId(@Param("userId") Long userId);
+    
+    /**
+     * 사용자의 완료 세션(보관된 기록 포함)으로 집계 행을 다시 만듭니다 (시간대 변경 시 사용).
+     * 하루 목표는 기록 당시 값을 알 수 없으므로 반려동물의 현재 목표로 다시 판정합니다.
+     * @param userId 사용자 ID
+     * @param timeZone 집계 날짜를 정할 시간대 ID
+     * @return 생성된 집계 행 수
+     */
+    @Modifying
+    @Query(value = "INSERT INTO walk_daily_rollup " +
+           "(user_id, pet_id, walk_date, session_count, total_distance, total_duration, goal_duration, goal_met, created_at, updated_at) " +
+           "SELECT w.user_id, w.pet_id, CAST(w.start_time AT TIME ZONE :timeZone AS date), COUNT(*), " +
+           "COALESCE(SUM(w.actual_distance), 0), COALESCE(SUM(w.actual_duration), 0), " +
+           "MAX(" + GOAL_SECONDS + "), COALESCE(SUM(w.actual_duration), 0) >= MAX(" + GOAL_SECONDS + "), NOW(), NOW() " +
+           "FROM (" + USER_COMPLETED_SESSIONS + ") w JOIN pet p ON p.id = w.pet_id " +
+           "GROUP BY 1, 2, 3",
+           nativeQuery = true)
+    int rebuildForUser(@Param("userId") Long userId, @Param("timeZone") String timeZone);
+    
+    /**
+     * 반려동물의 전체 기간 산책 합계 조회
+     * @param petId 반려동물 ID
+     * @return 전체 합계 (산책 횟수, 거리, 시간)
+     */
+    @Query("SELECT COALESCE(SUM(r.sessionCount), 0) AS sessionCount, " +
+           "COALESCE(SUM(r.totalDistance), 0) AS totalDistance, " +
+           "COALESCE(SUM(r.totalDuration), 0) AS totalDuration " +
+           "FROM WalkDailyRollup r WHERE r.pet.id = :petId")
+    Totals sumByPet(@Param("petId") Long petId);
+    
+    /**
+     * 반려동물의 기간별 일별 집계 행 조회 (산책이 있는 날만)
+     * @param petId 반려동물 ID
+     * @param startDate 시작 날짜 (포함)
+     * @param endDate 종료 날짜 (포함)
+     * @return 일별 집계 행 (날짜 오름차순)
+     */
+    @Query("SELECT r FROM WalkDailyRollup r WHERE r.pet.id = :petId " +
+           "AND r.walkDate >= :startDate AND r.walkDate <= :endDate " +
+           "AND r.sessionCount > 0 ORDER BY r.walkDate")
+    List<WalkDailyRollup> findByPetAndDateRange(@Param("petId") Long petId,
+                                                @Param("startDate") LocalDate startDate,
+                                                @Param("endDate") LocalDate endDate);
+}
@@ -4,12 +4,17 @@ import com.pawvent.pawventserver.domain.WalkSession;
 import com.pawvent.pawventserver.domain.User;
 import com.pawvent.pawventserver.domain.Pet;
 import com.pawvent.pawventserver.domain.WalkRoute;
+import com.pawvent.pawventserver.dto.WalkSessionResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -107,6 +112,8 @@ public interface WalkSessionRepository extends JpaRepository<WalkSession, Long>
     List<WalkSession> findByUserAndIsCompletedFalseAndDeletedAtIsNullOrderByStartTimeDesc(User user);
     List<WalkSession> findByUserAndStartTimeBetweenAndDeletedAtIsNullOrderByStartTimeDesc(
             User user, OffsetDateTime startTime, OffsetDateTime endTime);
+    List<WalkSession> findByUserAndStartTimeBetweenAndDeletedAtIsNullOrderByStartTimeDesc(
+            User user, OffsetDateTime startTime, OffsetDateTime endTime, org.springframework.data.domain.Pageable pageable);
     org.springframework.data.domain.Page<WalkSession> findByUserAndDeletedAtIsNullOrderByStartTimeDesc(
             User user, org.springframework.data.domain.Pageable pageable);
     long countByUserAndIsCompletedTrueAndDeletedAtIsNull(User user);
@@ -124,13 +131,257 @@ public interface WalkSessionRepository extends JpaRepository<WalkSession, Long>
     List<WalkSession> findByUserAndStartTimeBetweenAndIsCompletedTrueAndDeletedAtIsNull(
             User user, OffsetDateTime startTime, OffsetDateTime endTime);
     
-    @Query(value = "SELECT r.* FROM walk_route r " +
-           "INNER JOIN walk_session w ON w.route_id = r.id " +
-           "WHERE w.deleted_at IS NULL AND w.route_id IS NOT NULL " +
-           "GROUP BY r.id ORDER BY COUNT(w.id) DESC LIMIT :limit", 
+    /**
+     * 커서(keyset) 기반으로 사용자의 산책 세션을 최신순 조회
+     * (start_time, id) 가 커서보다 앞선 행만 읽으므로 깊은 페이지도 offset 없이 인덱스 범위 스캔으로 처리됩니다.
+     * start_time <= 커서 조건으로 인덱스 범위를 정하고, 같은 시각의 행만 id로 한 번 더 거릅니다.
+     * (ix_walk_session_user_start_id 인덱스 사용)
+     * @param user 조회할 사용자
+     * @param completedStates 조회할 완료 상태 목록 (전체: [true, false])
+     * @param cursorTime 커서 시작 시각 (이 시각 이전 세션만 조회)
+     * @param cursorId 커서 세션 ID (같은 시각이면 이 ID보다 작은 세션만 조회)
+     * @param pageable 조회 개수 (count 쿼리 없음)
+     * @return 산책 세션 목록 (시작 시각, ID 내림차순)
+     */
+    @Query("SELECT w FROM WalkSession w WHERE w.user = :user AND w.deletedAt IS NULL " +
+           "AND w.isCompleted IN :completedStates " +
+           "AND w.startTime <= :cursorTime AND (w.startTime < :cursorTime OR w.id < :cursorId) " +
+           "ORDER BY w.startTime DESC, w.id DESC")
+    List<WalkSession> findByUserBeforeCursor(
+            @Param("user") User user,
+            @Param("completedStates") Collection<Boolean> completedStates,
+            @Param("cursorTime") OffsetDateTime cursorTime,
+            @Param("cursorId") Long cursorId,
+            org.springframework.data.domain.Pageable pageable
+    );
+    
+    /**
+     * 목록 응답용 DTO 프로젝션 SELECT 절
+     * 사용자/반려동물/루트를 조인해 WalkSessionResponse에 필요한 컬럼만 한 번에 읽습니다.
+     * (지연 로딩 연관관계와 경로(actual_path)를 읽지 않음)
+     * 인자 순서는 WalkSessionResponse 필드 선언 순서(@AllArgsConstructor)와 같아야 합니다.
+     */
+    String RESPONSE_PROJECTION = "SELECT new com.pawvent.pawventserver.dto.WalkSessionResponse(" +
+           "w.id, u.id, u.nickname, p.id, p.name, r.id, r.name, " +
+           "w.actualDistance, w.actualDuration, w.movingDuration, w.pauseCount, w.routeAdherence, " +
+           "w.startTime, w.endTime, w.isCompleted, w.createdAt) " +
+           "FROM WalkSession w JOIN w.user u JOIN w.pet p LEFT JOIN w.route r ";
+    
+    /**
+     * 네이티브 SQL(JdbcTemplate) 목록 조회용 WalkSessionResponse 행 매퍼
+     * RESPONSE_PROJECTION과 같은 16개 값을 컬럼 이름으로 읽습니다 (walk_session, walk_session_archive 공용).
+     * 조회 SQL은 세션 컬럼과 함께 nickname, pet_name, route_name을 반환해야 합니다.
+     */
+    RowMapper<WalkSessionResponse> RESPONSE_ROW_MAPPER = (rs, rowNum) -> new WalkSessionResponse(
+           rs.getLong("id"),
+           rs.getLong("user_id"),
+           rs.getString("nickname"),
+           rs.getLong("pet_id"),
+           rs.getString("pet_name"),
+           rs.getObject("route_id", Long.class),
+           rs.getString("route_name"),
+           rs.getObject("actual_distance", Double.class),
+           rs.getObject("actual_duration", Integer.class),
+           rs.getObject("moving_duration", Integer.class),
+           rs.getObject("pause_count", Integer.class),
+           rs.getObject("route_adherence", Double.class),
+           rs.getObject("start_time", OffsetDateTime.class),
+           rs.getObject("end_time", OffsetDateTime.class),
+           rs.getBoolean("is_completed"),
+           rs.getObject("created_at", OffsetDateTime.class)
+    );
+    
+    /**
+     * 커서(keyset) 기반 목록 응답 조회 (findByUserBeforeCursor의 DTO 프로젝션 버전)
+     */
+    @Query(RESPONSE_PROJECTION +
+           "WHERE w.user = :user AND w.deletedAt IS NULL " +
+           "AND w.isCompleted IN :completedStates " +
+           "AND w.startTime <= :cursorTime AND (w.startTime < :cursorTime OR w.id < :cursorId) " +
+           "ORDER BY w.startTime DESC, w.id DESC")
+    List<WalkSessionResponse> findResponsesByUserBeforeCursor(
+            @Param("user") User user,
+            @Param("completedStates") Collection<Boolean> completedStates,
+            @Param("cursorTime") OffsetDateTime cursorTime,
+            @Param("cursorId") Long cursorId,
+            org.springframework.data.domain.Pageable pageable
+    );
+    
+    /**
+     * 단건 응답 조회
+     */
+    @Query(RESPONSE_PROJECTION + "WHERE w.id = :sessionId")
+    Optional<WalkSessionResponse> findResponseById(@Param("sessionId") Long sessionId);
+    
+    /**
+     * 기간별 목록 응답 조회 (시작 시각 기준 [startTime, endTime) 최신순)
+     */
+    @Query(RESPONSE_PROJECTION +
+           "WHERE w.user = :user AND w.deletedAt IS NULL " +
+           "AND w.startTime >= :startTime AND w.startTime < :endTime " +
+           "ORDER BY w.startTime DESC, w.id DESC")
+    List<WalkSessionResponse> findResponsesByUserAndStartTimeRange(
+            @Param("user") User user,
+            @Param("startTime") OffsetDateTime startTime,
+            @Param("endTime") OffsetDateTime endTime,
+            org.springframework.data.domain.Pageable pageable
+    );
+    
+    /**
+     * offset 페이지 목록 응답 조회 (/my/paged 하위 호환용)
+     */
+    @Query(value = RESPONSE_PROJECTION +
+           "WHERE w.user = :user AND w.deletedAt IS NULL ORDER BY w.startTime DESC, w.id DESC",
+           countQuery = "SELECT COUNT(w) FROM WalkSession w WHERE w.user = :user AND w.deletedAt IS NULL")
+    org.springframework.data.domain.Page<WalkSessionResponse> findResponsesByUser(
+            @Param("user") User user,
+            org.springframework.data.domain.Pageable pageable
+    );
+    
+    /**
+     * 진행 중인 세션 행을 잠급니다 (산책 완료 처리용).
+     * 조건부 UPDATE로 행 잠금을 잡으므로, 같은 세션을 동시에 완료하거나 정리 작업이 먼저 완료했다면
+     * 앞선 트랜잭션이 끝난 뒤 0을 반환합니다. 정리 작업은 SKIP LOCKED로 잠긴 세션을 건너뜁니다.
+     * @param sessionId 대상 산책 세션 ID
+     * @param startTime 세션 시작 시각 (월별 파티션 선택용)
+     * @return 잠근 행 수 (진행 중인 세션이 아니면 0)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE walk_session SET updated_at = NOW() " +
+           "WHERE id = :sessionId AND start_time = :startTime " +
+           "AND is_completed = false AND deleted_at IS NULL",
            nativeQuery = true)
-    List<WalkRoute> findPopularRoutes(@Param("limit") int limit);
+    int lockOpenSession(@Param("sessionId") Long sessionId, @Param("startTime") OffsetDateTime startTime);
+    
+    /**
+     * 버퍼링된 GPS 좌표 묶음을 실제 이동 경로(actual_path) 끝에 이어붙이고, 진행 중 통계를 함께 체크포인트합니다.
+     * 경로 전체를 애플리케이션에서 다시 만들지 않고 PostGIS에서 한 번의 UPDATE로 처리합니다.
+     * 경로가 아직 없으면(NULL) 묶음만으로 새 경로가 만들어집니다.
+     * @param sessionId 대상 산책 세션 ID
+     * @param startTime 세션 시작 시각 (월별 파티션 선택용, 저장된 값과 정확히 같아야 함)
+     * @param chunkWkb 이어붙일 좌표들의 MultiPoint WKB (SRID 4326)
+     * @param distance 현재까지 누적 이동 거리 (미터)
+     * @param movingDuration 현재까지 누적 이동 시간 (초)
+     * @param pauseCount 현재까지 휴식 횟수
+     * @return 갱신된 행 수 (진행 중인 세션이 아니면 0)
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE walk_session " +
+           "SET actual_path = ST_MakeLine(ARRAY[actual_path, ST_GeomFromWKB(:chunk, 4326)]), " +
+           "actual_distance = :distance, moving_duration = :movingDuration, pause_count = :pauseCount, updated_at = NOW() " +
+           "WHERE id = :sessionId AND start_time = :startTime " +
+           "AND is_completed = false AND deleted_at IS NULL",
+           nativeQuery = true)
+    int appendTrackCheckpoint(@Param("sessionId") Long sessionId,
+                              @Param("startTime") OffsetDateTime startTime,
+                              @Param("chunk") byte[] chunkWkb,
+                              @Param("distance") double distance,
+                              @Param("movingDuration") int movingDuration,
+                              @Param("pauseCount") int pauseCount);
+    
+    /**
+     * 새 좌표 없이 진행 중 통계만 체크포인트합니다.
+     * 시작 시각 조건은 appendTrackCheckpoint와 같이 파티션을 좁히기 위한 것입니다.
+     * @return 갱신된 행 수 (진행 중인 세션이 아니면 0)
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE walk_session " +
+           "SET actual_distance = :distance, moving_duration = :movingDuration, pause_count = :pauseCount, updated_at = NOW() " +
+           "WHERE id = :sessionId AND start_time = :startTime " +
+           "AND is_completed = false AND deleted_at IS NULL",
+           nativeQuery = true)
+    int updateTrackCheckpoint(@Param("sessionId") Long sessionId,
+                              @Param("startTime") OffsetDateTime startTime,
+                              @Param("distance") double distance,
+                              @Param("movingDuration") int movingDuration,
+                              @Param("pauseCount") int pauseCount);
+    
+    /**
+     * 진행 중인 세션의 체크포인트 조회
+     * 경로 전체를 읽지 않고 좌표 수와 마지막 좌표만 계산해서 가져옵니다.
+     * @param sessionId 조회할 세션 ID
+     * @return 체크포인트 (진행 중인 세션이 아니면 빈 값)
+     */
+    @Query(value = OPEN_CHECKPOINT_SELECT + "AND ws.id = :sessionId", nativeQuery = true)
+    Optional<OpenSessionCheckpoint> findOpenCheckpoint(@Param("sessionId") Long sessionId);
+    
+    /**
+     * 특정 시각 이후 시작된 진행 중인 세션들의 체크포인트 조회 (재시작 시 복구용)
+     * @param since 이 시각 이후에 시작된 세션만 조회
+     * @return 체크포인트 목록
+     */
+    @Query(value = OPEN_CHECKPOINT_SELECT + "AND ws.start_time >= :since", nativeQuery = true)
+    List<OpenSessionCheckpoint> findOpenCheckpointsStartedAfter(@Param("since") OffsetDateTime since);
+    
+    /**
+     * 방치된 진행 중 세션 ID를 잠그며 조회 (정리 작업용)
+     * 다른 노드가 같은 세션을 처리 중이면 SKIP LOCKED로 건너뛰며,
+     * 진행 중 세션만 담은 부분 인덱스(ix_walk_session_open)를 사용합니다.
+     * @param startedBefore 이 시각 이전에 시작된 세션만 조회
+     * @param idleBefore 마지막 갱신(체크포인트)이 이 시각 이전인 세션만 조회
+     * @param afterId 이 ID보다 큰 세션만 조회 (한 번의 정리 실행 안에서 이어서 조회)
+     * @param limit 최대 조회 개수
+     * @return 세션 ID 목록 (ID 오름차순)
+     */
+    @Query(value = "SELECT ws.id FROM walk_session ws " +
+           "WHERE ws.is_completed = false AND ws.deleted_at IS NULL " +
+           "AND ws.start_time < :startedBefore AND COALESCE(ws.updated_at, ws.start_time) < :idleBefore " +
+           "AND ws.id > :afterId ORDER BY ws.id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Long> lockStaleOpenSessionIds(@Param("startedBefore") OffsetDateTime startedBefore,
+                                       @Param("idleBefore") OffsetDateTime idleBefore,
+                                       @Param("afterId") Long afterId,
+                                       @Param("limit") int limit);
+    
+    /**
+     * 경로가 기록된 방치 세션을 자동 완료합니다.
+     * 종료 시각은 마지막 체크포인트 시각으로, 거리는 마지막 체크포인트의 누적 거리(없으면 저장된 경로 길이)를 사용합니다.
+     * @param ids 대상 세션 ID 목록
+     * @return 완료 처리된 행 수
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE walk_session SET is_completed = true, " +
+           "end_time = COALESCE(updated_at, start_time), " +
+           "actual_duration = CAST(EXTRACT(EPOCH FROM (COALESCE(updated_at, start_time) - start_time)) AS integer), " +
+           "actual_distance = COALESCE(actual_distance, ST_Length(CAST(actual_path AS geography))), updated_at = NOW() " +
+           "WHERE id IN (:ids) AND is_completed = false AND deleted_at IS NULL AND ST_NPoints(actual_path) >= 2",
+           nativeQuery = true)
+    int autoCompleteStaleSessions(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 경로가 없는 방치 세션을 취소(소프트 삭제)합니다.
+     * @param ids 대상 세션 ID 목록
+     * @return 취소 처리된 행 수
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE walk_session SET deleted_at = NOW(), updated_at = NOW() " +
+           "WHERE id IN (:ids) AND is_completed = false AND deleted_at IS NULL",
+           nativeQuery = true)
+    int cancelStaleSessions(@Param("ids") Collection<Long> ids);
+    
+    String OPEN_CHECKPOINT_SELECT = "SELECT ws.id AS \"id\", ws.user_id AS \"userId\", ws.pet_id AS \"petId\", " +
+           "ws.route_id AS \"routeId\", CAST(EXTRACT(EPOCH FROM ws.start_time) * 1000000 AS bigint) AS \"startEpochMicros\", " +
+           "ws.actual_distance AS \"actualDistance\", ws.moving_duration AS \"movingDuration\", ws.pause_count AS \"pauseCount\", " +
+           "COALESCE(ST_NPoints(ws.actual_path), 0) AS \"pointCount\", " +
+           "ST_X(ST_EndPoint(ws.actual_path)) AS \"lastLongitude\", ST_Y(ST_EndPoint(ws.actual_path)) AS \"lastLatitude\" " +
+           "FROM walk_session ws WHERE ws.is_completed = false AND ws.deleted_at IS NULL ";
+    
+    /**
+     * 진행 중인 세션의 체크포인트 프로젝션
+     */
+    interface OpenSessionCheckpoint {
+        Long getId();
+        Long getUserId();
+        Long getPetId();
+        Long getRouteId();
+        Long getStartEpochMicros();
+        Double getActualDistance();
+        Integer getMovingDuration();
+        Integer getPauseCount();
+        Integer getPointCount();
+        Double getLastLongitude();
+        Double getLastLatitude();
+    }
 }
-
-
-
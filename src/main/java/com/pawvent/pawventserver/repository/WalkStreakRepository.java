@@ -0,0 +1,25 @@
+package com.pawvent.pawventserver.repository;
+
+import com.pawvent.pawventserver.domain.WalkStreak;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 연속 산책 기록 관련 데이터베이스 접근을 담당하는 레포지토리
+ * 기록 갱신은 WalkStreakService가 SQL로 직접 수행하며, 여기서는 조회만 제공
+ */
+@Repository
+public interface WalkStreakRepository extends JpaRepository<WalkStreak, Long> {
+    
+    /**
+     * 사용자의 연속 산책 기록 조회 (사용자 전체 + 반려동물별)
+     * @param userId 사용자 ID
+     * @return 연속 산책 기록 목록 (반려동물 함께 로드)
+     */
+    @Query("SELECT s FROM WalkStreak s LEFT JOIN FETCH s.pet WHERE s.user.id = :userId")
+    List<WalkStreak> findByUserIdWithPet(@Param("userId") Long userId);
+}
@@ -0,0 +1,303 @@
+package com.pawvent.pawventserver.service;
+
+import com.pawvent.pawventserver.domain.WalkSession;
+import com.pawvent.pawventserver.repository.WalkSessionRepository;
+import com.pawvent.pawventserver.util.RouteAdherenceTracker;
+import com.pawvent.pawventserver.util.TrackMotionAccumulator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 진행 중인 산책 세션 레지스트리 (노드 로컬)
+ *
+ * 산책 중에는 좌표 전송, 상태 조회가 짧은 간격으로 반복되므로
+ * 세션의 실시간 상태(마지막 위치, 누적 거리, 좌표 버퍼)를 메모리에 보관하고 DB는 체크포인트로만 갱신합니다.
+ * 애플리케이션이 재시작되면 DB의 체크포인트로 진행 중인 세션을 다시 등록합니다.
+ * 다른 노드에서 시작된 세션은 처음 요청될 때 체크포인트를 읽어 등록합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ActiveWalkRegistry {
+
+    /** 버퍼에 저장되는 좌표 하나의 차원 수 (경도, 위도, 기록 시각) */
+    static final int DIMENSION = 3;
+
+    private final WalkSessionRepository walkSessionRepository;
+    private final Map<Long, ActiveWalk> walks = new ConcurrentHashMap<>();
+
+    @Value("${pawvent.walk.registry.recover-window-hours:12}")
+    private long recoverWindowHours;
+
+    /**
+     * 새로 시작된 산책 세션을 등록합니다.
+     * 이후 좌표 전송과 상태 조회는 DB를 다시 읽지 않고 이 상태를 사용합니다.
+     */
+    public ActiveWalk register(WalkSession walkSession) {
+        ActiveWalk walk = new ActiveWalk(
+                walkSession.getId(),
+                walkSession.getUser().getId(),
+                walkSession.getPet().getId(),
+                walkSession.getRoute() != null ? walkSession.getRoute().getId() : null,
+                walkSession.getStartTime(),
+                0
+        );
+        walks.put(walk.sessionId, walk);
+        return walk;
+    }
+
+    /**
+     * 등록된 세션 상태를 조회합니다.
+     *
+     * @return 진행 중인 세션 상태 (이 노드에 등록되어 있지 않으면 null)
+     */
+    public ActiveWalk find(Long sessionId) {
+        return walks.get(sessionId);
+    }
+
+    /**
+     * 등록된 세션 상태를 조회하고, 없으면 DB 체크포인트로 등록합니다.
+     *
+     * @throws IllegalArgumentException 세션이 없거나 이미 종료된 경우
+     */
+    public ActiveWalk getOrLoad(Long sessionId) {
+        ActiveWalk walk = walks.get(sessionId);
+        if (walk != null) {
+            return walk;
+        }
+
+        WalkSessionRepository.OpenSessionCheckpoint checkpoint = walkSessionRepository.findOpenCheckpoint(sessionId)
+                .orElseThrow(() -> walkSessionRepository.existsById(sessionId)
+                        ? new IllegalArgumentException("이미 종료된 산책 세션입니다.")
+                        : new IllegalArgumentException("산책 세션을 찾을 수 없습니다."));
+        ActiveWalk restored = restore(checkpoint);
+        ActiveWalk existing = walks.putIfAbsent(sessionId, restored);
+        return existing != null ? existing : restored;
+    }
+
+    /**
+     * 세션을 닫고 레지스트리에서 제거합니다.
+     * 완료 또는 취소된 세션에 대해 호출되며, 반영되지 않은 좌표는 버려집니다.
+     */
+    public void remove(Long sessionId) {
+        ActiveWalk walk = walks.remove(sessionId);
+        if (walk != null) {
+            synchronized (walk) {
+                walk.closed = true;
+                walk.size = 0;
+            }
+        }
+    }
+
+    /**
+     * 특정 상태 객체가 여전히 등록되어 있을 때만 제거합니다 (유휴 세션 정리용).
+     */
+    boolean evict(Long sessionId, ActiveWalk walk) {
+        return walks.remove(sessionId, walk);
+    }
+
+    public Collection<ActiveWalk> all() {
+        return walks.values();
+    }
+
+    public boolean isActive(Long sessionId) {
+        return walks.containsKey(sessionId);
+    }
+
+    public int size() {
+        return walks.size();
+    }
+
+    /**
+     * 애플리케이션 시작 시 최근에 시작된 진행 중 세션을 체크포인트로 복구합니다.
+     * 버퍼에만 있던 좌표는 유실되지만, 경로와 누적 통계는 마지막 체크포인트 시점부터 이어서 기록됩니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        try {
+            OffsetDateTime since = OffsetDateTime.now().minusHours(recoverWindowHours);
+            int recovered = 0;
+            for (WalkSessionRepository.OpenSessionCheckpoint checkpoint
+                    : walkSessionRepository.findOpenCheckpointsStartedAfter(since)) {
+                if (walks.putIfAbsent(checkpoint.getId(), restore(checkpoint)) == null) {
+                    recovered++;
+                }
+            }
+            log.info("진행 중인 산책 세션 복구 완료: sessions={}", recovered);
+        } catch (Exception e) {
+            log.warn("진행 중인 산책 세션 복구 실패 (요청 시 개별 복구됩니다): {}", e.getMessage());
+        }
+    }
+
+    private ActiveWalk restore(WalkSessionRepository.OpenSessionCheckpoint checkpoint) {
+        ActiveWalk walk = new ActiveWalk(
+                checkpoint.getId(),
+                checkpoint.getUserId(),
+                checkpoint.getPetId(),
+                checkpoint.getRouteId(),
+                toStartTime(checkpoint.getStartEpochMicros()),
+                checkpoint.getPointCount() != null ? checkpoint.getPointCount() : 0
+        );
+        walk.motion.resume(
+                checkpoint.getLastLongitude(),
+                checkpoint.getLastLatitude(),
+                checkpoint.getActualDistance() != null ? checkpoint.getActualDistance() : 0.0,
+                checkpoint.getMovingDuration() != null ? checkpoint.getMovingDuration() * 1000L : 0L,
+                checkpoint.getPauseCount() != null ? checkpoint.getPauseCount() : 0
+        );
+        walk.markCheckpointed();
+        return walk;
+    }
+
+    /**
+     * DB의 시작 시각(마이크로초 정밀도)을 그대로 복원합니다 (체크포인트 UPDATE의 시작 시각 조건과 정확히 일치해야 함).
+     */
+    private static OffsetDateTime toStartTime(long epochMicros) {
+        Instant instant = Instant.ofEpochSecond(Math.floorDiv(epochMicros, 1_000_000L),
+                Math.floorMod(epochMicros, 1_000_000L) * 1_000L);
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    /**
+     * 진행 중인 산책 세션 하나의 실시간 상태
+     * 좌표마다 객체를 만들지 않도록 (경도, 위도, 시각)을 하나의 double 배열에 연속으로 저장합니다.
+     * 필드 변경은 객체 모니터(synchronized)로 보호하고, DB 반영 순서는 flushLock으로 직렬화합니다.
+     */
+    public static final class ActiveWalk {
+        final Long sessionId;
+        final Long ownerId;
+        final Long petId;
+        final Long routeId;
+        /** DB에 저장된 시작 시각 (체크포인트 UPDATE의 파티션 선택 조건) */
+        final OffsetDateTime startTime;
+        final long startEpochMillis;
+        final ReentrantLock flushLock = new ReentrantLock();
+
+        // 좌표 버퍼
+        double[] coords = new double[64 * DIMENSION];
+        int size;
+        long persistedPoints;
+        long lastAppendAt = System.currentTimeMillis();
+        boolean closed;
+
+        // 증분 이동 통계
+        final TrackMotionAccumulator motion = new TrackMotionAccumulator();
+
+        // 계획 루트 준수 상태 (루트가 없는 자유 산책이면 null)
+        RouteAdherenceTracker adherence;
+        boolean routeMatchResolved;
+
+        // 마지막 체크포인트 시점의 통계 (변경 여부 판단용)
+        private double checkpointedDistance;
+        private long checkpointedMovingMillis;
+        private int checkpointedPauseCount;
+
+        private ActiveWalk(Long sessionId, Long ownerId, Long petId, Long routeId,
+                           OffsetDateTime startTime, long persistedPoints) {
+            this.sessionId = sessionId;
+            this.ownerId = ownerId;
+            this.petId = petId;
+            this.routeId = routeId;
+            this.startTime = startTime;
+            this.startEpochMillis = startTime.toInstant().toEpochMilli();
+            this.persistedPoints = persistedPoints;
+        }
+
+        public Long getSessionId() { return sessionId; }
+        public Long getOwnerId() { return ownerId; }
+        public Long getPetId() { return petId; }
+        public Long getRouteId() { return routeId; }
+        public long getStartEpochMillis() { return startEpochMillis; }
+
+        /**
+         * 좌표를 버퍼에 추가하고 이동 통계와 루트 준수 상태를 갱신합니다.
+         *
+         * @return 이번 좌표들로 확정된 루트 이탈/복귀 이벤트 (대부분 빈 목록)
+         */
+        List<WalkRouteDeviationEvent> append(CoordinateSequence points) {
+            int count = points.size();
+            ensureCapacity(size + count);
+            boolean hasM = points.hasM();
+            List<WalkRouteDeviationEvent> events = List.of();
+            for (int i = 0; i < count; i++) {
+                int offset = (size + i) * DIMENSION;
+                coords[offset] = points.getX(i);
+                coords[offset + 1] = points.getY(i);
+                coords[offset + 2] = hasM ? points.getM(i) : System.currentTimeMillis();
+                motion.add(coords[offset], coords[offset + 1], (long) coords[offset + 2]);
+                if (adherence != null) {
+                    RouteAdherenceTracker.Transition transition = adherence.add(coords[offset], coords[offset + 1]);
+                    if (transition != RouteAdherenceTracker.Transition.NONE) {
+                        if (events.isEmpty()) {
+                            events = new ArrayList<>(2);
+                        }
+                        events.add(new WalkRouteDeviationEvent(sessionId, ownerId, routeId,
+                                transition == RouteAdherenceTracker.Transition.LEFT_ROUTE
+                                        ? WalkRouteDeviationEvent.Type.LEFT_ROUTE
+                                        : WalkRouteDeviationEvent.Type.RETURNED,
+                                coords[offset + 1], coords[offset], adherence.getDeviationMeters(),
+                                OffsetDateTime.ofInstant(Instant.ofEpochMilli((long) coords[offset + 2]), ZoneOffset.UTC)));
+                    }
+                }
+            }
+            size += count;
+            lastAppendAt = System.currentTimeMillis();
+            return events;
+        }
+
+        boolean hasUncheckpointedMetrics() {
+            return motion.getDistanceMeters() != checkpointedDistance
+                    || motion.getMovingMillis() != checkpointedMovingMillis
+                    || motion.getPauseCount() != checkpointedPauseCount;
+        }
+
+        void markCheckpointed(double distance, long moving, int pauses) {
+            checkpointedDistance = distance;
+            checkpointedMovingMillis = moving;
+            checkpointedPauseCount = pauses;
+        }
+
+        private void markCheckpointed() {
+            markCheckpointed(motion.getDistanceMeters(), motion.getMovingMillis(), motion.getPauseCount());
+        }
+
+        double[] drain() {
+            double[] chunk = Arrays.copyOf(coords, size * DIMENSION);
+            size = 0;
+            return chunk;
+        }
+
+        void restore(double[] chunk) {
+            if (closed) {
+                return;
+            }
+            int count = chunk.length / DIMENSION;
+            ensureCapacity(size + count);
+            System.arraycopy(coords, 0, coords, chunk.length, size * DIMENSION);
+            System.arraycopy(chunk, 0, coords, 0, chunk.length);
+            size += count;
+        }
+
+        private void ensureCapacity(int points) {
+            if (points * DIMENSION > coords.length) {
+                coords = Arrays.copyOf(coords, Math.max(points, size * 2) * DIMENSION);
+            }
+        }
+    }
+}
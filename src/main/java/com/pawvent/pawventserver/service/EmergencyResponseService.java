@@ -1,7 +1,7 @@
 package com.pawvent.pawventserver.service;
 
-import com.pawvent.pawventserver.domain.Hazard;
 import com.pawvent.pawventserver.domain.User;
+import com.pawvent.pawventserver.dto.HazardResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -28,7 +28,7 @@ public class EmergencyResponseService {
         response.setEmergencyType(emergencyType);
         
         // 주변 위험 요소 확인 (반경 500m)
-        List<Hazard> nearbyHazards = hazardService.getHazardsNearLocation(latitude, longitude, 500.0);
+        List<HazardResponse> nearbyHazards = hazardService.getHazardsNearLocation(latitude, longitude, 500.0);
         
         if (!nearbyHazards.isEmpty()) {
             response.setHasNearbyHazards(true);
@@ -0,0 +1,96 @@
+package com.pawvent.pawventserver.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 만료된 위험 스팟 정리 작업
+ *
+ * 목줄 미착용, 공격적인 개처럼 일시적인 위험 스팟은 카테고리별 유지 시간이 지나면 만료 시간(expires_at)이 지나며,
+ * 조회 쿼리는 만료된 행을 바로 제외하지만 행은 남아 활성 위험 스팟 인덱스를 키우므로 주기적으로 소프트 삭제합니다.
+ * 한 번에 batch-size개씩 짧은 트랜잭션으로 처리하고, 다른 노드의 정리 작업과는 SKIP LOCKED로 겹치지 않게 나눠 처리합니다.
+ */
+@Slf4j
+@Service
+public class HazardExpirySweeper {
+
+    private static final String SWEEP_SQL = "UPDATE hazard SET deleted_at = now(), updated_at = now() " +
+            "WHERE id IN (SELECT id FROM hazard WHERE deleted_at IS NULL AND expires_at <= now() " +
+            "ORDER BY expires_at LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final HazardSpatialIndex hazardSpatialIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${pawvent.hazard.sweeper.enabled:true}")
+    private boolean enabled;
+
+    @Value("${pawvent.hazard.sweeper.batch-size:500}")
+    private int batchSize;
+
+    @Value("${pawvent.hazard.sweeper.max-batches:20}")
+    private int maxBatches;
+
+    public HazardExpirySweeper(JdbcTemplate jdbcTemplate,
+                               HazardSpatialIndex hazardSpatialIndex,
+                               PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.hazardSpatialIndex = hazardSpatialIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 주기적으로 만료된 위험 스팟을 정리합니다.
+     * 한 번의 실행에서 최대 max-batches개의 묶음만 처리하고, 남은 위험 스팟은 다음 실행으로 넘깁니다.
+     */
+    @Scheduled(fixedDelayString = "${pawvent.hazard.sweeper.interval-ms:300000}",
+               initialDelayString = "${pawvent.hazard.sweeper.initial-delay-ms:60000}")
+    public void sweepScheduled() {
+        if (enabled) {
+            sweep();
+        }
+    }
+
+    /**
+     * 만료된 위험 스팟을 한 차례 정리합니다.
+     *
+     * @return 소프트 삭제한 위험 스팟 수
+     */
+    public int sweep() {
+        int swept = 0;
+        int batches = 0;
+        try {
+            while (batches < maxBatches) {
+                Integer count = transactionTemplate.execute(status -> sweepBatch());
+                batches++;
+                swept += count != null ? count : 0;
+                if (count == null || count < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("만료된 위험 스팟 정리 중 오류 발생, 다음 실행에서 이어서 처리합니다", e);
+        }
+
+        if (swept > 0) {
+            log.info("만료된 위험 스팟 정리: hazards={}, batches={}", swept, batches);
+        }
+        return swept;
+    }
+
+    private int sweepBatch() {
+        List<Long> ids = jdbcTemplate.queryForList(SWEEP_SQL, Long.class, batchSize);
+        // 이 노드의 색인에서는 커밋 직후 제거 (다른 노드는 각자 만료 시간으로 제거)
+        for (Long id : ids) {
+            hazardSpatialIndex.remove(id);
+        }
+        return ids.size();
+    }
+}
@@ -2,39 +2,208 @@ package com.pawvent.pawventserver.service;
 
 import com.pawvent.pawventserver.domain.Hazard;
 import com.pawvent.pawventserver.domain.User;
+import com.pawvent.pawventserver.domain.WalkRoute;
 import com.pawvent.pawventserver.domain.enums.HazardCategory;
+import com.pawvent.pawventserver.dto.HazardClusterResponse;
+import com.pawvent.pawventserver.dto.HazardMarkerResponse;
+import com.pawvent.pawventserver.dto.HazardResponse;
+import com.pawvent.pawventserver.dto.RouteHazardResponse;
 import com.pawvent.pawventserver.repository.HazardRepository;
+import com.pawvent.pawventserver.util.HazardClusterPyramid;
+import com.pawvent.pawventserver.util.PolylineCodec;
+import com.pawvent.pawventserver.util.RouteMatcher;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
 import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.locationtech.jts.io.WKBWriter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class HazardService {
     
+    /** <-> 정렬은 경위도 평면 거리 기준이므로 실제 거리로 다시 정렬할 후보를 limit의 이 배수만큼 뽑음 */
+    private static final int NEAREST_CANDIDATE_FACTOR = 4;
+    
     private final HazardRepository hazardRepository;
+    private final HazardSpatialIndex hazardSpatialIndex;
+    private final WalkRouteService walkRouteService;
+    private final RouteMatcherCache routeMatcherCache;
+    private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    
+    @Value("${pawvent.hazard.route.default-buffer-meters:30}")
+    private double defaultRouteBufferMeters;
+    
+    @Value("${pawvent.hazard.route.max-buffer-meters:500}")
+    private double maxRouteBufferMeters;
+    
+    @Value("${pawvent.hazard.route.max-vertices:5000}")
+    private int maxRouteVertices;
+    
+    @Value("${pawvent.hazard.cluster.max-cells:4096}")
+    private long maxClusterCells;
+    
+    @Value("${pawvent.hazard.query.default-limit:20}")
+    private int defaultQueryLimit;
+    
+    @Value("${pawvent.hazard.query.max-limit:200}")
+    private int maxQueryLimit;
+    
+    @Value("${pawvent.hazard.query.max-span-degrees:1.0}")
+    private double maxBoundsSpanDegrees;
+    
+    @Value("${pawvent.hazard.query.max-distance-meters:50000}")
+    private double maxNearestDistanceMeters;
     
+    @Value("${pawvent.hazard.decay.permanent-half-life-days:90}")
+    private double permanentHalfLifeDays;
+    
+    /**
+     * 위험 스팟을 신고합니다.
+     * 카테고리에 유지 시간이 있으면 신고 시각 기준으로 만료 시간을 정하고, 만료 후에는 정리 작업이 소프트 삭제합니다.
+     */
     @Transactional
     public Hazard reportHazard(User user, HazardCategory category, String description, Point location, String imageUrl) {
+        Duration ttl = category.getDefaultTtl();
         Hazard hazard = Hazard.builder()
                 .user(user)
                 .category(category)
                 .description(description)
                 .location(location)
                 .imageUrl(imageUrl)
+                .expiresAt(ttl != null ? OffsetDateTime.now().plus(ttl) : null)
                 .build();
         
-        return hazardRepository.save(hazard);
+        Hazard saved = hazardRepository.save(hazard);
+        hazardSpatialIndex.add(saved);
+        return saved;
     }
     
-    public List<Hazard> getHazardsNearLocation(double latitude, double longitude, double radiusInMeters) {
-        return hazardRepository.findHazardsNearLocation(latitude, longitude, radiusInMeters);
+    /**
+     * 좌표 주변의 활성 위험 스팟을 가까운 순으로 조회합니다.
+     * 메모리 공간 색인에서 바로 찾고, 색인이 아직 적재되지 않았을 때만 DB를 조회합니다.
+     */
+    public List<HazardResponse> getHazardsNearLocation(double latitude, double longitude, double radiusInMeters) {
+        if (hazardSpatialIndex.isReady()) {
+            return hazardSpatialIndex.findWithin(latitude, longitude, radiusInMeters).stream()
+                    .map(this::toResponse)
+                    .toList();
+        }
+        return hazardRepository.findHazardsNearLocation(latitude, longitude, radiusInMeters).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+    
+    /**
+     * 지도 영역(사각형) 안의 위험 스팟을 최신 신고 순으로 조회합니다.
+     *
+     * @param categories 조회할 카테고리 (null 또는 비어 있으면 전체)
+     * @param limit 최대 개수 (null이면 기본값, 최대 max-limit)
+     * @throws IllegalArgumentException 영역이 잘못되었거나 너무 넓은 경우
+     */
+    public List<HazardMarkerResponse> getHazardsInBounds(double minLat, double minLng, double maxLat, double maxLng,
+                                                         Collection<HazardCategory> categories, Integer limit) {
+        if (minLat < -90 || maxLat > 90 || minLng < -180 || maxLng > 180 || minLat > maxLat || minLng > maxLng) {
+            throw new IllegalArgumentException("조회 영역이 올바르지 않습니다.");
+        }
+        if (maxLat - minLat > maxBoundsSpanDegrees || maxLng - minLng > maxBoundsSpanDegrees) {
+            throw new IllegalArgumentException("조회 영역은 가로/세로 " + maxBoundsSpanDegrees + "도 이하여야 합니다.");
+        }
+        return hazardRepository.findHazardMarkersInBounds(minLat, minLng, maxLat, maxLng,
+                        categoryNames(categories), resolveQueryLimit(limit)).stream()
+                .map(this::toMarker)
+                .toList();
+    }
+    
+    /**
+     * 좌표에서 가까운 위험 스팟을 거리순으로 조회합니다.
+     *
+     * @param categories 조회할 카테고리 (null 또는 비어 있으면 전체)
+     * @param limit 최대 개수 (null이면 기본값, 최대 max-limit)
+     * @param maxDistanceMeters 최대 거리 (미터, null이면 max-distance-meters)
+     */
+    public List<HazardMarkerResponse> getNearestHazards(double latitude, double longitude,
+                                                        Collection<HazardCategory> categories,
+                                                        Integer limit, Double maxDistanceMeters) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("좌표가 올바르지 않습니다.");
+        }
+        double maxDistance = maxDistanceMeters != null ? maxDistanceMeters : maxNearestDistanceMeters;
+        if (!(maxDistance > 0) || maxDistance > maxNearestDistanceMeters) {
+            throw new IllegalArgumentException("최대 거리는 0보다 크고 " + (int) maxNearestDistanceMeters + "m 이하여야 합니다.");
+        }
+        int resolvedLimit = resolveQueryLimit(limit);
+        return hazardRepository.findNearestHazardMarkers(latitude, longitude, categoryNames(categories), maxDistance,
+                        resolvedLimit * NEAREST_CANDIDATE_FACTOR, resolvedLimit).stream()
+                .map(this::toMarker)
+                .toList();
+    }
+    
+    /**
+     * 지도 영역(사각형)의 위험 스팟을 줌 레벨 격자 단위로 묶어 조회합니다.
+     * 메모리 격자 피라미드에서 칸을 읽기만 하므로 위험 스팟 수와 관계없이 영역의 칸 수만큼만 비용이 듭니다.
+     *
+     * @param zoom 지도 줌 레벨 (0~22)
+     * @throws IllegalArgumentException 영역이 잘못되었거나 줌 레벨에 비해 너무 넓은 경우
+     * @throws IllegalStateException 공간 색인이 아직 적재되지 않은 경우
+     */
+    public HazardClusterResponse getHazardClusters(double minLat, double minLng, double maxLat, double maxLng, int zoom) {
+        if (zoom < 0 || zoom > 22) {
+            throw new IllegalArgumentException("줌 레벨은 0~22 사이여야 합니다.");
+        }
+        if (minLat < -90 || maxLat > 90 || minLng < -180 || maxLng > 180 || minLat > maxLat || minLng > maxLng) {
+            throw new IllegalArgumentException("조회 영역이 올바르지 않습니다.");
+        }
+        if (!hazardSpatialIndex.isReady()) {
+            throw new IllegalStateException("위험 스팟 색인을 준비 중입니다. 잠시 후 다시 시도해주세요.");
+        }
+        
+        List<HazardClusterPyramid.Cluster> cells = hazardSpatialIndex.findClusters(
+                zoom, minLat, minLng, maxLat, maxLng, maxClusterCells);
+        HazardCategory[] categories = HazardCategory.values();
+        List<HazardClusterResponse.Cluster> clusters = new ArrayList<>(cells.size());
+        long total = 0;
+        for (HazardClusterPyramid.Cluster cell : cells) {
+            Map<HazardCategory, Integer> categoryCounts = new EnumMap<>(HazardCategory.class);
+            for (int i = 0; i < categories.length; i++) {
+                if (cell.categoryCounts()[i] > 0) {
+                    categoryCounts.put(categories[i], cell.categoryCounts()[i]);
+                }
+            }
+            clusters.add(new HazardClusterResponse.Cluster(
+                    cell.latitude(), cell.longitude(), cell.count(), categoryCounts, cell.hazardId()));
+            total += cell.count();
+        }
+        
+        return HazardClusterResponse.builder()
+                .zoom(zoom)
+                .gridZoom(Math.min(zoom, hazardSpatialIndex.getClusterMaxZoom()))
+                .totalCount(total)
+                .clusters(clusters)
+                .build();
     }
     
     public List<Hazard> getHazardsByCategory(HazardCategory category) {
@@ -51,32 +220,222 @@ public class HazardService {
         Hazard hazard = getHazardById(hazardId);
         hazard.setDeletedAt(OffsetDateTime.now());
         hazardRepository.save(hazard);
+        hazardSpatialIndex.remove(hazardId);
     }
     
     /**
      * 주어진 경로에 위험 요소가 있는지 확인
+     * 출발지와 도착지를 잇는 선분에서 bufferMeters 이내에 위험 스팟이 있으면 true를 반환합니다.
      */
     public boolean hasHazardOnRoute(double startLat, double startLng, double endLat, double endLng, double bufferMeters) {
-        // 경로 중점 계산
-        double midLat = (startLat + endLat) / 2;
-        double midLng = (startLng + endLng) / 2;
+        CoordinateSequence line = new PackedCoordinateSequence.Double(
+                new double[] {startLng, startLat, endLng, endLat}, 2, 0);
+        RouteHazardResponse corridor = findHazardsAlong(
+                geometryFactory.createLineString(line), new RouteMatcher(line), bufferMeters);
+        return corridor.getHazardCount() > 0;
+    }
+    
+    /**
+     * 저장된 산책 루트 경로를 따라 bufferMeters 이내에 있는 위험 스팟을 조회합니다.
+     * 루트별 선분 색인은 RouteMatcherCache에서 공유합니다.
+     *
+     * @param bufferMeters 통로 반폭 (미터, null이면 기본값)
+     */
+    public RouteHazardResponse getHazardsAlongRoute(Long routeId, Double bufferMeters) {
+        double buffer = resolveRouteBuffer(bufferMeters);
+        WalkRoute route = walkRouteService.getRouteById(routeId);
+        RouteMatcher matcher = routeMatcherCache.get(route);
+        if (matcher == null) {
+            throw new IllegalArgumentException("경로 정보가 없는 산책 루트입니다.");
+        }
+        RouteHazardResponse response = findHazardsAlong(route.getRouteData(), matcher, buffer);
+        response.setRouteId(routeId);
+        return response;
+    }
+    
+    /**
+     * Encoded Polyline로 보낸 경로를 따라 bufferMeters 이내에 있는 위험 스팟을 조회합니다.
+     *
+     * @param polyline 경로 좌표의 Encoded Polyline
+     * @param bufferMeters 통로 반폭 (미터, null이면 기본값)
+     */
+    public RouteHazardResponse getHazardsAlongPolyline(String polyline, Double bufferMeters) {
+        double buffer = resolveRouteBuffer(bufferMeters);
+        if (polyline == null || polyline.isBlank()) {
+            throw new IllegalArgumentException("경로(polyline)를 입력해주세요.");
+        }
+        CoordinateSequence path = PolylineCodec.decode(polyline.trim());
+        if (path.size() < 2) {
+            throw new IllegalArgumentException("경로는 좌표가 2개 이상이어야 합니다.");
+        }
+        if (path.size() > maxRouteVertices) {
+            throw new IllegalArgumentException("경로 좌표는 최대 " + maxRouteVertices + "개입니다.");
+        }
+        return findHazardsAlong(geometryFactory.createLineString(path), new RouteMatcher(path), buffer);
+    }
+    
+    /**
+     * 경로 통로 안의 위험 스팟을 찾고 각각 가장 가까운 선분에 배정합니다.
+     * 후보는 공간 색인에서 선분 단위로 찾고(색인이 아직 없으면 DB), 실제 거리와 선분 번호는 루트 선분 색인으로 계산합니다.
+     */
+    private RouteHazardResponse findHazardsAlong(LineString path, RouteMatcher matcher, double bufferMeters) {
+        List<RouteHazardResponse.RouteHazard> hazards = new ArrayList<>();
+        if (hazardSpatialIndex.isReady()) {
+            for (HazardSpatialIndex.IndexedHazard candidate
+                    : hazardSpatialIndex.findCandidatesAlong(path.getCoordinateSequence(), bufferMeters)) {
+                RouteMatcher.SegmentMatch match = matcher.nearestSegment(candidate.longitude(), candidate.latitude(), bufferMeters);
+                if (match != null) {
+                    hazards.add(new RouteHazardResponse.RouteHazard(match.segmentIndex(), match.distanceMeters(), toResponse(candidate)));
+                }
+            }
+        } else {
+            for (Hazard candidate : hazardRepository.findHazardsNearPath(new WKBWriter().write(path), bufferMeters)) {
+                RouteMatcher.SegmentMatch match = matcher.nearestSegment(
+                        candidate.getLocation().getX(), candidate.getLocation().getY(), bufferMeters);
+                if (match != null) {
+                    hazards.add(new RouteHazardResponse.RouteHazard(match.segmentIndex(), match.distanceMeters(), toResponse(candidate)));
+                }
+            }
+        }
+        hazards.sort(Comparator.comparingInt(RouteHazardResponse.RouteHazard::getSegmentIndex)
+                .thenComparingDouble(RouteHazardResponse.RouteHazard::getDistanceMeters));
         
-        // 경로 길이 기반으로 검색 반경 확장
-        double distance = calculateDistance(startLat, startLng, endLat, endLng);
-        double searchRadius = Math.max(bufferMeters, distance / 2 + bufferMeters);
+        return RouteHazardResponse.builder()
+                .bufferMeters(bufferMeters)
+                .segmentCount(matcher.getSegmentCount())
+                .hazardCount(hazards.size())
+                .hazards(hazards)
+                .build();
+    }
+    
+    private int resolveQueryLimit(Integer limit) {
+        if (limit == null) {
+            return defaultQueryLimit;
+        }
+        if (limit < 1 || limit > maxQueryLimit) {
+            throw new IllegalArgumentException("조회 개수는 1~" + maxQueryLimit + " 사이여야 합니다.");
+        }
+        return limit;
+    }
+    
+    private static List<String> categoryNames(Collection<HazardCategory> categories) {
+        Collection<HazardCategory> selected = categories == null || categories.isEmpty()
+                ? Arrays.asList(HazardCategory.values())
+                : categories;
+        return selected.stream().map(Enum::name).distinct().toList();
+    }
+    
+    /** 영역/최근접 조회 결과 행(id, category, latitude, longitude, created_at[, distance])을 변환합니다. */
+    private HazardMarkerResponse toMarker(Object[] row) {
+        HazardMarkerResponse marker = HazardMarkerResponse.builder()
+                .id(((Number) row[0]).longValue())
+                .category(HazardCategory.valueOf(String.valueOf(row[1])))
+                .latitude(((Number) row[2]).doubleValue())
+                .longitude(((Number) row[3]).doubleValue())
+                .createdAt(toOffsetDateTime(row[4]))
+                .distanceMeters(row.length > 5 ? ((Number) row[5]).doubleValue() : null)
+                .build();
+        marker.setRelevance(relevanceOf(marker.getCategory(), marker.getCreatedAt(), OffsetDateTime.now()));
+        return marker;
+    }
+    
+    private static OffsetDateTime toOffsetDateTime(Object value) {
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime;
+        }
+        if (value instanceof Instant instant) {
+            return instant.atOffset(ZoneOffset.UTC);
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant().atOffset(ZoneOffset.UTC);
+        }
+        return null;
+    }
+    
+    private double resolveRouteBuffer(Double bufferMeters) {
+        double buffer = bufferMeters != null ? bufferMeters : defaultRouteBufferMeters;
+        if (!(buffer > 0) || buffer > maxRouteBufferMeters) {
+            throw new IllegalArgumentException("통로 폭은 0보다 크고 " + (int) maxRouteBufferMeters + "m 이하여야 합니다.");
+        }
+        return buffer;
+    }
+    
+    /**
+     * 만료 시간이 비어 있는 활성 위험 스팟에 카테고리별 유지 시간으로 만료 시간을 채웁니다.
+     * 유지 시간 도입 이전에 신고된 데이터용이며, 이미 채워진 행은 건드리지 않으므로 여러 번 실행해도 안전합니다.
+     *
+     * @return 갱신된 위험 스팟 수
+     */
+    @Transactional
+    public int fillMissingExpiry() {
+        int updated = 0;
+        for (HazardCategory category : HazardCategory.values()) {
+            Duration ttl = category.getDefaultTtl();
+            if (ttl != null) {
+                updated += hazardRepository.fillMissingExpiry(category.name(), (int) ttl.toHours());
+            }
+        }
+        if (updated > 0) {
+            log.info("위험 스팟 만료 시간 채우기 완료: hazards={}", updated);
+        }
+        return updated;
+    }
+    
+    /**
+     * 신고 후 지난 시간에 따른 위험 스팟 관련도 점수 (0~1, 새로 신고되면 1)
+     * 반감기마다 절반으로 줄며, 유지 시간이 있는 카테고리는 유지 시간의 절반,
+     * 만료 없는 카테고리는 permanent-half-life-days를 반감기로 사용합니다 (만료 시점의 점수는 0.25).
+     */
+    public double relevanceOf(HazardCategory category, OffsetDateTime createdAt, OffsetDateTime now) {
+        if (createdAt == null) {
+            return 1.0;
+        }
+        Duration ttl = category.getDefaultTtl();
+        double halfLifeSeconds = ttl != null ? ttl.getSeconds() / 2.0 : permanentHalfLifeDays * 86400.0;
+        double ageSeconds = Math.max(0, Duration.between(createdAt, now).getSeconds());
+        return Math.round(Math.pow(0.5, ageSeconds / halfLifeSeconds) * 1000) / 1000.0;
+    }
+    
+    /**
+     * Hazard 엔티티를 HazardResponse DTO로 변환
+     * Point를 위도/경도로 변환하여 JSON 직렬화 문제 해결
+     */
+    public HazardResponse toResponse(Hazard hazard) {
+        Double latitude = null;
+        Double longitude = null;
+        if (hazard.getLocation() != null) {
+            latitude = hazard.getLocation().getY(); // y = latitude
+            longitude = hazard.getLocation().getX(); // x = longitude
+        }
         
-        List<Hazard> nearbyHazards = getHazardsNearLocation(midLat, midLng, searchRadius);
-        return !nearbyHazards.isEmpty();
-    }
-    
-    private double calculateDistance(double lat1, double lng1, double lat2, double lng2) {
-        final double R = 6371000; // Earth radius in meters
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLng = Math.toRadians(lng2 - lng1);
-        double a = Math.sin(dLat/2) * Math.sin(dLat/2) +
-                Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
-                Math.sin(dLng/2) * Math.sin(dLng/2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1-a));
-        return R * c;
+        return HazardResponse.builder()
+                .id(hazard.getId())
+                .category(hazard.getCategory())
+                .description(hazard.getDescription())
+                .latitude(latitude)
+                .longitude(longitude)
+                .imageUrl(hazard.getImageUrl())
+                .reporterId(hazard.getUser() != null ? hazard.getUser().getId() : null)
+                .reporterNickname(hazard.getUser() != null ? hazard.getUser().getNickname() : null)
+                .createdAt(hazard.getCreatedAt())
+                .expiresAt(hazard.getExpiresAt())
+                .relevance(relevanceOf(hazard.getCategory(), hazard.getCreatedAt(), OffsetDateTime.now()))
+                .build();
+    }
+    
+    private HazardResponse toResponse(HazardSpatialIndex.IndexedHazard hazard) {
+        return HazardResponse.builder()
+                .id(hazard.id())
+                .category(hazard.category())
+                .description(hazard.description())
+                .latitude(hazard.latitude())
+                .longitude(hazard.longitude())
+                .imageUrl(hazard.imageUrl())
+                .reporterId(hazard.reporterId())
+                .reporterNickname(hazard.reporterNickname())
+                .createdAt(hazard.createdAt())
+                .expiresAt(hazard.expiresAt())
+                .relevance(relevanceOf(hazard.category(), hazard.createdAt(), OffsetDateTime.now()))
+                .build();
     }
 }
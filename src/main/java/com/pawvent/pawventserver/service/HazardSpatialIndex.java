@@ -0,0 +1,420 @@
+package com.pawvent.pawventserver.service;
+
+import com.pawvent.pawventserver.domain.Hazard;
+import com.pawvent.pawventserver.domain.enums.HazardCategory;
+import com.pawvent.pawventserver.util.GeoUtils;
+import com.pawvent.pawventserver.util.HazardClusterPyramid;
+import com.pawvent.pawventserver.util.TransactionCallbacks;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.index.quadtree.Quadtree;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 활성 위험 스팟 공간 색인 (노드 로컬, 증분 갱신)
+ *
+ * 삭제되지 않은 위험 스팟 전체를 메모리의 Quadtree에 색인해두고 반경 조회를 DB 없이 처리합니다.
+ * STR-tree는 한 번 만들면 항목을 추가/삭제할 수 없으므로 신고/삭제를 바로 반영할 수 있는 Quadtree를 사용합니다.
+ * 지도 줌 레벨별 클러스터 격자 피라미드(HazardClusterPyramid)도 같은 잠금 아래에서 함께 갱신합니다.
+ * 만료 시간이 지난 위험 스팟은 조회에서 바로 빠지고, expire-interval-ms마다 색인에서도 제거됩니다.
+ * 다른 노드에서 신고/삭제된 위험 스팟은 이 노드에 바로 반영되지 않으므로 주기적으로 DB에서 다시 읽어 교체합니다.
+ * 다시 읽는 동안 커밋된 신고/삭제는 따로 기록해두었다가 교체한 색인에 다시 적용합니다.
+ */
+@Slf4j
+@Component
+public class HazardSpatialIndex {
+
+    private static final String RELOAD_SQL = "SELECT h.id, h.category, h.description, " +
+            "ST_Y(h.location) AS latitude, ST_X(h.location) AS longitude, h.image_url, h.user_id, u.nickname, h.created_at, h.expires_at " +
+            "FROM hazard h JOIN users u ON u.id = h.user_id " +
+            "WHERE h.deleted_at IS NULL AND (h.expires_at IS NULL OR h.expires_at > now())";
+
+    private static final double METERS_PER_DEGREE = Math.PI / 180.0 * GeoUtils.EARTH_RADIUS_METERS;
+
+    /** 극지방에서 경도 1도의 길이가 0에 가까워져 탐색 범위가 무한히 커지지 않도록 하는 하한 */
+    private static final double MIN_LATITUDE_COS = 0.01;
+
+    /** 경로 후보 조회 시 선분을 나누는 최소 길이 (미터) */
+    private static final double MIN_CORRIDOR_STEP_METERS = 200.0;
+
+    /** 만료 시간 오름차순, 같으면 ID 오름차순 */
+    private static final Comparator<IndexedHazard> EXPIRY_ORDER =
+            Comparator.comparing(IndexedHazard::expiresAt).thenComparingLong(IndexedHazard::id);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int clusterMaxZoom;
+    private final int clusterCellsPerTile;
+
+    // 아래 자료구조는 lock으로 보호 (조회는 읽기 잠금, 갱신/교체는 쓰기 잠금)
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** 경도/위도 좌표 기준 색인 */
+    private Quadtree tree = new Quadtree();
+    /** 위험 스팟 ID → 색인 항목 (삭제 시 색인에서 찾기 위함) */
+    private Map<Long, IndexedHazard> entries = new HashMap<>();
+    /** 줌 레벨별 클러스터 격자 */
+    private HazardClusterPyramid pyramid;
+    /** 만료 시간이 있는 항목 (만료 시간 순) */
+    private TreeSet<IndexedHazard> expiring = new TreeSet<>(EXPIRY_ORDER);
+    /** 재적재 중에 반영된 추가/삭제 (재적재 중이 아니면 null) */
+    private List<PendingChange> pendingChanges;
+
+    /** 시작 시 첫 적재가 끝났는지 여부 (끝나기 전에는 조회하지 않음) */
+    private volatile boolean ready;
+
+    public HazardSpatialIndex(JdbcTemplate jdbcTemplate,
+                              @Value("${pawvent.hazard.cluster.max-zoom:18}") int clusterMaxZoom,
+                              @Value("${pawvent.hazard.cluster.cells-per-tile:4}") int clusterCellsPerTile) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clusterMaxZoom = clusterMaxZoom;
+        this.clusterCellsPerTile = clusterCellsPerTile;
+        this.pyramid = new HazardClusterPyramid(clusterMaxZoom, clusterCellsPerTile);
+    }
+
+    /**
+     * 색인에 들어있는 위험 스팟 정보
+     *
+     * @param latitude 위도
+     * @param longitude 경도
+     * @param expiresAt 만료 시간 (null이면 만료 없음)
+     */
+    public record IndexedHazard(long id, HazardCategory category, String description,
+                                double latitude, double longitude, String imageUrl,
+                                Long reporterId, String reporterNickname, OffsetDateTime createdAt,
+                                OffsetDateTime expiresAt) {
+
+        static IndexedHazard of(Hazard hazard) {
+            return new IndexedHazard(hazard.getId(), hazard.getCategory(), hazard.getDescription(),
+                    hazard.getLocation().getY(), hazard.getLocation().getX(), hazard.getImageUrl(),
+                    hazard.getUser() != null ? hazard.getUser().getId() : null,
+                    hazard.getUser() != null ? hazard.getUser().getNickname() : null,
+                    hazard.getCreatedAt(), hazard.getExpiresAt());
+        }
+
+        boolean isExpired(OffsetDateTime now) {
+            return expiresAt != null && !expiresAt.isAfter(now);
+        }
+    }
+
+    /**
+     * 색인이 조회 가능한 상태인지 확인합니다.
+     * 첫 적재 전이거나 적재에 실패했다면 호출 측에서 DB 조회로 대신해야 합니다.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 신고된 위험 스팟을 색인에 추가합니다 (트랜잭션 커밋 후 반영).
+     */
+    public void add(Hazard hazard) {
+        if (hazard.getId() == null || hazard.getLocation() == null || hazard.getDeletedAt() != null) {
+            return;
+        }
+        IndexedHazard entry = IndexedHazard.of(hazard);
+        if (entry.isExpired(OffsetDateTime.now())) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeEntry(entry.id());
+                insertEntry(entry, tree, entries, pyramid, expiring);
+                if (pendingChanges != null) {
+                    pendingChanges.add(new PendingChange(entry.id(), entry));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 삭제된 위험 스팟을 색인에서 제거합니다 (트랜잭션 커밋 후 반영).
+     */
+    public void remove(Long hazardId) {
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeEntry(hazardId);
+                if (pendingChanges != null) {
+                    pendingChanges.add(new PendingChange(hazardId, null));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 좌표에서 반경 안에 있는 위험 스팟을 가까운 순으로 조회합니다.
+     *
+     * @param radiusInMeters 반경 (미터)
+     * @return 위험 스팟 목록 (거리 오름차순)
+     */
+    public List<IndexedHazard> findWithin(double latitude, double longitude, double radiusInMeters) {
+        Envelope search = searchEnvelope(latitude, longitude, radiusInMeters);
+        List<Object> candidates;
+        lock.readLock().lock();
+        try {
+            candidates = tree.query(search);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Quadtree는 겹칠 수 있는 후보를 돌려주므로 실제 거리로 다시 거름
+        OffsetDateTime now = OffsetDateTime.now();
+        List<HazardDistance> matched = new ArrayList<>();
+        for (Object candidate : candidates) {
+            IndexedHazard entry = (IndexedHazard) candidate;
+            if (entry.isExpired(now)) {
+                continue;
+            }
+            double distance = GeoUtils.haversineMeters(latitude, longitude, entry.latitude(), entry.longitude());
+            if (distance <= radiusInMeters) {
+                matched.add(new HazardDistance(entry, distance));
+            }
+        }
+        matched.sort(Comparator.comparingDouble(HazardDistance::distance));
+        List<IndexedHazard> result = new ArrayList<>(matched.size());
+        for (HazardDistance hazardDistance : matched) {
+            result.add(hazardDistance.hazard());
+        }
+        return result;
+    }
+
+    /**
+     * 경로를 따라 bufferMeters 폭의 통로 안에 있을 수 있는 위험 스팟 후보를 조회합니다.
+     * 경로 전체를 감싸는 큰 사각형 대신 선분마다 작은 사각형으로 나눠 찾으므로 비용이 경로 길이에 비례합니다.
+     * 후보는 사각형 기준이므로 호출 측에서 선분까지의 실제 거리로 다시 걸러야 합니다.
+     *
+     * @param path 경로 좌표 시퀀스 (x=경도, y=위도)
+     * @param bufferMeters 통로 반폭 (미터)
+     * @return 위험 스팟 후보 (중복 없음)
+     */
+    public List<IndexedHazard> findCandidatesAlong(CoordinateSequence path, double bufferMeters) {
+        // 긴 선분의 사각형이 통로보다 지나치게 넓어지지 않도록 이 길이 단위로 잘라서 찾음
+        double stepMeters = Math.max(bufferMeters * 4, MIN_CORRIDOR_STEP_METERS);
+        Map<Long, IndexedHazard> candidates = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            if (path.size() == 1) {
+                collect(tree, searchEnvelope(path.getY(0), path.getX(0), bufferMeters), candidates);
+            }
+            for (int i = 1; i < path.size(); i++) {
+                double x0 = path.getX(i - 1), y0 = path.getY(i - 1);
+                double x1 = path.getX(i), y1 = path.getY(i);
+                int pieces = Math.max(1, (int) Math.ceil(GeoUtils.haversineMeters(y0, x0, y1, x1) / stepMeters));
+                for (int piece = 0; piece < pieces; piece++) {
+                    double t0 = (double) piece / pieces;
+                    double t1 = (double) (piece + 1) / pieces;
+                    Envelope search = searchEnvelope(y0 + (y1 - y0) * t0, x0 + (x1 - x0) * t0, bufferMeters);
+                    search.expandToInclude(searchEnvelope(y0 + (y1 - y0) * t1, x0 + (x1 - x0) * t1, bufferMeters));
+                    collect(tree, search, candidates);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        List<IndexedHazard> active = new ArrayList<>(candidates.size());
+        for (IndexedHazard candidate : candidates.values()) {
+            if (!candidate.isExpired(now)) {
+                active.add(candidate);
+            }
+        }
+        return active;
+    }
+
+    /**
+     * 영역 안의 위험 스팟 클러스터를 조회합니다.
+     *
+     * @param zoom 지도 줌 레벨
+     * @param maxCells 조회할 수 있는 최대 격자 칸 수 (영역이 이보다 넓으면 예외)
+     * @throws IllegalArgumentException 영역이 줌 레벨에 비해 너무 넓은 경우
+     */
+    public List<HazardClusterPyramid.Cluster> findClusters(int zoom, double minLat, double minLng,
+                                                           double maxLat, double maxLng, long maxCells) {
+        lock.readLock().lock();
+        try {
+            if (pyramid.cellCount(zoom, minLat, minLng, maxLat, maxLng) > maxCells) {
+                throw new IllegalArgumentException("줌 레벨에 비해 조회 영역이 너무 넓습니다.");
+            }
+            return pyramid.query(zoom, minLat, minLng, maxLat, maxLng);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 클러스터 격자를 유지하는 최대 줌 레벨 (이보다 큰 줌은 이 레벨의 격자로 조회)
+     */
+    public int getClusterMaxZoom() {
+        return clusterMaxZoom;
+    }
+
+    /**
+     * 현재 색인된 위험 스팟 수
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 만료 시간이 지난 위험 스팟을 색인과 클러스터 격자에서 제거합니다.
+     * DB의 소프트 삭제는 정리 작업(HazardExpirySweeper)이 하며, 이 작업은 노드마다 메모리 색인만 정리합니다.
+     */
+    @Scheduled(fixedDelayString = "${pawvent.hazard.index.expire-interval-ms:60000}",
+               initialDelayString = "${pawvent.hazard.index.expire-interval-ms:60000}")
+    public void evictExpired() {
+        OffsetDateTime now = OffsetDateTime.now();
+        int evicted = 0;
+        lock.writeLock().lock();
+        try {
+            while (!expiring.isEmpty() && expiring.first().isExpired(now)) {
+                removeEntry(expiring.pollFirst().id());
+                evicted++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (evicted > 0) {
+            log.debug("만료된 위험 스팟 색인 제거: hazards={}", evicted);
+        }
+    }
+
+    /**
+     * DB에서 활성 위험 스팟을 다시 읽어 색인을 교체합니다.
+     * 시작 시 한 번, 이후 resync-interval-ms마다 실행되어 다른 노드의 변경분과 누락분을 맞춥니다.
+     * DB를 읽기 시작한 뒤 이 노드에서 커밋된 추가/삭제는 읽은 결과에 빠져 있을 수 있으므로,
+     * 기록해두었다가 교체 직후 같은 순서로 다시 적용합니다 (이미 반영된 변경을 다시 적용해도 결과는 같음).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${pawvent.hazard.index.resync-interval-ms:300000}",
+               initialDelayString = "${pawvent.hazard.index.resync-interval-ms:300000}")
+    public synchronized void reload() {
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            Quadtree loadedTree = new Quadtree();
+            Map<Long, IndexedHazard> loadedEntries = new HashMap<>();
+            HazardClusterPyramid loadedPyramid = new HazardClusterPyramid(clusterMaxZoom, clusterCellsPerTile);
+            TreeSet<IndexedHazard> loadedExpiring = new TreeSet<>(EXPIRY_ORDER);
+            jdbcTemplate.query(RELOAD_SQL, rs -> {
+                IndexedHazard entry = new IndexedHazard(
+                        rs.getLong("id"),
+                        HazardCategory.valueOf(rs.getString("category")),
+                        rs.getString("description"),
+                        rs.getDouble("latitude"),
+                        rs.getDouble("longitude"),
+                        rs.getString("image_url"),
+                        rs.getLong("user_id"),
+                        rs.getString("nickname"),
+                        rs.getObject("created_at", OffsetDateTime.class),
+                        rs.getObject("expires_at", OffsetDateTime.class));
+                insertEntry(entry, loadedTree, loadedEntries, loadedPyramid, loadedExpiring);
+            });
+
+            int replayed;
+            lock.writeLock().lock();
+            try {
+                tree = loadedTree;
+                entries = loadedEntries;
+                pyramid = loadedPyramid;
+                expiring = loadedExpiring;
+                replayed = pendingChanges.size();
+                for (PendingChange change : pendingChanges) {
+                    removeEntry(change.hazardId());
+                    if (change.entry() != null) {
+                        insertEntry(change.entry(), tree, entries, pyramid, expiring);
+                    }
+                }
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            log.debug("위험 스팟 색인 재적재 완료: hazards={}, replayed={}", loadedEntries.size(), replayed);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.warn("위험 스팟 색인 재적재 실패, 기존 색인을 유지합니다: {}", e.getMessage());
+        }
+    }
+
+    private static void insertEntry(IndexedHazard entry, Quadtree tree, Map<Long, IndexedHazard> entries,
+                                    HazardClusterPyramid pyramid, TreeSet<IndexedHazard> expiring) {
+        entries.put(entry.id(), entry);
+        tree.insert(envelopeOf(entry), entry);
+        pyramid.add(entry.id(), entry.latitude(), entry.longitude(), entry.category());
+        if (entry.expiresAt() != null) {
+            expiring.add(entry);
+        }
+    }
+
+    private void removeEntry(Long hazardId) {
+        IndexedHazard existing = entries.remove(hazardId);
+        if (existing != null) {
+            tree.remove(envelopeOf(existing), existing);
+            pyramid.remove(existing.id(), existing.latitude(), existing.longitude(), existing.category());
+            if (existing.expiresAt() != null) {
+                expiring.remove(existing);
+            }
+        }
+    }
+
+    private static void collect(Quadtree tree, Envelope search, Map<Long, IndexedHazard> candidates) {
+        tree.query(search, item -> {
+            IndexedHazard entry = (IndexedHazard) item;
+            candidates.putIfAbsent(entry.id(), entry);
+        });
+    }
+
+    private static Envelope envelopeOf(IndexedHazard entry) {
+        return new Envelope(entry.longitude(), entry.longitude(), entry.latitude(), entry.latitude());
+    }
+
+    /** 반경을 위도/경도 범위로 바꾼 탐색 사각형 (경도 범위는 위도에 따라 넓어짐) */
+    private static Envelope searchEnvelope(double latitude, double longitude, double radiusInMeters) {
+        double latDelta = radiusInMeters / METERS_PER_DEGREE;
+        double cos = Math.max(MIN_LATITUDE_COS, Math.cos(Math.toRadians(latitude)));
+        double lngDelta = radiusInMeters / (METERS_PER_DEGREE * cos);
+        return new Envelope(longitude - lngDelta, longitude + lngDelta, latitude - latDelta, latitude + latDelta);
+    }
+
+    private record HazardDistance(IndexedHazard hazard, double distance) {
+    }
+
+    /** 재적재 중에 반영된 변경 (entry가 null이면 삭제) */
+    private record PendingChange(long hazardId, IndexedHazard entry) {
+    }
+}
@@ -0,0 +1,544 @@
+package com.pawvent.pawventserver.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pawvent.pawventserver.domain.User;
+import com.pawvent.pawventserver.dto.LiveShareResponse;
+import com.pawvent.pawventserver.service.ActiveWalkRegistry.ActiveWalk;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 진행 중인 산책 실시간 공유 서비스 (Server-Sent Events, 노드 로컬)
+ *
+ * 세션 주인이 공유 토큰을 만들면 토큰을 아는 사람은 로그인 없이 SSE로 산책 위치를 받아볼 수 있습니다.
+ * 좌표 수신 스레드는 세션별 링 버퍼에 위치를 넣고 전송 작업을 예약만 하며,
+ * 실제 전송은 liveShareExecutor에서 시청자마다 마지막으로 받은 위치 이후의 좌표를 한 이벤트로 묶어 보냅니다.
+ * 같은 위치에서 이어받는 시청자들은 한 번 직렬화한 JSON을 공유하므로 시청자가 늘어도 DB 조회나 직렬화가 늘지 않습니다.
+ * 늦게 들어온 시청자(또는 Last-Event-ID로 재연결한 시청자)는 링 버퍼에 남아있는 최근 좌표부터 받습니다.
+ * 좌표 수집(ActiveWalkRegistry)과 마찬가지로 노드 로컬이므로 같은 세션의 요청은 같은 노드로 라우팅되어야 합니다.
+ */
+@Slf4j
+@Service
+public class LiveWalkShareService {
+
+    /** SSE 구독 경로 형식 (SecurityConfig에서 인증 없이 허용) */
+    public static final String STREAM_PATH = "/api/walk-sessions/live/%s/stream";
+
+    private static final SecureRandom TOKEN_RANDOM = new SecureRandom();
+    private static final int TOKEN_BYTES = 24;
+
+    private final ActiveWalkRegistry activeWalkRegistry;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor executor;
+    private final int bufferSize;
+    private final int maxViewers;
+    private final long tokenTtlMillis;
+    private final long emitterTimeoutMillis;
+
+    /** 세션 ID → 공유 채널 */
+    private final Map<Long, LiveChannel> channelsBySession = new ConcurrentHashMap<>();
+    /** 공유 토큰 → 공유 채널 */
+    private final Map<String, LiveChannel> channelsByToken = new ConcurrentHashMap<>();
+
+    public LiveWalkShareService(ActiveWalkRegistry activeWalkRegistry,
+                                ObjectMapper objectMapper,
+                                @Qualifier("liveShareExecutor") TaskExecutor executor,
+                                @Value("${pawvent.walk.live-share.buffer-size:256}") int bufferSize,
+                                @Value("${pawvent.walk.live-share.max-viewers:20}") int maxViewers,
+                                @Value("${pawvent.walk.live-share.token-ttl-hours:12}") long tokenTtlHours,
+                                @Value("${pawvent.walk.live-share.emitter-timeout-ms:1800000}") long emitterTimeoutMillis) {
+        this.activeWalkRegistry = activeWalkRegistry;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.bufferSize = Math.max(1, bufferSize);
+        this.maxViewers = maxViewers;
+        this.tokenTtlMillis = tokenTtlHours * 60 * 60 * 1000L;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+    }
+
+    /**
+     * 진행 중인 산책의 실시간 공유 링크를 만듭니다.
+     * 이미 공유 중이면 기존 링크를 그대로 반환합니다.
+     *
+     * @param sessionId 공유할 세션 ID
+     * @param user 요청한 사용자 (권한 검증용)
+     * @return 공유 토큰과 구독 경로
+     * @throws IllegalArgumentException 권한이 없거나 이미 종료된 세션인 경우
+     */
+    public synchronized LiveShareResponse createShare(Long sessionId, User user) {
+        ActiveWalk walk = activeWalkRegistry.getOrLoad(sessionId);
+        if (!walk.ownerId.equals(user.getId())) {
+            throw new IllegalArgumentException("산책 세션을 공유할 권한이 없습니다.");
+        }
+
+        long now = System.currentTimeMillis();
+        LiveChannel channel = channelsBySession.get(sessionId);
+        if (channel != null && channel.isExpired(now)) {
+            close(channel, "EXPIRED");
+            channel = null;
+        }
+        if (channel == null) {
+            channel = new LiveChannel(walk, newToken(), now + tokenTtlMillis, bufferSize);
+            channel.introJson = toJson(new LiveIntro(channel));
+            // 공유 전에 받은 마지막 위치를 넣어두어 처음 들어온 시청자도 현재 위치를 바로 볼 수 있게 함
+            synchronized (walk) {
+                if (walk.motion.hasLast()) {
+                    channel.append(walk.motion.getLastX(), walk.motion.getLastY(), walk.lastAppendAt);
+                }
+            }
+            channelsBySession.put(sessionId, channel);
+            channelsByToken.put(channel.token, channel);
+        }
+        return toResponse(channel);
+    }
+
+    /**
+     * 실시간 공유를 중지하고 모든 시청자 연결을 닫습니다.
+     *
+     * @param sessionId 공유를 중지할 세션 ID
+     * @param user 요청한 사용자 (권한 검증용)
+     * @throws IllegalArgumentException 권한이 없는 경우
+     */
+    public void revokeShare(Long sessionId, User user) {
+        LiveChannel channel = channelsBySession.get(sessionId);
+        if (channel == null) {
+            return;
+        }
+        if (!channel.ownerId.equals(user.getId())) {
+            throw new IllegalArgumentException("산책 세션 공유를 중지할 권한이 없습니다.");
+        }
+        close(channel, "REVOKED");
+    }
+
+    /**
+     * 공유 토큰으로 산책 위치 스트림을 구독합니다.
+     * 연결 직후 start 이벤트로 산책 정보를 보내고, 이후 positions 이벤트로 좌표를 묶어 보냅니다.
+     *
+     * @param token 공유 토큰
+     * @param lastEventId 재연결 시 마지막으로 받은 이벤트 ID (없으면 링 버퍼의 처음부터)
+     * @return SSE 연결
+     * @throws IllegalArgumentException 토큰이 없거나 만료된 경우
+     * @throws IllegalStateException 시청자 수가 최대치에 도달한 경우
+     */
+    public SseEmitter subscribe(String token, String lastEventId) {
+        LiveChannel channel = channelsByToken.get(token);
+        if (channel == null || channel.closed || channel.isExpired(System.currentTimeMillis())) {
+            throw new IllegalArgumentException("공유 링크가 만료되었거나 존재하지 않습니다.");
+        }
+        if (channel.viewers.size() >= maxViewers) {
+            throw new IllegalStateException("시청자가 너무 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Viewer viewer = new Viewer(emitter, resumeSeq(channel, lastEventId));
+        emitter.onCompletion(() -> channel.viewers.remove(viewer));
+        emitter.onTimeout(() -> channel.viewers.remove(viewer));
+        emitter.onError(e -> channel.viewers.remove(viewer));
+        channel.viewers.add(viewer);
+        if (channel.closed) {
+            channel.viewers.remove(viewer);
+            throw new IllegalArgumentException("공유 링크가 만료되었거나 존재하지 않습니다.");
+        }
+
+        scheduleDispatch(channel);
+        return emitter;
+    }
+
+    /**
+     * 새로 수신한 좌표를 공유 채널에 넣습니다. 공유 중이 아니면 아무 일도 하지 않습니다.
+     * 좌표 수신 스레드에서 호출되므로 링 버퍼에 넣고 전송을 예약만 합니다.
+     *
+     * @param sessionId 세션 ID
+     * @param points 좌표 시퀀스 (x=경도, y=위도, m=기록 시각 epoch millis)
+     */
+    public void publishPoints(Long sessionId, CoordinateSequence points) {
+        LiveChannel channel = channelsBySession.get(sessionId);
+        if (channel == null) {
+            return;
+        }
+        boolean hasM = points.hasM();
+        long now = System.currentTimeMillis();
+        synchronized (channel) {
+            for (int i = 0; i < points.size(); i++) {
+                channel.append(points.getX(i), points.getY(i), hasM ? (long) points.getM(i) : now);
+            }
+        }
+        if (!channel.viewers.isEmpty()) {
+            scheduleDispatch(channel);
+        }
+    }
+
+    /**
+     * 루트 이탈/복귀를 현재 시청자에게 route 이벤트로 알립니다 (다시 보내지 않음).
+     */
+    @EventListener
+    public void onRouteDeviation(WalkRouteDeviationEvent event) {
+        LiveChannel channel = channelsBySession.get(event.getSessionId());
+        if (channel == null || channel.viewers.isEmpty()) {
+            return;
+        }
+        channel.notices.add(toJson(new RouteNotice(event)));
+        scheduleDispatch(channel);
+    }
+
+    /**
+     * 산책이 완료/취소되어 공유 채널을 닫습니다. 시청자에게 end 이벤트를 보내고 연결을 종료합니다.
+     *
+     * @param sessionId 종료된 세션 ID
+     */
+    public void endSession(Long sessionId) {
+        LiveChannel channel = channelsBySession.get(sessionId);
+        if (channel != null) {
+            close(channel, "ENDED");
+        }
+    }
+
+    /**
+     * 주기적으로 만료된 공유를 닫고, 새 좌표가 없는 시청자에게 keepalive 주석을 보냅니다.
+     * 프록시가 유휴 연결을 끊지 않게 하고, 끊어진 시청자를 전송 실패로 찾아 정리합니다.
+     */
+    @Scheduled(fixedDelayString = "${pawvent.walk.live-share.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        for (LiveChannel channel : channelsBySession.values()) {
+            if (channel.isExpired(now)) {
+                close(channel, "EXPIRED");
+            } else if (!channel.viewers.isEmpty()) {
+                channel.heartbeatDue = true;
+                scheduleDispatch(channel);
+            }
+        }
+    }
+
+    public int getChannelCount() {
+        return channelsBySession.size();
+    }
+
+    private synchronized void close(LiveChannel channel, String reason) {
+        channelsBySession.remove(channel.sessionId, channel);
+        channelsByToken.remove(channel.token, channel);
+        if (!channel.closed) {
+            channel.endJson = toJson(Map.of("reason", reason));
+            channel.closed = true;
+            scheduleDispatch(channel);
+        }
+    }
+
+    /**
+     * 채널당 전송 작업이 하나만 대기하도록 예약합니다.
+     * 전송 중에 들어온 좌표는 다음 작업이 한 번에 묶어 보냅니다.
+     */
+    private void scheduleDispatch(LiveChannel channel) {
+        if (!channel.dispatchScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> dispatch(channel));
+        } catch (TaskRejectedException e) {
+            // 다음 좌표 수신이나 heartbeat에서 다시 예약됨
+            channel.dispatchScheduled.set(false);
+            log.warn("실시간 공유 전송 작업을 예약하지 못했습니다: sessionId={}", channel.sessionId);
+        }
+    }
+
+    private void dispatch(LiveChannel channel) {
+        synchronized (channel.dispatchLock) {
+            channel.dispatchScheduled.set(false);
+            boolean heartbeat = channel.heartbeatDue;
+            channel.heartbeatDue = false;
+            List<String> notices = new ArrayList<>();
+            for (String notice; (notice = channel.notices.poll()) != null; ) {
+                notices.add(notice);
+            }
+
+            // 같은 위치에서 이어받는 시청자는 같은 이벤트 본문을 공유
+            Map<Long, PositionBatch> batches = new HashMap<>();
+            for (Viewer viewer : channel.viewers) {
+                try {
+                    boolean sent = false;
+                    if (!viewer.introduced) {
+                        viewer.emitter.send(SseEmitter.event().name("start").data(channel.introJson, MediaType.APPLICATION_JSON));
+                        viewer.introduced = true;
+                        sent = true;
+                    }
+                    PositionBatch batch = batches.computeIfAbsent(viewer.lastSeq, after -> positionsAfter(channel, after));
+                    if (batch != PositionBatch.EMPTY) {
+                        viewer.emitter.send(SseEmitter.event()
+                                .id(Long.toString(batch.lastSeq))
+                                .name("positions")
+                                .data(batch.json, MediaType.APPLICATION_JSON));
+                        viewer.lastSeq = batch.lastSeq;
+                        sent = true;
+                    }
+                    for (String notice : notices) {
+                        viewer.emitter.send(SseEmitter.event().name("route").data(notice, MediaType.APPLICATION_JSON));
+                        sent = true;
+                    }
+                    if (channel.closed) {
+                        viewer.emitter.send(SseEmitter.event().name("end").data(channel.endJson, MediaType.APPLICATION_JSON));
+                        viewer.emitter.complete();
+                    } else if (heartbeat && !sent) {
+                        viewer.emitter.send(SseEmitter.event().comment("keepalive"));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // 연결이 끊긴 시청자
+                    channel.viewers.remove(viewer);
+                    viewer.emitter.completeWithError(e);
+                }
+            }
+            if (channel.closed) {
+                channel.viewers.clear();
+            }
+        }
+    }
+
+    private PositionBatch positionsAfter(LiveChannel channel, long after) {
+        LivePositions positions;
+        synchronized (channel) {
+            long last = channel.nextSeq - 1;
+            long from = Math.max(after + 1, Math.max(1, channel.nextSeq - channel.capacity));
+            if (from > last) {
+                return PositionBatch.EMPTY;
+            }
+            List<double[]> points = new ArrayList<>((int) (last - from + 1));
+            for (long seq = from; seq <= last; seq++) {
+                int index = (int) ((seq - 1) % channel.capacity);
+                points.add(new double[] {channel.latitudes[index], channel.longitudes[index], channel.times[index]});
+            }
+            positions = new LivePositions(channel.sessionId, from, last, after > 0 && from > after + 1, points);
+        }
+        return new PositionBatch(positions.getLastSeq(), toJson(positions));
+    }
+
+    /** 재연결한 시청자가 이어받을 위치 (현재 채널보다 앞선 ID면 처음부터) */
+    private static long resumeSeq(LiveChannel channel, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return 0;
+        }
+        try {
+            long seq = Long.parseLong(lastEventId.trim());
+            synchronized (channel) {
+                return seq > 0 && seq < channel.nextSeq ? seq : 0;
+            }
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private LiveShareResponse toResponse(LiveChannel channel) {
+        return LiveShareResponse.builder()
+                .sessionId(channel.sessionId)
+                .token(channel.token)
+                .streamPath(String.format(STREAM_PATH, channel.token))
+                .expiresAt(toOffsetDateTime(channel.expiresAtMillis))
+                .viewerCount(channel.viewers.size())
+                .build();
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        TOKEN_RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static OffsetDateTime toOffsetDateTime(long epochMillis) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+
+    /**
+     * 세션 하나의 공유 상태
+     * 링 버퍼(위도/경도/시각 배열)는 객체 모니터로 보호하고, 전송은 dispatchLock으로 직렬화합니다.
+     */
+    private static final class LiveChannel {
+        final Long sessionId;
+        final Long ownerId;
+        final Long petId;
+        final Long routeId;
+        final long startEpochMillis;
+        final String token;
+        final long expiresAtMillis;
+
+        // 최근 좌표 링 버퍼 (seq는 1부터 증가, seq의 위치는 (seq - 1) % capacity)
+        final int capacity;
+        final double[] latitudes;
+        final double[] longitudes;
+        final long[] times;
+        long nextSeq = 1;
+
+        final List<Viewer> viewers = new CopyOnWriteArrayList<>();
+        final Queue<String> notices = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+        final Object dispatchLock = new Object();
+        volatile boolean heartbeatDue;
+        volatile boolean closed;
+        volatile String endJson;
+        String introJson;
+
+        LiveChannel(ActiveWalk walk, String token, long expiresAtMillis, int capacity) {
+            this.sessionId = walk.sessionId;
+            this.ownerId = walk.ownerId;
+            this.petId = walk.petId;
+            this.routeId = walk.routeId;
+            this.startEpochMillis = walk.startEpochMillis;
+            this.token = token;
+            this.expiresAtMillis = expiresAtMillis;
+            this.capacity = capacity;
+            this.latitudes = new double[capacity];
+            this.longitudes = new double[capacity];
+            this.times = new long[capacity];
+        }
+
+        /** 호출하는 쪽에서 객체 모니터를 잡고 있어야 함 (생성 직후 제외) */
+        void append(double x, double y, long epochMillis) {
+            int index = (int) ((nextSeq - 1) % capacity);
+            longitudes[index] = x;
+            latitudes[index] = y;
+            times[index] = epochMillis;
+            nextSeq++;
+        }
+
+        boolean isExpired(long now) {
+            return expiresAtMillis <= now;
+        }
+    }
+
+    /** 시청자 연결 하나 (필드는 전송 스레드에서만 변경) */
+    private static final class Viewer {
+        final SseEmitter emitter;
+        long lastSeq;
+        boolean introduced;
+
+        Viewer(SseEmitter emitter, long lastSeq) {
+            this.emitter = emitter;
+            this.lastSeq = lastSeq;
+        }
+    }
+
+    /** 직렬화된 positions 이벤트 본문 */
+    private static final class PositionBatch {
+        static final PositionBatch EMPTY = new PositionBatch(0, null);
+
+        final long lastSeq;
+        final String json;
+
+        PositionBatch(long lastSeq, String json) {
+            this.lastSeq = lastSeq;
+            this.json = json;
+        }
+    }
+
+    /**
+     * start 이벤트 본문
+     */
+    public static class LiveIntro {
+        private final Long sessionId;
+        private final Long petId;
+        private final Long routeId;
+        private final OffsetDateTime startTime;
+        private final OffsetDateTime expiresAt;
+
+        private LiveIntro(LiveChannel channel) {
+            this.sessionId = channel.sessionId;
+            this.petId = channel.petId;
+            this.routeId = channel.routeId;
+            this.startTime = toOffsetDateTime(channel.startEpochMillis);
+            this.expiresAt = toOffsetDateTime(channel.expiresAtMillis);
+        }
+
+        // Getters
+        public Long getSessionId() { return sessionId; }
+        public Long getPetId() { return petId; }
+        public Long getRouteId() { return routeId; }
+        public OffsetDateTime getStartTime() { return startTime; }
+        public OffsetDateTime getExpiresAt() { return expiresAt; }
+    }
+
+    /**
+     * positions 이벤트 본문
+     * points는 [위도, 경도, 기록 시각 epoch millis] 배열의 목록이며,
+     * skipped가 true이면 시청자가 늦어 링 버퍼에서 밀려난 좌표를 건너뛴 것입니다.
+     */
+    public static class LivePositions {
+        private final Long sessionId;
+        private final long fromSeq;
+        private final long lastSeq;
+        private final boolean skipped;
+        private final List<double[]> points;
+
+        private LivePositions(Long sessionId, long fromSeq, long lastSeq, boolean skipped, List<double[]> points) {
+            this.sessionId = sessionId;
+            this.fromSeq = fromSeq;
+            this.lastSeq = lastSeq;
+            this.skipped = skipped;
+            this.points = points;
+        }
+
+        // Getters
+        public Long getSessionId() { return sessionId; }
+        public long getFromSeq() { return fromSeq; }
+        public long getLastSeq() { return lastSeq; }
+        public boolean isSkipped() { return skipped; }
+        public List<double[]> getPoints() { return points; }
+    }
+
+    /**
+     * route 이벤트 본문 (계획 루트 이탈/복귀)
+     */
+    public static class RouteNotice {
+        private final WalkRouteDeviationEvent.Type type;
+        private final double latitude;
+        private final double longitude;
+        private final Double deviationMeters;
+        private final OffsetDateTime occurredAt;
+
+        private RouteNotice(WalkRouteDeviationEvent event) {
+            this.type = event.getType();
+            this.latitude = event.getLatitude();
+            this.longitude = event.getLongitude();
+            this.deviationMeters = event.getDeviationMeters();
+            this.occurredAt = event.getOccurredAt();
+        }
+
+        // Getters
+        public WalkRouteDeviationEvent.Type getType() { return type; }
+        public double getLatitude() { return latitude; }
+        public double getLongitude() { return longitude; }
+        public Double getDeviationMeters() { return deviationMeters; }
+        public OffsetDateTime getOccurredAt() { return occurredAt; }
+    }
+}
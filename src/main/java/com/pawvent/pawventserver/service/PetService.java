@@ -4,6 +4,8 @@ import com.pawvent.pawventserver.domain.Pet;
 import com.pawvent.pawventserver.domain.User;
 import com.pawvent.pawventserver.repository.PetRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -12,13 +14,26 @@ import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class PetService {
     
+    /** 직접 정할 수 있는 하루 산책 목표 최대값 (분) */
+    private static final int MAX_DAILY_GOAL_MINUTES = 600;
+    
     private final PetRepository petRepository;
     
+    @Value("${pawvent.pet.goal.base-minutes:30}")
+    private int goalBaseMinutes;
+    
+    @Value("${pawvent.pet.goal.medium-weight-kg:10}")
+    private double goalMediumWeightKg;
+    
+    @Value("${pawvent.pet.goal.large-weight-kg:25}")
+    private double goalLargeWeightKg;
+    
     /**
      * 새로운 반려동물을 등록합니다.
      * 사용자는 자신의 반려동물 정보를 등록하여 산책 기록과 건강 관리를 할 수 있습니다.
@@ -47,6 +62,7 @@ public class PetService {
                 .birthDate(birthDate)
                 .gender(gender)
                 .weight(weight)
+                .dailyGoalMinutes(defaultDailyGoalMinutes(weight))
                 .imageUrl(imageUrl)
                 .description(description)
                 .build();
@@ -158,6 +174,9 @@ public class PetService {
         }
         if (weight != null) {
             builder.weight(weight);
+            if (isAutoDailyGoal(pet)) {
+                builder.dailyGoalMinutes(defaultDailyGoalMinutes(weight));
+            }
         }
         if (imageUrl != null) {
             builder.imageUrl(imageUrl.trim().isEmpty() ? null : imageUrl.trim());
@@ -181,15 +200,88 @@ public class PetService {
             throw new IllegalArgumentException("반려동물 정보를 수정할 권한이 없습니다.");
         }
         
+        Pet.PetBuilder builder = pet.toBuilder()
+                .weight(weight);
+        if (isAutoDailyGoal(pet)) {
+            builder.dailyGoalMinutes(defaultDailyGoalMinutes(weight));
+        }
+        
+        Pet savedPet = petRepository.save(builder.build());
+        // save 후 다시 조회하여 User를 함께 로드 (트랜잭션 내에서)
+        return getPetByIdWithUser(savedPet.getId());
+    }
+    
+    /**
+     * 반려동물의 하루 산책 목표 시간을 변경합니다.
+     * 이후 완료되는 산책부터 새 목표로 달성 여부를 판정합니다.
+     * 
+     * @param petId 반려동물 ID
+     * @param minutes 하루 목표 (분), null이면 체중 기준 자동 목표로 되돌림
+     * @param user 요청한 사용자 (소유자만 변경 가능)
+     * @return 변경된 반려동물 엔티티
+     */
+    @Transactional
+    public Pet updateDailyGoal(Long petId, Integer minutes, User user) {
+        Pet pet = getPetByIdWithUser(petId);
+        
+        if (!pet.getUser().getId().equals(user.getId())) {
+            throw new IllegalArgumentException("반려동물 정보를 수정할 권한이 없습니다.");
+        }
+        if (minutes != null && (minutes < 1 || minutes > MAX_DAILY_GOAL_MINUTES)) {
+            throw new IllegalArgumentException("하루 산책 목표는 1~" + MAX_DAILY_GOAL_MINUTES + "분 사이여야 합니다.");
+        }
+        
         Pet updatedPet = pet.toBuilder()
-                .weight(weight)
+                .dailyGoalMinutes(minutes != null ? minutes : defaultDailyGoalMinutes(pet.getWeight()))
                 .build();
         
         Pet savedPet = petRepository.save(updatedPet);
-        // save 후 다시 조회하여 User를 함께 로드 (트랜잭션 내에서)
         return getPetByIdWithUser(savedPet.getId());
     }
     
+    /**
+     * 체중 기준 하루 산책 목표 시간을 계산합니다.
+     * 소형(기본) 30분, 중형 1.5배, 대형 2배이며 체중을 모르면 기본 목표를 사용합니다.
+     * 
+     * @param weight 체중 (kg)
+     * @return 하루 목표 (분)
+     */
+    public int defaultDailyGoalMinutes(Double weight) {
+        if (weight == null || weight <= goalMediumWeightKg) {
+            return goalBaseMinutes;
+        }
+        if (weight <= goalLargeWeightKg) {
+            return (int) Math.round(goalBaseMinutes * 1.5);
+        }
+        return goalBaseMinutes * 2;
+    }
+    
+    /**
+     * 하루 목표가 체중 기준 자동 목표인지 확인합니다.
+     * 현재 목표가 현재 체중의 자동 목표와 같으면 자동 목표로 보고, 체중이 바뀔 때 함께 갱신합니다.
+     */
+    public boolean isAutoDailyGoal(Pet pet) {
+        return pet.getDailyGoalMinutes() == null
+                || pet.getDailyGoalMinutes() == defaultDailyGoalMinutes(pet.getWeight());
+    }
+    
+    /**
+     * 목표가 없는 반려동물(목표 도입 이전 등록)에 체중 기준 목표를 채웁니다.
+     * 애플리케이션 시작 시 한 번 호출됩니다.
+     */
+    @Transactional
+    public void fillMissingDailyGoals() {
+        List<Pet> pets = petRepository.findByDailyGoalMinutesIsNull();
+        if (pets.isEmpty()) {
+            return;
+        }
+        for (Pet pet : pets) {
+            pet.setDailyGoalMinutes(defaultDailyGoalMinutes(pet.getWeight()));
+        }
+        petRepository.saveAll(pets);
+        log.info("반려동물 하루 산책 목표 채우기 완료: pets={}", pets.size());
+    }
+    
     @Transactional
     public Pet updatePetImage(Long petId, String imageUrl, User user) {
         // JOIN FETCH로 User를 함께 로드하여 LazyInitializationException 방지
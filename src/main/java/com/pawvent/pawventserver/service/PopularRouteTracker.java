@@ -0,0 +1,287 @@
+package com.pawvent.pawventserver.service;
+
+import com.pawvent.pawventserver.domain.WalkSession;
+import com.pawvent.pawventserver.util.TransactionCallbacks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 인기 산책 루트 순위 (노드 로컬, 증분 갱신)
+ *
+ * 루트를 사용한 산책이 완료/취소될 때마다 루트별 사용 횟수를 증감하고,
+ * 횟수 순으로 정렬된 집합을 유지하여 상위 K개를 조회 시점의 집계 쿼리 없이 바로 반환합니다.
+ * window-days가 0보다 크면 최근 N일(UTC 날짜 기준)에 시작된 산책만 세며, 지난 날짜의 횟수는 조회 시 빠집니다.
+ * 다른 노드에서 완료된 산책은 이 노드에 바로 반영되지 않으므로 주기적으로 DB에서 다시 집계해 맞춥니다.
+ */
+@Slf4j
+@Component
+public class PopularRouteTracker {
+
+    private static final String RELOAD_SQL = "SELECT route_id, CAST(start_time AT TIME ZONE 'UTC' AS date) AS walk_date, " +
+            "COUNT(*) AS walks FROM walk_session " +
+            "WHERE route_id IS NOT NULL AND is_completed = true AND deleted_at IS NULL AND start_time >= :since " +
+            "GROUP BY route_id, walk_date";
+
+    private static final String COMPLETED_ROUTES_SQL = "SELECT route_id, CAST(start_time AT TIME ZONE 'UTC' AS date) AS walk_date " +
+            "FROM walk_session WHERE id IN (:ids) AND route_id IS NOT NULL AND is_completed = true AND deleted_at IS NULL";
+
+    /** 사용 횟수 내림차순, 같으면 루트 ID 오름차순 */
+    private static final Comparator<RouteCount> RANKING_ORDER =
+            Comparator.comparingInt(RouteCount::count).reversed().thenComparingLong(RouteCount::routeId);
+
+    /** 기간 제한이 없을 때 모든 횟수를 담는 버킷 키 */
+    private static final long ALL_TIME_BUCKET = Long.MIN_VALUE;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int windowDays;
+
+    /** 재집계가 겹쳐 실행되지 않도록 직렬화 (조회/증분 반영을 막지 않도록 this 모니터와 분리) */
+    private final Object reloadLock = new Object();
+
+    // 아래 자료구조는 this 모니터로 보호
+    /** UTC 날짜(epoch day) → (루트 ID → 횟수) */
+    private final TreeMap<Long, Map<Long, Integer>> dailyBuckets = new TreeMap<>();
+    /** 루트 ID → 기간 내 횟수 */
+    private final Map<Long, Integer> counts = new HashMap<>();
+    /** 횟수 순 정렬 */
+    private final TreeSet<RouteCount> ranking = new TreeSet<>(RANKING_ORDER);
+    /** 재집계 중에 반영된 증감/루트 삭제 (재집계 중이 아니면 null) */
+    private List<PendingChange> pendingChanges;
+
+    public PopularRouteTracker(NamedParameterJdbcTemplate jdbcTemplate,
+                               @Value("${pawvent.walk.popular-routes.window-days:30}") int windowDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.windowDays = windowDays;
+    }
+
+    /**
+     * 완료된 산책 세션을 루트 사용 횟수에 더합니다 (트랜잭션 커밋 후 반영).
+     */
+    public void recordCompleted(WalkSession walkSession) {
+        if (walkSession.getRoute() != null) {
+            Long routeId = walkSession.getRoute().getId();
+            long day = epochDay(walkSession.getStartTime());
+            TransactionCallbacks.afterCommit(() -> apply(day, routeId, 1));
+        }
+    }
+
+    /**
+     * 완료된 산책 세션을 루트 사용 횟수에서 뺍니다 (취소/삭제 시, 트랜잭션 커밋 후 반영).
+     */
+    public void recordRemoved(WalkSession walkSession) {
+        if (walkSession.getRoute() != null) {
+            Long routeId = walkSession.getRoute().getId();
+            long day = epochDay(walkSession.getStartTime());
+            TransactionCallbacks.afterCommit(() -> apply(day, routeId, -1));
+        }
+    }
+
+    /**
+     * 일괄 완료된 세션들의 루트를 조회해 사용 횟수에 더합니다 (정리 작업용).
+     * 완료 처리와 같은 트랜잭션 안에서 호출해야 완료된 행만 집계됩니다.
+     *
+     * @param sessionIds 완료 처리를 시도한 세션 ID 목록
+     */
+    public void recordCompletedSessions(Collection<Long> sessionIds) {
+        if (sessionIds.isEmpty()) {
+            return;
+        }
+        List<long[]> completed = jdbcTemplate.query(COMPLETED_ROUTES_SQL, Map.of("ids", sessionIds),
+                (rs, rowNum) -> new long[] {rs.getObject("walk_date", LocalDate.class).toEpochDay(), rs.getLong("route_id")});
+        if (!completed.isEmpty()) {
+            TransactionCallbacks.afterCommit(() -> {
+                for (long[] row : completed) {
+                    apply(row[0], row[1], 1);
+                }
+            });
+        }
+    }
+
+    /**
+     * 삭제된 루트를 순위에서 제거합니다 (트랜잭션 커밋 후 반영).
+     */
+    public void removeRoute(Long routeId) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this) {
+                dropRoute(routeId);
+                if (pendingChanges != null) {
+                    pendingChanges.add(new PendingChange(0, routeId, null));
+                }
+            }
+        });
+    }
+
+    /**
+     * 사용 횟수 상위 루트 ID를 순위대로 반환합니다.
+     *
+     * @param limit 최대 개수
+     * @return 루트 ID 목록 (횟수 내림차순)
+     */
+    public synchronized List<Long> topRouteIds(int limit) {
+        expireOldBuckets();
+        List<Long> top = new ArrayList<>(Math.min(limit, ranking.size()));
+        Iterator<RouteCount> iterator = ranking.iterator();
+        while (top.size() < limit && iterator.hasNext()) {
+            top.add(iterator.next().routeId());
+        }
+        return top;
+    }
+
+    /**
+     * 루트의 기간 내 사용 횟수를 조회합니다.
+     */
+    public synchronized int countOf(Long routeId) {
+        expireOldBuckets();
+        return counts.getOrDefault(routeId, 0);
+    }
+
+    /**
+     * DB에서 기간 내 루트 사용 횟수를 다시 집계해 교체합니다.
+     * 시작 시 한 번, 이후 resync-interval-ms마다 실행되어 다른 노드의 변경분과 누락분을 맞춥니다.
+     * DB를 읽는 동안 이 노드에서 커밋된 증감은 읽은 결과에 빠져 있을 수 있으므로,
+     * 기록해두었다가 교체 직후 같은 순서로 다시 적용합니다.
+     * 읽기 직전에 커밋되어 결과에 이미 포함된 증감이 한 번 더 적용될 수 있지만, 다음 재집계에서 바로잡힙니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${pawvent.walk.popular-routes.resync-interval-ms:600000}",
+               initialDelayString = "${pawvent.walk.popular-routes.resync-interval-ms:600000}")
+    public void reload() {
+        synchronized (reloadLock) {
+            synchronized (this) {
+                pendingChanges = new ArrayList<>();
+            }
+            reloadCounts();
+        }
+    }
+
+    private void reloadCounts() {
+        try {
+            LocalDate since = windowDays > 0
+                    ? LocalDate.now(ZoneOffset.UTC).minusDays(windowDays - 1L)
+                    : LocalDate.of(1970, 1, 1);
+            TreeMap<Long, Map<Long, Integer>> loaded = new TreeMap<>();
+            jdbcTemplate.query(RELOAD_SQL, Map.of("since", since.atStartOfDay().atOffset(ZoneOffset.UTC)), rs -> {
+                long bucket = bucketOf(rs.getObject("walk_date", LocalDate.class).toEpochDay());
+                loaded.computeIfAbsent(bucket, b -> new HashMap<>())
+                        .merge(rs.getLong("route_id"), rs.getInt("walks"), Integer::sum);
+            });
+
+            int replayed;
+            synchronized (this) {
+                dailyBuckets.clear();
+                counts.clear();
+                ranking.clear();
+                dailyBuckets.putAll(loaded);
+                for (Map<Long, Integer> bucket : loaded.values()) {
+                    bucket.forEach((routeId, walks) -> adjust(routeId, walks));
+                }
+                replayed = pendingChanges.size();
+                for (PendingChange change : pendingChanges) {
+                    if (change.delta() == null) {
+                        dropRoute(change.routeId());
+                    } else {
+                        applyDelta(change.day(), change.routeId(), change.delta());
+                    }
+                }
+                pendingChanges = null;
+            }
+            log.debug("인기 루트 순위 재집계 완료: routes={}, replayed={}", counts.size(), replayed);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingChanges = null;
+            }
+            log.warn("인기 루트 순위 재집계 실패, 기존 순위를 유지합니다: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void apply(long day, Long routeId, int delta) {
+        applyDelta(day, routeId, delta);
+        if (pendingChanges != null) {
+            pendingChanges.add(new PendingChange(day, routeId, delta));
+        }
+    }
+
+    private void applyDelta(long day, Long routeId, int delta) {
+        if (windowDays > 0 && day <= oldestExpiredDay()) {
+            return;
+        }
+        Map<Long, Integer> bucket = dailyBuckets.computeIfAbsent(bucketOf(day), b -> new HashMap<>());
+        int updated = bucket.merge(routeId, delta, Integer::sum);
+        if (updated <= 0) {
+            bucket.remove(routeId);
+        }
+        adjust(routeId, delta);
+    }
+
+    private void dropRoute(Long routeId) {
+        for (Map<Long, Integer> bucket : dailyBuckets.values()) {
+            bucket.remove(routeId);
+        }
+        adjust(routeId, -counts.getOrDefault(routeId, 0));
+    }
+
+    /** 기간이 지난 날짜 버킷의 횟수를 빼고 버킷을 제거합니다. */
+    private void expireOldBuckets() {
+        if (windowDays <= 0) {
+            return;
+        }
+        long expired = oldestExpiredDay();
+        while (!dailyBuckets.isEmpty() && dailyBuckets.firstKey() <= expired) {
+            dailyBuckets.pollFirstEntry().getValue().forEach((routeId, walks) -> adjust(routeId, -walks));
+        }
+    }
+
+    private void adjust(Long routeId, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        Integer before = counts.get(routeId);
+        if (before != null) {
+            ranking.remove(new RouteCount(routeId, before));
+        }
+        int after = (before != null ? before : 0) + delta;
+        if (after > 0) {
+            counts.put(routeId, after);
+            ranking.add(new RouteCount(routeId, after));
+        } else {
+            counts.remove(routeId);
+        }
+    }
+
+    private long oldestExpiredDay() {
+        return LocalDate.now(ZoneOffset.UTC).toEpochDay() - windowDays;
+    }
+
+    private long bucketOf(long epochDay) {
+        return windowDays > 0 ? epochDay : ALL_TIME_BUCKET;
+    }
+
+    private static long epochDay(OffsetDateTime time) {
+        return time.atZoneSameInstant(ZoneOffset.UTC).toLocalDate().toEpochDay();
+    }
+
+    private record RouteCount(long routeId, int count) {
+    }
+
+    /** 재집계 중에 반영된 변경 (delta가 null이면 루트 삭제) */
+    private record PendingChange(long day, long routeId, Integer delta) {
+    }
+}
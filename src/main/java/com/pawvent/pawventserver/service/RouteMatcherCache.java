@@ -0,0 +1,83 @@
+package com.pawvent.pawventserver.service;
+
+import com.pawvent.pawventserver.domain.WalkRoute;
+import com.pawvent.pawventserver.repository.WalkRouteRepository;
+import com.pawvent.pawventserver.util.RouteMatcher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 루트별 근접 판정기(RouteMatcher) 캐시
+ *
+ * 같은 루트로 여러 사용자가 동시에 산책할 수 있으므로 선분 색인은 루트마다 한 번만 만들어 공유합니다.
+ * 루트 경로는 생성 후 바뀌지 않으므로 삭제될 때만 무효화합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RouteMatcherCache {
+
+    private final WalkRouteRepository walkRouteRepository;
+
+    @Value("${pawvent.walk.route-match.cache-size:500}")
+    private int cacheSize;
+
+    /** 루트 ID → 판정기, 접근 순서 기반 LRU */
+    private final Map<Long, RouteMatcher> matchers = new LinkedHashMap<>(64, 0.75f, true);
+
+    /**
+     * 이미 읽어온 루트 엔티티로 판정기를 조회합니다.
+     *
+     * @return 판정기 (루트 경로가 없으면 null)
+     */
+    public RouteMatcher get(WalkRoute route) {
+        RouteMatcher cached = cached(route.getId());
+        if (cached != null) {
+            return cached;
+        }
+        if (route.getRouteData() == null) {
+            return null;
+        }
+        return put(route.getId(), new RouteMatcher(route.getRouteData().getCoordinateSequence()));
+    }
+
+    /**
+     * 루트 ID로 판정기를 조회하고, 없으면 루트를 읽어 만듭니다.
+     *
+     * @return 판정기 (루트가 없거나 경로가 없으면 null)
+     */
+    public RouteMatcher get(Long routeId) {
+        RouteMatcher cached = cached(routeId);
+        if (cached != null) {
+            return cached;
+        }
+        return walkRouteRepository.findById(routeId)
+                .map(this::get)
+                .orElse(null);
+    }
+
+    public void evict(Long routeId) {
+        synchronized (matchers) {
+            matchers.remove(routeId);
+        }
+    }
+
+    private RouteMatcher cached(Long routeId) {
+        synchronized (matchers) {
+            return matchers.get(routeId);
+        }
+    }
+
+    private RouteMatcher put(Long routeId, RouteMatcher matcher) {
+        synchronized (matchers) {
+            matchers.put(routeId, matcher);
+            while (matchers.size() > cacheSize) {
+                matchers.remove(matchers.keySet().iterator().next());
+            }
+        }
+        return matcher;
+    }
+}
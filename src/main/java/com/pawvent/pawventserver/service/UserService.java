@@ -4,6 +4,7 @@ import com.pawvent.pawventserver.domain.User;
 import com.pawvent.pawventserver.domain.enums.Role;
 import com.pawvent.pawventserver.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
@@ -12,7 +13,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DateTimeException;
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +26,9 @@ public class UserService {
     
     private final UserRepository userRepository;
     
+    @Value("${pawvent.user.default-time-zone:Asia/Seoul}")
+    private String defaultTimeZone;
+    
     /**
      * 인증 정보를 통해 현재 로그인된 사용자를 조회합니다.
      * JWT 토큰의 userId를 사용하여 사용자를 찾습니다.
@@ -184,6 +190,61 @@ public class UserService {
         return userRepository.save(user);
     }
     
+    /**
+     * 사용자 시간대를 변경합니다.
+     * 
+     * @param timeZone IANA 시간대 ID (예: Asia/Seoul), null이면 서버 기본 시간대
+     * @throws IllegalArgumentException 지원하지 않는 시간대인 경우
+     */
+    @Transactional
+    public User updateTimeZone(Long userId, String timeZone, User requestUser) {
+        User user = getUserById(userId);
+        
+        if (!user.getId().equals(requestUser.getId())) {
+            throw new IllegalArgumentException("시간대를 수정할 권한이 없습니다.");
+        }
+        
+        // 지역 ID만 허용 (고정 오프셋 표기는 DB의 AT TIME ZONE과 부호 해석이 달라짐)
+        String normalized = null;
+        if (timeZone != null && !timeZone.isBlank()) {
+            normalized = timeZone.trim();
+            if (!ZoneId.getAvailableZoneIds().contains(normalized)) {
+                throw new IllegalArgumentException("지원하지 않는 시간대입니다: " + timeZone);
+            }
+        }
+        
+        user.setTimeZone(normalized);
+        return userRepository.save(user);
+    }
+    
+    /**
+     * 사용자의 하루 기준 시간대를 반환합니다.
+     */
+    public ZoneId getZoneId(User user) {
+        return getZoneId(user.getTimeZone());
+    }
+    
+    /**
+     * 저장된 시간대 ID를 해석합니다. 비어 있거나 잘못된 값이면 서버 기본 시간대를 사용합니다.
+     */
+    public ZoneId getZoneId(String timeZone) {
+        if (timeZone != null) {
+            try {
+                return ZoneId.of(timeZone);
+            } catch (DateTimeException ignored) {
+                // 기본 시간대 사용
+            }
+        }
+        return ZoneId.of(defaultTimeZone);
+    }
+    
+    /**
+     * 서버 기본 시간대 ID (시간대를 정하지 않은 사용자에 적용)
+     */
+    public String getDefaultTimeZone() {
+        return defaultTimeZone;
+    }
+    
     @Transactional
     public void deleteUser(Long userId, User requestUser) {
         User user = getUserById(userId);
@@ -0,0 +1,248 @@
+package com.pawvent.pawventserver.service;
+
+import com.pawvent.pawventserver.domain.User;
+import com.pawvent.pawventserver.dto.CursorPageResponse;
+import com.pawvent.pawventserver.dto.WalkAreaStatsResponse;
+import com.pawvent.pawventserver.dto.WalkSessionResponse;
+import com.pawvent.pawventserver.repository.WalkSessionRepository;
+import com.pawvent.pawventserver.util.KeysetCursor;
+import com.pawvent.pawventserver.util.PolylineCodec;
+import lombok.RequiredArgsConstructor;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.locationtech.jts.io.WKBWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 지역 산책 조회 서비스
+ *
+ * 사각형 또는 다각형 영역을 지나간 완료 산책을 DB에서 바로 찾습니다.
+ * 경로 교차 판정은 walk_session.actual_path의 GIST 인덱스(ix_walk_session_actual_path)로 후보를 좁힌 뒤
+ * ST_Intersects로 확정하므로, 세션이나 경로를 애플리케이션으로 읽어오지 않습니다.
+ * 조회 기간은 항상 시작 시각 범위로 제한해 월별 파티션 중 해당 기간만 읽도록 합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class WalkAreaService {
+
+    /** 영역 교차 + 기간 조건 (완료/미삭제 세션만) */
+    private static final String AREA_FILTER = "w.is_completed = true AND w.deleted_at IS NULL " +
+            "AND w.start_time >= :startTime AND w.start_time < :endTime " +
+            "AND ST_Intersects(w.actual_path, ST_GeomFromWKB(:area, 4326)) ";
+
+    private static final String STATS_SQL = "SELECT COUNT(*) AS session_count, " +
+            "COUNT(DISTINCT w.user_id) AS user_count, COUNT(DISTINCT w.pet_id) AS pet_count, " +
+            "COALESCE(SUM(w.actual_distance), 0) AS total_distance, COALESCE(SUM(w.actual_duration), 0) AS total_duration, " +
+            "CAST(MIN(w.start_time) AT TIME ZONE :timeZone AS date) AS first_walk_date, " +
+            "CAST(MAX(w.start_time) AT TIME ZONE :timeZone AS date) AS last_walk_date " +
+            "FROM walk_session w WHERE " + AREA_FILTER;
+
+    private static final String HOURLY_SQL = "SELECT CAST(EXTRACT(HOUR FROM w.start_time AT TIME ZONE :timeZone) AS int) AS hour, " +
+            "COUNT(*) AS session_count FROM walk_session w WHERE " + AREA_FILTER + "GROUP BY 1";
+
+    private static final String MY_SESSIONS_SQL = "SELECT w.id, w.user_id, u.nickname, w.pet_id, p.name AS pet_name, " +
+            "w.route_id, r.name AS route_name, w.actual_distance, w.actual_duration, w.moving_duration, w.pause_count, " +
+            "w.route_adherence, w.start_time, w.end_time, w.is_completed, w.created_at " +
+            "FROM walk_session w " +
+            "JOIN users u ON u.id = w.user_id " +
+            "JOIN pet p ON p.id = w.pet_id " +
+            "LEFT JOIN walk_route r ON r.id = w.route_id " +
+            "WHERE w.user_id = :userId AND " + AREA_FILTER +
+            "AND (w.start_time, w.id) < (:cursorTime, :cursorId) " +
+            "ORDER BY w.start_time DESC, w.id DESC LIMIT :limit";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final UserService userService;
+    private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+
+    @Value("${pawvent.walk.area.max-span-degrees:0.5}")
+    private double maxSpanDegrees;
+
+    @Value("${pawvent.walk.area.max-vertices:200}")
+    private int maxVertices;
+
+    @Value("${pawvent.walk.area.default-days:30}")
+    private int defaultDays;
+
+    @Value("${pawvent.walk.area.max-days:366}")
+    private int maxDays;
+
+    @Value("${pawvent.walk.area.min-users:5}")
+    private int minUsers;
+
+    /**
+     * 조회 영역. 사각형(minLat/minLng/maxLat/maxLng) 또는 인코딩된 다각형(polygon) 중 하나를 지정합니다.
+     *
+     * @param polygon 다각형 꼭짓점의 Encoded Polyline (닫히지 않았으면 자동으로 닫음)
+     */
+    public record AreaQuery(Double minLat, Double minLng, Double maxLat, Double maxLng, String polygon,
+                            LocalDate startDate, LocalDate endDate) {
+    }
+
+    /**
+     * 영역을 지나간 모든 사용자의 산책을 집계합니다.
+     * 날짜 범위와 시간대별 집계는 요청한 사용자의 시간대를 기준으로 합니다.
+     * 산책한 사용자가 min-users명 미만이면 특정 사용자의 산책을 추정할 수 있으므로 집계 값을 숨깁니다.
+     * 같은 이유로 첫/마지막 산책은 시각 대신 날짜로만 반환합니다.
+     *
+     * @throws IllegalArgumentException 영역이나 기간이 올바르지 않은 경우
+     */
+    public WalkAreaStatsResponse getAreaStats(User user, AreaQuery query) {
+        ZoneId zone = userService.getZoneId(user);
+        LocalDate[] range = resolveDateRange(query, zone);
+        MapSqlParameterSource params = areaParams(query, range, zone)
+                .addValue("timeZone", zone.getId());
+
+        WalkAreaStatsResponse stats = jdbcTemplate.queryForObject(STATS_SQL, params, (rs, rowNum) -> WalkAreaStatsResponse.builder()
+                .startDate(range[0])
+                .endDate(range[1])
+                .timeZone(zone.getId())
+                .sessionCount(rs.getLong("session_count"))
+                .userCount(rs.getLong("user_count"))
+                .petCount(rs.getLong("pet_count"))
+                .totalDistance(rs.getDouble("total_distance"))
+                .totalDuration(rs.getLong("total_duration"))
+                .firstWalkDate(rs.getObject("first_walk_date", LocalDate.class))
+                .lastWalkDate(rs.getObject("last_walk_date", LocalDate.class))
+                .build());
+
+        if (stats.getUserCount() < minUsers) {
+            return WalkAreaStatsResponse.builder()
+                    .startDate(range[0])
+                    .endDate(range[1])
+                    .timeZone(zone.getId())
+                    .withheld(true)
+                    .build();
+        }
+
+        Long[] hourly = new Long[24];
+        Arrays.fill(hourly, 0L);
+        jdbcTemplate.query(HOURLY_SQL, params, rs -> {
+            hourly[rs.getInt("hour")] = rs.getLong("session_count");
+        });
+        stats.setHourlyCounts(List.of(hourly));
+        return stats;
+    }
+
+    /**
+     * 영역을 지나간 내 산책을 최신순으로 조회합니다.
+     *
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+     * @param size 페이지 크기 (MAX_LIST_LIMIT 이하로 제한)
+     * @throws IllegalArgumentException 영역, 기간, 커서가 올바르지 않은 경우
+     */
+    public CursorPageResponse<WalkSessionResponse> getMyAreaSessions(User user, AreaQuery query, String cursor, int size) {
+        ZoneId zone = userService.getZoneId(user);
+        LocalDate[] range = resolveDateRange(query, zone);
+        int pageSize = Math.max(1, Math.min(size, WalkSessionService.MAX_LIST_LIMIT));
+        KeysetCursor keyset = KeysetCursor.decode(cursor);
+
+        MapSqlParameterSource params = areaParams(query, range, zone)
+                .addValue("userId", user.getId())
+                .addValue("cursorTime", keyset.getStartTime())
+                .addValue("cursorId", keyset.getId())
+                .addValue("limit", pageSize + 1);
+        List<WalkSessionResponse> rows = jdbcTemplate.query(MY_SESSIONS_SQL, params, WalkSessionRepository.RESPONSE_ROW_MAPPER);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<WalkSessionResponse> content = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            WalkSessionResponse last = content.get(content.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getStartTime(), last.getId());
+        }
+        return new CursorPageResponse<>(content, pageSize, hasNext, nextCursor);
+    }
+
+    private MapSqlParameterSource areaParams(AreaQuery query, LocalDate[] range, ZoneId zone) {
+        return new MapSqlParameterSource()
+                .addValue("area", new WKBWriter(2).write(toArea(query)))
+                .addValue("startTime", range[0].atStartOfDay(zone).toOffsetDateTime())
+                .addValue("endTime", range[1].plusDays(1).atStartOfDay(zone).toOffsetDateTime());
+    }
+
+    /**
+     * 조회 기간을 정합니다. 지정하지 않으면 오늘까지 default-days일입니다.
+     */
+    private LocalDate[] resolveDateRange(AreaQuery query, ZoneId zone) {
+        LocalDate endDate = query.endDate() != null ? query.endDate() : LocalDate.now(zone);
+        LocalDate startDate = query.startDate() != null ? query.startDate() : endDate.minusDays(defaultDays - 1L);
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("시작 날짜는 종료 날짜보다 늦을 수 없습니다.");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= maxDays) {
+            throw new IllegalArgumentException("조회 기간은 최대 " + maxDays + "일입니다.");
+        }
+        return new LocalDate[] {startDate, endDate};
+    }
+
+    /**
+     * 요청 파라미터로 조회 영역 다각형을 만듭니다.
+     */
+    private Polygon toArea(AreaQuery query) {
+        Polygon area;
+        if (query.polygon() != null && !query.polygon().isBlank()) {
+            area = toPolygon(PolylineCodec.decode(query.polygon().trim()));
+        } else {
+            if (query.minLat() == null || query.minLng() == null || query.maxLat() == null || query.maxLng() == null) {
+                throw new IllegalArgumentException("조회 영역(사각형 또는 다각형)을 지정해야 합니다.");
+            }
+            if (query.minLat() >= query.maxLat() || query.minLng() >= query.maxLng()) {
+                throw new IllegalArgumentException("조회 영역의 최소 좌표는 최대 좌표보다 작아야 합니다.");
+            }
+            area = (Polygon) geometryFactory.toGeometry(
+                    new Envelope(query.minLng(), query.maxLng(), query.minLat(), query.maxLat()));
+        }
+
+        Envelope envelope = area.getEnvelopeInternal();
+        if (envelope.getMinY() < -90 || envelope.getMaxY() > 90 || envelope.getMinX() < -180 || envelope.getMaxX() > 180) {
+            throw new IllegalArgumentException("조회 영역 좌표가 범위를 벗어났습니다.");
+        }
+        if (envelope.getWidth() > maxSpanDegrees || envelope.getHeight() > maxSpanDegrees) {
+            throw new IllegalArgumentException("조회 영역이 너무 넓습니다. (최대 " + maxSpanDegrees + "도)");
+        }
+        return area;
+    }
+
+    private Polygon toPolygon(CoordinateSequence vertices) {
+        int count = vertices.size();
+        boolean closed = count > 0 && vertices.getX(0) == vertices.getX(count - 1)
+                && vertices.getY(0) == vertices.getY(count - 1);
+        int ringSize = closed ? count : count + 1;
+        if (ringSize < 4) {
+            throw new IllegalArgumentException("다각형은 꼭짓점이 3개 이상이어야 합니다.");
+        }
+        if (ringSize - 1 > maxVertices) {
+            throw new IllegalArgumentException("다각형 꼭짓점은 최대 " + maxVertices + "개입니다.");
+        }
+
+        double[] ring = new double[ringSize * 2];
+        for (int i = 0; i < count; i++) {
+            ring[i * 2] = vertices.getX(i);
+            ring[i * 2 + 1] = vertices.getY(i);
+        }
+        if (!closed) {
+            ring[count * 2] = vertices.getX(0);
+            ring[count * 2 + 1] = vertices.getY(0);
+        }
+        Polygon polygon = geometryFactory.createPolygon(new PackedCoordinateSequence.Double(ring, 2, 0));
+        if (!polygon.isValid()) {
+            throw new IllegalArgumentException("다각형이 올바르지 않습니다. (자기 교차 등)");
+        }
+        return polygon;
+    }
+}
@@ -0,0 +1,401 @@
+package com.pawvent.pawventserver.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pawvent.pawventserver.domain.User;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 산책 기록 내보내기 서비스 (NDJSON / GeoJSON / GPX)
+ *
+ * 사용자의 전체 산책 세션(보관된 기록 포함)을 서버 측 JDBC 커서(fetch-size 단위)로 읽으면서 바로 응답 스트림에 씁니다.
+ * 목록을 메모리에 모으지 않으므로 기록이 많은 사용자도 세션 하나 분량의 메모리만 사용합니다.
+ * 내보내기 한 건이 끝날 때까지 DB 커넥션을 점유하므로 동시에 실행되는 내보내기 수를 제한합니다.
+ */
+@Slf4j
+@Service
+public class WalkExportService {
+
+    /** 내보내기 형식 */
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson", "ndjson"),
+        GEOJSON("application/geo+json", "geojson"),
+        GPX("application/gpx+xml", "gpx");
+
+        private final String contentType;
+        private final String extension;
+
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+    }
+
+    private static final String SESSION_COLUMNS = "id, pet_id, route_id, start_time, end_time, actual_distance, " +
+            "actual_duration, moving_duration, pause_count, is_completed, actual_path";
+
+    /** 운영 테이블과 보관 테이블(walk_session_archive)의 세션을 시작 시각 순으로 함께 읽음 */
+    private static final String EXPORT_SQL = "SELECT w.id, w.pet_id, p.name AS pet_name, w.route_id, r.name AS route_name, " +
+            "CAST(EXTRACT(EPOCH FROM w.start_time) * 1000 AS bigint) AS start_ms, " +
+            "CAST(EXTRACT(EPOCH FROM w.end_time) * 1000 AS bigint) AS end_ms, " +
+            "w.actual_distance, w.actual_duration, w.moving_duration, w.pause_count, w.is_completed, " +
+            "ST_AsBinary(w.actual_path) AS path_wkb " +
+            "FROM (SELECT " + SESSION_COLUMNS + " FROM walk_session WHERE user_id = ? AND deleted_at IS NULL " +
+            "UNION ALL SELECT " + SESSION_COLUMNS + " FROM walk_session_archive WHERE user_id = ? AND deleted_at IS NULL) w " +
+            "JOIN pet p ON p.id = w.pet_id " +
+            "LEFT JOIN walk_route r ON r.id = w.route_id " +
+            "ORDER BY w.start_time, w.id";
+
+    private static final String GPX_NS = "http://www.topografix.com/GPX/1/1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final Semaphore permits;
+
+    @Value("${pawvent.walk.export.fetch-size:200}")
+    private int fetchSize;
+
+    public WalkExportService(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${pawvent.walk.export.max-concurrent:2}") int maxConcurrent) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * 사용자의 전체 산책 기록을 내보내는 응답 본문을 만듭니다.
+     * 실제 조회와 출력은 응답을 쓰는 시점에 이루어집니다.
+     * 동시 실행 허가는 본문을 쓰기 시작할 때 얻으므로, 본문이 실행되지 않고 요청이 끝나도 허가가 남지 않습니다.
+     * 여유가 없으면 응답을 시작하기 전에 바로 거절하고, 그 사이 다른 내보내기가 허가를 가져간 경우에는 본문에서 거절합니다.
+     *
+     * @param user 기록을 내보낼 사용자
+     * @param format 내보내기 형식
+     * @return 스트리밍 응답 본문
+     * @throws IllegalStateException 동시에 실행 중인 내보내기가 너무 많은 경우
+     */
+    public StreamingResponseBody openExport(User user, ExportFormat format) {
+        if (permits.availablePermits() == 0) {
+            throw tooManyExports();
+        }
+        Long userId = user.getId();
+        return out -> {
+            if (!permits.tryAcquire()) {
+                throw tooManyExports();
+            }
+            try {
+                int exported = export(userId, format, out);
+                log.info("산책 기록 내보내기 완료: userId={}, format={}, sessions={}", userId, format, exported);
+            } finally {
+                permits.release();
+            }
+        };
+    }
+
+    private static IllegalStateException tooManyExports() {
+        return new IllegalStateException("진행 중인 내보내기가 많습니다. 잠시 후 다시 시도해주세요.");
+    }
+
+    /**
+     * 사용자의 전체 산책 기록을 시작 시각 순으로 출력 스트림에 씁니다.
+     *
+     * @return 내보낸 세션 수
+     */
+    public int export(Long userId, ExportFormat format, OutputStream out) throws IOException {
+        try {
+            SessionWriter writer = switch (format) {
+                case NDJSON -> new NdjsonWriter(out);
+                case GEOJSON -> new GeoJsonWriter(out);
+                case GPX -> new GpxWriter(out);
+            };
+            Integer count = readOnlyTransaction.execute(status -> {
+                ExportRow row = new ExportRow();
+                WKBReader wkbReader = new WKBReader();
+                int[] written = {0};
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement ps = connection.prepareStatement(EXPORT_SQL,
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    ps.setFetchSize(fetchSize);
+                    ps.setLong(1, userId);
+                    ps.setLong(2, userId);
+                    return ps;
+                }, rs -> {
+                    row.read(rs, wkbReader);
+                    try {
+                        writer.write(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    written[0]++;
+                });
+                return written[0];
+            });
+            writer.finish();
+            return count != null ? count : 0;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * 커서에서 읽은 세션 한 행 (행마다 재사용)
+     */
+    private static final class ExportRow {
+        long id;
+        long petId;
+        String petName;
+        Long routeId;
+        String routeName;
+        long startMillis;
+        Long endMillis;
+        Double distance;
+        Integer duration;
+        Integer movingDuration;
+        Integer pauseCount;
+        boolean completed;
+        CoordinateSequence path;
+
+        void read(ResultSet rs, WKBReader wkbReader) throws SQLException {
+            id = rs.getLong("id");
+            petId = rs.getLong("pet_id");
+            petName = rs.getString("pet_name");
+            routeId = rs.getObject("route_id", Long.class);
+            routeName = rs.getString("route_name");
+            startMillis = rs.getLong("start_ms");
+            endMillis = rs.getObject("end_ms", Long.class);
+            distance = rs.getObject("actual_distance", Double.class);
+            duration = rs.getObject("actual_duration", Integer.class);
+            movingDuration = rs.getObject("moving_duration", Integer.class);
+            pauseCount = rs.getObject("pause_count", Integer.class);
+            completed = rs.getBoolean("is_completed");
+            path = null;
+            byte[] wkb = rs.getBytes("path_wkb");
+            if (wkb != null) {
+                try {
+                    Geometry geometry = wkbReader.read(wkb);
+                    if (geometry instanceof LineString lineString && !lineString.isEmpty()) {
+                        path = lineString.getCoordinateSequence();
+                    }
+                } catch (ParseException e) {
+                    log.warn("산책 경로를 읽지 못해 경로 없이 내보냅니다: sessionId={}", id);
+                }
+            }
+        }
+    }
+
+    private interface SessionWriter {
+        void write(ExportRow row) throws IOException;
+
+        void finish() throws IOException, XMLStreamException;
+    }
+
+    /**
+     * 한 줄에 세션 하나씩 JSON 객체로 출력합니다.
+     */
+    private final class NdjsonWriter implements SessionWriter {
+        private final JsonGenerator generator;
+
+        private NdjsonWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ExportRow row) throws IOException {
+            generator.writeStartObject();
+            writeProperties(generator, row);
+            generator.writeFieldName("path");
+            if (row.path == null) {
+                generator.writeNull();
+            } else {
+                writePositions(generator, row.path);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.close();
+        }
+    }
+
+    /**
+     * 세션마다 LineString Feature 하나로 된 FeatureCollection을 출력합니다.
+     */
+    private final class GeoJsonWriter implements SessionWriter {
+        private final JsonGenerator generator;
+
+        private GeoJsonWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeStringField("type", "FeatureCollection");
+            generator.writeArrayFieldStart("features");
+        }
+
+        @Override
+        public void write(ExportRow row) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("type", "Feature");
+            generator.writeNumberField("id", row.id);
+            generator.writeFieldName("geometry");
+            if (row.path == null) {
+                generator.writeNull();
+            } else {
+                generator.writeStartObject();
+                generator.writeStringField("type", "LineString");
+                generator.writeFieldName("coordinates");
+                writePositions(generator, row.path);
+                generator.writeEndObject();
+            }
+            generator.writeObjectFieldStart("properties");
+            writeProperties(generator, row);
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.close();
+        }
+    }
+
+    /**
+     * 경로가 있는 세션마다 트랙(trk) 하나를 출력합니다.
+     * 경로에는 좌표별 기록 시각이 없으므로 첫 좌표와 마지막 좌표에만 시작/종료 시각을 기록합니다.
+     */
+    private static final class GpxWriter implements SessionWriter {
+        private final XMLStreamWriter xml;
+
+        private GpxWriter(OutputStream out) throws IOException {
+            try {
+                this.xml = XMLOutputFactory.newFactory().createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+                xml.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+                xml.writeStartElement("gpx");
+                xml.writeDefaultNamespace(GPX_NS);
+                xml.writeAttribute("version", "1.1");
+                xml.writeAttribute("creator", "Pawvent");
+            } catch (XMLStreamException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public void write(ExportRow row) throws IOException {
+            if (row.path == null) {
+                return;
+            }
+            try {
+                xml.writeStartElement("trk");
+                writeText("name", row.petName + " " + Instant.ofEpochMilli(row.startMillis));
+                writeText("type", "walk");
+                xml.writeStartElement("trkseg");
+                int last = row.path.size() - 1;
+                for (int i = 0; i <= last; i++) {
+                    xml.writeStartElement("trkpt");
+                    xml.writeAttribute("lat", Double.toString(row.path.getY(i)));
+                    xml.writeAttribute("lon", Double.toString(row.path.getX(i)));
+                    if (i == 0) {
+                        writeText("time", Instant.ofEpochMilli(row.startMillis).toString());
+                    } else if (i == last && row.endMillis != null) {
+                        writeText("time", Instant.ofEpochMilli(row.endMillis).toString());
+                    }
+                    xml.writeEndElement();
+                }
+                xml.writeEndElement();
+                xml.writeEndElement();
+            } catch (XMLStreamException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public void finish() throws XMLStreamException {
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.flush();
+        }
+
+        private void writeText(String element, String text) throws XMLStreamException {
+            xml.writeStartElement(element);
+            xml.writeCharacters(text);
+            xml.writeEndElement();
+        }
+    }
+
+    private static void writeProperties(JsonGenerator generator, ExportRow row) throws IOException {
+        generator.writeNumberField("id", row.id);
+        generator.writeNumberField("petId", row.petId);
+        generator.writeStringField("petName", row.petName);
+        writeNullableNumber(generator, "routeId", row.routeId);
+        generator.writeStringField("routeName", row.routeName);
+        generator.writeStringField("startTime", Instant.ofEpochMilli(row.startMillis).toString());
+        generator.writeStringField("endTime", row.endMillis != null ? Instant.ofEpochMilli(row.endMillis).toString() : null);
+        writeNullableNumber(generator, "distance", row.distance);
+        writeNullableNumber(generator, "duration", row.duration);
+        writeNullableNumber(generator, "movingDuration", row.movingDuration);
+        writeNullableNumber(generator, "pauseCount", row.pauseCount);
+        generator.writeBooleanField("completed", row.completed);
+    }
+
+    private static void writeNullableNumber(JsonGenerator generator, String field, Number value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(field);
+        } else if (value instanceof Double d) {
+            generator.writeNumberField(field, d);
+        } else if (value instanceof Long l) {
+            generator.writeNumberField(field, l);
+        } else {
+            generator.writeNumberField(field, value.intValue());
+        }
+    }
+
+    private static void writePositions(JsonGenerator generator, CoordinateSequence path) throws IOException {
+        generator.writeStartArray();
+        for (int i = 0; i < path.size(); i++) {
+            generator.writeStartArray();
+            generator.writeNumber(path.getX(i));
+            generator.writeNumber(path.getY(i));
+            generator.writeEndArray();
+        }
+        generator.writeEndArray();
+    }
+}
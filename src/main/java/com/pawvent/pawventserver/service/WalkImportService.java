@@ -0,0 +1,345 @@
+package com.pawvent.pawventserver.service;
+
+import com.pawvent.pawventserver.domain.Pet;
+import com.pawvent.pawventserver.domain.User;
+import com.pawvent.pawventserver.dto.WalkImportResponse;
+import com.pawvent.pawventserver.util.GeoJsonTrackReader;
+import com.pawvent.pawventserver.util.GeoUtils;
+import com.pawvent.pawventserver.util.GpxTrackReader;
+import com.pawvent.pawventserver.util.ImportedTrack;
+import com.pawvent.pawventserver.util.TrackMotionAccumulator;
+import com.pawvent.pawventserver.util.TrackSimplifier;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.locationtech.jts.io.WKBWriter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 과거 산책 기록 가져오기 서비스 (GPX/GeoJSON)
+ *
+ * 업로드 파일을 임시 파일로 받아 백그라운드에서 스트리밍 파싱하고,
+ * 트랙마다 완료된 산책 세션 행을 만들어 JDBC 배치로 batch-size개씩 저장합니다.
+ * 세션마다 시작/완료 API를 거치지 않으므로 수천 건도 몇 번의 왕복으로 저장됩니다.
+ * 같은 사용자의 같은 시작 시각 기록이 이미 있으면 건너뛰어, 같은 파일을 다시 올려도 중복되지 않습니다.
+ */
+@Slf4j
+@Service
+public class WalkImportService {
+
+    /** 가져오기 파일 형식 */
+    public enum ImportFormat {
+        GPX,
+        GEOJSON
+    }
+
+    private static final String INSERT_SQL = "INSERT INTO walk_session " +
+            "(user_id, pet_id, start_time, end_time, actual_path, actual_distance, actual_duration, " +
+            "moving_duration, pause_count, is_completed, created_at, updated_at) " +
+            "SELECT ?, ?, ?, ?, ST_GeomFromWKB(?, 4326), ?, ?, ?, ?, true, NOW(), NOW() " +
+            "WHERE NOT EXISTS (SELECT 1 FROM walk_session w " +
+            "WHERE w.user_id = ? AND w.start_time = ? AND w.deleted_at IS NULL)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final WalkRollupService walkRollupService;
+    private final WalkStreakService walkStreakService;
+    private final UserService userService;
+    private final TrackSimplifier trackSimplifier;
+    private final TaskExecutor walkImportExecutor;
+    private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${pawvent.walk.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${pawvent.walk.import.job-retention-minutes:60}")
+    private long jobRetentionMinutes;
+
+    public WalkImportService(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             WalkRollupService walkRollupService,
+                             WalkStreakService walkStreakService,
+                             UserService userService,
+                             TrackSimplifier trackSimplifier,
+                             @Qualifier("walkImportExecutor") TaskExecutor walkImportExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.walkRollupService = walkRollupService;
+        this.walkStreakService = walkStreakService;
+        this.userService = userService;
+        this.trackSimplifier = trackSimplifier;
+        this.walkImportExecutor = walkImportExecutor;
+    }
+
+    /**
+     * 가져오기 작업을 시작합니다.
+     * 파일은 임시 파일로 옮긴 뒤 백그라운드에서 처리하며, 즉시 작업 상태를 반환합니다.
+     *
+     * @param user 기록을 가져올 사용자
+     * @param pet 가져온 산책에 연결할 반려동물 (사용자 소유)
+     * @param file 업로드 파일
+     * @param format 파일 형식 (null이면 파일 확장자로 판단)
+     * @return 작업 상태 (PENDING)
+     * @throws IllegalArgumentException 권한이 없거나 형식을 알 수 없는 경우
+     * @throws IllegalStateException 대기 중인 가져오기 작업이 너무 많은 경우
+     */
+    public WalkImportResponse startImport(User user, Pet pet, MultipartFile file, ImportFormat format) {
+        if (!pet.getUser().getId().equals(user.getId())) {
+            throw new IllegalArgumentException("반려동물에 대한 권한이 없습니다.");
+        }
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("가져올 파일이 비어있습니다.");
+        }
+        ImportFormat resolvedFormat = format != null ? format : detectFormat(file.getOriginalFilename());
+
+        Path tempFile;
+        try {
+            tempFile = Files.createTempFile("walk-import-", "." + resolvedFormat.name().toLowerCase(Locale.ROOT));
+            file.transferTo(tempFile);
+        } catch (IOException e) {
+            throw new IllegalStateException("업로드 파일을 저장하지 못했습니다.", e);
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), user.getId(), pet.getId(),
+                userService.getZoneId(user), file.getOriginalFilename(), resolvedFormat);
+        jobs.put(job.id, job);
+        try {
+            walkImportExecutor.execute(() -> runImport(job, tempFile));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            deleteQuietly(tempFile);
+            throw new IllegalStateException("진행 중인 가져오기 작업이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+        log.info("산책 기록 가져오기 시작: jobId={}, userId={}, format={}", job.id, user.getId(), resolvedFormat);
+        return job.toResponse();
+    }
+
+    /**
+     * 가져오기 작업 상태를 조회합니다.
+     *
+     * @throws IllegalArgumentException 작업이 없거나 다른 사용자의 작업인 경우
+     */
+    public WalkImportResponse getJob(String jobId, User user) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null || !job.userId.equals(user.getId())) {
+            throw new IllegalArgumentException("가져오기 작업을 찾을 수 없습니다.");
+        }
+        return job.toResponse();
+    }
+
+    /**
+     * 끝난 지 오래된 작업 상태를 메모리에서 제거합니다.
+     */
+    @Scheduled(fixedDelay = 10 * 60 * 1000L)
+    public void evictFinishedJobs() {
+        OffsetDateTime threshold = OffsetDateTime.now().minusMinutes(jobRetentionMinutes);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(threshold));
+    }
+
+    private void runImport(ImportJob job, Path tempFile) {
+        job.status = "RUNNING";
+        BatchWriter writer = new BatchWriter(job);
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(tempFile))) {
+            int found = job.format == ImportFormat.GPX
+                    ? GpxTrackReader.read(in, writer::add)
+                    : GeoJsonTrackReader.read(in, writer::add);
+            writer.flush();
+            job.skipped.addAndGet(found - job.processed.get());
+            job.status = "COMPLETED";
+            log.info("산책 기록 가져오기 완료: jobId={}, imported={}, duplicates={}, skipped={}",
+                    job.id, job.imported.get(), job.duplicates.get(), job.skipped.get());
+        } catch (Exception e) {
+            job.errorMessage = e.getMessage();
+            job.status = "FAILED";
+            log.warn("산책 기록 가져오기 실패: jobId={}", job.id, e);
+        } finally {
+            job.finishedAt = OffsetDateTime.now();
+            deleteQuietly(tempFile);
+        }
+    }
+
+    private static ImportFormat detectFormat(String fileName) {
+        String lower = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+        if (lower.endsWith(".gpx")) {
+            return ImportFormat.GPX;
+        }
+        if (lower.endsWith(".geojson") || lower.endsWith(".json")) {
+            return ImportFormat.GEOJSON;
+        }
+        throw new IllegalArgumentException("지원하지 않는 파일 형식입니다. (GPX, GeoJSON)");
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패: {}", path);
+        }
+    }
+
+    /**
+     * 트랙을 산책 세션 행으로 바꿔 모았다가 batch-size개마다 한 트랜잭션으로 저장합니다.
+     * 저장된 행의 거리/시간은 같은 트랜잭션에서 일별 집계와 연속 산책에도 반영합니다.
+     */
+    private final class BatchWriter {
+        private final ImportJob job;
+        private final List<Object[]> rows = new ArrayList<>();
+        private final List<double[]> rowTotals = new ArrayList<>();
+
+        private BatchWriter(ImportJob job) {
+            this.job = job;
+        }
+
+        private void add(ImportedTrack track) {
+            job.processed.incrementAndGet();
+            CoordinateSequence points = track.getPoints();
+
+            TrackMotionAccumulator motion = new TrackMotionAccumulator();
+            long startMillis = Long.MAX_VALUE;
+            long endMillis = Long.MIN_VALUE;
+            for (int i = 0; i < points.size(); i++) {
+                long time = (long) points.getM(i);
+                motion.add(points.getX(i), points.getY(i), time);
+                startMillis = Math.min(startMillis, time);
+                endMillis = Math.max(endMillis, time);
+            }
+
+            CoordinateSequence simplified = trackSimplifier.simplify(points);
+            double distance = GeoUtils.lengthMeters(simplified);
+            int duration = (int) ((endMillis - startMillis) / 1000);
+            OffsetDateTime startTime = OffsetDateTime.ofInstant(Instant.ofEpochMilli(startMillis), ZoneOffset.UTC);
+            OffsetDateTime endTime = OffsetDateTime.ofInstant(Instant.ofEpochMilli(endMillis), ZoneOffset.UTC);
+
+            rows.add(new Object[] {
+                    job.userId, job.petId, startTime, endTime, toLineStringWkb(simplified),
+                    distance, duration, (int) (motion.getMovingMillis() / 1000), motion.getPauseCount(),
+                    job.userId, startTime
+            });
+            rowTotals.add(new double[] {startMillis, distance, duration});
+
+            if (rows.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (rows.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                int[] counts = jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+                Map<LocalDate, double[]> daily = new HashMap<>();
+                List<Instant> startTimes = new ArrayList<>();
+                int inserted = 0;
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == 0) {
+                        continue;
+                    }
+                    inserted++;
+                    double[] totals = rowTotals.get(i);
+                    startTimes.add(Instant.ofEpochMilli((long) totals[0]));
+                    LocalDate walkDate = LocalDate.ofInstant(Instant.ofEpochMilli((long) totals[0]), job.zone);
+                    double[] day = daily.computeIfAbsent(walkDate, d -> new double[3]);
+                    day[0] += 1;
+                    day[1] += totals[1];
+                    day[2] += totals[2];
+                }
+                daily.forEach((walkDate, day) -> walkRollupService.recordDelta(
+                        job.userId, job.petId, walkDate, (int) day[0], day[1], (long) day[2]));
+                walkStreakService.recordCompleted(job.userId, job.petId, startTimes);
+                job.imported.addAndGet(inserted);
+                job.duplicates.addAndGet(counts.length - inserted);
+            });
+            rows.clear();
+            rowTotals.clear();
+        }
+
+        private byte[] toLineStringWkb(CoordinateSequence sequence) {
+            int count = sequence.size();
+            double[] xy = new double[count * 2];
+            for (int i = 0; i < count; i++) {
+                xy[i * 2] = sequence.getX(i);
+                xy[i * 2 + 1] = sequence.getY(i);
+            }
+            return new WKBWriter(2).write(
+                    geometryFactory.createLineString(new PackedCoordinateSequence.Double(xy, 2, 0)));
+        }
+    }
+
+    /**
+     * 가져오기 작업 하나의 진행 상태
+     */
+    private static final class ImportJob {
+        private final String id;
+        private final Long userId;
+        private final Long petId;
+        /** 일별 집계 날짜를 정할 사용자 시간대 */
+        private final ZoneId zone;
+        private final String fileName;
+        private final ImportFormat format;
+        private final OffsetDateTime createdAt = OffsetDateTime.now();
+        private final AtomicInteger processed = new AtomicInteger();
+        private final AtomicInteger imported = new AtomicInteger();
+        private final AtomicInteger duplicates = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private volatile String status = "PENDING";
+        private volatile String errorMessage;
+        private volatile OffsetDateTime finishedAt;
+
+        private ImportJob(String id, Long userId, Long petId, ZoneId zone, String fileName, ImportFormat format) {
+            this.id = id;
+            this.userId = userId;
+            this.petId = petId;
+            this.zone = zone;
+            this.fileName = fileName;
+            this.format = format;
+        }
+
+        private WalkImportResponse toResponse() {
+            return WalkImportResponse.builder()
+                    .jobId(id)
+                    .status(status)
+                    .fileName(fileName)
+                    .format(format.name())
+                    .processedTracks(processed.get())
+                    .importedSessions(imported.get())
+                    .duplicateTracks(duplicates.get())
+                    .skippedTracks(skipped.get())
+                    .errorMessage(errorMessage)
+                    .createdAt(createdAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
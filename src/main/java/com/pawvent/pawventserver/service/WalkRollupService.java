@@ -0,0 +1,340 @@
+package com.pawvent.pawventserver.service;
+
+import com.pawvent.pawventserver.domain.Pet;
+import com.pawvent.pawventserver.domain.User;
+import com.pawvent.pawventserver.domain.WalkDailyRollup;
+import com.pawvent.pawventserver.domain.WalkSession;
+import com.pawvent.pawventserver.dto.PetActivityResponse;
+import com.pawvent.pawventserver.dto.WalkCalendarResponse;
+import com.pawvent.pawventserver.repository.WalkDailyRollupRepository;
+import com.pawvent.pawventserver.util.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 일별 산책 집계(rollup) 서비스
+ *
+ * 산책 세션이 완료/수정/취소될 때 해당 날짜의 집계 행에 증분을 반영하고,
+ * 통계 조회 시 세션 대신 집계 행을 합산합니다.
+ * 집계 날짜는 연속 산책(walk_active_day)과 같이 사용자 시간대 기준이며, 시간대가 바뀌면 다시 만듭니다.
+ * 연간 달력은 사용자/연도 단위로 메모리에 잠깐(ttl-seconds) 캐시하고, 이 노드에서 해당 사용자의 집계가 바뀌면 무효화합니다.
+ * 캐시는 노드별이라 다른 노드의 변경은 무효화하지 못하므로 TTL이 지나면 다시 조회합니다.
+ * 반려동물 하루 목표 달성 여부는 집계 행을 갱신하는 쿼리에서 함께 판정합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class WalkRollupService {
+
+    /** 반려동물 활동 대시보드 최대 조회 기간 (일) */
+    private static final int MAX_ACTIVITY_DAYS = 366;
+
+    private final WalkDailyRollupRepository walkDailyRollupRepository;
+    private final PetService petService;
+    private final UserService userService;
+
+    @Value("${pawvent.walk.calendar.cache-size:1000}")
+    private int calendarCacheSize;
+
+    @Value("${pawvent.walk.calendar.cache-ttl-seconds:60}")
+    private long calendarCacheTtlSeconds;
+
+    /** (사용자 ID, 연도) → 연간 달력, 접근 순서 기반 LRU */
+    private final Map<String, CachedCalendar> calendarCache = new LinkedHashMap<>(64, 0.75f, true);
+
+    /** 달력 캐시 무효화 횟수 (calendarCache로 동기화), 조회 중에 무효화되면 조회 결과를 캐시하지 않음 */
+    private long calendarGeneration;
+
+    /**
+     * 완료된 산책 세션을 집계에 더합니다.
+     */
+    @Transactional
+    public void recordCompleted(WalkSession walkSession) {
+        applyDelta(walkSession, 1, valueOf(walkSession.getActualDistance()), valueOf(walkSession.getActualDuration()));
+    }
+
+    /**
+     * 완료된 산책 세션을 집계에서 뺍니다 (취소/삭제 시).
+     */
+    @Transactional
+    public void recordRemoved(WalkSession walkSession) {
+        applyDelta(walkSession, -1, -valueOf(walkSession.getActualDistance()), -valueOf(walkSession.getActualDuration()));
+    }
+
+    /**
+     * 일괄 완료된 산책 세션들을 한 번의 쿼리로 집계에 더합니다.
+     *
+     * @param sessionIds 완료 처리된 세션 ID 목록
+     */
+    @Transactional
+    public void recordCompletedBatch(Collection<Long> sessionIds) {
+        if (sessionIds.isEmpty()) {
+            return;
+        }
+        walkDailyRollupRepository.addCompletedSessions(sessionIds, userService.getDefaultTimeZone());
+        // 어느 사용자의 집계가 바뀌었는지 모르므로 달력 캐시 전체를 비움 (정리 작업에서만 사용)
+        evictCalendar(null);
+    }
+
+    /**
+     * 완료된 산책 세션의 거리/시간 수정분을 집계에 반영합니다.
+     *
+     * @param walkSession 수정된 산책 세션 (수정 후 값)
+     * @param previousDistance 수정 전 거리
+     * @param previousDuration 수정 전 시간
+     */
+    @Transactional
+    public void recordEdited(WalkSession walkSession, Double previousDistance, Integer previousDuration) {
+        double distanceDelta = valueOf(walkSession.getActualDistance()) - valueOf(previousDistance);
+        long durationDelta = valueOf(walkSession.getActualDuration()) - valueOf(previousDuration);
+        if (distanceDelta == 0 && durationDelta == 0) {
+            return;
+        }
+        applyDelta(walkSession, 0, distanceDelta, durationDelta);
+    }
+
+    /**
+     * 사용자/반려동물/날짜 집계 행에 증분을 직접 더합니다 (가져오기 등 일괄 저장 시 사용).
+     *
+     * @param userId 사용자 ID
+     * @param petId 반려동물 ID
+     * @param walkDate 집계 날짜 (사용자 시간대 기준)
+     * @param sessionDelta 산책 횟수 증분
+     * @param distanceDelta 거리 증분 (미터)
+     * @param durationDelta 시간 증분 (초)
+     */
+    @Transactional
+    public void recordDelta(Long userId, Long petId, LocalDate walkDate,
+                            int sessionDelta, double distanceDelta, long durationDelta) {
+        walkDailyRollupRepository.upsertDelta(userId, petId, walkDate, sessionDelta, distanceDelta, durationDelta);
+        evictCalendar(calendarKey(userId, walkDate.getYear()));
+    }
+
+    /**
+     * 사용자의 집계 행을 새 시간대 기준 날짜로 다시 만듭니다 (시간대 변경 시 사용).
+     * 호출하는 쪽에서 사용자 행을 잠가 같은 사용자의 집계 갱신과 겹치지 않게 해야 합니다.
+     *
+     * @param userId 사용자 ID
+     * @param zone 새 시간대
+     */
+    @Transactional
+    public void rebuildForUser(Long userId, ZoneId zone) {
+        walkDailyRollupRepository.deleteByUserId(userId);
+        walkDailyRollupRepository.rebuildForUser(userId, zone.getId());
+        // 사용자의 모든 연도가 바뀔 수 있으므로 달력 캐시 전체를 비움 (시간대 변경은 드묾)
+        evictCalendar(null);
+    }
+
+    /**
+     * 사용자의 기간별 산책 합계를 조회합니다.
+     *
+     * @param userId 사용자 ID
+     * @param startDate 시작 날짜 (포함)
+     * @param endDate 종료 날짜 (포함)
+     */
+    public WalkDailyRollupRepository.Totals getTotals(Long userId, LocalDate startDate, LocalDate endDate) {
+        return walkDailyRollupRepository.sumByUserAndDateRange(userId, startDate, endDate);
+    }
+
+    /**
+     * 반려동물의 전체 기간 산책 합계를 조회합니다.
+     *
+     * @param petId 반려동물 ID
+     */
+    public WalkDailyRollupRepository.Totals getPetTotals(Long petId) {
+        return walkDailyRollupRepository.sumByPet(petId);
+    }
+
+    /**
+     * 반려동물 활동 대시보드를 조회합니다.
+     * 세션을 읽지 않고 (pet_id, walk_date) 인덱스로 반려동물의 집계 행만 읽습니다.
+     * 목표 달성 여부는 산책 완료 시 집계 행에 기록된 값을 사용합니다.
+     * 오늘은 집계 날짜와 같은 기준인 소유자의 시간대로 정합니다.
+     *
+     * @param pet 반려동물
+     * @param owner 반려동물 소유자
+     * @param days 오늘을 포함한 조회 기간 (일)
+     */
+    public PetActivityResponse getPetActivity(Pet pet, User owner, int days) {
+        if (days < 1 || days > MAX_ACTIVITY_DAYS) {
+            throw new IllegalArgumentException("조회 기간은 1~" + MAX_ACTIVITY_DAYS + "일 사이여야 합니다.");
+        }
+        LocalDate today = LocalDate.now(userService.getZoneId(owner));
+        LocalDate startDate = today.minusDays(days - 1L);
+        int goalMinutes = pet.getDailyGoalMinutes() != null
+                ? pet.getDailyGoalMinutes()
+                : petService.defaultDailyGoalMinutes(pet.getWeight());
+        long goalSeconds = goalMinutes * 60L;
+
+        WalkDailyRollupRepository.Totals totals = walkDailyRollupRepository.sumByPet(pet.getId());
+        List<WalkDailyRollup> rows = walkDailyRollupRepository.findByPetAndDateRange(pet.getId(), startDate, today);
+
+        List<PetActivityResponse.ActivityDay> activityDays = new ArrayList<>(rows.size());
+        int goalMetDays = 0;
+        long todayDuration = 0;
+        for (WalkDailyRollup row : rows) {
+            // 목표 도입 이전에 만들어진 행은 현재 목표로 판정
+            long dayGoal = row.getGoalDuration() != null ? row.getGoalDuration() : goalSeconds;
+            boolean met = row.getGoalMet() != null ? row.getGoalMet() : row.getTotalDuration() >= dayGoal;
+            if (met) {
+                goalMetDays++;
+            }
+            if (row.getWalkDate().equals(today)) {
+                todayDuration = row.getTotalDuration();
+            }
+            activityDays.add(new PetActivityResponse.ActivityDay(row.getWalkDate(), row.getSessionCount(),
+                    row.getTotalDistance(), row.getTotalDuration(), dayGoal, met));
+        }
+
+        return PetActivityResponse.builder()
+                .petId(pet.getId())
+                .petName(pet.getName())
+                .dailyGoalMinutes(goalMinutes)
+                .autoGoal(petService.isAutoDailyGoal(pet))
+                .totalSessions(totals.getSessionCount() != null ? totals.getSessionCount() : 0)
+                .totalDistance(totals.getTotalDistance() != null ? totals.getTotalDistance() : 0)
+                .totalDuration(totals.getTotalDuration() != null ? totals.getTotalDuration() : 0)
+                .startDate(startDate)
+                .endDate(today)
+                .goalMetDays(goalMetDays)
+                .todayDuration(todayDuration)
+                .todayProgress(Math.min(100.0, todayDuration * 100.0 / goalSeconds))
+                .days(activityDays)
+                .build();
+    }
+
+    /**
+     * 사용자의 연간 산책 달력을 조회합니다.
+     * 1년치 날짜별 합계를 한 번의 집계 쿼리로 만들고, 결과는 캐시합니다.
+     *
+     * @param userId 사용자 ID
+     * @param year 조회 연도
+     * @return 연간 달력 (산책한 날만 포함)
+     */
+    public WalkCalendarResponse getYearCalendar(Long userId, int year) {
+        String key = calendarKey(userId, year);
+        long generation;
+        synchronized (calendarCache) {
+            CachedCalendar cached = calendarCache.get(key);
+            if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+                return cached.calendar();
+            }
+            calendarCache.remove(key);
+            generation = calendarGeneration;
+        }
+
+        List<WalkDailyRollupRepository.DailyTotals> rows = walkDailyRollupRepository.sumDailyByUserAndDateRange(
+                userId, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+
+        List<WalkCalendarResponse.CalendarDay> days = new ArrayList<>(rows.size());
+        long totalSessions = 0;
+        double totalDistance = 0;
+        long totalDuration = 0;
+        for (WalkDailyRollupRepository.DailyTotals row : rows) {
+            long sessions = row.getSessionCount() != null ? row.getSessionCount() : 0;
+            double distance = row.getTotalDistance() != null ? row.getTotalDistance() : 0;
+            long duration = row.getTotalDuration() != null ? row.getTotalDuration() : 0;
+            days.add(new WalkCalendarResponse.CalendarDay(row.getWalkDate(), sessions, distance, duration));
+            totalSessions += sessions;
+            totalDistance += distance;
+            totalDuration += duration;
+        }
+
+        WalkCalendarResponse calendar = WalkCalendarResponse.builder()
+                .year(year)
+                .activeDays(days.size())
+                .totalSessions(totalSessions)
+                .totalDistance(totalDistance)
+                .totalDuration(totalDuration)
+                .days(days)
+                .build();
+
+        synchronized (calendarCache) {
+            // 조회하는 동안 무효화됐다면 이전 값일 수 있으므로 캐시하지 않음
+            if (generation != calendarGeneration) {
+                return calendar;
+            }
+            calendarCache.put(key, new CachedCalendar(calendar,
+                    System.currentTimeMillis() + calendarCacheTtlSeconds * 1000));
+            if (calendarCache.size() > calendarCacheSize) {
+                calendarCache.remove(calendarCache.keySet().iterator().next());
+            }
+        }
+        return calendar;
+    }
+
+    /**
+     * 집계 테이블이 비어있으면 기존 산책 기록으로 채웁니다.
+     * 애플리케이션 시작 시 한 번 호출됩니다.
+     */
+    @Transactional
+    public void backfillIfEmpty() {
+        if (walkDailyRollupRepository.count() > 0) {
+            return;
+        }
+        int created = walkDailyRollupRepository.backfillFromWalkSessions(userService.getDefaultTimeZone());
+        log.info("일별 산책 집계 백필 완료: rows={}", created);
+    }
+
+    /**
+     * 집계 날짜는 연속 산책, 날짜별 조회와 동일하게 산책 시작 시각의 사용자 시간대 날짜를 사용합니다.
+     */
+    private void applyDelta(WalkSession walkSession, int sessionDelta, double distanceDelta, long durationDelta) {
+        ZoneId zone = userService.getZoneId(walkSession.getUser());
+        LocalDate walkDate = walkSession.getStartTime().atZoneSameInstant(zone).toLocalDate();
+        recordDelta(
+                walkSession.getUser().getId(),
+                walkSession.getPet().getId(),
+                walkDate,
+                sessionDelta,
+                distanceDelta,
+                durationDelta
+        );
+    }
+
+    /**
+     * 달력 캐시를 무효화합니다 (key가 null이면 전체).
+     * 커밋 전에 다른 요청이 이전 값으로 캐시를 다시 채울 수 있으므로 커밋 후에 한 번 더 비웁니다.
+     */
+    private void evictCalendar(String key) {
+        Runnable evict = () -> {
+            synchronized (calendarCache) {
+                calendarGeneration++;
+                if (key == null) {
+                    calendarCache.clear();
+                } else {
+                    calendarCache.remove(key);
+                }
+            }
+        };
+        evict.run();
+        TransactionCallbacks.afterCommit(evict);
+    }
+
+    private record CachedCalendar(WalkCalendarResponse calendar, long expiresAtMillis) {
+    }
+
+    private static String calendarKey(Long userId, int year) {
+        return userId + ":" + year;
+    }
+
+    private static double valueOf(Double value) {
+        return value != null ? value : 0.0;
+    }
+
+    private static long valueOf(Integer value) {
+        return value != null ? value : 0L;
+    }
+}
@@ -0,0 +1,50 @@
+package com.pawvent.pawventserver.service;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 계획 루트 이탈/복귀 이벤트
+ *
+ * 진행 중인 산책의 좌표가 루트에서 벗어나거나 다시 돌아온 것이 확정되면
+ * WalkTrackService가 ApplicationEventPublisher로 발행합니다.
+ */
+public class WalkRouteDeviationEvent {
+
+    /** 이벤트 종류 */
+    public enum Type {
+        LEFT_ROUTE,
+        RETURNED
+    }
+
+    private final Long sessionId;
+    private final Long userId;
+    private final Long routeId;
+    private final Type type;
+    private final double latitude;
+    private final double longitude;
+    private final Double deviationMeters;
+    private final OffsetDateTime occurredAt;
+
+    public WalkRouteDeviationEvent(Long sessionId, Long userId, Long routeId, Type type,
+                                   double latitude, double longitude, Double deviationMeters, OffsetDateTime occurredAt) {
+        this.sessionId = sessionId;
+        this.userId = userId;
+        this.routeId = routeId;
+        this.type = type;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.deviationMeters = deviationMeters;
+        this.occurredAt = occurredAt;
+    }
+
+    // Getters
+    public Long getSessionId() { return sessionId; }
+    public Long getUserId() { return userId; }
+    public Long getRouteId() { return routeId; }
+    public Type getType() { return type; }
+    public double getLatitude() { return latitude; }
+    public double getLongitude() { return longitude; }
+    /** 루트까지 거리 (미터, 이탈 판정 거리보다 멀면 null) */
+    public Double getDeviationMeters() { return deviationMeters; }
+    public OffsetDateTime getOccurredAt() { return occurredAt; }
+}
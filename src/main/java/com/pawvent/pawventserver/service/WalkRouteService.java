@@ -3,6 +3,7 @@ package com.pawvent.pawventserver.service;
 import com.pawvent.pawventserver.domain.WalkRoute;
 import com.pawvent.pawventserver.domain.User;
 import com.pawvent.pawventserver.repository.WalkRouteRepository;
+import com.pawvent.pawventserver.util.TrackSimplifier;
 import lombok.RequiredArgsConstructor;
 import org.locationtech.jts.geom.LineString;
 import org.springframework.stereotype.Service;
@@ -17,13 +18,26 @@ import java.util.Optional;
 public class WalkRouteService {
     
     private final WalkRouteRepository walkRouteRepository;
+    private final TrackSimplifier trackSimplifier;
+    private final PopularRouteTracker popularRouteTracker;
+    private final RouteMatcherCache routeMatcherCache;
     
     @Transactional
     public WalkRoute saveWalkRoute(User user, String name, LineString routeData, Double distance, Integer duration, boolean isShared) {
+        return saveWalkRoute(user, name, routeData, distance, duration, isShared, true);
+    }
+    
+    /**
+     * 산책 경로를 저장합니다.
+     * simplify가 true이면 설정된 허용 오차(미터)로 경로를 단순화한 뒤 저장합니다.
+     */
+    @Transactional
+    public WalkRoute saveWalkRoute(User user, String name, LineString routeData, Double distance, Integer duration,
+                                   boolean isShared, boolean simplify) {
         WalkRoute walkRoute = WalkRoute.builder()
                 .user(user)
                 .name(name)
-                .routeData(routeData)
+                .routeData(simplify ? trackSimplifier.simplify(routeData) : routeData)
                 .distance(distance)
                 .duration(duration)
                 .isShared(isShared)
@@ -59,5 +73,7 @@ public class WalkRouteService {
     @Transactional
     public void deleteRoute(Long routeId) {
         walkRouteRepository.deleteById(routeId);
+        popularRouteTracker.removeRoute(routeId);
+        routeMatcherCache.evict(routeId);
     }
 }
@@ -0,0 +1,267 @@
+package com.pawvent.pawventserver.service;
+
+import com.pawvent.pawventserver.dto.CursorPageResponse;
+import com.pawvent.pawventserver.dto.WalkSessionResponse;
+import com.pawvent.pawventserver.repository.WalkSessionRepository;
+import com.pawvent.pawventserver.util.KeysetCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * 산책 세션 저장소 관리 (월별 파티션 + 보관 테이블)
+ *
+ * walk_session이 walk-session-partitioning.sql로 월별 파티션 테이블로 전환되어 있으면
+ * 앞으로 사용할 월 파티션을 미리 만들고, 비워진 오래된 파티션은 삭제합니다.
+ * 오래된 완료 기록과 삭제 후 보관 기간이 지난 기록은 walk_session_archive로 옮겨
+ * 운영 테이블의 인덱스 크기와 VACUUM 부담을 줄이며, 보관된 기록은 별도 조회로 확인할 수 있습니다.
+ * 보관으로 옮겨도 일별 집계(walk_daily_rollup)는 그대로 유지됩니다.
+ */
+@Slf4j
+@Service
+public class WalkSessionArchiveService {
+
+    /** 보관 테이블 (인덱스는 사용자별 조회용 하나만 유지) */
+    public static final String ARCHIVE_TABLE_DDL = "CREATE TABLE IF NOT EXISTS walk_session_archive (" +
+            "id bigint PRIMARY KEY, user_id bigint NOT NULL, pet_id bigint NOT NULL, route_id bigint, " +
+            "start_time timestamp(6) with time zone NOT NULL, end_time timestamp(6) with time zone, " +
+            "actual_path geometry(LineString,4326), actual_distance double precision, actual_duration integer, " +
+            "moving_duration integer, pause_count integer, route_adherence double precision, is_completed boolean NOT NULL, " +
+            "deleted_at timestamp(6) with time zone, created_at timestamp(6) with time zone, " +
+            "updated_at timestamp(6) with time zone, archived_at timestamp(6) with time zone NOT NULL DEFAULT NOW())";
+
+    /** 보관 테이블 보조 설정 (경로 lz4 압축은 서버가 지원하지 않으면 실패할 수 있음) */
+    public static final List<String> ARCHIVE_TABLE_OPTIONS = List.of(
+            "CREATE INDEX IF NOT EXISTS ix_walk_session_archive_user_start ON walk_session_archive (user_id, start_time DESC, id DESC)",
+            "ALTER TABLE walk_session_archive ALTER COLUMN actual_path SET COMPRESSION lz4",
+            "ALTER TABLE walk_session_archive ADD COLUMN IF NOT EXISTS route_adherence double precision"
+    );
+
+    private static final String SESSION_COLUMNS = "id, user_id, pet_id, route_id, start_time, end_time, actual_path, " +
+            "actual_distance, actual_duration, moving_duration, pause_count, route_adherence, is_completed, deleted_at, created_at, updated_at";
+
+    // 한 번에 batch-size개씩 잠그고(SKIP LOCKED) 삭제한 행을 그대로 보관 테이블에 넣음
+    private static final String MOVE_SQL = "WITH target AS (" +
+            "SELECT id, start_time FROM walk_session WHERE %s LIMIT ? FOR UPDATE SKIP LOCKED), " +
+            "moved AS (DELETE FROM walk_session ws USING target t " +
+            "WHERE ws.id = t.id AND ws.start_time = t.start_time RETURNING ws.*) " +
+            "INSERT INTO walk_session_archive (" + SESSION_COLUMNS + ") " +
+            "SELECT " + SESSION_COLUMNS + " FROM moved";
+
+    private static final String OLD_COMPLETED_CONDITION = "start_time < ? AND is_completed = true";
+    private static final String DELETED_CONDITION = "deleted_at IS NOT NULL AND deleted_at < ?";
+
+    private static final String ARCHIVE_RESPONSE_SELECT = "SELECT a.id, a.user_id, u.nickname, a.pet_id, p.name AS pet_name, " +
+            "a.route_id, r.name AS route_name, a.actual_distance, a.actual_duration, a.moving_duration, a.pause_count, a.route_adherence, " +
+            "a.start_time, a.end_time, a.is_completed, a.created_at " +
+            "FROM walk_session_archive a " +
+            "LEFT JOIN users u ON u.id = a.user_id " +
+            "LEFT JOIN pet p ON p.id = a.pet_id " +
+            "LEFT JOIN walk_route r ON r.id = a.route_id " +
+            "WHERE a.user_id = ? AND a.deleted_at IS NULL AND (a.start_time, a.id) < (?, ?) " +
+            "ORDER BY a.start_time DESC, a.id DESC LIMIT ?";
+
+    private static final String PARTITION_PREFIX = "walk_session_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${pawvent.walk.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${pawvent.walk.archive.archive-after-months:24}")
+    private int archiveAfterMonths;
+
+    @Value("${pawvent.walk.archive.deleted-retention-days:30}")
+    private int deletedRetentionDays;
+
+    @Value("${pawvent.walk.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${pawvent.walk.archive.max-batches:20}")
+    private int maxBatches;
+
+    @Value("${pawvent.walk.archive.premake-months:3}")
+    private int premakeMonths;
+
+    public WalkSessionArchiveService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 보관 테이블과 보관 대상 조회용 인덱스를 준비합니다 (애플리케이션 시작 시 호출).
+     */
+    public void ensureArchiveTable() {
+        jdbcTemplate.execute(ARCHIVE_TABLE_DDL);
+        for (String option : ARCHIVE_TABLE_OPTIONS) {
+            try {
+                jdbcTemplate.execute(option);
+            } catch (DataAccessException e) {
+                log.warn("보관 테이블 설정 실패 (무시 가능): {}", e.getMessage());
+            }
+        }
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS ix_walk_session_deleted ON walk_session (deleted_at) " +
+                "WHERE deleted_at IS NOT NULL");
+    }
+
+    /**
+     * 하루 한 번 파티션을 준비하고 오래된 기록을 보관 테이블로 옮깁니다.
+     */
+    @Scheduled(cron = "${pawvent.walk.archive.cron:0 30 3 * * *}")
+    public void maintainScheduled() {
+        if (enabled) {
+            maintain();
+        }
+    }
+
+    /**
+     * 저장소 관리 작업을 한 차례 실행합니다.
+     * 파티션 테이블이 아니면 파티션 관련 작업은 건너뛰고 보관 이동만 수행합니다.
+     */
+    public void maintain() {
+        try {
+            boolean partitioned = isPartitioned();
+            int created = partitioned ? ensureFuturePartitions() : 0;
+            OffsetDateTime archiveBefore = archiveCutoff();
+            int archived = moveToArchive(OLD_COMPLETED_CONDITION, archiveBefore);
+            archived += moveToArchive(DELETED_CONDITION, OffsetDateTime.now().minusDays(deletedRetentionDays));
+            int dropped = partitioned ? dropEmptyPartitionsBefore(archiveBefore.toLocalDate()) : 0;
+            log.info("산책 세션 저장소 관리 완료: partitioned={}, createdPartitions={}, archived={}, droppedPartitions={}",
+                    partitioned, created, archived, dropped);
+        } catch (RuntimeException e) {
+            log.warn("산책 세션 저장소 관리 중 오류 발생, 다음 실행에서 이어서 처리합니다", e);
+        }
+    }
+
+    /**
+     * 보관된 산책 기록을 최신순으로 조회합니다 (삭제된 기록 제외).
+     *
+     * @param userId 사용자 ID
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+     * @param size 페이지 크기 (MAX_LIST_LIMIT 이하로 제한)
+     * @return 커서 페이지
+     * @throws IllegalArgumentException 커서 형식이 잘못된 경우
+     */
+    public CursorPageResponse<WalkSessionResponse> getArchivedSessions(Long userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, WalkSessionService.MAX_LIST_LIMIT));
+        KeysetCursor keyset = KeysetCursor.decode(cursor);
+
+        List<WalkSessionResponse> rows = jdbcTemplate.query(ARCHIVE_RESPONSE_SELECT, WalkSessionRepository.RESPONSE_ROW_MAPPER,
+                userId, keyset.getStartTime(), keyset.getId(), pageSize + 1);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<WalkSessionResponse> content = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            WalkSessionResponse last = content.get(content.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getStartTime(), last.getId());
+        }
+        return new CursorPageResponse<>(content, pageSize, hasNext, nextCursor);
+    }
+
+    /**
+     * walk_session이 파티션 테이블인지 확인합니다.
+     */
+    public boolean isPartitioned() {
+        Boolean partitioned = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt " +
+                "WHERE pt.partrelid = to_regclass('walk_session'))", Boolean.class);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    /**
+     * 이번 달부터 premake-months개월 뒤까지의 월 파티션을 만듭니다 (경계는 UTC 기준).
+     * 기본 파티션에 이미 해당 월의 행이 있으면 생성에 실패하므로 경고만 남기고 넘어갑니다.
+     *
+     * @return 새로 만든 파티션 수
+     */
+    int ensureFuturePartitions() {
+        LocalDate month = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+        int created = 0;
+        for (int i = 0; i <= premakeMonths; i++, month = month.plusMonths(1)) {
+            String name = PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+            Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name);
+            if (Boolean.TRUE.equals(exists)) {
+                continue;
+            }
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF walk_session " +
+                        "FOR VALUES FROM ('" + month + " 00:00:00+00') TO ('" + month.plusMonths(1) + " 00:00:00+00')");
+                created++;
+            } catch (DataAccessException e) {
+                log.warn("산책 세션 월 파티션 생성 실패: partition={}, reason={}", name, e.getMessage());
+            }
+        }
+        return created;
+    }
+
+    /**
+     * 조건에 맞는 세션을 batch-size개씩 짧은 트랜잭션으로 보관 테이블에 옮깁니다.
+     *
+     * @return 옮긴 세션 수
+     */
+    private int moveToArchive(String condition, OffsetDateTime before) {
+        String sql = String.format(MOVE_SQL, condition);
+        int moved = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer count = transactionTemplate.execute(status -> jdbcTemplate.update(sql, before, batchSize));
+            if (count == null || count == 0) {
+                break;
+            }
+            moved += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * 보관 기준 이전의 월 파티션 중 비어 있는 것을 삭제합니다.
+     * 진행 중으로 남은 행 등이 있으면 그대로 둡니다.
+     *
+     * @return 삭제한 파티션 수
+     */
+    private int dropEmptyPartitionsBefore(LocalDate cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = to_regclass('walk_session') AND c.relname LIKE '" + PARTITION_PREFIX + "%' " +
+                "ORDER BY c.relname", String.class);
+        int dropped = 0;
+        for (String name : partitions) {
+            LocalDate month;
+            try {
+                month = LocalDate.parse(name.substring(PARTITION_PREFIX.length()) + "01", DateTimeFormatter.BASIC_ISO_DATE);
+            } catch (RuntimeException e) {
+                continue;
+            }
+            if (month.plusMonths(1).isAfter(cutoff)) {
+                break;
+            }
+            Boolean empty = jdbcTemplate.queryForObject("SELECT NOT EXISTS (SELECT 1 FROM " + name + ")", Boolean.class);
+            if (Boolean.TRUE.equals(empty)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + name);
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    private OffsetDateTime archiveCutoff() {
+        return LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1).minusMonths(archiveAfterMonths)
+                .atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,207 @@
+package com.pawvent.pawventserver.service;
+
+import com.pawvent.pawventserver.repository.WalkSessionRepository;
+import com.pawvent.pawventserver.util.TransactionCallbacks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 방치된 진행 중 산책 세션 정리 작업
+ *
+ * 시작만 하고 완료/취소하지 않은 세션은 is_completed=false로 계속 남아
+ * 진행 중 세션 조회 결과를 오염시키므로 주기적으로 정리합니다.
+ * - GPS 경로가 기록된 세션: 마지막 체크포인트 시각을 종료 시각으로 자동 완료 (집계에도 반영)
+ * - 경로가 없는 세션: 취소(소프트 삭제)
+ * 정리한 세션에 열려 있던 실시간 공유 채널은 커밋 후 닫습니다.
+ * 한 번에 batch-size개씩 짧은 트랜잭션으로 처리하여 긴 잠금을 만들지 않습니다.
+ */
+@Slf4j
+@Service
+public class WalkSessionReaper {
+
+    private final WalkSessionRepository walkSessionRepository;
+    private final WalkRollupService walkRollupService;
+    private final WalkStreakService walkStreakService;
+    private final ActiveWalkRegistry activeWalkRegistry;
+    private final PopularRouteTracker popularRouteTracker;
+    private final LiveWalkShareService liveWalkShareService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicLong totalRuns = new AtomicLong();
+    private final AtomicLong totalCompleted = new AtomicLong();
+    private final AtomicLong totalCancelled = new AtomicLong();
+    private volatile ReaperStats lastRun;
+
+    @Value("${pawvent.walk.reaper.enabled:true}")
+    private boolean enabled;
+
+    @Value("${pawvent.walk.reaper.stale-after-hours:6}")
+    private long staleAfterHours;
+
+    @Value("${pawvent.walk.reaper.idle-minutes:60}")
+    private long idleMinutes;
+
+    @Value("${pawvent.walk.reaper.batch-size:200}")
+    private int batchSize;
+
+    @Value("${pawvent.walk.reaper.max-batches:20}")
+    private int maxBatches;
+
+    public WalkSessionReaper(WalkSessionRepository walkSessionRepository,
+                             WalkRollupService walkRollupService,
+                             WalkStreakService walkStreakService,
+                             ActiveWalkRegistry activeWalkRegistry,
+                             PopularRouteTracker popularRouteTracker,
+                             LiveWalkShareService liveWalkShareService,
+                             PlatformTransactionManager transactionManager) {
+        this.walkSessionRepository = walkSessionRepository;
+        this.walkRollupService = walkRollupService;
+        this.walkStreakService = walkStreakService;
+        this.activeWalkRegistry = activeWalkRegistry;
+        this.popularRouteTracker = popularRouteTracker;
+        this.liveWalkShareService = liveWalkShareService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 주기적으로 방치된 세션을 정리합니다.
+     * 한 번의 실행에서 최대 max-batches개의 묶음만 처리하고, 남은 세션은 다음 실행으로 넘깁니다.
+     */
+    @Scheduled(fixedDelayString = "${pawvent.walk.reaper.interval-ms:600000}",
+               initialDelayString = "${pawvent.walk.reaper.initial-delay-ms:60000}")
+    public void reapScheduled() {
+        if (enabled) {
+            reap();
+        }
+    }
+
+    /**
+     * 방치된 세션을 한 차례 정리합니다.
+     *
+     * @return 이번 실행 결과
+     */
+    public ReaperStats reap() {
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime startedBefore = now.minusHours(staleAfterHours);
+        OffsetDateTime idleBefore = now.minusMinutes(idleMinutes);
+
+        long afterId = 0L;
+        int completed = 0;
+        int cancelled = 0;
+        int batches = 0;
+        try {
+            while (batches < maxBatches) {
+                long cursor = afterId;
+                BatchResult result = transactionTemplate.execute(status ->
+                        reapBatch(startedBefore, idleBefore, cursor));
+                batches++;
+                if (result == null || result.lastId == null) {
+                    break;
+                }
+                completed += result.completed;
+                cancelled += result.cancelled;
+                afterId = result.lastId;
+                if (result.scanned < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("방치된 산책 세션 정리 중 오류 발생, 다음 실행에서 이어서 처리합니다", e);
+        }
+
+        totalRuns.incrementAndGet();
+        totalCompleted.addAndGet(completed);
+        totalCancelled.addAndGet(cancelled);
+        ReaperStats stats = new ReaperStats(now, completed, cancelled, batches,
+                totalRuns.get(), totalCompleted.get(), totalCancelled.get());
+        lastRun = stats;
+        if (completed > 0 || cancelled > 0) {
+            log.info("방치된 산책 세션 정리: completed={}, cancelled={}, batches={}", completed, cancelled, batches);
+        }
+        return stats;
+    }
+
+    /**
+     * 마지막 정리 실행 결과와 누적 처리 건수를 조회합니다.
+     *
+     * @return 정리 통계 (아직 실행 전이면 누적 값만 채워진 결과)
+     */
+    public ReaperStats getStats() {
+        ReaperStats stats = lastRun;
+        if (stats != null) {
+            return stats;
+        }
+        return new ReaperStats(null, 0, 0, 0, totalRuns.get(), totalCompleted.get(), totalCancelled.get());
+    }
+
+    private BatchResult reapBatch(OffsetDateTime startedBefore, OffsetDateTime idleBefore, long afterId) {
+        List<Long> ids = walkSessionRepository.lockStaleOpenSessionIds(startedBefore, idleBefore, afterId, batchSize);
+        if (ids.isEmpty()) {
+            return new BatchResult(0, 0, 0, null);
+        }
+        Long lastId = ids.get(ids.size() - 1);
+
+        // 이 노드에서 아직 좌표를 받고 있는 세션은 건너뜀
+        List<Long> targets = ids.stream()
+                .filter(id -> !activeWalkRegistry.isActive(id))
+                .toList();
+        if (targets.isEmpty()) {
+            return new BatchResult(ids.size(), 0, 0, lastId);
+        }
+
+        int completed = walkSessionRepository.autoCompleteStaleSessions(targets);
+        if (completed > 0) {
+            walkRollupService.recordCompletedBatch(targets);
+            walkStreakService.recordCompletedSessions(targets);
+            popularRouteTracker.recordCompletedSessions(targets);
+        }
+        int cancelled = walkSessionRepository.cancelStaleSessions(targets);
+        // 대상은 모두 자동 완료 또는 취소되었으므로 시청자에게 종료를 알림
+        TransactionCallbacks.afterCommit(() -> targets.forEach(liveWalkShareService::endSession));
+        return new BatchResult(ids.size(), completed, cancelled, lastId);
+    }
+
+    private record BatchResult(int scanned, int completed, int cancelled, Long lastId) {
+    }
+
+    /**
+     * 정리 작업 통계
+     */
+    public static class ReaperStats {
+        private final OffsetDateTime lastRunAt;
+        private final int lastCompleted;
+        private final int lastCancelled;
+        private final int lastBatches;
+        private final long totalRuns;
+        private final long totalCompleted;
+        private final long totalCancelled;
+
+        public ReaperStats(OffsetDateTime lastRunAt, int lastCompleted, int lastCancelled, int lastBatches,
+                           long totalRuns, long totalCompleted, long totalCancelled) {
+            this.lastRunAt = lastRunAt;
+            this.lastCompleted = lastCompleted;
+            this.lastCancelled = lastCancelled;
+            this.lastBatches = lastBatches;
+            this.totalRuns = totalRuns;
+            this.totalCompleted = totalCompleted;
+            this.totalCancelled = totalCancelled;
+        }
+
+        // Getters
+        public OffsetDateTime getLastRunAt() { return lastRunAt; }
+        public int getLastCompleted() { return lastCompleted; }
+        public int getLastCancelled() { return lastCancelled; }
+        public int getLastBatches() { return lastBatches; }
+        public long getTotalRuns() { return totalRuns; }
+        public long getTotalCompleted() { return totalCompleted; }
+        public long getTotalCancelled() { return totalCancelled; }
+    }
+}
@@ -4,28 +4,54 @@ import com.pawvent.pawventserver.domain.Pet;
 import com.pawvent.pawventserver.domain.User;
 import com.pawvent.pawventserver.domain.WalkRoute;
 import com.pawvent.pawventserver.domain.WalkSession;
+import com.pawvent.pawventserver.repository.WalkDailyRollupRepository;
+import com.pawvent.pawventserver.dto.CursorPageResponse;
+import com.pawvent.pawventserver.dto.WalkCalendarResponse;
+import com.pawvent.pawventserver.dto.WalkStreakResponse;
+import com.pawvent.pawventserver.dto.WalkSessionResponse;
+import com.pawvent.pawventserver.repository.WalkRouteRepository;
 import com.pawvent.pawventserver.repository.WalkSessionRepository;
+import com.pawvent.pawventserver.util.GeoUtils;
+import com.pawvent.pawventserver.util.KeysetCursor;
+import org.locationtech.jts.geom.LineString;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class WalkSessionService {
     
+    /** 목록 조회 한 번에 반환하는 최대 세션 수 */
+    public static final int MAX_LIST_LIMIT = 500;
+    
     private final WalkSessionRepository walkSessionRepository;
+    private final WalkTrackService walkTrackService;
+    private final WalkRollupService walkRollupService;
+    private final PopularRouteTracker popularRouteTracker;
+    private final WalkRouteRepository walkRouteRepository;
+    private final WalkStreakService walkStreakService;
+    private final UserService userService;
     
     /**
      * 새로운 산책 세션을 시작합니다.
      * 사용자가 특정 반려동물과 함께 선택한 경로로 산책을 시작할 때 호출됩니다.
      * 시작 시간이 자동으로 기록되며, 완료 상태는 false로 설정됩니다.
+     * 생성된 세션은 진행 중 레지스트리에 등록되어 이후 좌표 전송/상태 조회 시 DB를 다시 읽지 않습니다.
      * 
      * @param user 산책을 하는 사용자
      * @param pet 산책에 참여하는 반려동물
@@ -38,48 +64,103 @@ public class WalkSessionService {
                 .user(user)
                 .pet(pet)
                 .route(route)
-                .startTime(OffsetDateTime.now())
+                // DB 정밀도(마이크로초)에 맞춰 저장된 값과 같은 시작 시각을 레지스트리에 등록
+                .startTime(OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS))
                 .isCompleted(false)
                 .build();
         
-        return walkSessionRepository.save(walkSession);
+        WalkSession savedSession = walkSessionRepository.save(walkSession);
+        walkTrackService.openSession(savedSession);
+        return savedSession;
     }
     
     /**
      * 진행 중인 산책 세션을 완료합니다.
-     * 산책 결과데이터(거리, 소요시간, 칼로리)와 사진, 메모를 추가할 수 있습니다.
-     * 세션 주인만 완료할 수 있으며, 이미 완료된 세션은 다시 완료할 수 없습니다.
+     * 거리와 시간은 서버가 직접 계산합니다.
+     * - 거리: 수신한 GPS 좌표의 누적 거리 (다른 노드에서 진행된 세션이면 마지막 체크포인트 값, 없으면 저장된 경로 길이)
+     * - 소요시간: 시작 시각부터 완료 시각까지의 경과 시간
+     * - 이동 시간/휴식 횟수: 좌표 수신 시 누적 계산한 통계
+     * 클라이언트가 보낸 거리는 GPS 경로가 전혀 없는 경우에만 사용합니다.
+     * 세션 주인만 완료할 수 있으며, 삭제되었거나 이미 완료된 세션은 완료할 수 없습니다.
+     * 세션 행을 잠근 뒤 집계를 반영하므로 동시 완료 요청이나 정리 작업과 중복 집계되지 않습니다.
      * 
      * @param sessionId 완료할 세션의 ID
      * @param user 산책 세션 주인 (권한 검증용)
-     * @param distance 실제 산책 거리 (미터 단위)
-     * @param duration 실제 산책 시간 (초 단위)
-     * @param calories 소모 칼로리
-     * @param imageUrls 산책 중 촬영한 사진들의 URL 목록
-     * @param memo 산책 후기 또는 메모
+     * @param clientDistance 클라이언트가 측정한 거리 (미터 단위, 경로가 없을 때만 사용, 선택사항)
      * @return 완료된 산책 세션
-     * @throws IllegalArgumentException 권한이 없거나 이미 완료된 세션인 경우
+     * @throws IllegalArgumentException 권한이 없거나 삭제/완료된 세션인 경우
      */
     @Transactional
-    public WalkSession completeWalkSession(Long sessionId, User user, double distance, int duration) {
+    public WalkSession completeWalkSession(Long sessionId, User user, Double clientDistance) {
         WalkSession walkSession = getWalkSessionById(sessionId);
         
         if (!walkSession.getUser().getId().equals(user.getId())) {
             throw new IllegalArgumentException("산책 세션을 완료할 권한이 없습니다.");
         }
         
+        if (walkSession.getDeletedAt() != null) {
+            throw new IllegalArgumentException("삭제된 산책 세션입니다.");
+        }
+        
         if (walkSession.getIsCompleted()) {
             throw new IllegalArgumentException("이미 완료된 산책 세션입니다.");
         }
         
+        // 검증을 통과한 뒤에만 버퍼에 남은 GPS 좌표와 누적 통계를 같은 트랜잭션에서 반영
+        WalkTrackService.TrackMetrics metrics = walkTrackService.getMetrics(sessionId);
+        Double routeAdherence = walkTrackService.getRouteAdherence(sessionId);
+        walkTrackService.flushSession(sessionId);
+        
+        // 동시에 들어온 완료 요청이나 정리 작업과 집계가 중복되지 않도록 세션 행을 잠근 뒤 진행
+        // 플러시는 세션별 flushLock을 잡고 행을 갱신하므로, 행을 먼저 잠그면 주기 플러시와 교착될 수 있어 플러시 뒤에 잠금
+        if (walkSessionRepository.lockOpenSession(sessionId, walkSession.getStartTime()) == 0) {
+            throw new IllegalArgumentException("이미 완료된 산책 세션입니다.");
+        }
+        // 잠금/반영 UPDATE가 영속성 컨텍스트를 비우므로 반영된 경로를 다시 읽음
+        walkSession = getWalkSessionById(sessionId);
+        
+        // 시작부터 좌표를 받은 노드가 아니면 저장된 경로 전체로 루트 준수율을 다시 계산
+        if (routeAdherence == null && walkSession.getRoute() != null) {
+            routeAdherence = walkTrackService.computeRouteAdherence(walkSession.getRoute(), walkSession.getActualPath());
+        }
+        
+        // 다른 노드에서 진행된 세션이면 메모리 통계 대신 마지막 체크포인트 값을 사용
+        OffsetDateTime endTime = OffsetDateTime.now();
         WalkSession completedSession = walkSession.toBuilder()
-                .endTime(OffsetDateTime.now())
-                .actualDistance(distance)
-                .actualDuration(duration)
+                .endTime(endTime)
+                .actualDistance(resolveDistance(walkSession, metrics, clientDistance))
+                .actualDuration((int) Duration.between(walkSession.getStartTime(), endTime).getSeconds())
+                .movingDuration(metrics != null ? Integer.valueOf((int) metrics.getMovingSeconds()) : walkSession.getMovingDuration())
+                .pauseCount(metrics != null ? Integer.valueOf(metrics.getPauseCount()) : walkSession.getPauseCount())
+                .routeAdherence(routeAdherence)
                 .isCompleted(true)
                 .build();
         
-        return walkSessionRepository.save(completedSession);
+        WalkSession savedSession = walkSessionRepository.save(completedSession);
+        walkTrackService.closeSession(sessionId);
+        walkRollupService.recordCompleted(savedSession);
+        walkStreakService.recordCompleted(savedSession);
+        popularRouteTracker.recordCompleted(savedSession);
+        return savedSession;
+    }
+    
+    /**
+     * 완료 시점의 산책 거리를 결정합니다.
+     * 수신 좌표 누적 거리 → 체크포인트된 누적 거리 → 저장된 경로 → 클라이언트 값 순으로 사용합니다.
+     * 저장된 경로는 단순화되어 실제보다 짧으므로, 단순화 전 좌표로 계산한 누적 거리가 전혀 없을 때만 사용합니다.
+     */
+    private double resolveDistance(WalkSession walkSession, WalkTrackService.TrackMetrics metrics, Double clientDistance) {
+        if (metrics != null) {
+            return metrics.getDistanceMeters();
+        }
+        if (walkSession.getActualDistance() != null) {
+            return walkSession.getActualDistance();
+        }
+        LineString actualPath = walkSession.getActualPath();
+        if (actualPath != null && actualPath.getNumPoints() >= 2) {
+            return GeoUtils.lengthMeters(actualPath.getCoordinateSequence());
+        }
+        return clientDistance != null ? clientDistance : 0.0;
     }
     
     /**
@@ -105,12 +186,20 @@ public class WalkSessionService {
             throw new IllegalArgumentException("산책 세션을 수정할 권한이 없습니다.");
         }
         
+        Double previousDistance = walkSession.getActualDistance();
+        Integer previousDuration = walkSession.getActualDuration();
+        boolean countedInRollup = walkSession.getIsCompleted() && walkSession.getDeletedAt() == null;
+        
         WalkSession updatedSession = walkSession.toBuilder()
                 .actualDistance(distance)
                 .actualDuration(duration)
                 .build();
         
-        return walkSessionRepository.save(updatedSession);
+        WalkSession savedSession = walkSessionRepository.save(updatedSession);
+        if (countedInRollup) {
+            walkRollupService.recordEdited(savedSession, previousDistance, previousDuration);
+        }
+        return savedSession;
     }
     
     /**
@@ -130,11 +219,19 @@ public class WalkSessionService {
             throw new IllegalArgumentException("산책 세션을 취소할 권한이 없습니다.");
         }
         
+        boolean countedInRollup = walkSession.getIsCompleted() && walkSession.getDeletedAt() == null;
+        
         WalkSession cancelledSession = walkSession.toBuilder()
                 .deletedAt(OffsetDateTime.now())
                 .build();
         
-        walkSessionRepository.save(cancelledSession);
+        WalkSession savedSession = walkSessionRepository.save(cancelledSession);
+        walkTrackService.closeSession(sessionId);
+        if (countedInRollup) {
+            walkRollupService.recordRemoved(savedSession);
+            walkStreakService.recordRemoved(savedSession);
+            popularRouteTracker.recordRemoved(savedSession);
+        }
     }
     
     /**
@@ -150,18 +247,63 @@ public class WalkSessionService {
     }
     
     /**
-     * 특정 사용자의 모든 산책 세션을 조회합니다.
-     * 삭제되지 않은 세션만 최신순으로 반환합니다.
+     * ID로 산책 세션 응답을 조회합니다 (연관 엔티티를 조인한 DTO 프로젝션).
+     * 
+     * @param sessionId 조회할 세션의 고유 ID
+     * @return 산책 세션 응답
+     * @throws IllegalArgumentException 세션을 찾을 수 없는 경우
+     */
+    public WalkSessionResponse getWalkSessionResponseById(Long sessionId) {
+        return walkSessionRepository.findResponseById(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("산책 세션을 찾을 수 없습니다."));
+    }
+    
+    /**
+     * 특정 사용자의 산책 세션을 최신순으로 최대 limit개 조회합니다.
+     * 삭제되지 않은 세션만 반환하며, 전체 기록은 커서 조회로 이어서 받아야 합니다.
+     * 목록 조회 메서드들은 엔티티 대신 응답 DTO 프로젝션을 한 번의 쿼리로 읽습니다.
      * 
      * @param user 산책 세션을 조회할 사용자
+     * @param limit 최대 조회 개수 (MAX_LIST_LIMIT 이하로 제한)
      * @return 해당 사용자의 산책 세션 목록 (최신순)
      */
-    public List<WalkSession> getWalkSessionsByUser(User user) {
-        return walkSessionRepository.findByUserAndDeletedAtIsNullOrderByStartTimeDesc(user);
+    public List<WalkSessionResponse> getWalkSessionsByUser(User user, int limit) {
+        return findFirstPage(user, StatusFilter.ALL, limit);
+    }
+    
+    /**
+     * 커서(keyset) 기반으로 사용자의 산책 세션을 최신순 조회합니다.
+     * (시작 시각, ID) 기준으로 커서 이후의 세션만 읽으므로 페이지 깊이와 상관없이 비용이 일정하고,
+     * 전체 개수(count) 쿼리를 실행하지 않습니다.
+     * 
+     * @param user 산책 세션을 조회할 사용자
+     * @param status 완료 상태 필터
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+     * @param size 페이지 크기 (MAX_LIST_LIMIT 이하로 제한)
+     * @return 커서 페이지
+     * @throws IllegalArgumentException 커서 형식이 잘못된 경우
+     */
+    public CursorPageResponse<WalkSessionResponse> getWalkSessionsByCursor(User user, StatusFilter status, String cursor, int size) {
+        int pageSize = clampLimit(size);
+        KeysetCursor keyset = KeysetCursor.decode(cursor);
+        
+        // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+        List<WalkSessionResponse> rows = walkSessionRepository.findResponsesByUserBeforeCursor(
+                user, status.completedStates(), keyset.getStartTime(), keyset.getId(),
+                PageRequest.of(0, pageSize + 1));
+        
+        boolean hasNext = rows.size() > pageSize;
+        List<WalkSessionResponse> content = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            WalkSessionResponse last = content.get(content.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getStartTime(), last.getId());
+        }
+        return new CursorPageResponse<>(content, pageSize, hasNext, nextCursor);
     }
     
-    public Page<WalkSession> getWalkSessionsByUser(User user, Pageable pageable) {
-        return walkSessionRepository.findByUserAndDeletedAtIsNullOrderByStartTimeDesc(user, pageable);
+    public Page<WalkSessionResponse> getWalkSessionsByUser(User user, Pageable pageable) {
+        return walkSessionRepository.findResponsesByUser(user, pageable);
     }
     
     public List<WalkSession> getWalkSessionsByPet(Pet pet) {
@@ -172,37 +314,51 @@ public class WalkSessionService {
         return walkSessionRepository.findByRouteAndDeletedAtIsNullOrderByStartTimeDesc(route);
     }
     
-    public List<WalkSession> getCompletedWalkSessions(User user) {
-        return walkSessionRepository.findByUserAndIsCompletedTrueAndDeletedAtIsNullOrderByStartTimeDesc(user);
+    public List<WalkSessionResponse> getCompletedWalkSessions(User user, int limit) {
+        return findFirstPage(user, StatusFilter.COMPLETED, limit);
     }
     
-    public List<WalkSession> getActiveWalkSessions(User user) {
-        return walkSessionRepository.findByUserAndIsCompletedFalseAndDeletedAtIsNullOrderByStartTimeDesc(user);
+    public List<WalkSessionResponse> getActiveWalkSessions(User user, int limit) {
+        return findFirstPage(user, StatusFilter.ACTIVE, limit);
     }
     
-    public List<WalkSession> getWalkSessionsByDate(User user, LocalDate date) {
-        OffsetDateTime startOfDay = date.atStartOfDay(java.time.ZoneOffset.UTC).toOffsetDateTime();
-        OffsetDateTime endOfDay = date.plusDays(1).atStartOfDay(java.time.ZoneOffset.UTC).toOffsetDateTime();
+    /**
+     * 특정 날짜의 산책 세션 조회 (사용자 시간대 기준 하루)
+     */
+    public List<WalkSessionResponse> getWalkSessionsByDate(User user, LocalDate date) {
+        java.time.ZoneId zone = userService.getZoneId(user);
+        OffsetDateTime startOfDay = date.atStartOfDay(zone).toOffsetDateTime();
+        OffsetDateTime endOfDay = date.plusDays(1).atStartOfDay(zone).toOffsetDateTime();
         
-        return walkSessionRepository.findByUserAndStartTimeBetweenAndDeletedAtIsNullOrderByStartTimeDesc(
-                user, startOfDay, endOfDay);
+        return walkSessionRepository.findResponsesByUserAndStartTimeRange(
+                user, startOfDay, endOfDay, PageRequest.of(0, MAX_LIST_LIMIT));
     }
     
-    public List<WalkSession> getWalkSessionsByDateRange(User user, LocalDate startDate, LocalDate endDate) {
-        OffsetDateTime startDateTime = startDate.atStartOfDay(java.time.ZoneOffset.UTC).toOffsetDateTime();
-        OffsetDateTime endDateTime = endDate.plusDays(1).atStartOfDay(java.time.ZoneOffset.UTC).toOffsetDateTime();
+    /**
+     * 기간별 산책 세션 조회 (사용자 시간대 기준 날짜)
+     */
+    public List<WalkSessionResponse> getWalkSessionsByDateRange(User user, LocalDate startDate, LocalDate endDate, int limit) {
+        java.time.ZoneId zone = userService.getZoneId(user);
+        OffsetDateTime startDateTime = startDate.atStartOfDay(zone).toOffsetDateTime();
+        OffsetDateTime endDateTime = endDate.plusDays(1).atStartOfDay(zone).toOffsetDateTime();
         
-        return walkSessionRepository.findByUserAndStartTimeBetweenAndDeletedAtIsNullOrderByStartTimeDesc(
-                user, startDateTime, endDateTime);
+        return walkSessionRepository.findResponsesByUserAndStartTimeRange(
+                user, startDateTime, endDateTime, PageRequest.of(0, clampLimit(limit)));
+    }
+    
+    public List<WalkSessionResponse> getRecentWalkSessions(User user, int limit) {
+        return findFirstPage(user, StatusFilter.ALL, limit);
+    }
+    
+    private List<WalkSessionResponse> findFirstPage(User user, StatusFilter status, int limit) {
+        KeysetCursor first = KeysetCursor.first();
+        return walkSessionRepository.findResponsesByUserBeforeCursor(
+                user, status.completedStates(), first.getStartTime(), first.getId(),
+                PageRequest.of(0, clampLimit(limit)));
     }
     
-    public List<WalkSession> getRecentWalkSessions(User user, int limit) {
-        org.springframework.data.domain.Page<WalkSession> page =
-                walkSessionRepository.findByUserAndDeletedAtIsNullOrderByStartTimeDesc(
-                        user,
-                        org.springframework.data.domain.PageRequest.of(0, Math.max(1, limit))
-                );
-        return page.getContent();
+    private int clampLimit(int limit) {
+        return Math.min(Math.max(1, limit), MAX_LIST_LIMIT);
     }
     
     public boolean isWalkSessionOwner(Long sessionId, User user) {
@@ -214,8 +370,13 @@ public class WalkSessionService {
         return walkSessionRepository.countByUserAndIsCompletedTrueAndDeletedAtIsNull(user);
     }
     
+    /**
+     * 반려동물의 완료된 산책 횟수 조회
+     * 세션을 세지 않고 반려동물의 일별 집계 행만 합산합니다.
+     */
     public long getPetWalkSessionCount(Pet pet) {
-        return walkSessionRepository.countByPetAndIsCompletedTrueAndDeletedAtIsNull(pet);
+        Long count = walkRollupService.getPetTotals(pet.getId()).getSessionCount();
+        return count != null ? count : 0;
     }
     
     public double getUserTotalDistance(User user) {
@@ -232,22 +393,14 @@ public class WalkSessionService {
     
     /**
      * 특정 기간 동안의 사용자 통계 조회
+     * 세션을 모두 읽지 않고 일별 집계(walk_daily_rollup) 행만 합산합니다.
      */
     public WalkStats getUserWalkStats(User user, LocalDate startDate, LocalDate endDate) {
-        OffsetDateTime startDateTime = startDate.atStartOfDay(java.time.ZoneOffset.UTC).toOffsetDateTime();
-        OffsetDateTime endDateTime = endDate.plusDays(1).atStartOfDay(java.time.ZoneOffset.UTC).toOffsetDateTime();
+        WalkDailyRollupRepository.Totals totals = walkRollupService.getTotals(user.getId(), startDate, endDate);
         
-        List<WalkSession> sessions = walkSessionRepository
-                .findByUserAndStartTimeBetweenAndIsCompletedTrueAndDeletedAtIsNull(
-                        user, startDateTime, endDateTime);
-        
-        long totalSessions = sessions.size();
-        double totalDistance = sessions.stream()
-                .filter(s -> s.getActualDistance() != null)
-                .mapToDouble(WalkSession::getActualDistance).sum();
-        int totalDuration = sessions.stream()
-                .filter(s -> s.getActualDuration() != null)
-                .mapToInt(WalkSession::getActualDuration).sum();
+        long totalSessions = totals.getSessionCount() != null ? totals.getSessionCount() : 0;
+        double totalDistance = totals.getTotalDistance() != null ? totals.getTotalDistance() : 0;
+        int totalDuration = totals.getTotalDuration() != null ? totals.getTotalDuration().intValue() : 0;
         
         double averageDistance = totalSessions > 0 ? totalDistance / totalSessions : 0;
         double averageDuration = totalSessions > 0 ? (double) totalDuration / totalSessions : 0;
@@ -274,11 +427,62 @@ public class WalkSessionService {
         return getUserWalkStats(user, startOfWeek, endOfWeek);
     }
     
+    /**
+     * 연간 산책 달력 조회
+     * 날짜마다 세션을 조회하지 않고 일별 집계에서 1년치를 한 번에 가져옵니다.
+     */
+    public WalkCalendarResponse getYearCalendar(User user, int year) {
+        if (year < 1970 || year > 9999) {
+            throw new IllegalArgumentException("잘못된 연도입니다.");
+        }
+        return walkRollupService.getYearCalendar(user.getId(), year);
+    }
+    
+    /**
+     * 연속 산책 기록 조회 (사용자 전체 + 반려동물별)
+     */
+    public WalkStreakResponse getWalkStreaks(User user) {
+        return walkStreakService.getStreaks(user);
+    }
+    
     /**
      * 가장 인기 있는 산책 경로 조회
+     * 순위는 PopularRouteTracker가 증분으로 유지하며, 여기서는 상위 루트만 ID로 읽어옵니다.
+     * 
+     * @param limit 최대 개수 (MAX_LIST_LIMIT 이하로 제한)
+     * @return 사용 횟수 순 루트 목록
      */
     public List<WalkRoute> getPopularWalkRoutes(int limit) {
-        return walkSessionRepository.findPopularRoutes(limit);
+        List<Long> routeIds = popularRouteTracker.topRouteIds(clampLimit(limit));
+        Map<Long, WalkRoute> routes = new HashMap<>();
+        for (WalkRoute route : walkRouteRepository.findAllById(routeIds)) {
+            routes.put(route.getId(), route);
+        }
+        List<WalkRoute> ranked = new ArrayList<>(routeIds.size());
+        for (Long routeId : routeIds) {
+            WalkRoute route = routes.get(routeId);
+            if (route != null) {
+                ranked.add(route);
+            }
+        }
+        return ranked;
+    }
+    
+    /**
+     * 산책 세션 목록 조회 시 완료 상태 필터
+     */
+    public enum StatusFilter {
+        ALL(Set.of(true, false)),
+        COMPLETED(Set.of(true)),
+        ACTIVE(Set.of(false));
+        
+        private final Set<Boolean> completedStates;
+        
+        StatusFilter(Set<Boolean> completedStates) {
+            this.completedStates = completedStates;
+        }
+        
+        public Set<Boolean> completedStates() { return completedStates; }
     }
     
     /**
@@ -0,0 +1,319 @@
+package com.pawvent.pawventserver.service;
+
+import com.pawvent.pawventserver.domain.User;
+import com.pawvent.pawventserver.domain.WalkSession;
+import com.pawvent.pawventserver.domain.WalkStreak;
+import com.pawvent.pawventserver.dto.WalkStreakResponse;
+import com.pawvent.pawventserver.repository.WalkStreakRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 연속 산책(streak) 서비스
+ *
+ * 산책이 완료/취소될 때 사용자 시간대 기준 날짜로 산책한 날(walk_active_day)을 갱신하고,
+ * 그날이 새로 산책한 날이 되거나 산책하지 않은 날이 될 때만 연속 기록(walk_streak)을 고칩니다.
+ * 가장 흔한 경우(오늘 또는 어제 다음 날의 첫 산책)는 행 하나를 그대로 이어 붙이고,
+ * 과거 날짜가 추가되거나 산책한 날이 사라져 구간이 합쳐지거나 나뉠 수 있는 경우에만
+ * 해당 사용자/반려동물의 산책한 날로 다시 계산합니다 (세션은 읽지 않음).
+ * 같은 사용자의 갱신은 users 행 잠금으로 직렬화합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class WalkStreakService {
+
+    /** 사용자 행을 잠그고 시간대를 읽음 (FK 참조는 막지 않는 잠금) */
+    private static final String LOCK_USER_SQL = "SELECT time_zone FROM users WHERE id = ? FOR NO KEY UPDATE";
+
+    private static final String UPSERT_DAY_SQL = "INSERT INTO walk_active_day " +
+            "(user_id, pet_id, walk_date, session_count, created_at, updated_at) VALUES (?, ?, ?, ?, NOW(), NOW()) " +
+            "ON CONFLICT (user_id, pet_id, walk_date) DO UPDATE SET " +
+            "session_count = walk_active_day.session_count + EXCLUDED.session_count, updated_at = NOW() " +
+            "RETURNING session_count";
+
+    private static final String USER_DAY_COUNT_SQL =
+            "SELECT COALESCE(SUM(session_count), 0) FROM walk_active_day WHERE user_id = ? AND walk_date = ?";
+
+    private static final String STREAK_COLUMNS = "SELECT id, current_length, current_start, last_walk_date, longest_length FROM walk_streak ";
+
+    private static final String SELECT_USER_STREAK_SQL = STREAK_COLUMNS + "WHERE user_id = ? AND pet_id IS NULL";
+
+    private static final String SELECT_PET_STREAK_SQL = STREAK_COLUMNS + "WHERE user_id = ? AND pet_id = ?";
+
+    private static final String UPDATE_STREAK_SQL = "UPDATE walk_streak SET current_length = ?, current_start = ?, " +
+            "last_walk_date = ?, longest_length = ?, updated_at = NOW() WHERE id = ?";
+
+    private static final String DELETE_USER_STREAK_SQL = "DELETE FROM walk_streak WHERE user_id = ? AND pet_id IS NULL";
+
+    private static final String DELETE_PET_STREAK_SQL = "DELETE FROM walk_streak WHERE user_id = ? AND pet_id = ?";
+
+    private static final String DELETE_ALL_STREAKS_SQL = "DELETE FROM walk_streak WHERE user_id = ?";
+
+    private static final String DELETE_DAYS_SQL = "DELETE FROM walk_active_day WHERE user_id = ?";
+
+    /** 완료 세션 (보관된 기록 포함) */
+    private static final String COMPLETED_SESSIONS = "SELECT user_id, pet_id, start_time FROM walk_session " +
+            "WHERE is_completed = true AND deleted_at IS NULL%1$s " +
+            "UNION ALL SELECT user_id, pet_id, start_time FROM walk_session_archive " +
+            "WHERE is_completed = true AND deleted_at IS NULL%1$s";
+
+    private static final String REBUILD_DAYS_SQL = "INSERT INTO walk_active_day " +
+            "(user_id, pet_id, walk_date, session_count, created_at, updated_at) " +
+            "SELECT s.user_id, s.pet_id, CAST(s.start_time AT TIME ZONE ? AS date), COUNT(*), NOW(), NOW() " +
+            "FROM (" + String.format(COMPLETED_SESSIONS, " AND user_id = ?") + ") s GROUP BY 1, 2, 3";
+
+    private static final String BACKFILL_DAYS_SQL = "INSERT INTO walk_active_day " +
+            "(user_id, pet_id, walk_date, session_count, created_at, updated_at) " +
+            "SELECT s.user_id, s.pet_id, CAST(s.start_time AT TIME ZONE COALESCE(u.time_zone, ?) AS date), COUNT(*), NOW(), NOW() " +
+            "FROM (" + String.format(COMPLETED_SESSIONS, "") + ") s JOIN users u ON u.id = s.user_id GROUP BY 1, 2, 3";
+
+    /**
+     * 산책한 날로 연속 구간(gaps-and-islands)을 구해 연속 기록 행을 만듭니다.
+     * 날짜에서 순번을 빼면 연속된 날짜끼리 같은 값이 되는 점을 이용하며, 마지막 구간이 현재 연속입니다.
+     */
+    private static final String STREAKS_FROM_RUNS = "INSERT INTO walk_streak " +
+            "(user_id, pet_id, current_length, current_start, last_walk_date, longest_length, created_at, updated_at) " +
+            "SELECT user_id, %1$s, (ARRAY_AGG(run_length ORDER BY run_end DESC))[1], " +
+            "(ARRAY_AGG(run_start ORDER BY run_end DESC))[1], MAX(run_end), MAX(run_length), NOW(), NOW() " +
+            "FROM (SELECT user_id%2$s, MIN(walk_date) AS run_start, MAX(walk_date) AS run_end, COUNT(*) AS run_length " +
+            "FROM (SELECT user_id%2$s, walk_date, " +
+            "walk_date - CAST(ROW_NUMBER() OVER (PARTITION BY user_id%2$s ORDER BY walk_date) AS int) AS grp " +
+            "FROM (%3$s) a) d GROUP BY user_id%2$s, grp) r GROUP BY user_id%2$s";
+
+    private static final String PET_DAYS = "SELECT user_id, pet_id, walk_date FROM walk_active_day WHERE session_count > 0%s";
+
+    private static final String USER_DAYS = "SELECT user_id, walk_date FROM walk_active_day " +
+            "WHERE session_count > 0%s GROUP BY user_id, walk_date";
+
+    private static final String USER_STREAKS_SQL = userStreaks("");
+    private static final String USER_STREAK_FOR_USER_SQL = userStreaks(" AND user_id = ?");
+    private static final String PET_STREAKS_SQL = petStreaks("");
+    private static final String PET_STREAKS_FOR_USER_SQL = petStreaks(" AND user_id = ?");
+    private static final String PET_STREAK_FOR_PET_SQL = petStreaks(" AND user_id = ? AND pet_id = ?");
+
+    private static final String SESSION_DAYS_SQL = "SELECT user_id, pet_id, start_time FROM walk_session " +
+            "WHERE id IN (:ids) AND is_completed = true AND deleted_at IS NULL";
+
+    private static final RowMapper<StreakRow> STREAK_ROW_MAPPER = (rs, rowNum) -> new StreakRow(
+            rs.getLong("id"),
+            rs.getInt("current_length"),
+            rs.getObject("current_start", LocalDate.class),
+            rs.getObject("last_walk_date", LocalDate.class),
+            rs.getInt("longest_length"));
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final WalkStreakRepository walkStreakRepository;
+    private final UserService userService;
+    private final WalkRollupService walkRollupService;
+
+    /**
+     * 완료된 산책 세션을 연속 기록에 반영합니다.
+     */
+    @Transactional
+    public void recordCompleted(WalkSession walkSession) {
+        record(walkSession.getUser().getId(), walkSession.getPet().getId(),
+                List.of(walkSession.getStartTime().toInstant()), 1);
+    }
+
+    /**
+     * 완료된 산책 세션을 연속 기록에서 뺍니다 (취소/삭제 시).
+     */
+    @Transactional
+    public void recordRemoved(WalkSession walkSession) {
+        record(walkSession.getUser().getId(), walkSession.getPet().getId(),
+                List.of(walkSession.getStartTime().toInstant()), -1);
+    }
+
+    /**
+     * 한 반려동물의 완료된 산책 여러 개를 반영합니다 (가져오기 등 일괄 저장 시 사용).
+     *
+     * @param startTimes 저장된 산책들의 시작 시각
+     */
+    @Transactional
+    public void recordCompleted(Long userId, Long petId, Collection<Instant> startTimes) {
+        if (!startTimes.isEmpty()) {
+            record(userId, petId, startTimes, 1);
+        }
+    }
+
+    /**
+     * 지정한 완료 세션들을 반영합니다 (방치 세션 일괄 완료, 오프라인 동기화 시 사용).
+     *
+     * @param sessionIds 완료 처리된 세션 ID 목록 (완료/미삭제 세션만 반영)
+     */
+    @Transactional
+    public void recordCompletedSessions(Collection<Long> sessionIds) {
+        if (sessionIds.isEmpty()) {
+            return;
+        }
+        Map<Long, Map<Long, List<Instant>>> byUser = new TreeMap<>();
+        namedJdbcTemplate.query(SESSION_DAYS_SQL, Map.of("ids", sessionIds), rs -> {
+            byUser.computeIfAbsent(rs.getLong("user_id"), u -> new HashMap<>())
+                    .computeIfAbsent(rs.getLong("pet_id"), p -> new ArrayList<>())
+                    .add(rs.getTimestamp("start_time").toInstant());
+        });
+        // 사용자 ID 순서로 잠가 교착을 피함
+        byUser.forEach((userId, byPet) -> byPet.forEach((petId, startTimes) -> record(userId, petId, startTimes, 1)));
+    }
+
+    /**
+     * 사용자 시간대를 변경하고, 새 하루 기준으로 산책한 날, 연속 기록과 일별 집계를 다시 만듭니다.
+     *
+     * @param timeZone IANA 시간대 ID, null이면 서버 기본 시간대
+     * @return 변경된 사용자
+     */
+    @Transactional
+    public User changeTimeZone(User user, String timeZone) {
+        User updated = userService.updateTimeZone(user.getId(), timeZone, user);
+        JdbcOperations jdbc = namedJdbcTemplate.getJdbcOperations();
+        jdbc.queryForList(LOCK_USER_SQL, String.class, updated.getId());
+        jdbc.update(DELETE_DAYS_SQL, updated.getId());
+        jdbc.update(DELETE_ALL_STREAKS_SQL, updated.getId());
+        jdbc.update(REBUILD_DAYS_SQL, userService.getZoneId(updated).getId(), updated.getId(), updated.getId());
+        jdbc.update(USER_STREAK_FOR_USER_SQL, updated.getId());
+        jdbc.update(PET_STREAKS_FOR_USER_SQL, updated.getId());
+        walkRollupService.rebuildForUser(updated.getId(), userService.getZoneId(updated));
+        return updated;
+    }
+
+    /**
+     * 사용자의 연속 산책 기록을 조회합니다.
+     * 저장된 연속 기록 행만 읽으며, 마지막 산책이 어제 이전이면 현재 연속은 0으로 반환합니다.
+     */
+    public WalkStreakResponse getStreaks(User user) {
+        ZoneId zone = userService.getZoneId(user);
+        LocalDate today = LocalDate.now(zone);
+
+        WalkStreakResponse.Streak overall = new WalkStreakResponse.Streak(null, null, 0, 0, null, null, false);
+        List<WalkStreakResponse.Streak> pets = new ArrayList<>();
+        for (WalkStreak streak : walkStreakRepository.findByUserIdWithPet(user.getId())) {
+            if (streak.getPet() != null && streak.getPet().getDeletedAt() != null) {
+                continue;
+            }
+            LocalDate last = streak.getLastWalkDate();
+            boolean alive = last != null && !last.isBefore(today.minusDays(1));
+            WalkStreakResponse.Streak view = new WalkStreakResponse.Streak(
+                    streak.getPet() != null ? streak.getPet().getId() : null,
+                    streak.getPet() != null ? streak.getPet().getName() : null,
+                    alive ? streak.getCurrentLength() : 0,
+                    streak.getLongestLength(),
+                    alive ? streak.getCurrentStart() : null,
+                    last,
+                    today.equals(last));
+            if (streak.getPet() == null) {
+                overall = view;
+            } else {
+                pets.add(view);
+            }
+        }
+
+        return WalkStreakResponse.builder()
+                .timeZone(zone.getId())
+                .today(today)
+                .overall(overall)
+                .pets(pets)
+                .build();
+    }
+
+    /**
+     * 산책한 날/연속 기록 테이블이 비어있으면 기존 산책 기록으로 채웁니다.
+     * 애플리케이션 시작 시 한 번 호출됩니다.
+     */
+    @Transactional
+    public void backfillIfEmpty() {
+        JdbcOperations jdbc = namedJdbcTemplate.getJdbcOperations();
+        Boolean exists = jdbc.queryForObject("SELECT EXISTS (SELECT 1 FROM walk_active_day)", Boolean.class);
+        if (Boolean.TRUE.equals(exists)) {
+            return;
+        }
+        int days = jdbc.update(BACKFILL_DAYS_SQL, userService.getDefaultTimeZone());
+        if (days == 0) {
+            return;
+        }
+        jdbc.update("DELETE FROM walk_streak");
+        int streaks = jdbc.update(USER_STREAKS_SQL) + jdbc.update(PET_STREAKS_SQL);
+        log.info("연속 산책 백필 완료: days={}, streaks={}", days, streaks);
+    }
+
+    private void record(Long userId, Long petId, Collection<Instant> startTimes, int delta) {
+        JdbcOperations jdbc = namedJdbcTemplate.getJdbcOperations();
+        List<String> timeZone = jdbc.queryForList(LOCK_USER_SQL, String.class, userId);
+        ZoneId zone = userService.getZoneId(timeZone.isEmpty() ? null : timeZone.get(0));
+
+        Map<LocalDate, Integer> days = new TreeMap<>();
+        for (Instant startTime : startTimes) {
+            days.merge(LocalDate.ofInstant(startTime, zone), delta, Integer::sum);
+        }
+        days.forEach((walkDate, count) -> applyDay(jdbc, userId, petId, walkDate, count));
+    }
+
+    /**
+     * 하루의 산책 횟수 증분을 반영하고, 사용자 전체/반려동물의 산책한 날 여부가 바뀌면 연속 기록을 고칩니다.
+     */
+    private void applyDay(JdbcOperations jdbc, Long userId, Long petId, LocalDate walkDate, int delta) {
+        Integer petCount = jdbc.queryForObject(UPSERT_DAY_SQL, Integer.class, userId, petId, walkDate, delta);
+        Long userCount = jdbc.queryForObject(USER_DAY_COUNT_SQL, Long.class, userId, walkDate);
+        int petAfter = petCount != null ? petCount : 0;
+        long userAfter = userCount != null ? userCount : 0;
+
+        updateStreak(jdbc, userId, null, walkDate, userAfter - delta > 0, userAfter > 0);
+        updateStreak(jdbc, userId, petId, walkDate, petAfter - delta > 0, petAfter > 0);
+    }
+
+    private void updateStreak(JdbcOperations jdbc, Long userId, Long petId, LocalDate walkDate,
+                              boolean wasActive, boolean isActive) {
+        if (wasActive == isActive) {
+            return;
+        }
+        List<StreakRow> rows = petId == null
+                ? jdbc.query(SELECT_USER_STREAK_SQL, STREAK_ROW_MAPPER, userId)
+                : jdbc.query(SELECT_PET_STREAK_SQL, STREAK_ROW_MAPPER, userId, petId);
+        StreakRow row = rows.isEmpty() ? null : rows.get(0);
+
+        // 마지막 산책 이후 날짜에 첫 산책: 이어 붙이거나 새 구간 시작
+        if (isActive && row != null && row.lastWalkDate() != null && walkDate.isAfter(row.lastWalkDate())) {
+            boolean continues = walkDate.equals(row.lastWalkDate().plusDays(1));
+            int current = continues ? row.currentLength() + 1 : 1;
+            LocalDate start = continues ? row.currentStart() : walkDate;
+            jdbc.update(UPDATE_STREAK_SQL, current, start, walkDate, Math.max(row.longestLength(), current), row.id());
+            return;
+        }
+
+        // 과거 날짜 추가, 산책한 날 제거: 구간이 합쳐지거나 나뉠 수 있으므로 산책한 날로 다시 계산
+        if (petId == null) {
+            jdbc.update(DELETE_USER_STREAK_SQL, userId);
+            jdbc.update(USER_STREAK_FOR_USER_SQL, userId);
+        } else {
+            jdbc.update(DELETE_PET_STREAK_SQL, userId, petId);
+            jdbc.update(PET_STREAK_FOR_PET_SQL, userId, petId);
+        }
+    }
+
+    private static String userStreaks(String filter) {
+        return String.format(STREAKS_FROM_RUNS, "CAST(NULL AS bigint)", "", String.format(USER_DAYS, filter));
+    }
+
+    private static String petStreaks(String filter) {
+        return String.format(STREAKS_FROM_RUNS, "pet_id", ", pet_id", String.format(PET_DAYS, filter));
+    }
+
+    private record StreakRow(long id, int currentLength, LocalDate currentStart, LocalDate lastWalkDate, int longestLength) {
+    }
+}
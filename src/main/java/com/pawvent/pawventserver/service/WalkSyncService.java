@@ -0,0 +1,458 @@
+package com.pawvent.pawventserver.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pawvent.pawventserver.domain.Pet;
+import com.pawvent.pawventserver.domain.User;
+import com.pawvent.pawventserver.domain.WalkRoute;
+import com.pawvent.pawventserver.dto.TrackPointsRequest;
+import com.pawvent.pawventserver.dto.WalkSyncRequest;
+import com.pawvent.pawventserver.dto.WalkSyncResponse;
+import com.pawvent.pawventserver.repository.PetRepository;
+import com.pawvent.pawventserver.repository.WalkRouteRepository;
+import com.pawvent.pawventserver.util.GeoUtils;
+import com.pawvent.pawventserver.util.TrackMotionAccumulator;
+import com.pawvent.pawventserver.util.TrackSimplifier;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.locationtech.jts.io.WKBWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 오프라인 산책 일괄 동기화 서비스
+ *
+ * 연결 없이 기록한 완료 산책 여러 개를 (gzip 압축된) 요청 하나로 받아, 한 트랜잭션에서 JDBC 배치 한 번으로 저장합니다.
+ * 산책마다 시작/좌표/완료 API를 따로 호출하던 왕복이 요청 하나로 줄어듭니다.
+ * 클라이언트가 만든 clientId로 중복을 판단하므로 응답을 받지 못해 같은 요청을 다시 보내도 한 번만 저장됩니다.
+ * 잘못된 값이 있는 산책은 해당 산책만 거부하고 나머지는 저장합니다.
+ */
+@Slf4j
+@Service
+public class WalkSyncService {
+
+    /** 처리 결과 */
+    public static final String CREATED = "CREATED";
+    public static final String DUPLICATE = "DUPLICATE";
+    public static final String REJECTED = "REJECTED";
+
+    private static final int MAX_CLIENT_ID_LENGTH = 64;
+
+    /** 휴대폰 시계 오차로 조금 미래인 시각은 허용 */
+    private static final Duration CLOCK_SKEW = Duration.ofMinutes(5);
+
+    // 값이 null일 수 있는 인자는 SELECT 목록에서 타입을 추론할 수 없으므로 명시적으로 캐스팅
+    // 동시 요청으로 NOT EXISTS를 함께 통과한 경우는 유니크 인덱스(ux_walk_session_client) 충돌로 건너뜀
+    private static final String INSERT_SQL = "INSERT INTO walk_session " +
+            "(user_id, pet_id, route_id, client_id, start_time, end_time, actual_path, actual_distance, actual_duration, " +
+            "moving_duration, pause_count, route_adherence, is_completed, created_at, updated_at) " +
+            "SELECT :userId, :petId, CAST(:routeId AS bigint), :clientId, :startTime, :endTime, " +
+            "ST_GeomFromWKB(CAST(:path AS bytea), 4326), :distance, :duration, " +
+            "CAST(:movingDuration AS integer), CAST(:pauseCount AS integer), CAST(:routeAdherence AS double precision), " +
+            "true, NOW(), NOW() " +
+            "WHERE NOT EXISTS (SELECT 1 FROM walk_session w WHERE w.user_id = :userId AND w.client_id = :clientId) " +
+            "ON CONFLICT DO NOTHING";
+
+    private static final String SESSION_IDS_SQL = "SELECT client_id, id FROM walk_session " +
+            "WHERE user_id = :userId AND client_id IN (:clientIds)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final PetRepository petRepository;
+    private final WalkRouteRepository walkRouteRepository;
+    private final WalkRollupService walkRollupService;
+    private final WalkStreakService walkStreakService;
+    private final PopularRouteTracker popularRouteTracker;
+    private final WalkTrackService walkTrackService;
+    private final UserService userService;
+    private final TrackSimplifier trackSimplifier;
+    private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+
+    @Value("${pawvent.walk.sync.max-sessions:200}")
+    private int maxSessions;
+
+    @Value("${pawvent.walk.sync.max-points-per-session:20000}")
+    private int maxPointsPerSession;
+
+    @Value("${pawvent.walk.sync.max-body-bytes:52428800}")
+    private long maxBodyBytes;
+
+    public WalkSyncService(NamedParameterJdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           ObjectMapper objectMapper,
+                           PetRepository petRepository,
+                           WalkRouteRepository walkRouteRepository,
+                           WalkRollupService walkRollupService,
+                           WalkStreakService walkStreakService,
+                           PopularRouteTracker popularRouteTracker,
+                           WalkTrackService walkTrackService,
+                           UserService userService,
+                           TrackSimplifier trackSimplifier) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.petRepository = petRepository;
+        this.walkRouteRepository = walkRouteRepository;
+        this.walkRollupService = walkRollupService;
+        this.walkStreakService = walkStreakService;
+        this.popularRouteTracker = popularRouteTracker;
+        this.walkTrackService = walkTrackService;
+        this.userService = userService;
+        this.trackSimplifier = trackSimplifier;
+    }
+
+    /**
+     * 요청 본문을 읽어 오프라인 산책들을 저장합니다.
+     *
+     * @param user 동기화하는 사용자
+     * @param body 요청 본문 (JSON, gzip 압축 가능)
+     * @param contentEncoding Content-Encoding 헤더 (없으면 압축하지 않은 본문)
+     * @return 산책별 처리 결과
+     * @throws IllegalArgumentException 본문을 읽을 수 없거나 너무 큰 경우
+     */
+    public WalkSyncResponse sync(User user, InputStream body, String contentEncoding) {
+        WalkSyncRequest request;
+        try (InputStream in = new LimitedInputStream(decode(body, contentEncoding), maxBodyBytes)) {
+            request = objectMapper.readValue(in, WalkSyncRequest.class);
+        } catch (BodyTooLargeException e) {
+            throw new IllegalArgumentException("동기화 요청이 너무 큽니다. (최대 " + maxBodyBytes / (1024 * 1024) + "MB)");
+        } catch (IOException e) {
+            throw new IllegalArgumentException("동기화 요청 본문을 읽을 수 없습니다.");
+        }
+        return sync(user, request);
+    }
+
+    /**
+     * 오프라인 산책들을 한 트랜잭션에서 일괄 저장합니다.
+     *
+     * @param user 동기화하는 사용자
+     * @param request 동기화 요청
+     * @return 산책별 처리 결과 (요청 순서)
+     * @throws IllegalArgumentException 산책이 없거나 너무 많은 경우
+     */
+    public WalkSyncResponse sync(User user, WalkSyncRequest request) {
+        List<WalkSyncRequest.SyncedWalk> sessions = request.getSessions();
+        if (sessions == null || sessions.isEmpty()) {
+            throw new IllegalArgumentException("동기화할 산책이 없습니다.");
+        }
+        if (sessions.size() > maxSessions) {
+            throw new IllegalArgumentException("한 번에 동기화할 수 있는 산책은 최대 " + maxSessions + "개입니다.");
+        }
+
+        Set<Long> petIds = petRepository.findByUserAndDeletedAtIsNullOrderByCreatedAtDesc(user).stream()
+                .map(Pet::getId)
+                .collect(Collectors.toSet());
+        Set<Long> routeIds = sessions.stream()
+                .map(WalkSyncRequest.SyncedWalk::getRouteId)
+                .filter(id -> id != null)
+                .collect(Collectors.toSet());
+        Map<Long, WalkRoute> routes = routeIds.isEmpty() ? Map.of() : walkRouteRepository.findAllById(routeIds).stream()
+                .collect(Collectors.toMap(WalkRoute::getId, Function.identity()));
+
+        // 검증과 거리/이동 통계 계산은 트랜잭션 밖에서 먼저 끝냄
+        WalkSyncResponse.Result[] results = new WalkSyncResponse.Result[sessions.size()];
+        List<PreparedWalk> prepared = new ArrayList<>();
+        Set<String> seenClientIds = new HashSet<>();
+        OffsetDateTime now = OffsetDateTime.now();
+        for (int i = 0; i < sessions.size(); i++) {
+            WalkSyncRequest.SyncedWalk walk = sessions.get(i);
+            try {
+                PreparedWalk row = prepare(walk, petIds, routes, now);
+                if (seenClientIds.add(row.clientId)) {
+                    prepared.add(row);
+                }
+                results[i] = WalkSyncResponse.Result.builder().clientId(row.clientId).build();
+            } catch (IllegalArgumentException e) {
+                results[i] = WalkSyncResponse.Result.builder()
+                        .clientId(walk.getClientId())
+                        .status(REJECTED)
+                        .message(e.getMessage())
+                        .build();
+            }
+        }
+
+        Map<String, Long> sessionIds = new HashMap<>();
+        Set<String> createdClientIds = new HashSet<>();
+        if (!prepared.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> save(user.getId(), userService.getZoneId(user), prepared, sessionIds, createdClientIds));
+        }
+
+        int created = 0;
+        int duplicates = 0;
+        int rejected = 0;
+        Set<String> reported = new HashSet<>();
+        for (WalkSyncResponse.Result result : results) {
+            if (REJECTED.equals(result.getStatus())) {
+                rejected++;
+                continue;
+            }
+            result.setSessionId(sessionIds.get(result.getClientId()));
+            // 같은 요청 안에서 clientId가 반복되면 처음 것만 CREATED
+            if (createdClientIds.contains(result.getClientId()) && reported.add(result.getClientId())) {
+                result.setStatus(CREATED);
+                created++;
+            } else {
+                result.setStatus(DUPLICATE);
+                duplicates++;
+            }
+        }
+
+        log.info("오프라인 산책 동기화: userId={}, received={}, created={}, duplicates={}, rejected={}",
+                user.getId(), sessions.size(), created, duplicates, rejected);
+        return WalkSyncResponse.builder()
+                .received(sessions.size())
+                .created(created)
+                .duplicates(duplicates)
+                .rejected(rejected)
+                .results(List.of(results))
+                .build();
+    }
+
+    /**
+     * 검증을 통과한 산책을 배치 한 번으로 저장하고, 새로 저장된 산책을 일별 집계와 인기 루트에 반영합니다.
+     */
+    @SuppressWarnings("unchecked")
+    private void save(Long userId, ZoneId zone, List<PreparedWalk> prepared, Map<String, Long> sessionIds,
+                      Set<String> createdClientIds) {
+        Map<String, Object>[] batch = prepared.stream()
+                .map(row -> row.toParams(userId))
+                .toArray(Map[]::new);
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+
+        jdbcTemplate.query(SESSION_IDS_SQL,
+                Map.of("userId", userId, "clientIds", prepared.stream().map(row -> row.clientId).toList()),
+                rs -> {
+                    sessionIds.put(rs.getString("client_id"), rs.getLong("id"));
+                });
+
+        // (반려동물, 날짜)별 증분 - [세션 수, 거리, 시간]
+        Map<Long, Map<LocalDate, double[]>> daily = new HashMap<>();
+        List<Long> createdIds = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            PreparedWalk row = prepared.get(i);
+            createdClientIds.add(row.clientId);
+            Long sessionId = sessionIds.get(row.clientId);
+            if (sessionId != null) {
+                createdIds.add(sessionId);
+            }
+            LocalDate walkDate = row.startTime.atZoneSameInstant(zone).toLocalDate();
+            double[] day = daily.computeIfAbsent(row.petId, p -> new HashMap<>())
+                    .computeIfAbsent(walkDate, d -> new double[3]);
+            day[0] += 1;
+            day[1] += row.distance;
+            day[2] += row.duration;
+        }
+        daily.forEach((petId, days) -> days.forEach((walkDate, day) -> walkRollupService.recordDelta(
+                userId, petId, walkDate, (int) day[0], day[1], (long) day[2])));
+        walkStreakService.recordCompletedSessions(createdIds);
+        popularRouteTracker.recordCompletedSessions(createdIds);
+    }
+
+    /**
+     * 산책 하나를 검증하고 저장할 값(단순화된 경로, 거리, 이동 통계, 루트 준수율)을 계산합니다.
+     *
+     * @throws IllegalArgumentException 값이 올바르지 않은 경우 (해당 산책만 거부)
+     */
+    private PreparedWalk prepare(WalkSyncRequest.SyncedWalk walk, Set<Long> petIds, Map<Long, WalkRoute> routes,
+                                 OffsetDateTime now) {
+        String clientId = walk.getClientId() != null ? walk.getClientId().trim() : "";
+        if (clientId.isEmpty() || clientId.length() > MAX_CLIENT_ID_LENGTH) {
+            throw new IllegalArgumentException("clientId는 1~" + MAX_CLIENT_ID_LENGTH + "자여야 합니다.");
+        }
+        if (walk.getPetId() == null || !petIds.contains(walk.getPetId())) {
+            throw new IllegalArgumentException("반려동물에 대한 권한이 없습니다.");
+        }
+        WalkRoute route = null;
+        if (walk.getRouteId() != null) {
+            route = routes.get(walk.getRouteId());
+            if (route == null) {
+                throw new IllegalArgumentException("산책 경로를 찾을 수 없습니다.");
+            }
+        }
+
+        List<TrackPointsRequest.PointDto> points = walk.getPoints() != null ? walk.getPoints() : List.of();
+        if (points.size() > maxPointsPerSession) {
+            throw new IllegalArgumentException("산책 하나의 좌표는 최대 " + maxPointsPerSession + "개입니다.");
+        }
+        for (TrackPointsRequest.PointDto point : points) {
+            if (point == null || point.getTimestamp() == null
+                    || point.getLatitude() == null || Math.abs(point.getLatitude()) > 90
+                    || point.getLongitude() == null || Math.abs(point.getLongitude()) > 180) {
+                throw new IllegalArgumentException("좌표 값이 올바르지 않습니다. (위도, 경도, 기록 시각 필수)");
+            }
+        }
+        List<TrackPointsRequest.PointDto> ordered = points.stream()
+                .sorted(Comparator.comparingLong(TrackPointsRequest.PointDto::getTimestamp))
+                .toList();
+
+        OffsetDateTime startTime = walk.getStartTime() != null ? walk.getStartTime()
+                : !ordered.isEmpty() ? toOffsetDateTime(ordered.get(0).getTimestamp()) : null;
+        OffsetDateTime endTime = walk.getEndTime() != null ? walk.getEndTime()
+                : !ordered.isEmpty() ? toOffsetDateTime(ordered.get(ordered.size() - 1).getTimestamp()) : null;
+        if (startTime == null || endTime == null) {
+            throw new IllegalArgumentException("시작/종료 시각이 없습니다.");
+        }
+        if (endTime.isBefore(startTime)) {
+            throw new IllegalArgumentException("종료 시각이 시작 시각보다 빠릅니다.");
+        }
+        if (endTime.isAfter(now.plus(CLOCK_SKEW))) {
+            throw new IllegalArgumentException("종료 시각이 현재 시각보다 늦습니다.");
+        }
+
+        PreparedWalk row = new PreparedWalk(clientId, walk.getPetId(), route != null ? route.getId() : null, startTime, endTime);
+        row.duration = (int) Duration.between(startTime, endTime).getSeconds();
+        if (ordered.size() >= 2) {
+            double[] packed = new double[ordered.size() * 3];
+            TrackMotionAccumulator motion = new TrackMotionAccumulator();
+            for (int i = 0; i < ordered.size(); i++) {
+                TrackPointsRequest.PointDto point = ordered.get(i);
+                packed[i * 3] = point.getLongitude();
+                packed[i * 3 + 1] = point.getLatitude();
+                packed[i * 3 + 2] = point.getTimestamp();
+                motion.add(point.getLongitude(), point.getLatitude(), point.getTimestamp());
+            }
+            CoordinateSequence track = new PackedCoordinateSequence.Double(packed, 3, 1);
+            CoordinateSequence simplified = trackSimplifier.simplify(track);
+            row.path = new WKBWriter(2).write(geometryFactory.createLineString(simplified));
+            row.distance = GeoUtils.lengthMeters(simplified);
+            row.movingDuration = (int) (motion.getMovingMillis() / 1000);
+            row.pauseCount = motion.getPauseCount();
+            row.routeAdherence = route != null ? walkTrackService.computeRouteAdherence(route, track) : null;
+        } else {
+            row.distance = walk.getDistance() != null && walk.getDistance() >= 0 ? walk.getDistance() : 0.0;
+        }
+        return row;
+    }
+
+    private static InputStream decode(InputStream body, String contentEncoding) throws IOException {
+        if (contentEncoding == null || contentEncoding.isBlank() || "identity".equalsIgnoreCase(contentEncoding.trim())) {
+            return body;
+        }
+        String encoding = contentEncoding.trim().toLowerCase(Locale.ROOT);
+        if (encoding.equals("gzip") || encoding.equals("x-gzip")) {
+            return new GZIPInputStream(body, 8192);
+        }
+        throw new IllegalArgumentException("지원하지 않는 Content-Encoding입니다. (gzip만 지원)");
+    }
+
+    private static OffsetDateTime toOffsetDateTime(long epochMillis) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+
+    /**
+     * 저장할 산책 행 하나
+     */
+    private static final class PreparedWalk {
+        private final String clientId;
+        private final Long petId;
+        private final Long routeId;
+        private final OffsetDateTime startTime;
+        private final OffsetDateTime endTime;
+        private byte[] path;
+        private double distance;
+        private int duration;
+        private Integer movingDuration;
+        private Integer pauseCount;
+        private Double routeAdherence;
+
+        private PreparedWalk(String clientId, Long petId, Long routeId, OffsetDateTime startTime, OffsetDateTime endTime) {
+            this.clientId = clientId;
+            this.petId = petId;
+            this.routeId = routeId;
+            this.startTime = startTime;
+            this.endTime = endTime;
+        }
+
+        private Map<String, Object> toParams(Long userId) {
+            Map<String, Object> params = new HashMap<>();
+            params.put("userId", userId);
+            params.put("petId", petId);
+            params.put("routeId", routeId);
+            params.put("clientId", clientId);
+            params.put("startTime", startTime);
+            params.put("endTime", endTime);
+            params.put("path", path);
+            params.put("distance", distance);
+            params.put("duration", duration);
+            params.put("movingDuration", movingDuration);
+            params.put("pauseCount", pauseCount);
+            params.put("routeAdherence", routeAdherence);
+            return params;
+        }
+    }
+
+    /** 압축 해제 후 본문 크기 초과 (압축 폭탄 방지) */
+    private static final class BodyTooLargeException extends IOException {
+        private BodyTooLargeException() {
+            super("request body too large");
+        }
+    }
+
+    /**
+     * 읽은 바이트 수가 한도를 넘으면 BodyTooLargeException을 던지는 스트림
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long count;
+
+        private LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        private void count(int read) throws IOException {
+            count += read;
+            if (count > limit) {
+                throw new BodyTooLargeException();
+            }
+        }
+    }
+}
@@ -0,0 +1,436 @@
+package com.pawvent.pawventserver.service;
+
+import com.pawvent.pawventserver.domain.User;
+import com.pawvent.pawventserver.domain.WalkRoute;
+import com.pawvent.pawventserver.domain.WalkSession;
+import com.pawvent.pawventserver.dto.LiveWalkResponse;
+import com.pawvent.pawventserver.dto.TrackIngestResponse;
+import com.pawvent.pawventserver.repository.WalkSessionRepository;
+import com.pawvent.pawventserver.service.ActiveWalkRegistry.ActiveWalk;
+import com.pawvent.pawventserver.util.RouteAdherenceTracker;
+import com.pawvent.pawventserver.util.RouteMatcher;
+import com.pawvent.pawventserver.util.TrackSimplifier;
+import com.pawvent.pawventserver.util.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.MultiPoint;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.locationtech.jts.io.WKBWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * 산책 중 GPS 좌표 수집 서비스
+ *
+ * 클라이언트가 보내는 좌표를 진행 중 세션 레지스트리(ActiveWalkRegistry)의 버퍼에 모아두었다가
+ * 일정 개수(flush-size)에 도달하거나 주기적으로 한 번에 actual_path에 이어붙입니다.
+ * 좌표 하나마다 경로 전체를 다시 쓰는 UPDATE가 발생하지 않도록 하기 위함입니다.
+ * 같은 UPDATE로 누적 거리/이동 시간/휴식 횟수도 체크포인트하여 재시작 시 이어서 기록할 수 있게 합니다.
+ * 계획 루트가 있는 산책은 좌표를 받을 때마다 루트 선분 색인(RouteMatcher)으로 이탈 여부를 판정하고,
+ * 이탈/복귀가 확정되면 WalkRouteDeviationEvent를 발행합니다.
+ * 실시간 공유 중인 세션이면 받은 좌표를 LiveWalkShareService로 넘겨 시청자에게 전달합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WalkTrackService {
+
+    /** 비어있는 세션 상태를 메모리에서 제거하기까지의 유휴 시간 (30분) */
+    private static final long IDLE_EVICT_MILLIS = 30 * 60 * 1000L;
+
+    private final WalkSessionRepository walkSessionRepository;
+    private final ActiveWalkRegistry activeWalkRegistry;
+    private final TrackSimplifier trackSimplifier;
+    private final RouteMatcherCache routeMatcherCache;
+    private final LiveWalkShareService liveWalkShareService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+    private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+
+    @Value("${pawvent.walk.track.flush-size:200}")
+    private int flushSize;
+
+    @Value("${pawvent.walk.track.simplify:true}")
+    private boolean simplify;
+
+    @Value("${pawvent.walk.route-match.off-route-meters:30}")
+    private double offRouteMeters;
+
+    @Value("${pawvent.walk.route-match.confirm-points:3}")
+    private int confirmPoints;
+
+    /**
+     * 새로 시작된 산책 세션을 진행 중 레지스트리에 등록합니다.
+     *
+     * @param walkSession 저장된 산책 세션
+     */
+    public void openSession(WalkSession walkSession) {
+        ActiveWalk walk = activeWalkRegistry.register(walkSession);
+        RouteMatcher matcher = walkSession.getRoute() != null ? routeMatcherCache.get(walkSession.getRoute()) : null;
+        synchronized (walk) {
+            if (matcher != null) {
+                walk.adherence = new RouteAdherenceTracker(matcher, offRouteMeters, confirmPoints, true);
+            }
+            walk.routeMatchResolved = true;
+        }
+    }
+
+    /**
+     * 진행 중인 산책 세션에 GPS 좌표를 추가합니다.
+     * 세션 주인만 좌표를 추가할 수 있으며, 버퍼가 flush-size 이상 쌓이면 즉시 경로에 반영합니다.
+     *
+     * @param sessionId 좌표를 추가할 세션 ID
+     * @param user 좌표를 보낸 사용자 (권한 검증용)
+     * @param points 좌표 시퀀스 (x=경도, y=위도, m=기록 시각 epoch millis)
+     * @return 수신 결과 (버퍼/반영 좌표 수)
+     * @throws IllegalArgumentException 권한이 없거나 이미 종료된 세션인 경우
+     */
+    public TrackIngestResponse appendPoints(Long sessionId, User user, CoordinateSequence points) {
+        ActiveWalk walk = activeWalkRegistry.getOrLoad(sessionId);
+
+        if (!walk.ownerId.equals(user.getId())) {
+            throw new IllegalArgumentException("산책 세션에 좌표를 기록할 권한이 없습니다.");
+        }
+
+        // 다른 노드에서 시작되었거나 재시작으로 복구된 세션은 처음 좌표를 받을 때 루트 판정기를 준비
+        RouteMatcher matcher = null;
+        if (walk.routeId != null && !walk.routeMatchResolved) {
+            matcher = routeMatcherCache.get(walk.routeId);
+        }
+
+        int buffered;
+        List<WalkRouteDeviationEvent> deviations;
+        Boolean offRoute;
+        Double routeDeviation;
+        synchronized (walk) {
+            if (walk.closed) {
+                throw new IllegalArgumentException("이미 종료된 산책 세션입니다.");
+            }
+            if (!walk.routeMatchResolved) {
+                if (matcher != null) {
+                    walk.adherence = new RouteAdherenceTracker(matcher, offRouteMeters, confirmPoints, false);
+                }
+                walk.routeMatchResolved = true;
+            }
+            deviations = walk.append(points);
+            buffered = walk.size;
+            offRoute = walk.adherence != null ? walk.adherence.isOffRoute() : null;
+            routeDeviation = walk.adherence != null ? walk.adherence.getDeviationMeters() : null;
+        }
+
+        liveWalkShareService.publishPoints(sessionId, points);
+        for (WalkRouteDeviationEvent deviation : deviations) {
+            log.debug("산책 루트 {}: sessionId={}, routeId={}", deviation.getType(), sessionId, deviation.getRouteId());
+            eventPublisher.publishEvent(deviation);
+        }
+
+        if (buffered >= flushSize) {
+            flush(walk);
+        }
+
+        // 플러시 결과까지 반영된 값을 다른 스레드의 갱신과 섞이지 않게 함께 읽음
+        int bufferedPoints;
+        long persistedPoints;
+        synchronized (walk) {
+            bufferedPoints = walk.size;
+            persistedPoints = walk.persistedPoints;
+        }
+
+        return TrackIngestResponse.builder()
+                .sessionId(sessionId)
+                .acceptedPoints(points.size())
+                .bufferedPoints(bufferedPoints)
+                .persistedPoints(persistedPoints)
+                .offRoute(offRoute)
+                .routeDeviation(routeDeviation)
+                .build();
+    }
+
+    /**
+     * 진행 중인 산책의 실시간 상태를 조회합니다.
+     * 이 노드에 등록된 세션이면 DB를 조회하지 않습니다.
+     *
+     * @param sessionId 조회할 세션 ID
+     * @param user 조회하는 사용자 (권한 검증용)
+     * @return 실시간 상태
+     * @throws IllegalArgumentException 권한이 없거나 이미 종료된 세션인 경우
+     */
+    public LiveWalkResponse getLiveStatus(Long sessionId, User user) {
+        ActiveWalk walk = activeWalkRegistry.getOrLoad(sessionId);
+
+        if (!walk.ownerId.equals(user.getId())) {
+            throw new IllegalArgumentException("산책 세션을 조회할 권한이 없습니다.");
+        }
+
+        long now = System.currentTimeMillis();
+        synchronized (walk) {
+            if (walk.closed) {
+                throw new IllegalArgumentException("이미 종료된 산책 세션입니다.");
+            }
+            return LiveWalkResponse.builder()
+                    .sessionId(sessionId)
+                    .petId(walk.petId)
+                    .routeId(walk.routeId)
+                    .startTime(walk.startTime)
+                    .elapsedSeconds(Math.max(0, (now - walk.startEpochMillis) / 1000))
+                    .distance(walk.motion.getDistanceMeters())
+                    .movingDuration(walk.motion.getMovingMillis() / 1000)
+                    .pauseCount(walk.motion.getPauseCount())
+                    .lastLatitude(walk.motion.hasLast() ? walk.motion.getLastY() : null)
+                    .lastLongitude(walk.motion.hasLast() ? walk.motion.getLastX() : null)
+                    .bufferedPoints(walk.size)
+                    .persistedPoints(walk.persistedPoints)
+                    .offRoute(walk.adherence != null ? walk.adherence.isOffRoute() : null)
+                    .offRouteCount(walk.adherence != null ? walk.adherence.getOffRouteCount() : 0)
+                    .routeDeviation(walk.adherence != null ? walk.adherence.getDeviationMeters() : null)
+                    .routeAdherence(walk.adherence != null ? walk.adherence.getAdherencePercent() : null)
+                    .build();
+        }
+    }
+
+    /**
+     * 세션 버퍼에 남아있는 좌표와 누적 통계를 모두 DB에 반영합니다.
+     * 산책 완료 직전에 호출하여 마지막 좌표까지 저장되도록 합니다.
+     * 호출 측 트랜잭션 안에서 반영하므로 요청 하나가 커넥션을 하나만 사용하며,
+     * 호출 측이 롤백되면 버퍼에서 꺼낸 좌표를 버퍼로 되돌립니다.
+     *
+     * @param sessionId 플러시할 세션 ID
+     */
+    public void flushSession(Long sessionId) {
+        ActiveWalk walk = activeWalkRegistry.find(sessionId);
+        if (walk != null) {
+            flush(walk);
+        }
+    }
+
+    /**
+     * 지금까지 수신한 좌표로 누적 계산한 이동 시간/휴식 통계를 조회합니다.
+     * 좌표를 받을 때마다 증분 계산해두므로 완료 시점에 경로 전체를 다시 훑지 않습니다.
+     *
+     * @param sessionId 조회할 세션 ID
+     * @return 이동 통계 (이 노드에 등록되지 않았거나 좌표를 받은 적이 없으면 null)
+     */
+    public TrackMetrics getMetrics(Long sessionId) {
+        ActiveWalk walk = activeWalkRegistry.find(sessionId);
+        if (walk == null) {
+            return null;
+        }
+        synchronized (walk) {
+            if (!walk.motion.hasLast()) {
+                return null;
+            }
+            return new TrackMetrics(walk.motion.getDistanceMeters(), walk.motion.getMovingMillis() / 1000, walk.motion.getPauseCount());
+        }
+    }
+
+    /**
+     * 좌표를 받을 때마다 누적 계산한 계획 루트 준수율을 조회합니다.
+     * 산책 시작부터 이 노드에서 모든 좌표를 받은 경우에만 값을 반환합니다.
+     *
+     * @param sessionId 조회할 세션 ID
+     * @return 준수율 (0~100, 계산할 수 없으면 null)
+     */
+    public Double getRouteAdherence(Long sessionId) {
+        ActiveWalk walk = activeWalkRegistry.find(sessionId);
+        if (walk == null) {
+            return null;
+        }
+        synchronized (walk) {
+            return walk.adherence != null && walk.adherence.isFromStart() ? walk.adherence.getAdherencePercent() : null;
+        }
+    }
+
+    /**
+     * 저장된 경로 전체로 계획 루트 준수율을 계산합니다.
+     * 진행 중 누적값이 없을 때(다른 노드에서 진행, 재시작 복구 등) 완료 시점에 사용합니다.
+     *
+     * @param route 계획 루트
+     * @param actualPath 저장된 실제 경로
+     * @return 준수율 (0~100, 계산할 수 없으면 null)
+     */
+    public Double computeRouteAdherence(WalkRoute route, LineString actualPath) {
+        if (actualPath == null || actualPath.getNumPoints() < 2) {
+            return null;
+        }
+        return computeRouteAdherence(route, actualPath.getCoordinateSequence());
+    }
+
+    /**
+     * 좌표 시퀀스 전체로 계획 루트 준수율을 계산합니다 (오프라인 동기화 등).
+     *
+     * @param route 계획 루트
+     * @param track 좌표 시퀀스 (x=경도, y=위도)
+     * @return 준수율 (0~100, 계산할 수 없으면 null)
+     */
+    public Double computeRouteAdherence(WalkRoute route, CoordinateSequence track) {
+        RouteMatcher matcher = routeMatcherCache.get(route);
+        return matcher != null ? matcher.adherencePercent(track, offRouteMeters) : null;
+    }
+
+    /**
+     * 세션을 닫고 레지스트리에서 제거합니다 (트랜잭션 커밋 후 반영).
+     * 완료 또는 취소된 세션에 대해 호출되며, 반영되지 않은 좌표는 버려집니다.
+     * 실시간 공유 중이면 시청자 연결도 함께 종료합니다.
+     * 완료/취소가 롤백되면 세션은 계속 진행 중이므로 레지스트리와 버퍼를 그대로 둡니다.
+     *
+     * @param sessionId 닫을 세션 ID
+     */
+    public void closeSession(Long sessionId) {
+        TransactionCallbacks.afterCommit(() -> {
+            activeWalkRegistry.remove(sessionId);
+            liveWalkShareService.endSession(sessionId);
+        });
+    }
+
+    /**
+     * 주기적으로 모든 진행 중 세션을 체크포인트합니다.
+     * 좌표가 flush-size까지 쌓이지 않는 느린 세션도 일정 시간 안에 경로와 통계가 DB에 반영되도록 합니다.
+     */
+    @Scheduled(fixedDelayString = "${pawvent.walk.track.flush-interval-ms:10000}")
+    public void flushAll() {
+        long now = System.currentTimeMillis();
+        for (ActiveWalk walk : activeWalkRegistry.all()) {
+            boolean pending;
+            synchronized (walk) {
+                pending = walk.size > 0 || walk.hasUncheckpointedMetrics();
+            }
+            if (pending) {
+                flush(walk);
+            } else if (now - walk.lastAppendAt > IDLE_EVICT_MILLIS) {
+                activeWalkRegistry.evict(walk.sessionId, walk);
+            }
+        }
+    }
+
+    /**
+     * 버퍼의 좌표를 꺼내 하나의 UPDATE로 경로에 이어붙이고, 누적 통계를 함께 기록합니다.
+     * 같은 세션의 플러시는 flushLock으로 직렬화하여 묶음 순서가 뒤바뀌지 않도록 합니다.
+     * DB 반영에 실패하면 꺼낸 좌표를 버퍼 앞쪽에 되돌려 다음 플러시에서 재시도합니다.
+     */
+    private void flush(ActiveWalk walk) {
+        Long sessionId = walk.sessionId;
+        walk.flushLock.lock();
+        try {
+            double[] chunk = null;
+            double distance;
+            long movingMillis;
+            int pauseCount;
+            synchronized (walk) {
+                if (walk.closed) {
+                    return;
+                }
+                // LineString은 최소 2개의 좌표가 필요하므로 첫 묶음은 2개 이상일 때만 반영
+                int minimum = walk.persistedPoints == 0 ? 2 : 1;
+                if (walk.size >= minimum) {
+                    chunk = walk.drain();
+                } else if (!walk.hasUncheckpointedMetrics()) {
+                    return;
+                }
+                distance = walk.motion.getDistanceMeters();
+                movingMillis = walk.motion.getMovingMillis();
+                pauseCount = walk.motion.getPauseCount();
+            }
+
+            // 저장된 시작 시각과 정확히 같은 값으로 조회 (walk_session 월별 파티션 선택용)
+            OffsetDateTime startTime = walk.startTime;
+
+            int count = 0;
+            try {
+                Integer updated;
+                if (chunk != null) {
+                    CoordinateSequence sequence = new PackedCoordinateSequence.Double(chunk, ActiveWalkRegistry.DIMENSION, 1);
+                    if (simplify) {
+                        sequence = trackSimplifier.simplify(sequence);
+                    }
+                    count = sequence.size();
+                    byte[] wkb = toMultiPointWkb(sequence);
+                    updated = checkpointTransaction().execute(status -> walkSessionRepository.appendTrackCheckpoint(
+                            sessionId, startTime, wkb, distance, (int) (movingMillis / 1000), pauseCount));
+                } else {
+                    updated = checkpointTransaction().execute(status -> walkSessionRepository.updateTrackCheckpoint(
+                            sessionId, startTime, distance, (int) (movingMillis / 1000), pauseCount));
+                }
+                if (updated == null || updated == 0) {
+                    log.debug("진행 중이 아닌 세션의 상태를 폐기합니다: sessionId={}", sessionId);
+                    closeSession(sessionId);
+                    return;
+                }
+                // 호출 측 트랜잭션에 참여했다면 그 트랜잭션이 커밋되어야 반영된 것으로 셈
+                int persisted = count;
+                double[] drained = chunk;
+                TransactionCallbacks.afterCompletion(() -> {
+                    synchronized (walk) {
+                        walk.persistedPoints += persisted;
+                        walk.markCheckpointed(distance, movingMillis, pauseCount);
+                    }
+                }, () -> {
+                    if (drained != null) {
+                        synchronized (walk) {
+                            walk.restore(drained);
+                        }
+                    }
+                });
+                log.debug("산책 경로 체크포인트: sessionId={}, points={}", sessionId, count);
+            } catch (RuntimeException e) {
+                log.warn("산책 경로 체크포인트 실패, 다음 플러시에서 재시도합니다: sessionId={}", sessionId, e);
+                if (chunk != null) {
+                    synchronized (walk) {
+                        walk.restore(chunk);
+                    }
+                }
+            }
+        } finally {
+            walk.flushLock.unlock();
+        }
+    }
+
+    /**
+     * 체크포인트 트랜잭션 (호출 측 트랜잭션이 있으면 참여하고, 없으면 새로 시작)
+     * 완료 처리 중 플러시가 별도 커넥션을 잡지 않도록 새 트랜잭션을 강제하지 않습니다.
+     */
+    private TransactionTemplate checkpointTransaction() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private byte[] toMultiPointWkb(CoordinateSequence sequence) {
+        int count = sequence.size();
+        double[] xy = new double[count * 2];
+        for (int i = 0; i < count; i++) {
+            xy[i * 2] = sequence.getX(i);
+            xy[i * 2 + 1] = sequence.getY(i);
+        }
+        MultiPoint multiPoint = geometryFactory.createMultiPoint(new PackedCoordinateSequence.Double(xy, 2, 0));
+        return new WKBWriter(2).write(multiPoint);
+    }
+
+    /**
+     * 수신 좌표 기반 이동 통계
+     */
+    public static class TrackMetrics {
+        private final double distanceMeters;
+        private final long movingSeconds;
+        private final int pauseCount;
+
+        public TrackMetrics(double distanceMeters, long movingSeconds, int pauseCount) {
+            this.distanceMeters = distanceMeters;
+            this.movingSeconds = movingSeconds;
+            this.pauseCount = pauseCount;
+        }
+
+        // Getters
+        public double getDistanceMeters() { return distanceMeters; }
+        public long getMovingSeconds() { return movingSeconds; }
+        public int getPauseCount() { return pauseCount; }
+    }
+}
@@ -0,0 +1,191 @@
+package com.pawvent.pawventserver.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * GeoJSON 트랙 스트리밍 파서 (Jackson Streaming API)
+ *
+ * 파일 전체를 트리로 읽지 않고 토큰 단위로 읽으며, Feature 하나를 다 읽을 때마다 트랙을 전달합니다.
+ * FeatureCollection, Feature, LineString/MultiLineString 단독 geometry를 지원합니다.
+ * 좌표 시각은 properties의 coordTimes(또는 times) 배열을 사용하고,
+ * 없으면 startTime(또는 time)을 모든 좌표의 시각으로 사용합니다. 둘 다 없으면 트랙을 건너뜁니다.
+ */
+public final class GeoJsonTrackReader {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /** 이 값보다 작은 숫자 시각은 epoch seconds로 간주 */
+    private static final double EPOCH_SECONDS_LIMIT = 1e11;
+
+    private GeoJsonTrackReader() {
+    }
+
+    /**
+     * @param in GeoJSON 입력 스트림
+     * @param consumer 읽은 트랙을 받을 콜백 (좌표/시각이 부족한 트랙은 전달하지 않음)
+     * @return 파일에서 발견한 좌표가 있는 Feature 수 (전달하지 않은 트랙 포함)
+     * @throws IllegalArgumentException GeoJSON 형식이 잘못된 경우
+     */
+    public static int read(InputStream in, Consumer<ImportedTrack> consumer) {
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("잘못된 GeoJSON 형식입니다.");
+            }
+            int[] found = {0};
+            FeatureState root = readObject(parser, consumer, found);
+            emit(root, consumer, found);
+            return found[0];
+        } catch (IOException | IllegalStateException e) {
+            throw new IllegalArgumentException("잘못된 GeoJSON 형식입니다: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * START_OBJECT 위치에서 객체 하나를 끝까지 읽습니다.
+     * features 배열의 각 Feature는 읽는 즉시 전달하고, 자기 자신의 좌표/속성은 상태로 반환합니다.
+     */
+    private static FeatureState readObject(JsonParser parser, Consumer<ImportedTrack> consumer, int[] found)
+            throws IOException {
+        FeatureState state = new FeatureState();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("features".equals(field) && token == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    emit(readObject(parser, consumer, found), consumer, found);
+                }
+            } else if ("geometry".equals(field) && token == JsonToken.START_OBJECT) {
+                FeatureState geometry = readObject(parser, consumer, found);
+                state.track = geometry.track;
+            } else if ("coordinates".equals(field) && token == JsonToken.START_ARRAY) {
+                readCoordinates(parser, state.track);
+            } else if ("properties".equals(field) && token == JsonToken.START_OBJECT) {
+                readProperties(parser, state);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return state;
+    }
+
+    /**
+     * START_ARRAY 위치에서 좌표 배열을 읽습니다. 중첩 깊이와 상관없이 모든 좌표를 순서대로 이어붙입니다.
+     */
+    private static void readCoordinates(JsonParser parser, ImportedTrack.Builder track) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_NUMBER_INT) {
+            double x = parser.getDoubleValue();
+            parser.nextToken();
+            double y = parser.getDoubleValue();
+            // 고도 등 나머지 값은 무시
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new IllegalStateException("좌표 배열이 끝나지 않았습니다.");
+                }
+            }
+            track.add(x, y, Double.NaN);
+            return;
+        }
+        while (token == JsonToken.START_ARRAY) {
+            readCoordinates(parser, track);
+            token = parser.nextToken();
+        }
+        if (token != JsonToken.END_ARRAY) {
+            throw new IllegalStateException("잘못된 좌표 배열입니다.");
+        }
+    }
+
+    private static void readProperties(JsonParser parser, FeatureState state) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (("coordTimes".equals(field) || "times".equals(field)) && token == JsonToken.START_ARRAY) {
+                readTimes(parser, state);
+            } else if (("name".equals(field) || "title".equals(field)) && token == JsonToken.VALUE_STRING) {
+                state.name = parser.getText();
+            } else if ("startTime".equals(field) || "start_time".equals(field) || "time".equals(field)) {
+                state.startTime = parseTime(parser, token);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static void readTimes(JsonParser parser, FeatureState state) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new IllegalStateException("시각 배열이 끝나지 않았습니다.");
+            }
+            if (token == JsonToken.START_ARRAY) {
+                readTimes(parser, state); // MultiLineString의 coordTimes는 배열의 배열
+            } else {
+                state.addTime(parseTime(parser, token));
+            }
+        }
+    }
+
+    private static double parseTime(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return OffsetDateTime.parse(parser.getText().trim()).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e) {
+                return Double.NaN;
+            }
+        }
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            double value = parser.getDoubleValue();
+            return value < EPOCH_SECONDS_LIMIT ? value * 1000 : value;
+        }
+        parser.skipChildren();
+        return Double.NaN;
+    }
+
+    private static void emit(FeatureState state, Consumer<ImportedTrack> consumer, int[] found) {
+        int size = state.track.size();
+        if (size == 0) {
+            return;
+        }
+        found[0]++;
+        if (state.timeCount == size) {
+            for (int i = 0; i < size; i++) {
+                state.track.setTime(i, state.times[i]);
+            }
+        } else if (!Double.isNaN(state.startTime)) {
+            for (int i = 0; i < size; i++) {
+                state.track.setTime(i, state.startTime);
+            }
+        }
+        ImportedTrack track = state.track.name(state.name).build();
+        if (track != null) {
+            consumer.accept(track);
+        }
+    }
+
+    /**
+     * 읽는 중인 Feature 하나의 좌표/속성
+     */
+    private static final class FeatureState {
+        private ImportedTrack.Builder track = ImportedTrack.builder();
+        private String name;
+        private double startTime = Double.NaN;
+        private double[] times = new double[0];
+        private int timeCount;
+
+        private void addTime(double time) {
+            if (timeCount == times.length) {
+                times = Arrays.copyOf(times, Math.max(256, times.length * 2));
+            }
+            times[timeCount++] = time;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.pawvent.pawventserver.util;
+
+import org.locationtech.jts.geom.CoordinateSequence;
+
+/**
+ * 지리 좌표 계산 유틸리티
+ *
+ * 하버사인(haversine) 공식으로 WGS84 경위도 사이의 대원 거리를 미터 단위로 계산합니다.
+ * 경로 길이 계산은 Coordinate 객체를 만들지 않고 좌표 시퀀스에서 직접 값을 읽습니다.
+ */
+public final class GeoUtils {
+
+    /** 지구 평균 반지름 (미터) */
+    public static final double EARTH_RADIUS_METERS = 6371000.0;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * 두 좌표 사이의 대원 거리를 계산합니다.
+     *
+     * @return 거리 (미터)
+     */
+    public static double haversineMeters(double lat1, double lng1, double lat2, double lng2) {
+        double phi1 = Math.toRadians(lat1);
+        double phi2 = Math.toRadians(lat2);
+        double sinDLat = Math.sin((phi2 - phi1) / 2);
+        double sinDLng = Math.sin(Math.toRadians(lng2 - lng1) / 2);
+        double h = sinDLat * sinDLat + Math.cos(phi1) * Math.cos(phi2) * sinDLng * sinDLng;
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.sqrt(Math.min(1.0, h)));
+    }
+
+    /**
+     * 좌표 시퀀스(x=경도, y=위도) 전체 길이를 계산합니다.
+     * 직전 정점의 라디안 값과 cos(위도)를 재사용해 정점마다 삼각함수 호출을 최소화합니다.
+     *
+     * @return 경로 길이 (미터), 정점이 2개 미만이면 0
+     */
+    public static double lengthMeters(CoordinateSequence sequence) {
+        int size = sequence.size();
+        if (size < 2) {
+            return 0.0;
+        }
+
+        double total = 0.0;
+        double prevPhi = Math.toRadians(sequence.getY(0));
+        double prevLambda = Math.toRadians(sequence.getX(0));
+        double prevCos = Math.cos(prevPhi);
+        for (int i = 1; i < size; i++) {
+            double phi = Math.toRadians(sequence.getY(i));
+            double lambda = Math.toRadians(sequence.getX(i));
+            double cos = Math.cos(phi);
+            double sinDLat = Math.sin((phi - prevPhi) / 2);
+            double sinDLng = Math.sin((lambda - prevLambda) / 2);
+            double h = sinDLat * sinDLat + prevCos * cos * sinDLng * sinDLng;
+            total += Math.asin(Math.sqrt(Math.min(1.0, h)));
+            prevPhi = phi;
+            prevLambda = lambda;
+            prevCos = cos;
+        }
+        return 2 * EARTH_RADIUS_METERS * total;
+    }
+}
@@ -0,0 +1,103 @@
+package com.pawvent.pawventserver.util;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.function.Consumer;
+
+/**
+ * GPX 트랙 스트리밍 파서 (StAX)
+ *
+ * 파일 전체를 DOM으로 읽지 않고 요소를 하나씩 읽으며, &lt;trk&gt; 하나가 끝날 때마다 트랙을 전달합니다.
+ * 한 트랙 안의 여러 &lt;trkseg&gt;는 하나의 경로로 이어붙이고, &lt;time&gt;이 없는 좌표는 제외합니다.
+ */
+public final class GpxTrackReader {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+    private GpxTrackReader() {
+    }
+
+    /**
+     * @param in GPX 입력 스트림
+     * @param consumer 읽은 트랙을 받을 콜백 (좌표가 2개 미만인 트랙은 전달하지 않음)
+     * @return 파일에서 발견한 트랙 수 (전달하지 않은 트랙 포함)
+     * @throws IllegalArgumentException GPX 형식이 잘못된 경우
+     */
+    public static int read(InputStream in, Consumer<ImportedTrack> consumer) {
+        XMLStreamReader reader = null;
+        int found = 0;
+        try {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+            ImportedTrack.Builder track = null;
+            boolean inPoint = false;
+            double lat = 0;
+            double lon = 0;
+            double time = Double.NaN;
+
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String element = reader.getLocalName();
+                    if ("trk".equals(element)) {
+                        track = ImportedTrack.builder();
+                        found++;
+                    } else if ("trkpt".equals(element) && track != null) {
+                        inPoint = true;
+                        lat = Double.parseDouble(reader.getAttributeValue(null, "lat"));
+                        lon = Double.parseDouble(reader.getAttributeValue(null, "lon"));
+                        time = Double.NaN;
+                    } else if ("time".equals(element) && inPoint) {
+                        time = parseTime(reader.getElementText());
+                    } else if ("name".equals(element) && track != null && !inPoint) {
+                        track.name(reader.getElementText().trim());
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    String element = reader.getLocalName();
+                    if ("trkpt".equals(element) && inPoint) {
+                        track.add(lon, lat, time);
+                        inPoint = false;
+                    } else if ("trk".equals(element) && track != null) {
+                        ImportedTrack built = track.build();
+                        if (built != null) {
+                            consumer.accept(built);
+                        }
+                        track = null;
+                    }
+                }
+            }
+            return found;
+        } catch (XMLStreamException | NumberFormatException | NullPointerException e) {
+            throw new IllegalArgumentException("잘못된 GPX 형식입니다: " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                    // 입력 스트림은 호출한 쪽에서 닫음
+                }
+            }
+        }
+    }
+
+    private static double parseTime(String text) {
+        try {
+            return OffsetDateTime.parse(text.trim()).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // 외부 엔티티/DTD 처리 비활성화 (XXE 방지)
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
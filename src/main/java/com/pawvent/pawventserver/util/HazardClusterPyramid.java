@@ -0,0 +1,178 @@
+package com.pawvent.pawventserver.util;
+
+import com.pawvent.pawventserver.domain.enums.HazardCategory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 위험 스팟 클러스터 격자 피라미드
+ *
+ * 지도 줌 레벨마다 웹 메르카토르 타일을 cellsPerTile × cellsPerTile 칸으로 나눈 격자를 두고,
+ * 칸별 위험 스팟 수, 좌표 합(중심점 계산용), 카테고리별 수를 유지합니다.
+ * 위험 스팟 하나를 추가/삭제할 때 레벨마다 한 칸씩만 갱신하므로 조회 시에는 범위 안의 칸을 읽기만 하면 됩니다.
+ * 스레드 안전하지 않으므로 호출 측에서 동기화해야 합니다.
+ */
+public final class HazardClusterPyramid {
+
+    /** 웹 메르카토르에서 표현 가능한 최대 위도 */
+    private static final double MAX_MERCATOR_LATITUDE = 85.05112878;
+
+    private static final int CATEGORY_COUNT = HazardCategory.values().length;
+
+    private final int maxZoom;
+    private final int cellsPerTile;
+    /** 줌 레벨 → (칸 키 → 칸) */
+    private final List<Map<Long, Cell>> levels;
+
+    /**
+     * @param maxZoom 격자를 유지할 최대 줌 레벨 (이보다 큰 줌은 이 레벨로 조회)
+     * @param cellsPerTile 타일 한 변을 나누는 칸 수
+     */
+    public HazardClusterPyramid(int maxZoom, int cellsPerTile) {
+        if (maxZoom < 0 || maxZoom > 22 || cellsPerTile < 1) {
+            throw new IllegalArgumentException("클러스터 격자 설정이 올바르지 않습니다.");
+        }
+        this.maxZoom = maxZoom;
+        this.cellsPerTile = cellsPerTile;
+        this.levels = new ArrayList<>(maxZoom + 1);
+        for (int zoom = 0; zoom <= maxZoom; zoom++) {
+            levels.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * 한 칸의 클러스터
+     *
+     * @param latitude 칸 안 위험 스팟들의 평균 위도
+     * @param longitude 칸 안 위험 스팟들의 평균 경도
+     * @param categoryCounts 카테고리별 수 (HazardCategory.ordinal() 순서)
+     * @param hazardId 칸에 위험 스팟이 하나뿐이면 그 ID, 아니면 null
+     */
+    public record Cluster(double latitude, double longitude, int count, int[] categoryCounts, Long hazardId) {
+    }
+
+    public int getMaxZoom() {
+        return maxZoom;
+    }
+
+    public void add(long hazardId, double latitude, double longitude, HazardCategory category) {
+        for (int zoom = 0; zoom <= maxZoom; zoom++) {
+            levels.get(zoom).computeIfAbsent(cellKey(zoom, latitude, longitude), key -> new Cell())
+                    .apply(hazardId, latitude, longitude, category, 1);
+        }
+    }
+
+    public void remove(long hazardId, double latitude, double longitude, HazardCategory category) {
+        for (int zoom = 0; zoom <= maxZoom; zoom++) {
+            Map<Long, Cell> level = levels.get(zoom);
+            long key = cellKey(zoom, latitude, longitude);
+            Cell cell = level.get(key);
+            if (cell != null && cell.apply(hazardId, latitude, longitude, category, -1) <= 0) {
+                level.remove(key);
+            }
+        }
+    }
+
+    /**
+     * 조회 영역의 칸 수를 계산합니다. 조회 전에 영역이 너무 넓은지 확인하는 데 사용합니다.
+     */
+    public long cellCount(int zoom, double minLat, double minLng, double maxLat, double maxLng) {
+        int level = levelOf(zoom);
+        long cells = cellsAt(level);
+        long width = cellX(cells, maxLng) - cellX(cells, minLng) + 1;
+        long height = cellY(cells, minLat) - cellY(cells, maxLat) + 1;
+        return width * height;
+    }
+
+    /**
+     * 영역 안의 클러스터를 조회합니다. 영역에 걸친 칸 전체를 돌려주므로 중심점이 영역 밖일 수도 있습니다.
+     *
+     * @param zoom 지도 줌 레벨 (maxZoom보다 크면 maxZoom으로 조회)
+     */
+    public List<Cluster> query(int zoom, double minLat, double minLng, double maxLat, double maxLng) {
+        int level = levelOf(zoom);
+        long cells = cellsAt(level);
+        long minX = cellX(cells, minLng);
+        long maxX = cellX(cells, maxLng);
+        long minY = cellY(cells, maxLat);
+        long maxY = cellY(cells, minLat);
+        Map<Long, Cell> grid = levels.get(level);
+
+        List<Cluster> clusters = new ArrayList<>();
+        long area = (maxX - minX + 1) * (maxY - minY + 1);
+        if (area <= grid.size()) {
+            // 영역의 칸 수가 채워진 칸 수보다 적으면 영역의 칸을 직접 찾음
+            for (long x = minX; x <= maxX; x++) {
+                for (long y = minY; y <= maxY; y++) {
+                    Cell cell = grid.get(key(x, y));
+                    if (cell != null) {
+                        clusters.add(cell.toCluster());
+                    }
+                }
+            }
+        } else {
+            for (Map.Entry<Long, Cell> entry : grid.entrySet()) {
+                long x = entry.getKey() >>> 32;
+                long y = entry.getKey() & 0xffffffffL;
+                if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                    clusters.add(entry.getValue().toCluster());
+                }
+            }
+        }
+        return clusters;
+    }
+
+    private int levelOf(int zoom) {
+        return Math.max(0, Math.min(zoom, maxZoom));
+    }
+
+    private long cellsAt(int zoom) {
+        return (1L << zoom) * cellsPerTile;
+    }
+
+    private long cellKey(int zoom, double latitude, double longitude) {
+        long cells = cellsAt(zoom);
+        return key(cellX(cells, longitude), cellY(cells, latitude));
+    }
+
+    private static long key(long x, long y) {
+        return (x << 32) | y;
+    }
+
+    private static long cellX(long cells, double longitude) {
+        double x = (Math.max(-180.0, Math.min(180.0, longitude)) + 180.0) / 360.0;
+        return Math.min(cells - 1, (long) Math.floor(x * cells));
+    }
+
+    private static long cellY(long cells, double latitude) {
+        double phi = Math.toRadians(Math.max(-MAX_MERCATOR_LATITUDE, Math.min(MAX_MERCATOR_LATITUDE, latitude)));
+        double y = (1.0 - Math.log(Math.tan(phi) + 1.0 / Math.cos(phi)) / Math.PI) / 2.0;
+        return Math.max(0, Math.min(cells - 1, (long) Math.floor(y * cells)));
+    }
+
+    private static final class Cell {
+        private int count;
+        private double sumLatitude;
+        private double sumLongitude;
+        private final int[] categoryCounts = new int[CATEGORY_COUNT];
+        /** 칸에 위험 스팟이 하나일 때 그 ID를 알려주기 위한 ID 합 (하나일 때만 의미 있음) */
+        private long sumIds;
+
+        int apply(long hazardId, double latitude, double longitude, HazardCategory category, int delta) {
+            count += delta;
+            sumLatitude += latitude * delta;
+            sumLongitude += longitude * delta;
+            sumIds += hazardId * delta;
+            categoryCounts[category.ordinal()] += delta;
+            return count;
+        }
+
+        Cluster toCluster() {
+            return new Cluster(sumLatitude / count, sumLongitude / count, count,
+                    categoryCounts.clone(), count == 1 ? sumIds : null);
+        }
+    }
+}
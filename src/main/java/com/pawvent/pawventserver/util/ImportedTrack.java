@@ -0,0 +1,92 @@
+package com.pawvent.pawventserver.util;
+
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+
+import java.util.Arrays;
+
+/**
+ * 외부 파일(GPX/GeoJSON)에서 읽은 산책 트랙 하나
+ *
+ * 좌표는 (경도, 위도, 기록 시각 epoch millis) 순서로 PackedCoordinateSequence에 담깁니다.
+ */
+public final class ImportedTrack {
+
+    private final String name;
+    private final CoordinateSequence points;
+
+    private ImportedTrack(String name, CoordinateSequence points) {
+        this.name = name;
+        this.points = points;
+    }
+
+    public String getName() { return name; }
+    public CoordinateSequence getPoints() { return points; }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 좌표마다 객체를 만들지 않도록 하나의 double 배열에 (x, y, m)을 이어서 쌓는 빌더
+     */
+    public static final class Builder {
+        private double[] packed = new double[256 * 3];
+        private int size;
+        private String name;
+
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * @param time 기록 시각 (epoch millis, 모르면 NaN)
+         */
+        public Builder add(double x, double y, double time) {
+            if ((size + 1) * 3 > packed.length) {
+                packed = Arrays.copyOf(packed, packed.length * 2);
+            }
+            packed[size * 3] = x;
+            packed[size * 3 + 1] = y;
+            packed[size * 3 + 2] = time;
+            size++;
+            return this;
+        }
+
+        public void setTime(int index, double time) {
+            packed[index * 3 + 2] = time;
+        }
+
+        public double getTime(int index) {
+            return packed[index * 3 + 2];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * 기록 시각이 없는 좌표를 제외하고 트랙을 만듭니다.
+         *
+         * @return 트랙 (남은 좌표가 2개 미만이면 null)
+         */
+        public ImportedTrack build() {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                double time = packed[i * 3 + 2];
+                if (Double.isNaN(time)) {
+                    continue;
+                }
+                if (kept != i) {
+                    System.arraycopy(packed, i * 3, packed, kept * 3, 3);
+                }
+                kept++;
+            }
+            if (kept < 2) {
+                return null;
+            }
+            return new ImportedTrack(name, new PackedCoordinateSequence.Double(Arrays.copyOf(packed, kept * 3), 3, 1));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.pawvent.pawventserver.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * (시작 시각, ID) 키셋 커서 인코딩 유틸리티
+ *
+ * 커서는 마지막으로 받은 항목의 정렬 키를 URL-safe Base64 문자열로 감싼 것이며,
+ * 클라이언트는 내용을 해석하지 않고 그대로 돌려보내면 됩니다.
+ */
+public final class KeysetCursor {
+
+    private final OffsetDateTime startTime;
+    private final Long id;
+
+    private KeysetCursor(OffsetDateTime startTime, Long id) {
+        this.startTime = startTime;
+        this.id = id;
+    }
+
+    /**
+     * 첫 페이지용 커서 (모든 행보다 뒤에 위치)
+     */
+    public static KeysetCursor first() {
+        return new KeysetCursor(OffsetDateTime.of(9999, 12, 31, 0, 0, 0, 0, ZoneOffset.UTC), Long.MAX_VALUE);
+    }
+
+    public static String encode(OffsetDateTime startTime, Long id) {
+        String raw = startTime.toInstant().toString() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 문자열을 해석합니다. 비어있으면 첫 페이지 커서를 반환합니다.
+     *
+     * @throws IllegalArgumentException 커서 형식이 잘못된 경우
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return first();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            Instant instant = Instant.parse(raw.substring(0, separator));
+            Long id = Long.valueOf(raw.substring(separator + 1));
+            return new KeysetCursor(instant.atOffset(ZoneOffset.UTC), id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+
+    public OffsetDateTime getStartTime() { return startTime; }
+    public Long getId() { return id; }
+}
@@ -0,0 +1,101 @@
+package com.pawvent.pawventserver.util;
+
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+
+import java.util.Arrays;
+
+/**
+ * 경로 좌표 압축 인코딩 유틸리티 (Encoded Polyline Algorithm)
+ *
+ * 위도/경도를 고정 소수점 정수로 바꾼 뒤 이전 좌표와의 차이(delta)만 가변 길이 문자로 기록합니다.
+ * 좌표마다 JSON 객체를 만드는 것보다 응답 크기가 훨씬 작고, 지도 SDK에서 바로 디코딩할 수 있습니다.
+ */
+public final class PolylineCodec {
+
+    /** 기본 정밀도 (소수점 5자리, 약 1.1m) */
+    public static final int DEFAULT_PRECISION = 5;
+
+    private PolylineCodec() {
+    }
+
+    public static String encode(CoordinateSequence sequence) {
+        return encode(sequence, DEFAULT_PRECISION);
+    }
+
+    /**
+     * 좌표 시퀀스를 인코딩합니다. (x=경도, y=위도)
+     * 좌표 객체를 만들지 않고 시퀀스에서 직접 값을 읽습니다.
+     */
+    public static String encode(CoordinateSequence sequence, int precision) {
+        double factor = Math.pow(10, precision);
+        StringBuilder sb = new StringBuilder(sequence.size() * 8);
+        long prevLat = 0;
+        long prevLng = 0;
+        for (int i = 0; i < sequence.size(); i++) {
+            long lat = Math.round(sequence.getY(i) * factor);
+            long lng = Math.round(sequence.getX(i) * factor);
+            encodeValue(lat - prevLat, sb);
+            encodeValue(lng - prevLng, sb);
+            prevLat = lat;
+            prevLng = lng;
+        }
+        return sb.toString();
+    }
+
+    public static CoordinateSequence decode(String encoded) {
+        return decode(encoded, DEFAULT_PRECISION);
+    }
+
+    /**
+     * 인코딩된 문자열을 2차원 좌표 시퀀스로 디코딩합니다.
+     *
+     * @throws IllegalArgumentException 인코딩 형식이 잘못된 경우
+     */
+    public static CoordinateSequence decode(String encoded, int precision) {
+        double factor = Math.pow(10, precision);
+        double[] packed = new double[Math.max(16, encoded.length() / 4)];
+        int count = 0;
+        int[] index = {0};
+        long lat = 0;
+        long lng = 0;
+        while (index[0] < encoded.length()) {
+            lat += decodeValue(encoded, index);
+            lng += decodeValue(encoded, index);
+            if (count * 2 + 2 > packed.length) {
+                packed = Arrays.copyOf(packed, packed.length * 2);
+            }
+            packed[count * 2] = lng / factor;
+            packed[count * 2 + 1] = lat / factor;
+            count++;
+        }
+        return new PackedCoordinateSequence.Double(Arrays.copyOf(packed, count * 2), 2, 0);
+    }
+
+    private static void encodeValue(long value, StringBuilder sb) {
+        long v = value < 0 ? ~(value << 1) : value << 1;
+        while (v >= 0x20) {
+            sb.append((char) ((0x20 | (v & 0x1f)) + 63));
+            v >>= 5;
+        }
+        sb.append((char) (v + 63));
+    }
+
+    private static long decodeValue(String encoded, int[] index) {
+        long result = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (index[0] >= encoded.length()) {
+                throw new IllegalArgumentException("잘못된 경로 인코딩 형식입니다.");
+            }
+            b = encoded.charAt(index[0]++) - 63;
+            if (b < 0 || shift > 60) {
+                throw new IllegalArgumentException("잘못된 경로 인코딩 형식입니다.");
+            }
+            result |= (long) (b & 0x1f) << shift;
+            shift += 5;
+        } while (b >= 0x20);
+        return (result & 1) != 0 ? ~(result >> 1) : result >> 1;
+    }
+}
@@ -0,0 +1,104 @@
+package com.pawvent.pawventserver.util;
+
+/**
+ * 계획 루트 준수 상태 누적기
+ *
+ * 좌표를 시간 순서대로 하나씩 받아 루트 이탈/복귀를 판정하고, 이동 거리 기준 준수율을 증분 계산합니다.
+ * GPS 튐으로 상태가 흔들리지 않도록 같은 판정이 confirmPoints번 연속될 때만 상태를 바꿉니다.
+ * 스레드 안전하지 않으므로 호출하는 쪽에서 동기화해야 합니다.
+ */
+public final class RouteAdherenceTracker {
+
+    /** 좌표 하나를 반영한 결과 상태 변화 */
+    public enum Transition {
+        NONE,
+        LEFT_ROUTE,
+        RETURNED
+    }
+
+    private final RouteMatcher matcher;
+    private final double offRouteMeters;
+    private final int confirmPoints;
+    private final boolean fromStart;
+
+    private boolean hasLast;
+    private double lastX;
+    private double lastY;
+    private double lastDeviation = Double.POSITIVE_INFINITY;
+    private double totalMeters;
+    private double onRouteMeters;
+    private boolean offRoute;
+    private int streak;
+    private int offRouteCount;
+
+    /**
+     * @param matcher 루트 근접 판정기
+     * @param offRouteMeters 이 거리보다 멀면 이탈로 판정 (미터)
+     * @param confirmPoints 상태를 바꾸기 위해 필요한 연속 판정 수
+     * @param fromStart 산책 시작부터 모든 좌표를 받는지 여부 (false면 준수율이 일부 구간 기준)
+     */
+    public RouteAdherenceTracker(RouteMatcher matcher, double offRouteMeters, int confirmPoints, boolean fromStart) {
+        this.matcher = matcher;
+        this.offRouteMeters = offRouteMeters;
+        this.confirmPoints = Math.max(1, confirmPoints);
+        this.fromStart = fromStart;
+    }
+
+    /**
+     * 좌표 하나를 반영합니다.
+     *
+     * @param x 경도
+     * @param y 위도
+     * @return 이번 좌표로 확정된 상태 변화
+     */
+    public Transition add(double x, double y) {
+        double deviation = matcher.distanceMeters(x, y, offRouteMeters);
+        boolean within = deviation <= offRouteMeters;
+        if (hasLast) {
+            double meters = GeoUtils.haversineMeters(lastY, lastX, y, x);
+            totalMeters += meters;
+            if (within) {
+                onRouteMeters += meters;
+            }
+        }
+        lastX = x;
+        lastY = y;
+        lastDeviation = deviation;
+        hasLast = true;
+
+        // 현재 상태와 반대되는 판정이 연속될 때만 상태 전환
+        if (within == offRoute) {
+            streak++;
+        } else {
+            streak = 0;
+        }
+        if (streak < confirmPoints) {
+            return Transition.NONE;
+        }
+        streak = 0;
+        offRoute = !offRoute;
+        if (offRoute) {
+            offRouteCount++;
+            return Transition.LEFT_ROUTE;
+        }
+        return Transition.RETURNED;
+    }
+
+    /**
+     * @return 이동 거리 기준 준수율 (0~100, 이동 거리가 없으면 null)
+     */
+    public Double getAdherencePercent() {
+        return totalMeters > 0 ? onRouteMeters * 100.0 / totalMeters : null;
+    }
+
+    /**
+     * @return 마지막 좌표의 루트까지 거리 (미터, 이탈 판정 거리보다 멀면 null)
+     */
+    public Double getDeviationMeters() {
+        return Double.isInfinite(lastDeviation) ? null : lastDeviation;
+    }
+
+    public boolean isFromStart() { return fromStart; }
+    public boolean isOffRoute() { return offRoute; }
+    public int getOffRouteCount() { return offRouteCount; }
+}
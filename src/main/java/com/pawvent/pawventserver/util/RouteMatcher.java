@@ -0,0 +1,152 @@
+package com.pawvent.pawventserver.util;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.LineSegment;
+import org.locationtech.jts.index.strtree.STRtree;
+
+/**
+ * 계획 루트 근접 판정기
+ *
+ * 루트의 각 선분을 루트 중심 기준 평면 좌표(미터)로 변환해 STR-tree에 미리 색인해두고,
+ * 좌표 하나가 루트에서 얼마나 떨어져 있는지 O(log n)으로 계산합니다.
+ * 산책 범위(수 km)에서는 등거리 원통 투영의 오차가 무시할 만하므로 선분 거리를 평면에서 계산합니다.
+ * 생성 후에는 읽기 전용이므로 여러 스레드에서 공유해도 안전합니다.
+ */
+public final class RouteMatcher {
+
+    private static final double METERS_PER_DEGREE = Math.PI / 180.0 * GeoUtils.EARTH_RADIUS_METERS;
+
+    private final double originX;
+    private final double originY;
+    private final double metersPerDegreeX;
+    private final STRtree index = new STRtree();
+    private final int segmentCount;
+
+    /**
+     * @param route 루트 좌표 시퀀스 (x=경도, y=위도)
+     */
+    public RouteMatcher(CoordinateSequence route) {
+        int size = route.size();
+        double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            minX = Math.min(minX, route.getX(i));
+            maxX = Math.max(maxX, route.getX(i));
+            minY = Math.min(minY, route.getY(i));
+            maxY = Math.max(maxY, route.getY(i));
+        }
+        this.originX = size > 0 ? (minX + maxX) / 2 : 0.0;
+        this.originY = size > 0 ? (minY + maxY) / 2 : 0.0;
+        this.metersPerDegreeX = METERS_PER_DEGREE * Math.cos(Math.toRadians(originY));
+
+        int segments = 0;
+        for (int i = 1; i < size; i++) {
+            LineSegment segment = new LineSegment(
+                    project(route.getX(i - 1), route.getY(i - 1)),
+                    project(route.getX(i), route.getY(i)));
+            index.insert(new Envelope(segment.p0, segment.p1), new IndexedSegment(i - 1, segment));
+            segments++;
+        }
+        this.segmentCount = segments;
+        // 조회 시점의 지연 생성을 막아 여러 스레드에서 동시에 조회할 수 있게 함
+        index.build();
+    }
+
+    /**
+     * 좌표에서 루트까지의 최단 거리를 계산합니다.
+     * maxMeters 반경 안의 선분만 확인하므로, 그보다 멀면 정확한 거리 대신 무한대를 반환합니다.
+     *
+     * @param x 경도
+     * @param y 위도
+     * @param maxMeters 탐색 반경 (미터)
+     * @return 루트까지의 거리 (미터, 반경 밖이면 Double.POSITIVE_INFINITY)
+     */
+    public double distanceMeters(double x, double y, double maxMeters) {
+        if (segmentCount == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        Coordinate point = project(x, y);
+        Envelope search = new Envelope(point);
+        search.expandBy(maxMeters);
+        double[] nearest = {Double.POSITIVE_INFINITY};
+        index.query(search, item -> {
+            double distance = ((IndexedSegment) item).segment().distance(point);
+            if (distance < nearest[0]) {
+                nearest[0] = distance;
+            }
+        });
+        return nearest[0] <= maxMeters ? nearest[0] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * 좌표에서 가장 가까운 루트 선분을 찾습니다.
+     * 거리가 같으면 루트 앞쪽(번호가 작은) 선분을 돌려줍니다.
+     *
+     * @param x 경도
+     * @param y 위도
+     * @param maxMeters 탐색 반경 (미터)
+     * @return 가장 가까운 선분 (반경 안에 선분이 없으면 null)
+     */
+    public SegmentMatch nearestSegment(double x, double y, double maxMeters) {
+        if (segmentCount == 0) {
+            return null;
+        }
+        Coordinate point = project(x, y);
+        Envelope search = new Envelope(point);
+        search.expandBy(maxMeters);
+        SegmentMatch[] nearest = {null};
+        index.query(search, item -> {
+            IndexedSegment indexed = (IndexedSegment) item;
+            double distance = indexed.segment().distance(point);
+            SegmentMatch current = nearest[0];
+            if (distance <= maxMeters && (current == null || distance < current.distanceMeters()
+                    || (distance == current.distanceMeters() && indexed.index() < current.segmentIndex()))) {
+                nearest[0] = new SegmentMatch(indexed.index(), distance);
+            }
+        });
+        return nearest[0];
+    }
+
+    /**
+     * 트랙 전체의 루트 준수율을 계산합니다 (이동 거리 가중).
+     * 각 구간의 끝 좌표가 루트에서 maxMeters 이내이면 그 구간 거리를 루트 위 이동으로 셉니다.
+     *
+     * @param track 트랙 좌표 시퀀스 (x=경도, y=위도)
+     * @param maxMeters 루트 이탈 판정 거리 (미터)
+     * @return 준수율 (0~100, 이동 거리가 없으면 null)
+     */
+    public Double adherencePercent(CoordinateSequence track, double maxMeters) {
+        double total = 0.0;
+        double onRoute = 0.0;
+        for (int i = 1; i < track.size(); i++) {
+            double meters = GeoUtils.haversineMeters(track.getY(i - 1), track.getX(i - 1), track.getY(i), track.getX(i));
+            total += meters;
+            if (distanceMeters(track.getX(i), track.getY(i), maxMeters) <= maxMeters) {
+                onRoute += meters;
+            }
+        }
+        return total > 0 ? onRoute * 100.0 / total : null;
+    }
+
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    private Coordinate project(double x, double y) {
+        return new Coordinate((x - originX) * metersPerDegreeX, (y - originY) * METERS_PER_DEGREE);
+    }
+
+    /**
+     * 좌표와 가장 가까운 루트 선분
+     *
+     * @param segmentIndex 선분 번호 (i번 선분은 i번째와 i+1번째 정점을 잇는 선분, 0부터 시작)
+     * @param distanceMeters 선분까지의 거리 (미터)
+     */
+    public record SegmentMatch(int segmentIndex, double distanceMeters) {
+    }
+
+    private record IndexedSegment(int index, LineSegment segment) {
+    }
+}
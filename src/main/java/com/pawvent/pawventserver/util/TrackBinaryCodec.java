@@ -0,0 +1,167 @@
+package com.pawvent.pawventserver.util;
+
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+
+import java.util.Arrays;
+
+/**
+ * 경로/트랙 좌표 바이너리 인코딩 유틸리티 (application/vnd.pawvent.track)
+ *
+ * 위도/경도(와 기록 시각)를 고정 소수점 정수로 바꾼 뒤 이전 좌표와의 차이(delta)를 zigzag 가변 길이 정수(varint)로 기록합니다.
+ * 걷는 속도의 연속 좌표는 대부분 좌표당 4~6바이트로 표현되어 JSON 좌표 배열보다 훨씬 작고,
+ * 디코딩은 좌표 객체를 만들지 않고 하나의 double 배열에 바로 채워 PackedCoordinateSequence로 감쌉니다.
+ *
+ * 형식: [버전 1B][플래그 1B (bit0=기록 시각 포함)][정밀도 1B (소수점 자릿수)][좌표 수 varint]
+ *       이후 좌표마다 [Δ위도][Δ경도][Δ기록 시각 ms (플래그가 있을 때)] - 모두 zigzag varint, 첫 좌표는 0 기준
+ */
+public final class TrackBinaryCodec {
+
+    /** HTTP 미디어 타입 */
+    public static final String MEDIA_TYPE = "application/vnd.pawvent.track";
+
+    /** 기본 정밀도 (소수점 6자리, 약 0.11m) */
+    public static final int DEFAULT_PRECISION = 6;
+
+    private static final int VERSION = 1;
+    private static final int FLAG_TIME = 1;
+    private static final int MAX_PRECISION = 9;
+    private static final int HEADER_BYTES = 3;
+
+    private TrackBinaryCodec() {
+    }
+
+    /**
+     * 기본 정밀도로 인코딩합니다. 시퀀스에 M(기록 시각)이 있으면 함께 기록합니다.
+     */
+    public static byte[] encode(CoordinateSequence sequence) {
+        return encode(sequence, DEFAULT_PRECISION, sequence.hasM());
+    }
+
+    /**
+     * 좌표 시퀀스를 인코딩합니다. (x=경도, y=위도, m=기록 시각 epoch millis)
+     * 좌표 객체를 만들지 않고 시퀀스에서 직접 값을 읽습니다.
+     *
+     * @param precision 소수점 자릿수 (0~9)
+     * @param withTime 기록 시각 포함 여부 (시퀀스에 M이 있어야 함)
+     */
+    public static byte[] encode(CoordinateSequence sequence, int precision, boolean withTime) {
+        if (precision < 0 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("정밀도는 0~" + MAX_PRECISION + " 사이여야 합니다.");
+        }
+        double factor = Math.pow(10, precision);
+        int count = sequence.size();
+        byte[] buffer = new byte[HEADER_BYTES + 5 + count * (withTime ? 8 : 6)];
+        buffer[0] = (byte) VERSION;
+        buffer[1] = (byte) (withTime ? FLAG_TIME : 0);
+        buffer[2] = (byte) precision;
+        int[] position = {HEADER_BYTES};
+        buffer = writeVarint(buffer, position, count);
+
+        long prevLat = 0;
+        long prevLng = 0;
+        long prevTime = 0;
+        for (int i = 0; i < count; i++) {
+            long lat = Math.round(sequence.getY(i) * factor);
+            long lng = Math.round(sequence.getX(i) * factor);
+            buffer = writeVarint(buffer, position, zigzag(lat - prevLat));
+            buffer = writeVarint(buffer, position, zigzag(lng - prevLng));
+            prevLat = lat;
+            prevLng = lng;
+            if (withTime) {
+                long time = (long) sequence.getM(i);
+                buffer = writeVarint(buffer, position, zigzag(time - prevTime));
+                prevTime = time;
+            }
+        }
+        return Arrays.copyOf(buffer, position[0]);
+    }
+
+    /**
+     * 바이너리를 좌표 시퀀스로 디코딩합니다.
+     * 기록 시각이 있으면 (x, y, m) 3차원, 없으면 (x, y) 2차원 시퀀스를 반환합니다.
+     *
+     * @throws IllegalArgumentException 형식이 잘못되었거나 지원하지 않는 버전인 경우
+     */
+    public static CoordinateSequence decode(byte[] data) {
+        if (data.length < HEADER_BYTES + 1) {
+            throw invalid();
+        }
+        if ((data[0] & 0xff) != VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 좌표 바이너리 버전입니다.");
+        }
+        boolean withTime = (data[1] & FLAG_TIME) != 0;
+        int precision = data[2] & 0xff;
+        if (precision > MAX_PRECISION) {
+            throw invalid();
+        }
+        double factor = Math.pow(10, precision);
+
+        int[] position = {HEADER_BYTES};
+        long count = readVarint(data, position);
+        // 좌표 하나는 최소 (차원 수)바이트이므로, 본문보다 큰 좌표 수로 큰 배열을 잡지 않도록 먼저 확인
+        int dimension = withTime ? 3 : 2;
+        if (count < 0 || count > (data.length - position[0]) / dimension) {
+            throw invalid();
+        }
+
+        double[] packed = new double[(int) count * dimension];
+        long lat = 0;
+        long lng = 0;
+        long time = 0;
+        for (int i = 0; i < count; i++) {
+            lat += unzigzag(readVarint(data, position));
+            lng += unzigzag(readVarint(data, position));
+            int offset = i * dimension;
+            packed[offset] = lng / factor;
+            packed[offset + 1] = lat / factor;
+            if (withTime) {
+                time += unzigzag(readVarint(data, position));
+                packed[offset + 2] = time;
+            }
+        }
+        if (position[0] != data.length) {
+            throw invalid();
+        }
+        return new PackedCoordinateSequence.Double(packed, dimension, withTime ? 1 : 0);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static byte[] writeVarint(byte[] buffer, int[] position, long value) {
+        if (position[0] + 10 > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position[0] + 10));
+        }
+        while ((value & ~0x7fL) != 0) {
+            buffer[position[0]++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position[0]++] = (byte) value;
+        return buffer;
+    }
+
+    private static long readVarint(byte[] data, int[] position) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position[0] >= data.length) {
+                throw invalid();
+            }
+            byte b = data[position[0]++];
+            result |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw invalid();
+    }
+
+    private static IllegalArgumentException invalid() {
+        return new IllegalArgumentException("잘못된 좌표 바이너리 형식입니다.");
+    }
+}
@@ -0,0 +1,92 @@
+package com.pawvent.pawventserver.util;
+
+/**
+ * GPS 좌표 이동 통계 누적기
+ *
+ * 좌표를 시간 순서대로 하나씩 받아 이동 거리, 이동 시간, 휴식 횟수를 증분 계산합니다.
+ * 실시간 산책(좌표 수신)과 과거 기록 가져오기에서 같은 기준으로 통계를 내기 위해 사용합니다.
+ * 스레드 안전하지 않으므로 호출하는 쪽에서 동기화해야 합니다.
+ */
+public final class TrackMotionAccumulator {
+
+    /** 이동 중으로 판단하는 최소 속도 (m/s) */
+    public static final double MOVING_SPEED_MPS = 0.5;
+
+    /** 정지 상태가 이 시간 이상 이어지면 한 번의 휴식(pause)으로 집계 (1분) */
+    public static final long PAUSE_THRESHOLD_MILLIS = 60 * 1000L;
+
+    /** 마지막 좌표의 기록 시각을 모르는 경우 (체크포인트에서 이어서 기록하는 경우) */
+    private static final long UNKNOWN_TIME = Long.MIN_VALUE;
+
+    private boolean hasLast;
+    private double lastX;
+    private double lastY;
+    private long lastTime;
+    private double distanceMeters;
+    private long movingMillis;
+    private long stationaryMillis;
+    private int pauseCount;
+
+    /**
+     * 이전에 저장해둔 통계에서 이어서 누적합니다.
+     * 마지막 좌표의 기록 시각을 모르므로 다음 좌표까지는 거리만 누적합니다.
+     *
+     * @param lastX 마지막 좌표 경도 (없으면 null)
+     * @param lastY 마지막 좌표 위도 (없으면 null)
+     */
+    public void resume(Double lastX, Double lastY, double distanceMeters, long movingMillis, int pauseCount) {
+        this.distanceMeters = distanceMeters;
+        this.movingMillis = movingMillis;
+        this.pauseCount = pauseCount;
+        if (lastX != null && lastY != null) {
+            this.lastX = lastX;
+            this.lastY = lastY;
+            this.lastTime = UNKNOWN_TIME;
+            this.hasLast = true;
+        }
+    }
+
+    /**
+     * 직전 좌표와의 거리/시간 차이로 이동 거리, 이동 시간, 휴식 횟수를 누적합니다.
+     * 기록 시각이 역순인 좌표는 통계에서 제외합니다.
+     *
+     * @param x 경도
+     * @param y 위도
+     * @param time 기록 시각 (epoch millis)
+     */
+    public void add(double x, double y, long time) {
+        if (hasLast) {
+            if (lastTime == UNKNOWN_TIME) {
+                distanceMeters += GeoUtils.haversineMeters(lastY, lastX, y, x);
+            } else {
+                long dt = time - lastTime;
+                if (dt < 0) {
+                    return;
+                }
+                double meters = GeoUtils.haversineMeters(lastY, lastX, y, x);
+                distanceMeters += meters;
+                if (dt > 0 && meters * 1000.0 / dt >= MOVING_SPEED_MPS) {
+                    movingMillis += dt;
+                    stationaryMillis = 0;
+                } else {
+                    long before = stationaryMillis;
+                    stationaryMillis += dt;
+                    if (before < PAUSE_THRESHOLD_MILLIS && stationaryMillis >= PAUSE_THRESHOLD_MILLIS) {
+                        pauseCount++;
+                    }
+                }
+            }
+        }
+        lastX = x;
+        lastY = y;
+        lastTime = time;
+        hasLast = true;
+    }
+
+    public boolean hasLast() { return hasLast; }
+    public double getLastX() { return lastX; }
+    public double getLastY() { return lastY; }
+    public double getDistanceMeters() { return distanceMeters; }
+    public long getMovingMillis() { return movingMillis; }
+    public int getPauseCount() { return pauseCount; }
+}
@@ -0,0 +1,206 @@
+package com.pawvent.pawventserver.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.PriorityQueue;
+
+/**
+ * GPS 경로 단순화 컴포넌트
+ *
+ * 휴대폰에서 수집한 원본 경로는 몇 미터 간격의 흔들리는 좌표로 가득하므로,
+ * 저장 전에 미터 단위 허용 오차로 불필요한 정점을 제거합니다.
+ * 경위도를 첫 좌표 기준의 평면(equirectangular) 좌표로 투영해 거리를 미터로 계산하며,
+ * 남겨진 정점은 원본 좌표를 그대로 유지합니다.
+ */
+@Slf4j
+@Component
+public class TrackSimplifier {
+
+    /** 위도 1도당 거리 (미터) */
+    private static final double METERS_PER_DEGREE = GeoUtils.EARTH_RADIUS_METERS * Math.PI / 180.0;
+
+    public enum Algorithm {
+        DOUGLAS_PEUCKER,
+        VISVALINGAM
+    }
+
+    @Value("${pawvent.geometry.simplify.tolerance-meters:3.0}")
+    private double toleranceMeters;
+
+    @Value("${pawvent.geometry.simplify.algorithm:DOUGLAS_PEUCKER}")
+    private Algorithm algorithm;
+
+    /**
+     * 설정된 허용 오차로 LineString을 단순화합니다.
+     * 허용 오차가 0 이하이거나 정점이 3개 미만이면 원본을 그대로 반환합니다.
+     */
+    public LineString simplify(LineString lineString) {
+        if (lineString == null) {
+            return null;
+        }
+        CoordinateSequence simplified = simplify(lineString.getCoordinateSequence());
+        if (simplified == lineString.getCoordinateSequence()) {
+            return lineString;
+        }
+        LineString result = lineString.getFactory().createLineString(simplified);
+        result.setSRID(lineString.getSRID());
+        return result;
+    }
+
+    /**
+     * 설정된 허용 오차로 좌표 시퀀스를 단순화합니다.
+     * 시작점과 끝점은 항상 유지되며, 입력 시퀀스의 차원(M 포함)을 그대로 유지합니다.
+     */
+    public CoordinateSequence simplify(CoordinateSequence sequence) {
+        int size = sequence.size();
+        if (toleranceMeters <= 0 || size < 3) {
+            return sequence;
+        }
+
+        double[] xs = new double[size];
+        double[] ys = new double[size];
+        project(sequence, xs, ys);
+
+        boolean[] keep = algorithm == Algorithm.VISVALINGAM
+                ? visvalingam(xs, ys, toleranceMeters * toleranceMeters)
+                : douglasPeucker(xs, ys, toleranceMeters * toleranceMeters);
+
+        int kept = 0;
+        for (boolean k : keep) {
+            if (k) kept++;
+        }
+        if (kept == size) {
+            return sequence;
+        }
+        return copyKept(sequence, keep, kept);
+    }
+
+    private void project(CoordinateSequence sequence, double[] xs, double[] ys) {
+        double originX = sequence.getX(0);
+        double originY = sequence.getY(0);
+        double scaleX = METERS_PER_DEGREE * Math.cos(Math.toRadians(originY));
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = (sequence.getX(i) - originX) * scaleX;
+            ys[i] = (sequence.getY(i) - originY) * METERS_PER_DEGREE;
+        }
+    }
+
+    /**
+     * Douglas-Peucker: 구간 양 끝을 잇는 선분에서 가장 먼 정점이 허용 오차를 넘으면 분할
+     * 재귀 대신 명시적 스택을 사용해 긴 경로에서도 스택 오버플로가 나지 않도록 합니다.
+     */
+    private boolean[] douglasPeucker(double[] xs, double[] ys, double toleranceSq) {
+        int size = xs.length;
+        boolean[] keep = new boolean[size];
+        keep[0] = true;
+        keep[size - 1] = true;
+
+        int[] stack = new int[size * 2];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = size - 1;
+
+        while (top > 0) {
+            int end = stack[--top];
+            int start = stack[--top];
+            double maxDistSq = -1;
+            int index = -1;
+            for (int i = start + 1; i < end; i++) {
+                double distSq = segmentDistanceSq(xs[i], ys[i], xs[start], ys[start], xs[end], ys[end]);
+                if (distSq > maxDistSq) {
+                    maxDistSq = distSq;
+                    index = i;
+                }
+            }
+            if (index >= 0 && maxDistSq > toleranceSq) {
+                keep[index] = true;
+                stack[top++] = start;
+                stack[top++] = index;
+                stack[top++] = index;
+                stack[top++] = end;
+            }
+        }
+        return keep;
+    }
+
+    /**
+     * Visvalingam-Whyatt: 인접 정점과 이루는 삼각형 면적이 가장 작은 정점부터 제거
+     * 면적 기준값은 허용 오차의 제곱(㎡)을 사용합니다.
+     */
+    private boolean[] visvalingam(double[] xs, double[] ys, double areaTolerance) {
+        int size = xs.length;
+        boolean[] keep = new boolean[size];
+        int[] prev = new int[size];
+        int[] next = new int[size];
+        double[] area = new double[size];
+        PriorityQueue<double[]> queue = new PriorityQueue<>(size, (a, b) -> Double.compare(a[0], b[0]));
+
+        for (int i = 0; i < size; i++) {
+            keep[i] = true;
+            prev[i] = i - 1;
+            next[i] = i + 1;
+        }
+        for (int i = 1; i < size - 1; i++) {
+            area[i] = triangleArea(xs, ys, i - 1, i, i + 1);
+            queue.add(new double[] {area[i], i});
+        }
+
+        while (!queue.isEmpty()) {
+            double[] candidate = queue.poll();
+            int i = (int) candidate[1];
+            if (!keep[i] || candidate[0] != area[i]) {
+                continue; // 이미 제거되었거나 면적이 갱신된 항목
+            }
+            if (candidate[0] >= areaTolerance) {
+                break;
+            }
+            keep[i] = false;
+            int p = prev[i];
+            int n = next[i];
+            next[p] = n;
+            prev[n] = p;
+            if (p > 0) {
+                area[p] = Math.max(candidate[0], triangleArea(xs, ys, prev[p], p, n));
+                queue.add(new double[] {area[p], p});
+            }
+            if (n < size - 1) {
+                area[n] = Math.max(candidate[0], triangleArea(xs, ys, p, n, next[n]));
+                queue.add(new double[] {area[n], n});
+            }
+        }
+        return keep;
+    }
+
+    private static double triangleArea(double[] xs, double[] ys, int a, int b, int c) {
+        return Math.abs((xs[b] - xs[a]) * (ys[c] - ys[a]) - (xs[c] - xs[a]) * (ys[b] - ys[a])) / 2.0;
+    }
+
+    private static double segmentDistanceSq(double px, double py, double ax, double ay, double bx, double by) {
+        double dx = bx - ax;
+        double dy = by - ay;
+        double lengthSq = dx * dx + dy * dy;
+        double t = lengthSq == 0 ? 0 : ((px - ax) * dx + (py - ay) * dy) / lengthSq;
+        t = Math.max(0, Math.min(1, t));
+        double cx = ax + t * dx - px;
+        double cy = ay + t * dy - py;
+        return cx * cx + cy * cy;
+    }
+
+    private static CoordinateSequence copyKept(CoordinateSequence sequence, boolean[] keep, int kept) {
+        int dimension = sequence.getDimension();
+        double[] packed = new double[kept * dimension];
+        int offset = 0;
+        for (int i = 0; i < keep.length; i++) {
+            if (!keep[i]) continue;
+            for (int d = 0; d < dimension; d++) {
+                packed[offset++] = sequence.getOrdinate(i, d);
+            }
+        }
+        return new PackedCoordinateSequence.Double(packed, dimension, sequence.getMeasures());
+    }
+}
@@ -0,0 +1,54 @@
+package com.pawvent.pawventserver.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션 완료 시점 콜백 유틸리티
+ *
+ * 메모리 색인/레지스트리처럼 DB 밖의 상태는 트랜잭션이 롤백되면 되돌릴 수 없으므로 커밋된 뒤에 반영합니다.
+ */
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 action을 실행합니다.
+     * 진행 중인 트랜잭션이 없으면 바로 실행합니다.
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 현재 트랜잭션이 끝난 뒤 커밋되었으면 onCommit, 롤백되었으면 onRollback을 실행합니다.
+     * 진행 중인 트랜잭션이 없으면 onCommit을 바로 실행합니다.
+     * 결과를 알 수 없는 경우(STATUS_UNKNOWN)는 커밋된 것으로 봅니다.
+     */
+    public static void afterCompletion(Runnable onCommit, Runnable onRollback) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        onRollback.run();
+                    } else {
+                        onCommit.run();
+                    }
+                }
+            });
+        } else {
+            onCommit.run();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.pawvent.pawventserver.config;
+
+import com.pawvent.pawventserver.util.TrackBinaryCodec;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class TrackBinaryMessageConverterTest {
+
+    private final TrackBinaryMessageConverter converter = new TrackBinaryMessageConverter();
+
+    @Test
+    void writesAndReadsBackSequenceWithTime() throws IOException {
+        CoordinateSequence sequence = new PackedCoordinateSequence.Double(new double[] {
+                126.978388, 37.566610, 1_700_000_000_000L,
+                126.978512, 37.566702, 1_700_000_003_000L
+        }, 3, 1);
+
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(sequence, TrackBinaryMessageConverter.MEDIA_TYPE, output);
+        byte[] body = output.getBodyAsBytes();
+
+        assertThat(output.getHeaders().getContentType()).isEqualTo(TrackBinaryMessageConverter.MEDIA_TYPE);
+        assertThat(output.getHeaders().getContentLength()).isEqualTo(body.length);
+
+        CoordinateSequence read = converter.read(CoordinateSequence.class, new MockHttpInputMessage(body));
+        assertThat(read.size()).isEqualTo(2);
+        assertThat(read.hasM()).isTrue();
+        assertThat(read.getX(1)).isCloseTo(126.978512, within(1e-6));
+        assertThat(read.getY(1)).isCloseTo(37.566702, within(1e-6));
+        assertThat(read.getM(1)).isEqualTo(1_700_000_003_000.0);
+    }
+
+    @Test
+    void readsSequenceWithoutTime() throws IOException {
+        CoordinateSequence sequence = new PackedCoordinateSequence.Double(new double[] {
+                126.978388, 37.566610,
+                126.978512, 37.566702
+        }, 2, 0);
+
+        CoordinateSequence read = converter.read(CoordinateSequence.class,
+                new MockHttpInputMessage(TrackBinaryCodec.encode(sequence)));
+
+        assertThat(read.size()).isEqualTo(2);
+        assertThat(read.hasM()).isFalse();
+    }
+
+    @Test
+    void rejectsTruncatedBodyAsNotReadable() {
+        byte[] data = TrackBinaryCodec.encode(new PackedCoordinateSequence.Double(new double[] {
+                126.978388, 37.566610,
+                126.978512, 37.566702
+        }, 2, 0));
+
+        assertThatThrownBy(() -> converter.read(CoordinateSequence.class,
+                new MockHttpInputMessage(Arrays.copyOf(data, data.length - 1))))
+                .isInstanceOf(HttpMessageNotReadableException.class);
+    }
+
+    @Test
+    void rejectsTrailingBytesAsNotReadable() {
+        byte[] data = TrackBinaryCodec.encode(new PackedCoordinateSequence.Double(new double[] {
+                126.978388, 37.566610,
+                126.978512, 37.566702
+        }, 2, 0));
+
+        assertThatThrownBy(() -> converter.read(CoordinateSequence.class,
+                new MockHttpInputMessage(Arrays.copyOf(data, data.length + 2))))
+                .isInstanceOf(HttpMessageNotReadableException.class);
+    }
+}
@@ -0,0 +1,56 @@
+package com.pawvent.pawventserver.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void roundTripKeepsInstantAndId() {
+        OffsetDateTime startTime = OffsetDateTime.of(2025, 3, 14, 9, 26, 53, 589_793_000, ZoneOffset.ofHours(9));
+
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.encode(startTime, 42L));
+
+        assertThat(cursor.getStartTime().toInstant()).isEqualTo(startTime.toInstant());
+        assertThat(cursor.getStartTime().getOffset()).isEqualTo(ZoneOffset.UTC);
+        assertThat(cursor.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = KeysetCursor.encode(OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC), Long.MAX_VALUE);
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void blankCursorMeansFirstPage() {
+        KeysetCursor first = KeysetCursor.first();
+
+        assertThat(KeysetCursor.decode(null).getStartTime()).isEqualTo(first.getStartTime());
+        assertThat(KeysetCursor.decode("  ").getId()).isEqualTo(first.getId());
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not base64!"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(encodeRaw("no-separator")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(encodeRaw("2025-01-01T00:00:00Z|abc")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(encodeRaw("yesterday|42")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
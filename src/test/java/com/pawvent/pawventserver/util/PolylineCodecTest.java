@@ -0,0 +1,56 @@
+package com.pawvent.pawventserver.util;
+
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class PolylineCodecTest {
+
+    /** Encoded Polyline Algorithm 문서의 예제 (위도, 경도) */
+    private static final String KNOWN_ENCODED = "_p~iF~ps|U_ulLnnqC_mqNvxq`@";
+    private static final double[][] KNOWN_POINTS = {
+            {38.5, -120.2},
+            {40.7, -120.95},
+            {43.252, -126.453}
+    };
+
+    @Test
+    void decodesKnownVector() {
+        CoordinateSequence decoded = PolylineCodec.decode(KNOWN_ENCODED);
+
+        assertThat(decoded.size()).isEqualTo(KNOWN_POINTS.length);
+        for (int i = 0; i < KNOWN_POINTS.length; i++) {
+            assertThat(decoded.getY(i)).isCloseTo(KNOWN_POINTS[i][0], within(1e-9));
+            assertThat(decoded.getX(i)).isCloseTo(KNOWN_POINTS[i][1], within(1e-9));
+        }
+    }
+
+    @Test
+    void encodesKnownVector() {
+        double[] packed = new double[KNOWN_POINTS.length * 2];
+        for (int i = 0; i < KNOWN_POINTS.length; i++) {
+            packed[i * 2] = KNOWN_POINTS[i][1];
+            packed[i * 2 + 1] = KNOWN_POINTS[i][0];
+        }
+
+        assertThat(PolylineCodec.encode(new PackedCoordinateSequence.Double(packed, 2, 0))).isEqualTo(KNOWN_ENCODED);
+    }
+
+    @Test
+    void decodesEmptyString() {
+        assertThat(PolylineCodec.decode("").size()).isZero();
+    }
+
+    @Test
+    void rejectsTruncatedInput() {
+        // 마지막 경도 값의 끝 문자가 빠진 입력
+        String truncated = KNOWN_ENCODED.substring(0, KNOWN_ENCODED.length() - 1);
+
+        assertThatThrownBy(() -> PolylineCodec.decode(truncated))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
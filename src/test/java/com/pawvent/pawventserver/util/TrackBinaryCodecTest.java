@@ -0,0 +1,103 @@
+package com.pawvent.pawventserver.util;
+
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class TrackBinaryCodecTest {
+
+    private static final double EPSILON = 1e-6;
+
+    @Test
+    void roundTripWithoutTime() {
+        CoordinateSequence sequence = new PackedCoordinateSequence.Double(new double[] {
+                126.978388, 37.566610,
+                126.978512, 37.566702,
+                126.977901, 37.565998
+        }, 2, 0);
+
+        CoordinateSequence decoded = TrackBinaryCodec.decode(TrackBinaryCodec.encode(sequence));
+
+        assertThat(decoded.size()).isEqualTo(3);
+        assertThat(decoded.hasM()).isFalse();
+        for (int i = 0; i < sequence.size(); i++) {
+            assertThat(decoded.getX(i)).isCloseTo(sequence.getX(i), within(EPSILON));
+            assertThat(decoded.getY(i)).isCloseTo(sequence.getY(i), within(EPSILON));
+        }
+    }
+
+    @Test
+    void roundTripWithTime() {
+        CoordinateSequence sequence = new PackedCoordinateSequence.Double(new double[] {
+                126.978388, 37.566610, 1_700_000_000_000L,
+                126.978512, 37.566702, 1_700_000_003_000L,
+                126.977901, 37.565998, 1_700_000_001_500L
+        }, 3, 1);
+
+        CoordinateSequence decoded = TrackBinaryCodec.decode(TrackBinaryCodec.encode(sequence));
+
+        assertThat(decoded.size()).isEqualTo(3);
+        assertThat(decoded.hasM()).isTrue();
+        for (int i = 0; i < sequence.size(); i++) {
+            assertThat(decoded.getX(i)).isCloseTo(sequence.getX(i), within(EPSILON));
+            assertThat(decoded.getY(i)).isCloseTo(sequence.getY(i), within(EPSILON));
+            assertThat(decoded.getM(i)).isEqualTo(sequence.getM(i));
+        }
+    }
+
+    @Test
+    void roundTripEmptySequence() {
+        CoordinateSequence empty = new PackedCoordinateSequence.Double(new double[0], 2, 0);
+
+        assertThat(TrackBinaryCodec.decode(TrackBinaryCodec.encode(empty)).size()).isZero();
+    }
+
+    @Test
+    void rejectsTruncatedInput() {
+        byte[] data = TrackBinaryCodec.encode(twoPoints());
+
+        assertThatThrownBy(() -> TrackBinaryCodec.decode(Arrays.copyOf(data, data.length - 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TrackBinaryCodec.decode(Arrays.copyOf(data, 3)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsTrailingBytes() {
+        byte[] data = TrackBinaryCodec.encode(twoPoints());
+
+        assertThatThrownBy(() -> TrackBinaryCodec.decode(Arrays.copyOf(data, data.length + 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsCountLargerThanBody() {
+        // 버전 1, 플래그 없음, 정밀도 6, 좌표 수 100 (본문 없음)
+        byte[] data = {1, 0, 6, 100};
+
+        assertThatThrownBy(() -> TrackBinaryCodec.decode(data))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        byte[] data = TrackBinaryCodec.encode(twoPoints());
+        data[0] = 2;
+
+        assertThatThrownBy(() -> TrackBinaryCodec.decode(data))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static CoordinateSequence twoPoints() {
+        return new PackedCoordinateSequence.Double(new double[] {
+                126.978388, 37.566610,
+                126.978512, 37.566702
+        }, 2, 0);
+    }
+}
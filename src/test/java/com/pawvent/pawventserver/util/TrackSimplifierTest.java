@@ -0,0 +1,91 @@
+package com.pawvent.pawventserver.util;
+
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrackSimplifierTest {
+
+    /** 위도 0.00001도 ≈ 1.1m */
+    private static final double STEP = 0.00001;
+
+    @Test
+    void douglasPeuckerKeepsEndpoints() {
+        CoordinateSequence track = jitteryTrack();
+
+        CoordinateSequence simplified = simplifier(TrackSimplifier.Algorithm.DOUGLAS_PEUCKER, 3.0).simplify(track);
+
+        assertThat(simplified.size()).isLessThan(track.size());
+        assertEndpoints(track, simplified);
+    }
+
+    @Test
+    void visvalingamKeepsEndpoints() {
+        CoordinateSequence track = jitteryTrack();
+
+        CoordinateSequence simplified = simplifier(TrackSimplifier.Algorithm.VISVALINGAM, 5.0).simplify(track);
+
+        assertThat(simplified.size()).isLessThan(track.size());
+        assertEndpoints(track, simplified);
+    }
+
+    @Test
+    void straightLineCollapsesToEndpointsWithMeasures() {
+        int size = 50;
+        double[] packed = new double[size * 3];
+        for (int i = 0; i < size; i++) {
+            packed[i * 3] = 127.0;
+            packed[i * 3 + 1] = 37.5 + i * STEP;
+            packed[i * 3 + 2] = 1_700_000_000_000L + i * 1000L;
+        }
+        CoordinateSequence track = new PackedCoordinateSequence.Double(packed, 3, 1);
+
+        CoordinateSequence simplified = simplifier(TrackSimplifier.Algorithm.DOUGLAS_PEUCKER, 3.0).simplify(track);
+
+        assertThat(simplified.size()).isEqualTo(2);
+        assertThat(simplified.hasM()).isTrue();
+        assertEndpoints(track, simplified);
+        assertThat(simplified.getM(0)).isEqualTo(track.getM(0));
+        assertThat(simplified.getM(1)).isEqualTo(track.getM(size - 1));
+    }
+
+    @Test
+    void returnsInputWhenToleranceDisabled() {
+        CoordinateSequence track = jitteryTrack();
+
+        assertThat(simplifier(TrackSimplifier.Algorithm.DOUGLAS_PEUCKER, 0).simplify(track)).isSameAs(track);
+    }
+
+    private static TrackSimplifier simplifier(TrackSimplifier.Algorithm algorithm, double toleranceMeters) {
+        TrackSimplifier simplifier = new TrackSimplifier();
+        ReflectionTestUtils.setField(simplifier, "algorithm", algorithm);
+        ReflectionTestUtils.setField(simplifier, "toleranceMeters", toleranceMeters);
+        return simplifier;
+    }
+
+    /**
+     * 북쪽으로 걸으며 1m 안팎으로 좌우로 흔들리고, 중간에 동쪽으로 꺾이는 경로
+     */
+    private static CoordinateSequence jitteryTrack() {
+        int size = 200;
+        double[] packed = new double[size * 2];
+        for (int i = 0; i < size; i++) {
+            double jitter = (i % 2 == 0 ? 1 : -1) * STEP;
+            packed[i * 2] = 127.0 + (i < size / 2 ? jitter : (i - size / 2) * STEP * 5);
+            packed[i * 2 + 1] = 37.5 + Math.min(i, size / 2) * STEP * 5;
+        }
+        return new PackedCoordinateSequence.Double(packed, 2, 0);
+    }
+
+    private static void assertEndpoints(CoordinateSequence original, CoordinateSequence simplified) {
+        int last = original.size() - 1;
+        int simplifiedLast = simplified.size() - 1;
+        assertThat(simplified.getX(0)).isEqualTo(original.getX(0));
+        assertThat(simplified.getY(0)).isEqualTo(original.getY(0));
+        assertThat(simplified.getX(simplifiedLast)).isEqualTo(original.getX(last));
+        assertThat(simplified.getY(simplifiedLast)).isEqualTo(original.getY(last));
+    }
+}
@@ -0,0 +1,31 @@
+-- 일별 산책 집계(walk_daily_rollup)를 사용자 시간대 기준 날짜로 다시 만드는 마이그레이션
+-- 이전에는 집계 날짜를 산책 시작 시각의 UTC 날짜로 정했기 때문에, 연속 산책(walk_active_day)이나
+-- 날짜별 조회(/my/date)와 하루 경계가 달랐습니다. 새 버전을 배포한 뒤 한 번만 실행합니다.
+--
+-- 참고
+-- - 시간대를 정하지 않은 사용자는 서버 기본 시간대(pawvent.user.default-time-zone)를 사용하므로 아래 'Asia/Seoul'을 같은 값으로 맞춥니다.
+-- - 기록 당시의 하루 목표는 알 수 없으므로 목표 달성 여부는 반려동물의 현재 목표로 다시 판정합니다.
+-- - 연간 달력 캐시는 노드별로 최대 pawvent.walk.calendar.cache-ttl-seconds 동안 이전 값을 보여줄 수 있습니다.
+
+BEGIN;
+
+LOCK TABLE walk_daily_rollup IN EXCLUSIVE MODE;
+
+DELETE FROM walk_daily_rollup;
+
+INSERT INTO walk_daily_rollup
+    (user_id, pet_id, walk_date, session_count, total_distance, total_duration, goal_duration, goal_met, created_at, updated_at)
+SELECT w.user_id, w.pet_id, CAST(w.start_time AT TIME ZONE COALESCE(u.time_zone, 'Asia/Seoul') AS date), COUNT(*),
+       COALESCE(SUM(w.actual_distance), 0), COALESCE(SUM(w.actual_duration), 0),
+       MAX(COALESCE(p.daily_goal_minutes, 30) * 60),
+       COALESCE(SUM(w.actual_duration), 0) >= MAX(COALESCE(p.daily_goal_minutes, 30) * 60), NOW(), NOW()
+FROM (SELECT user_id, pet_id, start_time, actual_distance, actual_duration FROM walk_session
+      WHERE is_completed = true AND deleted_at IS NULL
+      UNION ALL
+      SELECT user_id, pet_id, start_time, actual_distance, actual_duration FROM walk_session_archive
+      WHERE is_completed = true AND deleted_at IS NULL) w
+JOIN pet p ON p.id = w.pet_id
+JOIN users u ON u.id = w.user_id
+GROUP BY 1, 2, 3;
+
+COMMIT;
@@ -0,0 +1,117 @@
+-- walk_session 월별 범위 파티셔닝 마이그레이션 (PostgreSQL 14 이상)
+-- 기존 walk_session 테이블을 start_time 기준 월별 파티션 테이블로 옮깁니다.
+-- 애플리케이션을 모두 내린 상태에서 한 번만 실행하고, 완료 후 pawvent.walk.archive.enabled=true로 설정하면
+-- 이후 월 파티션 생성과 오래된 기록 보관(walk_session_archive 이동)은 애플리케이션이 주기적으로 처리합니다.
+--
+-- 참고
+-- - 파티션 테이블의 기본 키는 파티션 키를 포함해야 하므로 (id, start_time)이 됩니다. id는 여전히 시퀀스로 유일합니다.
+-- - 파티션 테이블에는 IDENTITY 컬럼을 쓸 수 없어(PostgreSQL 17 미만) id 기본값을 별도 시퀀스로 바꿉니다.
+-- - 기존 테이블은 walk_session_unpartitioned로 남겨두므로 확인 후 직접 삭제합니다.
+
+BEGIN;
+
+LOCK TABLE walk_session IN ACCESS EXCLUSIVE MODE;
+
+-- 1. 기존 테이블 이름 변경 (인덱스/제약조건 이름은 새 테이블에서 다시 사용)
+ALTER TABLE walk_session RENAME TO walk_session_unpartitioned;
+ALTER TABLE walk_session_unpartitioned RENAME CONSTRAINT walk_session_pkey TO walk_session_unpartitioned_pkey;
+DROP INDEX IF EXISTS ix_walk_session_user;
+DROP INDEX IF EXISTS ix_walk_session_pet;
+DROP INDEX IF EXISTS ix_walk_session_start_time;
+DROP INDEX IF EXISTS ix_walk_session_user_start_id;
+DROP INDEX IF EXISTS ix_walk_session_open;
+DROP INDEX IF EXISTS ix_walk_session_deleted;
+DROP INDEX IF EXISTS ux_walk_session_client;
+DROP INDEX IF EXISTS ix_walk_session_actual_path;
+
+-- 2. 같은 컬럼 구성의 파티션 테이블 생성
+CREATE TABLE walk_session (
+    LIKE walk_session_unpartitioned INCLUDING DEFAULTS INCLUDING STORAGE INCLUDING COMPRESSION
+) PARTITION BY RANGE (start_time);
+
+CREATE SEQUENCE walk_session_part_id_seq OWNED BY walk_session.id;
+ALTER TABLE walk_session ALTER COLUMN id SET DEFAULT nextval('walk_session_part_id_seq');
+ALTER TABLE walk_session ADD CONSTRAINT walk_session_pkey PRIMARY KEY (id, start_time);
+
+-- 3. 외래 키를 같은 이름으로 옮김 (Hibernate ddl-auto=update가 중복 생성하지 않도록)
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    FOR fk IN
+        SELECT conname, pg_get_constraintdef(oid) AS def
+        FROM pg_constraint
+        WHERE conrelid = 'walk_session_unpartitioned'::regclass AND contype = 'f'
+    LOOP
+        EXECUTE format('ALTER TABLE walk_session_unpartitioned DROP CONSTRAINT %I', fk.conname);
+        EXECUTE format('ALTER TABLE walk_session ADD CONSTRAINT %I %s', fk.conname, fk.def);
+    END LOOP;
+END $$;
+
+-- 4. 월별 파티션 생성 (가장 오래된 기록의 달부터 3개월 뒤까지, 경계는 UTC 기준)
+DO $$
+DECLARE
+    month_start date;
+    last_month date := (date_trunc('month', NOW() AT TIME ZONE 'UTC') + INTERVAL '3 months')::date;
+BEGIN
+    SELECT COALESCE(date_trunc('month', MIN(start_time) AT TIME ZONE 'UTC'), date_trunc('month', NOW() AT TIME ZONE 'UTC'))::date
+    INTO month_start
+    FROM walk_session_unpartitioned;
+
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF walk_session FOR VALUES FROM (%L) TO (%L)',
+            'walk_session_p' || to_char(month_start, 'YYYYMM'),
+            month_start::text || ' 00:00:00+00',
+            (month_start + INTERVAL '1 month')::date::text || ' 00:00:00+00');
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+-- 파티션 범위를 벗어난 기록(미리 만들지 않은 먼 미래 등)을 받는 기본 파티션
+CREATE TABLE IF NOT EXISTS walk_session_default PARTITION OF walk_session DEFAULT;
+
+-- 5. 데이터 복사 및 시퀀스 위치 조정
+INSERT INTO walk_session SELECT * FROM walk_session_unpartitioned;
+SELECT setval('walk_session_part_id_seq', COALESCE(MAX(id), 0) + 1, false) FROM walk_session;
+
+-- 6. 인덱스 재생성 (부모에 만들면 모든 파티션에 자동으로 생성됨)
+CREATE INDEX ix_walk_session_user ON walk_session (user_id);
+CREATE INDEX ix_walk_session_pet ON walk_session (pet_id);
+CREATE INDEX ix_walk_session_start_time ON walk_session (start_time);
+CREATE INDEX ix_walk_session_user_start_id ON walk_session (user_id, start_time DESC, id DESC);
+CREATE INDEX ix_walk_session_open ON walk_session (start_time) WHERE is_completed = false AND deleted_at IS NULL;
+CREATE INDEX ix_walk_session_deleted ON walk_session (deleted_at) WHERE deleted_at IS NOT NULL;
+CREATE INDEX ix_walk_session_actual_path ON walk_session USING GIST (actual_path) WHERE is_completed = true AND deleted_at IS NULL;
+CREATE UNIQUE INDEX ux_walk_session_client ON walk_session (user_id, client_id, start_time) WHERE client_id IS NOT NULL;
+
+COMMIT;
+
+ANALYZE walk_session;
+
+-- 보관 테이블 (애플리케이션 시작 시에도 자동 생성됨)
+CREATE TABLE IF NOT EXISTS walk_session_archive (
+    id bigint PRIMARY KEY,
+    user_id bigint NOT NULL,
+    pet_id bigint NOT NULL,
+    route_id bigint,
+    start_time timestamp(6) with time zone NOT NULL,
+    end_time timestamp(6) with time zone,
+    actual_path geometry(LineString,4326),
+    actual_distance double precision,
+    actual_duration integer,
+    moving_duration integer,
+    pause_count integer,
+    route_adherence double precision,
+    is_completed boolean NOT NULL,
+    deleted_at timestamp(6) with time zone,
+    created_at timestamp(6) with time zone,
+    updated_at timestamp(6) with time zone,
+    archived_at timestamp(6) with time zone NOT NULL DEFAULT NOW()
+);
+CREATE INDEX IF NOT EXISTS ix_walk_session_archive_user_start ON walk_session_archive (user_id, start_time DESC, id DESC);
+-- 경로 압축 (lz4를 지원하지 않는 서버에서는 이 줄만 실패하며 기본 pglz 압축이 사용됨)
+ALTER TABLE walk_session_archive ALTER COLUMN actual_path SET COMPRESSION lz4;
+
+-- 확인 후 기존 테이블 삭제
+-- DROP TABLE walk_session_unpartitioned;